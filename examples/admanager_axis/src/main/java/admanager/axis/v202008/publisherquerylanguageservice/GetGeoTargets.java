@@ -17,22 +17,24 @@ package admanager.axis.v202008.publisherquerylanguageservice;
 import static com.google.api.ads.common.lib.utils.Builder.DEFAULT_CONFIGURATION_FILENAME;
 
 import com.google.api.ads.admanager.axis.factory.AdManagerServices;
-import com.google.api.ads.admanager.axis.utils.v202008.Pql;
+import com.google.api.ads.admanager.axis.utils.v202008.PqlReader;
 import com.google.api.ads.admanager.axis.utils.v202008.StatementBuilder;
 import com.google.api.ads.admanager.axis.v202008.ApiError;
 import com.google.api.ads.admanager.axis.v202008.ApiException;
 import com.google.api.ads.admanager.axis.v202008.PublisherQueryLanguageServiceInterface;
-import com.google.api.ads.admanager.axis.v202008.ResultSet;
 import com.google.api.ads.admanager.lib.client.AdManagerSession;
 import com.google.api.ads.common.lib.auth.OfflineCredentials;
 import com.google.api.ads.common.lib.auth.OfflineCredentials.Api;
 import com.google.api.ads.common.lib.conf.ConfigurationLoadException;
 import com.google.api.ads.common.lib.exception.OAuthException;
 import com.google.api.ads.common.lib.exception.ValidationException;
-import com.google.api.ads.common.lib.utils.CsvFiles;
 import com.google.api.client.auth.oauth2.Credential;
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.rmi.RemoteException;
 
 /**
@@ -75,40 +77,18 @@ public class GetGeoTargets {
             .from("Geo_Target")
             .where("Type = :type and Targetable = true")
             .orderBy("CountryCode ASC, Name ASC")
-            .offset(0)
-            .limit(StatementBuilder.SUGGESTED_PAGE_LIMIT)
             .withBindVariableValue("type", type);
 
-    // Default for result sets.
-    ResultSet combinedResultSet = null;
-    ResultSet resultSet;
-    int i = 0;
-
-    do {
-      // Get all cities.
-      resultSet = pqlService.select(statementBuilder.toStatement());
-
-      // Combine result sets with previous ones.
-      combinedResultSet =
-          combinedResultSet == null
-              ? resultSet
-              : Pql.combineResultSets(combinedResultSet, resultSet);
-
-      System.out.printf(
-          "%d) %d geo targets beginning at offset %d were found.%n",
-          i++,
-          resultSet.getRows() == null ? 0 : resultSet.getRows().length,
-          statementBuilder.getOffset());
-
-      statementBuilder.increaseOffsetBy(StatementBuilder.SUGGESTED_PAGE_LIMIT);
-    } while (resultSet.getRows() != null && resultSet.getRows().length > 0);
-
     // Change to your file location.
     String filePath = File.createTempFile(type + "-", ".csv").toString();
 
-    // Write the result set to a CSV.
-    CsvFiles.writeCsv(Pql.resultSetToStringArrayList(combinedResultSet), filePath);
+    // Write each page to the file as it is fetched, instead of combining all pages in memory.
+    int rowCount;
+    try (Writer writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+      rowCount = new PqlReader().writeCsv(statementBuilder, pqlService::select, writer);
+    }
 
+    System.out.printf("%d geo targets were found.%n", rowCount);
     System.out.printf("Geo targets saved to: %s%n", filePath);
   }
 
@@ -0,0 +1,153 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import com.google.api.ads.adwords.extension.ratelimiter.ApiServicesRetryStrategy.DateProvider;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The wait until times (in millis) of accounts, in an open-addressing hash table of primitive
+ * longs.
+ *
+ * <p>Once its wait until time has passed, an entry may be taken over by another account, and it is
+ * dropped when the table is resized. So the table only grows with the number of accounts that have
+ * to wait at the same time, not with every account that ever encountered a RateExceededError.
+ *
+ * <p>Reads take no lock. Updates follow a RateExceededError, so they are rare and are serialized.
+ */
+final class AccountWaitTimeTable {
+  @VisibleForTesting static final int MIN_CAPACITY = 16;
+
+  // Slots are zero in a new table, so IDs are stored with the sign bit flipped to tell an empty
+  // slot from the slot of ID 0.
+  private static final long EMPTY_KEY = 0L;
+
+  private final DateProvider dateProvider;
+
+  // The key of slot i is at 2 * i and its wait until time at 2 * i + 1. Replaced on resize, so a
+  // reader sees either the old or the new table.
+  private volatile AtomicLongArray slots = new AtomicLongArray(2 * MIN_CAPACITY);
+  // The slots that are not empty, including those whose wait until time has passed.
+  private int usedSlots;
+
+  /** @param dateProvider the provider of the current time, to tell which entries have expired */
+  AccountWaitTimeTable(DateProvider dateProvider) {
+    this.dateProvider = dateProvider;
+  }
+
+  /** Returns the wait until time of the account, or 0 if none. */
+  long get(long clientCustomerId) {
+    AtomicLongArray table = slots;
+    long key = toKey(clientCustomerId);
+    int mask = getCapacity(table) - 1;
+    for (int i = getHomeSlot(key, mask); ; i = (i + 1) & mask) {
+      long slotKey = table.get(2 * i);
+      if (slotKey == key) {
+        return table.get(2 * i + 1);
+      } else if (slotKey == EMPTY_KEY) {
+        return 0L;
+      }
+    }
+  }
+
+  /** Raises the wait until time of the account, if it is later. */
+  synchronized void raise(long clientCustomerId, long waitUntilMillis) {
+    AtomicLongArray table = slots;
+    long key = toKey(clientCustomerId);
+    long nowMillis = dateProvider.getNowInMillis();
+    int mask = getCapacity(table) - 1;
+    int expiredSlot = -1;
+    int i = getHomeSlot(key, mask);
+    for (long slotKey; (slotKey = table.get(2 * i)) != EMPTY_KEY; i = (i + 1) & mask) {
+      if (slotKey == key) {
+        if (table.get(2 * i + 1) < waitUntilMillis) {
+          table.set(2 * i + 1, waitUntilMillis);
+        }
+        return;
+      } else if (expiredSlot < 0 && table.get(2 * i + 1) <= nowMillis) {
+        expiredSlot = i;
+      }
+    }
+
+    if (expiredSlot >= 0) {
+      // A reader of this account may briefly see the expired time, which means no wait either.
+      table.set(2 * expiredSlot, key);
+      table.set(2 * expiredSlot + 1, waitUntilMillis);
+    } else if (4 * (usedSlots + 1) <= 3 * getCapacity(table)) {
+      table.set(2 * i + 1, waitUntilMillis);
+      table.set(2 * i, key);
+      usedSlots++;
+    } else {
+      resize(table, nowMillis, key, waitUntilMillis);
+    }
+  }
+
+  /** Replaces the table with one holding the entries that have not expired, plus the new one. */
+  private void resize(AtomicLongArray table, long nowMillis, long key, long waitUntilMillis) {
+    int liveSlots = 1;
+    for (int i = 0; i < getCapacity(table); i++) {
+      if (table.get(2 * i) != EMPTY_KEY && table.get(2 * i + 1) > nowMillis) {
+        liveSlots++;
+      }
+    }
+    // Keep the table at most half full, so that probes stay short until the next resize.
+    int capacity = MIN_CAPACITY;
+    while (capacity < 2 * liveSlots) {
+      capacity *= 2;
+    }
+
+    AtomicLongArray resized = new AtomicLongArray(2 * capacity);
+    for (int i = 0; i < getCapacity(table); i++) {
+      long slotKey = table.get(2 * i);
+      long slotWaitUntil = table.get(2 * i + 1);
+      if (slotKey != EMPTY_KEY && slotWaitUntil > nowMillis) {
+        put(resized, slotKey, slotWaitUntil);
+      }
+    }
+    put(resized, key, waitUntilMillis);
+    usedSlots = liveSlots;
+    slots = resized;
+  }
+
+  /** Puts an entry for a key that is not in the table, which is not yet visible to readers. */
+  private static void put(AtomicLongArray table, long key, long waitUntilMillis) {
+    int mask = getCapacity(table) - 1;
+    int i = getHomeSlot(key, mask);
+    while (table.get(2 * i) != EMPTY_KEY) {
+      i = (i + 1) & mask;
+    }
+    table.set(2 * i, key);
+    table.set(2 * i + 1, waitUntilMillis);
+  }
+
+  private static long toKey(long clientCustomerId) {
+    return clientCustomerId ^ Long.MIN_VALUE;
+  }
+
+  private static int getHomeSlot(long key, int mask) {
+    // Client customer IDs are often close to each other, so spread them out.
+    return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+  }
+
+  private static int getCapacity(AtomicLongArray table) {
+    return table.length() / 2;
+  }
+
+  @VisibleForTesting
+  int getCapacity() {
+    return getCapacity(slots);
+  }
+}
@@ -80,8 +80,12 @@ public class AdWordsServicesWithRateLimiter implements AdWordsServicesInterface
       return originalObject;
     }
 
+    ApiRequestThrottler requestThrottler =
+        ApiRetryStrategyManager.getRequestThrottler(
+            cls.getSimpleName(), isUtility, session.getDeveloperToken());
     InvocationHandler invocationHandler =
-        new ApiInvocationHandlerWithRateLimiter(originalObject, session, retryStrategy);
+        new ApiInvocationHandlerWithRateLimiter(
+            originalObject, session, retryStrategy, requestThrottler);
     return Reflection.newProxy(cls, invocationHandler);
   }
 
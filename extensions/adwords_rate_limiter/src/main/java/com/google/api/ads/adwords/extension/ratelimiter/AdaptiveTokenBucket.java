@@ -0,0 +1,127 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import com.google.api.ads.adwords.extension.ratelimiter.ApiServicesRetryStrategy.DateProvider;
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * A token bucket whose rate adapts to rate limit errors: it is cut by {@link #DECREASE_FACTOR}
+ * whenever the server reports a rate limit error, and grows back by about one permit per second
+ * for every second of successful calls.
+ *
+ * <p>A bucket with no maximum rate admits every call until its first rate limit error, and
+ * starts limiting at half the rate it observed in the meantime. A bucket holds up to one second
+ * worth of permits, so short bursts are admitted without waiting.
+ *
+ * <p>Implementation is thread-safe.
+ */
+final class AdaptiveTokenBucket {
+  // The factor applied to the rate on each rate limit error.
+  @VisibleForTesting static final double DECREASE_FACTOR = 0.5;
+  // The rate never goes below this, so that a bucket always recovers.
+  @VisibleForTesting static final double MIN_PERMITS_PER_SECOND = 0.1;
+
+  private static final double BURST_MILLIS = 1000;
+
+  private final double maxPermitsPerSecond;
+  private final DateProvider dateProvider;
+
+  // The current rate, 0 means unlimited.
+  private double permitsPerSecond;
+  // Generic cell rate algorithm state: the theoretical time (in millis) of the next admission.
+  private double theoreticalArrivalMillis;
+
+  // Admissions in the current one-second window, to estimate the rate before the first error.
+  private long windowStartMillis;
+  private int windowCount;
+  private int lastWindowCount;
+
+  /**
+   * @param maxPermitsPerSecond the maximum rate, or 0 to admit every call until the first rate
+   *     limit error
+   * @param dateProvider the provider of the current time
+   */
+  AdaptiveTokenBucket(double maxPermitsPerSecond, DateProvider dateProvider) {
+    this.maxPermitsPerSecond = maxPermitsPerSecond;
+    this.dateProvider = dateProvider;
+    this.permitsPerSecond = maxPermitsPerSecond;
+  }
+
+  /**
+   * Reserves a permit.
+   *
+   * @return the time (in millis) the caller must wait before the permit can be used
+   */
+  synchronized long reserve() {
+    long nowMillis = dateProvider.getNowInMillis();
+    recordAdmission(nowMillis);
+
+    double arrivalMillis = Math.max(theoreticalArrivalMillis, nowMillis);
+    long waitForMillis = (long) Math.max(0, Math.ceil(arrivalMillis - BURST_MILLIS - nowMillis));
+    if (permitsPerSecond > 0) {
+      theoreticalArrivalMillis = arrivalMillis + 1000 / permitsPerSecond;
+    } else {
+      // Unlimited, only a pause after a rate limit error delays admission.
+      theoreticalArrivalMillis = Math.max(theoreticalArrivalMillis, nowMillis);
+    }
+    return waitForMillis;
+  }
+
+  /** Grows the rate after a successful call. */
+  synchronized void onSuccess() {
+    if (permitsPerSecond > 0) {
+      // One permit per second per second of successful calls at the current rate.
+      permitsPerSecond += 1 / permitsPerSecond;
+      if (maxPermitsPerSecond > 0) {
+        permitsPerSecond = Math.min(permitsPerSecond, maxPermitsPerSecond);
+      }
+    }
+  }
+
+  /**
+   * Cuts the rate after a rate limit error, and admits no call for the time the server asked to
+   * wait.
+   *
+   * @param retryAfterMillis the time (in millis) the server asked to wait before retrying
+   */
+  synchronized void onRateExceeded(long retryAfterMillis) {
+    long nowMillis = dateProvider.getNowInMillis();
+    double currentPermitsPerSecond =
+        permitsPerSecond > 0 ? permitsPerSecond : getObservedPermitsPerSecond(nowMillis);
+    permitsPerSecond =
+        Math.max(MIN_PERMITS_PER_SECOND, currentPermitsPerSecond * DECREASE_FACTOR);
+    theoreticalArrivalMillis =
+        Math.max(theoreticalArrivalMillis, nowMillis + retryAfterMillis + BURST_MILLIS);
+  }
+
+  private void recordAdmission(long nowMillis) {
+    if (nowMillis - windowStartMillis >= 1000) {
+      lastWindowCount = nowMillis - windowStartMillis < 2000 ? windowCount : 0;
+      windowStartMillis = nowMillis;
+      windowCount = 0;
+    }
+    windowCount++;
+  }
+
+  private double getObservedPermitsPerSecond(long nowMillis) {
+    return nowMillis - windowStartMillis < 2000 ? Math.max(lastWindowCount, windowCount) : 0;
+  }
+
+  /** Returns the current rate, or 0 if unlimited. */
+  synchronized double getPermitsPerSecond() {
+    return permitsPerSecond;
+  }
+}
@@ -20,6 +20,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.reflect.AbstractInvocationHandler;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import javax.annotation.Nullable;
 
 /**
  * {@link InvocationHandler} that automatically waits and retries on rate limit error.
@@ -31,12 +32,20 @@ public class ApiInvocationHandlerWithRateLimiter extends AbstractInvocationHandl
   
   public ApiInvocationHandlerWithRateLimiter(
       Object objectToProxy, AdWordsSession session, ApiRetryStrategy retryStrategy) {
+    this(objectToProxy, session, retryStrategy, null);
+  }
+
+  public ApiInvocationHandlerWithRateLimiter(
+      Object objectToProxy,
+      AdWordsSession session,
+      ApiRetryStrategy retryStrategy,
+      @Nullable ApiRequestThrottler requestThrottler) {
     this.objectToProxy =
         Preconditions.checkNotNull(objectToProxy, "The argument 'objectToProxy' cannot be null!");
     this.session = Preconditions.checkNotNull(session, "The argument 'session' cannot be null!");
     
     Preconditions.checkNotNull(retryStrategy, "The argument 'retryStrategy' cannot be null!");
-    this.rateLimiter = new ApiRateLimiter(retryStrategy);
+    this.rateLimiter = new ApiRateLimiter(retryStrategy, requestThrottler);
   }
   
   @Override
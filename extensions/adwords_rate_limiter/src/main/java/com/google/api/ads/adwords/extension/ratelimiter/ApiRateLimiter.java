@@ -17,16 +17,29 @@ package com.google.api.ads.adwords.extension.ratelimiter;
 import com.google.common.base.Preconditions;
 import java.lang.reflect.Method;
 import java.util.concurrent.Callable;
+import javax.annotation.Nullable;
 
 /**
  * A rate limiter implementation that handles RateExceededError for AdWords API applications.
  */
 public final class ApiRateLimiter {
   private final ApiRetryStrategy retryStrategy;
+  private final @Nullable ApiRequestThrottler requestThrottler;
 
   public ApiRateLimiter(ApiRetryStrategy retryStrategy) {
+    this(retryStrategy, null);
+  }
+
+  /**
+   * @param retryStrategy the strategy for retrying on RateExceededError
+   * @param requestThrottler the throttler that admits calls before they are sent, or null to only
+   *     handle RateExceededError after it occurs
+   */
+  public ApiRateLimiter(
+      ApiRetryStrategy retryStrategy, @Nullable ApiRequestThrottler requestThrottler) {
     this.retryStrategy =
         Preconditions.checkNotNull(retryStrategy, "The argument 'retryStrategy' cannot be null!");
+    this.requestThrottler = requestThrottler;
   }
 
   /**
@@ -53,7 +66,8 @@ public final class ApiRateLimiter {
         };
     String actionDescription = method.getClass().getSimpleName() + "." + method.getName();
     ApiRetryHelper<Object> retryHelper =
-        new ApiRetryHelper<Object>(clientCustomerId, callable, actionDescription, retryStrategy);
+        new ApiRetryHelper<Object>(
+            clientCustomerId, callable, actionDescription, retryStrategy, requestThrottler);
 
     try {
       return retryHelper.callWithRetries();
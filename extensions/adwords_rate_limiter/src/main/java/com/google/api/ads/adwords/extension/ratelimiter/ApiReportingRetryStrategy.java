@@ -78,24 +78,29 @@ public final class ApiReportingRetryStrategy implements ApiRetryStrategy {
   public boolean shouldRetryOnError(long clientCustomerId, Throwable throwable) {
     // Do not care about clientCustomerId, just check RateExceededError.
     // By default it can retry (e.g., ReportException, ReportDownloadResponseException).
-    boolean canRetry = true;
-
-    if (throwable instanceof DetailedReportDownloadResponseException) {
-      DetailedReportDownloadResponseException ex =
-          (DetailedReportDownloadResponseException) throwable;
-      int httpStatus = ex.getHttpStatus();
-      String errorText = ex.getErrorText();
-
-      // Rate limit error has httpStatus 400 and errorText containing "RateExceededError".
-      boolean isRateLimitError =
-          httpStatus == HttpURLConnection.HTTP_BAD_REQUEST
-              && Strings.nullToEmpty(errorText).contains(RATE_EXCEEDED_ERROR);
+    // Retry iff it's rate limit error.
+    return !(throwable instanceof DetailedReportDownloadResponseException)
+        || isRateExceededError(throwable);
+  }
 
-      // Retry iff it's rate limit error.
-      canRetry = isRateLimitError;
+  /** Check whether the report download failed because of a rate limit error. */
+  static boolean isRateExceededError(Throwable throwable) {
+    if (!(throwable instanceof DetailedReportDownloadResponseException)) {
+      return false;
     }
+    DetailedReportDownloadResponseException ex =
+        (DetailedReportDownloadResponseException) throwable;
+    int httpStatus = ex.getHttpStatus();
+    String errorText = ex.getErrorText();
+
+    // Rate limit error has httpStatus 400 and errorText containing "RateExceededError".
+    return httpStatus == HttpURLConnection.HTTP_BAD_REQUEST
+        && Strings.nullToEmpty(errorText).contains(RATE_EXCEEDED_ERROR);
+  }
 
-    return canRetry;
+  /** Returns the backoff interval (in milliseconds) before retrying on rate limit error. */
+  static long getBackoffIntervalOnRateExceededError() {
+    return ConfigCalculator.BACKOFF_INTERVAL_ON_RATE_EXCEEDED_ERROR;
   }
 
   @Override
@@ -0,0 +1,182 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.api.ads.adwords.extension.ratelimiter.ApiServicesRetryStrategy.DateProvider;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Throttles AdWords API calls of one developer token and {@link ApiRateLimitBucket} before they
+ * are sent, so that once the server starts reporting rate limit errors, calls are spread out
+ * instead of each thread failing at least once before it backs off.
+ *
+ * <p>Calls are admitted by two {@link AdaptiveTokenBucket}s: one for the developer token, and one
+ * for the client customer ID. A rate limit error cuts the rate of the bucket matching its scope,
+ * and pauses it for the {@code retryAfterSeconds} reported by the server.
+ *
+ * <p>By default, no call waits until the first rate limit error. To also cap the rates from the
+ * start, set the system properties {@value #MAX_PERMITS_PER_SECOND_PER_TOKEN_PROPERTY} and
+ * {@value #MAX_PERMITS_PER_SECOND_PER_ACCOUNT_PROPERTY} <em>before</em> the first call.
+ */
+public final class ApiRequestThrottler {
+  private static final Logger logger = LoggerFactory.getLogger(ApiRequestThrottler.class);
+
+  // Property for the maximum number of calls per second for each developer token, 0 means no cap.
+  public static final String MAX_PERMITS_PER_SECOND_PER_TOKEN_PROPERTY =
+      "com.google.api.ads.adwords.extension.ratelimiter.ApiRequestThrottler.maxPermitsPerSecondPerToken";
+
+  // Property for the maximum number of calls per second for each account, 0 means no cap.
+  public static final String MAX_PERMITS_PER_SECOND_PER_ACCOUNT_PROPERTY =
+      "com.google.api.ads.adwords.extension.ratelimiter.ApiRequestThrottler.maxPermitsPerSecondPerAccount";
+
+  // Account buckets not used for this long are dropped, and start over if used again.
+  @VisibleForTesting static final long ACCOUNT_BUCKET_EXPIRE_AFTER_ACCESS_MINUTES = 60;
+
+  private final ApiRateLimitBucket rateLimitBucket;
+  private final AdaptiveTokenBucket tokenBucket;
+  private final LoadingCache<Long, AdaptiveTokenBucket> accountBuckets;
+
+  /**
+   * @param rateLimitBucket the rate limit bucket of the throttled calls
+   * @param dateProvider the provider of the current time
+   * @param maxPermitsPerSecondPerToken the maximum rate for the developer token, 0 means no cap
+   * @param maxPermitsPerSecondPerAccount the maximum rate for each account, 0 means no cap
+   */
+  @VisibleForTesting
+  ApiRequestThrottler(
+      ApiRateLimitBucket rateLimitBucket,
+      final DateProvider dateProvider,
+      double maxPermitsPerSecondPerToken,
+      final double maxPermitsPerSecondPerAccount) {
+    this.rateLimitBucket =
+        Preconditions.checkNotNull(
+            rateLimitBucket, "The argument 'rateLimitBucket' cannot be null!");
+    Preconditions.checkNotNull(dateProvider, "The argument 'dateProvider' cannot be null!");
+    this.tokenBucket = new AdaptiveTokenBucket(maxPermitsPerSecondPerToken, dateProvider);
+    this.accountBuckets =
+        CacheBuilder.newBuilder()
+            .expireAfterAccess(ACCOUNT_BUCKET_EXPIRE_AFTER_ACCESS_MINUTES, TimeUnit.MINUTES)
+            .build(
+                new CacheLoader<Long, AdaptiveTokenBucket>() {
+                  @Override
+                  public AdaptiveTokenBucket load(Long clientCustomerId) {
+                    return new AdaptiveTokenBucket(maxPermitsPerSecondPerAccount, dateProvider);
+                  }
+                });
+  }
+
+  /**
+   * Creates a throttler configured from the system properties.
+   *
+   * @param rateLimitBucket the rate limit bucket of the throttled calls
+   */
+  static ApiRequestThrottler newInstance(ApiRateLimitBucket rateLimitBucket) {
+    return new ApiRequestThrottler(
+        rateLimitBucket,
+        System::currentTimeMillis,
+        ConfigUtil.getIntConfigValue(MAX_PERMITS_PER_SECOND_PER_TOKEN_PROPERTY, 0),
+        ConfigUtil.getIntConfigValue(MAX_PERMITS_PER_SECOND_PER_ACCOUNT_PROPERTY, 0));
+  }
+
+  /**
+   * Admits a call.
+   *
+   * @param clientCustomerId the client customer ID of the call
+   * @return the time (in millis) to wait before sending the call
+   */
+  public long reserve(long clientCustomerId) {
+    return Math.max(
+        tokenBucket.reserve(), accountBuckets.getUnchecked(clientCustomerId).reserve());
+  }
+
+  /**
+   * Records a successful call, so that rates recover after rate limit errors.
+   *
+   * @param clientCustomerId the client customer ID of the call
+   */
+  public void onSuccess(long clientCustomerId) {
+    tokenBucket.onSuccess();
+    AdaptiveTokenBucket accountBucket = accountBuckets.getIfPresent(clientCustomerId);
+    if (accountBucket != null) {
+      accountBucket.onSuccess();
+    }
+  }
+
+  /**
+   * Records a failed call, and cuts the rate of the matching bucket if it failed because of rate
+   * limiting.
+   *
+   * @param clientCustomerId the client customer ID of the call
+   * @param throwable the encountered error
+   */
+  public void onError(long clientCustomerId, Throwable throwable) {
+    switch (rateLimitBucket) {
+      case REPORTING:
+        if (ApiReportingRetryStrategy.isRateExceededError(throwable)) {
+          // Report download errors carry no retry delay, use the retry strategy's backoff.
+          tokenBucket.onRateExceeded(
+              ApiReportingRetryStrategy.getBackoffIntervalOnRateExceededError());
+        }
+        break;
+      case OTHERS:
+        onServicesError(clientCustomerId, throwable);
+        break;
+    }
+  }
+
+  private void onServicesError(long clientCustomerId, Throwable throwable) {
+    try {
+      for (RateExceededErrorInfo error : RateExceededErrorInfo.fromThrowable(throwable)) {
+        if (error.getRetryAfterSeconds() == null) {
+          continue;
+        }
+        long retryAfterMillis = SECONDS.toMillis(error.getRetryAfterSeconds());
+        if ("DEVELOPER".equals(error.getRateScope())) {
+          tokenBucket.onRateExceeded(retryAfterMillis);
+          logger.info("Throttling developer token to {} calls per second.",
+              tokenBucket.getPermitsPerSecond());
+          return;
+        } else if ("ACCOUNT".equals(error.getRateScope())) {
+          AdaptiveTokenBucket accountBucket = accountBuckets.getUnchecked(clientCustomerId);
+          accountBucket.onRateExceeded(retryAfterMillis);
+          logger.info("Throttling account {} to {} calls per second.",
+              clientCustomerId, accountBucket.getPermitsPerSecond());
+          return;
+        }
+      }
+    } catch (RateLimiterReflectionException e) {
+      // The retry strategy logs the same failure, so just proceed.
+    }
+  }
+
+  @VisibleForTesting
+  double getTokenPermitsPerSecond() {
+    return tokenBucket.getPermitsPerSecond();
+  }
+
+  @VisibleForTesting
+  double getAccountPermitsPerSecond(long clientCustomerId) {
+    return accountBuckets.getUnchecked(clientCustomerId).getPermitsPerSecond();
+  }
+}
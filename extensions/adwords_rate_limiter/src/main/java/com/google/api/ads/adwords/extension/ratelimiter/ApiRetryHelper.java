@@ -14,9 +14,14 @@
 
 package com.google.api.ads.adwords.extension.ratelimiter;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 import com.google.common.base.Preconditions;
 import java.lang.reflect.InvocationTargetException;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,7 +30,8 @@ import org.slf4j.LoggerFactory;
  *
  * <p>It supports two custom handlers: {@code ExceptionChecker} and {@code WaitStrategy<V>}
  * that will be used to determine whether the operation's exception retriable, and calculate the
- * wait time before retry.
+ * wait time before retry. An optional {@link ApiRequestThrottler} admits each attempt before it is
+ * made, and learns from its outcome.
  *
  * @param <V> return value of the closure that is being run with retires.
  */
@@ -36,12 +42,22 @@ public class ApiRetryHelper<V> {
   private final Callable<V> callable;
   private final String actionDescription; // Short description of the action.
   private final ApiRetryStrategy retryStrategy;
+  private final @Nullable ApiRequestThrottler requestThrottler;
 
   public ApiRetryHelper(
       long clientCustomerId,
       Callable<V> callable,
       String actionDescription,
       ApiRetryStrategy retryStrategy) {
+    this(clientCustomerId, callable, actionDescription, retryStrategy, null);
+  }
+
+  public ApiRetryHelper(
+      long clientCustomerId,
+      Callable<V> callable,
+      String actionDescription,
+      ApiRetryStrategy retryStrategy,
+      @Nullable ApiRequestThrottler requestThrottler) {
     this.clientCustomerId = clientCustomerId;
     
     this.callable = Preconditions.checkNotNull(callable, "Argument 'callable' cannot be null.");
@@ -50,6 +66,7 @@ public class ApiRetryHelper<V> {
             actionDescription, "Argument 'actionDescription' cannot be null.");
     this.retryStrategy =
         Preconditions.checkNotNull(retryStrategy, "Argument 'retryStrategy' cannot be null.");
+    this.requestThrottler = requestThrottler;
   }
   
   /**
@@ -64,9 +81,8 @@ public class ApiRetryHelper<V> {
     Throwable lastError = null;
     
     for (int kthAttempt = 1; retryStrategy.canDoThisAttempt(kthAttempt); ++kthAttempt) {
-      // Wait if the previous attempt failed.
-      long waitForMillis =
-          retryStrategy.calcWaitTimeBeforeCall(clientCustomerId, kthAttempt, lastError);
+      // Wait if the previous attempt failed, or the throttler does not admit this attempt yet.
+      long waitForMillis = calcWaitTime(kthAttempt, lastError);
       if (waitForMillis > 0) {
         logger.info(
             "Thread \"{}\" is sleeping for {} millis.",
@@ -84,6 +100,9 @@ public class ApiRetryHelper<V> {
       try {
         lastError = null;
         result = callable.call();
+        if (requestThrottler != null) {
+          requestThrottler.onSuccess(clientCustomerId);
+        }
         break;
       } catch (IllegalAccessException e) {
         throw new RateLimiterException("Illegal access to invoke: " + actionDescription, e);
@@ -93,25 +112,170 @@ public class ApiRetryHelper<V> {
         lastError = e;
       }
       
-      // Check whether the error is retriable
-      if (retryStrategy.shouldRetryOnError(clientCustomerId, lastError)) {
-        logger.error(
-            "Failed to call {} at exception check, attempt #{}.", actionDescription, kthAttempt);
-      } else {
-        logger.error(
-            "Failed to call {} at exception check: encountered non-retriable {}, skip retry!",
-            actionDescription,
-            lastError.getClass().getName());
-        throw new ApiInvocationException("Encountered non-retriable exception.", lastError);
-      }
+      checkRetriable(kthAttempt, lastError);
     }
 
     if (result == null) {
-      String msg = "Failed to " + actionDescription + " after all retries.";
-      logger.error(msg, lastError);
-      throw new ApiInvocationException(msg, lastError);
+      throw allRetriesFailed(lastError);
     }
 
     return result;
   }
+
+  /**
+   * Invoke the AdWords API call with the same retry logic as {@link #callWithRetries()}, but
+   * without blocking a thread while waiting. Each attempt is scheduled on {@code scheduler} once
+   * its wait time has passed, and then run by {@code attemptExecutor}.
+   *
+   * @return a future that completes with the result of the callable, or exceptionally with the
+   *     {@link ApiInvocationException} or {@link RateLimiterException} that
+   *     {@link #callWithRetries()} would throw
+   */
+  CompletableFuture<V> callWithRetriesAsync(
+      ScheduledExecutorService scheduler, AttemptExecutor attemptExecutor) {
+    CompletableFuture<V> future = new CompletableFuture<V>();
+    scheduleAttempt(1, null, future, scheduler, attemptExecutor);
+    return future;
+  }
+
+  /** Runs the attempts of asynchronous calls. */
+  interface AttemptExecutor {
+    /**
+     * Runs an attempt.
+     *
+     * @param attempt the attempt to run
+     * @param throttled whether the attempt had to wait for a rate limit
+     */
+    void execute(Runnable attempt, boolean throttled);
+  }
+
+  private void scheduleAttempt(
+      final int kthAttempt,
+      @Nullable Throwable lastError,
+      final CompletableFuture<V> future,
+      final ScheduledExecutorService scheduler,
+      final AttemptExecutor attemptExecutor) {
+    if (!retryStrategy.canDoThisAttempt(kthAttempt)) {
+      future.completeExceptionally(allRetriesFailed(lastError));
+      return;
+    }
+    final Runnable attempt = () -> attempt(kthAttempt, future, scheduler, attemptExecutor);
+    try {
+      long waitForMillis = calcWaitTime(kthAttempt, lastError);
+      if (waitForMillis > 0) {
+        logger.info(
+            "Attempt #{} to {} is scheduled in {} millis.",
+            kthAttempt,
+            actionDescription,
+            waitForMillis);
+        scheduler.schedule(
+            () -> {
+              try {
+                attemptExecutor.execute(attempt, true);
+              } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+              }
+            },
+            waitForMillis,
+            MILLISECONDS);
+      } else {
+        attemptExecutor.execute(attempt, lastError != null);
+      }
+    } catch (RuntimeException e) {
+      // The wait is too long, or the executors were shut down.
+      future.completeExceptionally(e);
+    }
+  }
+
+  private void attempt(
+      int kthAttempt,
+      CompletableFuture<V> future,
+      ScheduledExecutorService scheduler,
+      AttemptExecutor attemptExecutor) {
+    try {
+      tryAttempt(kthAttempt, future, scheduler, attemptExecutor);
+    } catch (Error e) {
+      // Otherwise the future would never complete. The error is still rethrown, so that it reaches
+      // the uncaught exception handler of the thread.
+      future.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private void tryAttempt(
+      int kthAttempt,
+      CompletableFuture<V> future,
+      ScheduledExecutorService scheduler,
+      AttemptExecutor attemptExecutor) {
+    if (future.isDone()) {
+      // Cancelled while waiting.
+      return;
+    }
+    Throwable lastError;
+    try {
+      V result = callable.call();
+      if (requestThrottler != null) {
+        requestThrottler.onSuccess(clientCustomerId);
+      }
+      future.complete(result);
+      return;
+    } catch (IllegalAccessException e) {
+      future.completeExceptionally(
+          new RateLimiterException("Illegal access to invoke: " + actionDescription, e));
+      return;
+    } catch (InvocationTargetException e) {
+      lastError = e.getCause();
+    } catch (Exception e) {
+      lastError = e;
+    }
+
+    try {
+      checkRetriable(kthAttempt, lastError);
+    } catch (ApiInvocationException | RuntimeException e) {
+      future.completeExceptionally(e);
+      return;
+    }
+    scheduleAttempt(kthAttempt + 1, lastError, future, scheduler, attemptExecutor);
+  }
+
+  /** Calculates the wait time (in millis) before the kth attempt. */
+  private long calcWaitTime(int kthAttempt, @Nullable Throwable lastError) {
+    // Wait if the previous attempt failed.
+    long waitForMillis =
+        retryStrategy.calcWaitTimeBeforeCall(clientCustomerId, kthAttempt, lastError);
+    // Wait if the throttler does not admit this attempt yet.
+    if (requestThrottler != null) {
+      waitForMillis = Math.max(waitForMillis, requestThrottler.reserve(clientCustomerId));
+    }
+    return waitForMillis;
+  }
+
+  /**
+   * Records the error of the kth attempt.
+   *
+   * @throws ApiInvocationException if the error is not retriable
+   */
+  private void checkRetriable(int kthAttempt, Throwable lastError) throws ApiInvocationException {
+    if (requestThrottler != null) {
+      requestThrottler.onError(clientCustomerId, lastError);
+    }
+
+    // Check whether the error is retriable
+    if (retryStrategy.shouldRetryOnError(clientCustomerId, lastError)) {
+      logger.error(
+          "Failed to call {} at exception check, attempt #{}.", actionDescription, kthAttempt);
+    } else {
+      logger.error(
+          "Failed to call {} at exception check: encountered non-retriable {}, skip retry!",
+          actionDescription,
+          lastError.getClass().getName());
+      throw new ApiInvocationException("Encountered non-retriable exception.", lastError);
+    }
+  }
+
+  private ApiInvocationException allRetriesFailed(@Nullable Throwable lastError) {
+    String msg = "Failed to " + actionDescription + " after all retries.";
+    logger.error(msg, lastError);
+    return new ApiInvocationException(msg, lastError);
+  }
 }
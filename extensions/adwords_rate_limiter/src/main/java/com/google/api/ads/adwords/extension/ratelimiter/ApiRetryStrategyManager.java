@@ -14,14 +14,21 @@
 
 package com.google.api.ads.adwords.extension.ratelimiter;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
 /**
  * The manager class that maintains mapping between {@link ApiRateLimitBucket} and corresponding
  * {@link ApiRetryStrategy}, as well as mapping betweeen AdWords API services / utilities and
- * corresponding {@link ApiRateLimitBucket}.
+ * corresponding {@link ApiRateLimitBucket}. It also maintains the {@link ApiRequestThrottler} of
+ * each {@link ApiRateLimitBucket} and developer token.
  */
 public class ApiRetryStrategyManager {
   // Immutable mapping between {@link ApiRateLimitBucket} and {@link ApiRetryStrategy}.
@@ -31,9 +38,38 @@ public class ApiRetryStrategyManager {
           .put(ApiRateLimitBucket.OTHERS, ApiServicesRetryStrategy.newInstance())
           .build();
 
+  // Throttlers not used for this long are dropped, and start over if used again.
+  @VisibleForTesting static final long THROTTLER_EXPIRE_AFTER_ACCESS_MINUTES = 60;
+
+  // Mapping between {@link ApiRateLimitBucket} and the throttlers of each developer token.
+  private static final ImmutableMap<ApiRateLimitBucket, LoadingCache<String, ApiRequestThrottler>>
+      bucketToThrottlers =
+          ImmutableMap.<ApiRateLimitBucket, LoadingCache<String, ApiRequestThrottler>>builder()
+              .put(ApiRateLimitBucket.REPORTING, newThrottlerCache(ApiRateLimitBucket.REPORTING))
+              .put(ApiRateLimitBucket.OTHERS, newThrottlerCache(ApiRateLimitBucket.OTHERS))
+              .build();
+
   private static final ImmutableSet<String> reportingClasses =
       ImmutableSet.of("ReportDownloaderInterface");
 
+  /**
+   * Creates the cache of throttlers of each developer token for the specified bucket.
+   *
+   * @param bucket the rate limit bucket of the throttlers
+   */
+  private static LoadingCache<String, ApiRequestThrottler> newThrottlerCache(
+      final ApiRateLimitBucket bucket) {
+    return CacheBuilder.newBuilder()
+        .expireAfterAccess(THROTTLER_EXPIRE_AFTER_ACCESS_MINUTES, TimeUnit.MINUTES)
+        .build(
+            new CacheLoader<String, ApiRequestThrottler>() {
+              @Override
+              public ApiRequestThrottler load(String developerToken) {
+                return ApiRequestThrottler.newInstance(bucket);
+              }
+            });
+  }
+
   /**
    * Get the {@link ApiRateLimitBucket} for the specified AdWords API service / utility name.
    *
@@ -66,4 +102,25 @@ public class ApiRetryStrategyManager {
     ApiRateLimitBucket bucket = getRateLimitBucket(name, isUtility);
     return bucket == null ? null : bucketToStrategy.get(bucket);
   }
+
+  /**
+   * Get the {@link ApiRequestThrottler} for the specified AdWords API service / utility name and
+   * developer token. All services and utilities of the same {@link ApiRateLimitBucket} and
+   * developer token share one throttler. Throttlers not used for {@value
+   * #THROTTLER_EXPIRE_AFTER_ACCESS_MINUTES} minutes are dropped, so that developer tokens no longer
+   * in use don't hold on to their throttlers.
+   *
+   * @param name the specified AdWords API service / utility name
+   * @param isUtility whether this is for some AdWords API utility
+   * @param developerToken the developer token of the session
+   * @return the corresponding {@link ApiRequestThrottler} object, or null if it's not supported by
+   *     this rate limiter extension
+   */
+  public static @Nullable ApiRequestThrottler getRequestThrottler(
+      String name, boolean isUtility, String developerToken) {
+    final ApiRateLimitBucket bucket = getRateLimitBucket(name, isUtility);
+    return bucket == null
+        ? null
+        : bucketToThrottlers.get(bucket).getUnchecked(Strings.nullToEmpty(developerToken));
+  }
 }
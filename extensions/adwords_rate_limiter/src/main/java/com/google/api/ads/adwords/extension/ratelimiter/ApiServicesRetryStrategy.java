@@ -17,11 +17,11 @@ package com.google.api.ads.adwords.extension.ratelimiter;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
@@ -34,6 +34,11 @@ import org.slf4j.LoggerFactory;
  * #MAX_ATTEMPTS_ON_RATE_EXCEEDED_ERROR_PROPERTY} and {@value
  * #MAX_WAIT_TIME_ON_RATE_EXCEEDED_ERROR_PROPERTY} <em>before</em> calling {@link #newInstance()}
  * for the first time.
+ *
+ * <p>By default, wait times are kept in this JVM. To share them between the processes of a host
+ * that use the same developer token, set the system property {@value #STATE_FILE_PROPERTY} to the
+ * path of a file for {@link MappedFileRateLimitStateStore}, or pass a {@link RateLimitStateStore}
+ * to {@link #newInstance(RateLimitStateStore)}.
  */
 public final class ApiServicesRetryStrategy implements ApiRetryStrategy {
   private static final Logger logger = LoggerFactory.getLogger(ApiServicesRetryStrategy.class);
@@ -48,6 +53,10 @@ public final class ApiServicesRetryStrategy implements ApiRetryStrategy {
       "com.google.api.ads.adwords.extension.ratelimiter.ApiServicesRetryStrategy.maxWaitTimeOnRateExceededError";
   @VisibleForTesting public static final int MAX_WAIT_TIME_ON_RATE_EXCEEDED_ERROR_DEFAULT = 86400;
 
+  // Property for the path of the file that shares wait times between processes.
+  public static final String STATE_FILE_PROPERTY =
+      "com.google.api.ads.adwords.extension.ratelimiter.ApiServicesRetryStrategy.stateFile";
+
   // The min/max range of random multiplier for waiting time before retry.
   @VisibleForTesting static final int MIN_WAIT_TIME_MULTIPLIER = 1;
   @VisibleForTesting static final int MAX_WAIT_TIME_MULTIPLIER = 2;
@@ -58,16 +67,19 @@ public final class ApiServicesRetryStrategy implements ApiRetryStrategy {
   // If the calculated wait time exceeds this value, it will immediately stop retry.
   private final int maxWaitTimeOnRateExceededError;
 
-  // Wait until time (in millis of DateTime) for token scope.
-  private final AtomicLong tokenWaitUntil;
-  // Wait until time (in millis of DateTime) for account scope.
-  private final ConcurrentMap<Long, AtomicLong> accountWaitUntil;
+  // Wait until times (in millis of DateTime) for token and account scopes.
+  private final RateLimitStateStore stateStore;
 
   private final DateProvider dateProvider;
   private final RandomProvider waitTimeNoiseFactor;
 
   public ApiServicesRetryStrategy() {
+    this(newStateStore());
+  }
+
+  private ApiServicesRetryStrategy(RateLimitStateStore stateStore) {
     this(
+        stateStore,
         new DefaultDateProvider(),
         new DefaultRandomProvider(),
         ConfigUtil.getIntConfigValue(
@@ -84,19 +96,58 @@ public final class ApiServicesRetryStrategy implements ApiRetryStrategy {
       RandomProvider waitTimeNoiseFactor,
       int maxAttemptsOnRateExceededError,
       int maxWaitTimeOnRateExceededError) {
+    this(
+        new InMemoryRateLimitStateStore(dateProvider),
+        dateProvider,
+        waitTimeNoiseFactor,
+        maxAttemptsOnRateExceededError,
+        maxWaitTimeOnRateExceededError);
+  }
+
+  @VisibleForTesting
+  ApiServicesRetryStrategy(
+      RateLimitStateStore stateStore,
+      DateProvider dateProvider,
+      RandomProvider waitTimeNoiseFactor,
+      int maxAttemptsOnRateExceededError,
+      int maxWaitTimeOnRateExceededError) {
+    this.stateStore = stateStore;
     this.dateProvider = dateProvider;
     this.waitTimeNoiseFactor = waitTimeNoiseFactor;
     this.maxAttemptsOnRateExceededError = maxAttemptsOnRateExceededError;
     this.maxWaitTimeOnRateExceededError = maxWaitTimeOnRateExceededError;
-
-    this.tokenWaitUntil = new AtomicLong();
-    this.accountWaitUntil = new ConcurrentHashMap<>();
   }
 
   public static ApiServicesRetryStrategy newInstance() {
     return new ApiServicesRetryStrategy();
   }
 
+  /**
+   * Creates a retry strategy configured from the system properties, which keeps its wait times in
+   * {@code stateStore}.
+   *
+   * @param stateStore the store of the wait times, such as a {@link
+   *     MappedFileRateLimitStateStore} shared with other processes
+   */
+  public static ApiServicesRetryStrategy newInstance(RateLimitStateStore stateStore) {
+    return new ApiServicesRetryStrategy(stateStore);
+  }
+
+  /** Opens the state file set by {@value #STATE_FILE_PROPERTY}, if any. */
+  private static RateLimitStateStore newStateStore() {
+    String stateFile = System.getProperty(STATE_FILE_PROPERTY);
+    if (!Strings.isNullOrEmpty(stateFile)) {
+      try {
+        return MappedFileRateLimitStateStore.open(Paths.get(stateFile));
+      } catch (IOException | RuntimeException | LinkageError e) {
+        // Rate limiting still works within this JVM, so just log and proceed. A LinkageError must
+        // not fail the initialization of ApiRetryStrategyManager, which creates this strategy.
+        logger.error("Failed to open state file " + stateFile + ", keeping state in memory.", e);
+      }
+    }
+    return new InMemoryRateLimitStateStore();
+  }
+
   @Override
   public boolean canDoThisAttempt(int kthAttempt) {
     return (maxAttemptsOnRateExceededError == 0 || kthAttempt <= maxAttemptsOnRateExceededError);
@@ -120,18 +171,8 @@ public final class ApiServicesRetryStrategy implements ApiRetryStrategy {
    * @param waitForMillis the wait time in milliseconds
    */
   private void updateTokenWaitTime(long waitForMillis) {
-    final long newTime = millisFromNow(waitForMillis);
-
-    boolean done;
-    do {
-      long oldTime = tokenWaitUntil.get();
-      // If the new wait until time exceeds current one, update it; otherwise just skip the loop.
-      if (oldTime < newTime) {
-        done = tokenWaitUntil.compareAndSet(oldTime, newTime);
-      } else {
-        done = true;
-      }
-    } while (!done);
+    // If the new wait until time exceeds current one, the store updates it.
+    stateStore.raiseTokenWaitUntil(millisFromNow(waitForMillis));
   }
 
   /**
@@ -141,36 +182,7 @@ public final class ApiServicesRetryStrategy implements ApiRetryStrategy {
    * @param waitForMillis the wait time in milliseconds
    */
   private void updateAccountWaitTime(long clientCustomerId, long waitForMillis) {
-    final long minWaitTime = millisFromNow(waitForMillis);
-
-    // Here we are assuming that the AtomicLong reference isn't changed once inserted. Therefore,
-    // the content of this map grows with the number of account rate limits encountered. Future work
-    // may address the problem of flushing this to reduce overall memory pressure.
-    //
-    // Overhead of AtomicLong is ~ size(long) 64 bytes,
-    // if managing 100k customers this implies a total memory pressure of ~ 100000 * 64 = 6MB.
-    //
-    // Overhead of managing the map is 2 * 100k * (size(key) + size(reference)) = 24MB,
-    // multiplying by factor of 2 to compensate for a map with 50% max load.
-    //
-    // An additional 36MB of RAM is a reasonable trade-off to simplify this implementation.
-
-    AtomicLong recordedWaitTime =
-        accountWaitUntil.computeIfAbsent(clientCustomerId, k -> new AtomicLong(minWaitTime));
-
-    // This update algorithm will eventually terminate, but possibly not on the first iteration due
-    // to concurrent updates. A better solution would be to use
-    // AtomicLongMap.accumulateAndGet(K, long, LongBinaryOperator) from Guava 21.0, however this
-    // would require bumping the Guava version for all Google Ads Java libraries and their
-    // dependents.
-    long snapshotTime = recordedWaitTime.get();
-    while (snapshotTime < minWaitTime) {
-      if (recordedWaitTime.compareAndSet(snapshotTime, minWaitTime)) {
-        break;
-      } else {
-        snapshotTime = recordedWaitTime.get();
-      }
-    }
+    stateStore.raiseAccountWaitUntil(clientCustomerId, millisFromNow(waitForMillis));
   }
 
   /** Calculate the wait time (in millis) before next AdWords API call is allowed. */
@@ -178,7 +190,7 @@ public final class ApiServicesRetryStrategy implements ApiRetryStrategy {
     long nowInMillis = dateProvider.getNowInMillis();
 
     long waitForMillis = 0L;
-    waitForMillis = Math.max(waitForMillis, tokenWaitUntil.get() - nowInMillis);
+    waitForMillis = Math.max(waitForMillis, stateStore.getTokenWaitUntil() - nowInMillis);
     waitForMillis = Math.max(waitForMillis, getAccountWaitTime(clientCustomerId) - nowInMillis);
 
     if (waitForMillis > 0
@@ -195,41 +207,30 @@ public final class ApiServicesRetryStrategy implements ApiRetryStrategy {
   /** Check whether the invocation causes RateExceededError, and update wait time accordingly. */
   private boolean checkRateExceededErrorAndUpdateWaitTime(
       long clientCustomerId, Throwable throwable) {
-    if (ReflectionUtil.isInstanceOf(throwable, "ApiException")) {
-      try {
-        Object[] errors = (Object[]) ReflectionUtil.invokeNoArgMethod(throwable, "getErrors");
-        if (errors == null) {
-          return false;
-        }
-        for (Object error : errors) {
-          if (ReflectionUtil.isInstanceOf(error, "RateExceededError")) {
-            String rateScope = (String) ReflectionUtil.invokeNoArgMethod(error, "getRateScope");
-            Integer retryAfterSeconds =
-                (Integer) ReflectionUtil.invokeNoArgMethod(error, "getRetryAfterSeconds");
-            logger.info(
-                "Encountered RateExceededError: scope={}, seconds={}.",
-                rateScope,
-                retryAfterSeconds);
-            if (retryAfterSeconds == null) {
-              logger.warn("Unexpected rate exceeed error, missing retryAfterSeconds");
-            } else if (retryAfterSeconds != null) {
-              long waitForMillis = getWaitUntilMillis(retryAfterSeconds.intValue());
-              if ("DEVELOPER".equals(rateScope)) {
-                updateTokenWaitTime(waitForMillis);
-                return true;
-              } else if ("ACCOUNT".equals(rateScope)) {
-                updateAccountWaitTime(clientCustomerId, waitForMillis);
-                return true;
-              } else {
-                logger.warn("Unknown RateExceededError scope: " + rateScope, throwable);
-              }
-            }
+    try {
+      for (RateExceededErrorInfo error : RateExceededErrorInfo.fromThrowable(throwable)) {
+        String rateScope = error.getRateScope();
+        Integer retryAfterSeconds = error.getRetryAfterSeconds();
+        logger.info(
+            "Encountered RateExceededError: scope={}, seconds={}.", rateScope, retryAfterSeconds);
+        if (retryAfterSeconds == null) {
+          logger.warn("Unexpected rate exceeed error, missing retryAfterSeconds");
+        } else {
+          long waitForMillis = getWaitUntilMillis(retryAfterSeconds.intValue());
+          if ("DEVELOPER".equals(rateScope)) {
+            updateTokenWaitTime(waitForMillis);
+            return true;
+          } else if ("ACCOUNT".equals(rateScope)) {
+            updateAccountWaitTime(clientCustomerId, waitForMillis);
+            return true;
+          } else {
+            logger.warn("Unknown RateExceededError scope: " + rateScope, throwable);
           }
         }
-      } catch (RateLimiterReflectionException e) {
-        // Failed during reflection analysis, just log and proceed.
-        logger.error("Encountered error during analysis using reflection.", e);
       }
+    } catch (RateLimiterReflectionException e) {
+      // Failed during reflection analysis, just log and proceed.
+      logger.error("Encountered error during analysis using reflection.", e);
     }
     return false;
   }
@@ -249,13 +250,12 @@ public final class ApiServicesRetryStrategy implements ApiRetryStrategy {
 
   @VisibleForTesting
   long getAccountWaitTime(long account) {
-    AtomicLong waitTime = accountWaitUntil.get(account);
-    return waitTime == null ? 0L : waitTime.get();
+    return stateStore.getAccountWaitUntil(account);
   }
 
   @VisibleForTesting
   long getDeveloperWaitTime() {
-    return tokenWaitUntil.get();
+    return stateStore.getTokenWaitUntil();
   }
 
   private long millisFromNow(long millis) {
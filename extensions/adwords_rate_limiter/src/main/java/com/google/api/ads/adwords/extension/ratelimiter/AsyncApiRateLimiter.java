@@ -0,0 +1,197 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * A rate limiter that handles RateExceededError for AdWords API applications without blocking
+ * threads while waiting.
+ *
+ * <p>Unlike {@link ApiRateLimiter}, which sleeps on the calling thread, calls are submitted and
+ * return a {@link CompletableFuture}. While a call waits out a RateExceededError, its retry is only
+ * held by a scheduler, and the threads that make calls keep serving other calls. Attempts that had
+ * to wait for a rate limit run after attempts that did not, so calls for accounts that are not
+ * throttled are not queued behind retries for accounts that are.
+ *
+ * <p>Typical usage is:
+ *
+ * <pre>
+ * AsyncApiRateLimiter rateLimiter =
+ *     new AsyncApiRateLimiter(ApiServicesRetryStrategy.newInstance(), null, 8);
+ * CompletableFuture&lt;CampaignReturnValue&gt; result =
+ *     rateLimiter.submit(
+ *         clientCustomerId, () -&gt; campaignService.mutate(operations), "CampaignService.mutate");
+ * </pre>
+ *
+ * <p>The service must be obtained from the plain {@code AdWordsServices}, since a service from
+ * {@link AdWordsServicesWithRateLimiter} already retries synchronously.
+ */
+public final class AsyncApiRateLimiter {
+  private final ApiRetryStrategy retryStrategy;
+  private final @Nullable ApiRequestThrottler requestThrottler;
+  private final ScheduledExecutorService scheduler;
+  private final ThreadPoolExecutor callExecutor;
+  // Orders attempts of the same priority by the time they became ready to run.
+  private final AtomicLong attemptSequence = new AtomicLong();
+  // The results of submitted calls that have not completed.
+  private final Set<CompletableFuture<?>> pendingCalls = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @param retryStrategy the strategy for retrying on RateExceededError
+   * @param requestThrottler the throttler that admits calls before they are sent, or null to only
+   *     handle RateExceededError after it occurs
+   * @param maxConcurrentCalls the number of threads that make calls
+   */
+  public AsyncApiRateLimiter(
+      ApiRetryStrategy retryStrategy,
+      @Nullable ApiRequestThrottler requestThrottler,
+      int maxConcurrentCalls) {
+    this(
+        retryStrategy,
+        requestThrottler,
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("adwords-rate-limiter-scheduler-%d")
+                .setDaemon(true)
+                .build()),
+        maxConcurrentCalls);
+  }
+
+  @VisibleForTesting
+  AsyncApiRateLimiter(
+      ApiRetryStrategy retryStrategy,
+      @Nullable ApiRequestThrottler requestThrottler,
+      ScheduledExecutorService scheduler,
+      int maxConcurrentCalls) {
+    Preconditions.checkArgument(
+        maxConcurrentCalls > 0, "The argument 'maxConcurrentCalls' must be positive!");
+    this.retryStrategy =
+        Preconditions.checkNotNull(retryStrategy, "The argument 'retryStrategy' cannot be null!");
+    this.requestThrottler = requestThrottler;
+    this.scheduler =
+        Preconditions.checkNotNull(scheduler, "The argument 'scheduler' cannot be null!");
+    // Only PrioritizedAttempts are run, with execute(), so the queue can order them.
+    this.callExecutor =
+        new ThreadPoolExecutor(
+            maxConcurrentCalls,
+            maxConcurrentCalls,
+            0L,
+            MILLISECONDS,
+            new PriorityBlockingQueue<Runnable>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("adwords-rate-limiter-call-%d")
+                .setDaemon(true)
+                .build());
+  }
+
+  /**
+   * Submits an AdWords API call, to be made with retries on RateExceededError.
+   *
+   * @param clientCustomerId the client customer ID for the call
+   * @param callable makes the AdWords API call
+   * @param actionDescription a short description of the call, for logging
+   * @return a future that completes with the result of the call. If the call fails, it completes
+   *     exceptionally with the error of the last attempt, such as an {@code ApiException}, or with
+   *     a {@link RateLimiterException} if the wait for a retry would be too long.
+   */
+  public <V> CompletableFuture<V> submit(
+      long clientCustomerId, Callable<V> callable, String actionDescription) {
+    ApiRetryHelper<V> retryHelper =
+        new ApiRetryHelper<V>(
+            clientCustomerId, callable, actionDescription, retryStrategy, requestThrottler);
+    CompletableFuture<V> result = new CompletableFuture<V>();
+    pendingCalls.add(result);
+    CompletableFuture<V> attempts = retryHelper.callWithRetriesAsync(scheduler, this::execute);
+    attempts.whenComplete(
+        (value, error) -> {
+          if (error == null) {
+            result.complete(value);
+          } else if (error instanceof ApiInvocationException && error.getCause() != null) {
+            // As in ApiRateLimiter.run, surface the error of the AdWords API call itself.
+            result.completeExceptionally(error.getCause());
+          } else {
+            result.completeExceptionally(error);
+          }
+        });
+    result.whenComplete(
+        (value, error) -> {
+          pendingCalls.remove(result);
+          // Stops the retries if the result was cancelled.
+          attempts.cancel(false);
+        });
+    return result;
+  }
+
+  /**
+   * Stops making calls. Calls in flight are interrupted, and calls that have not completed complete
+   * exceptionally with a {@link RejectedExecutionException}, as do calls submitted afterwards.
+   */
+  public void shutdown() {
+    scheduler.shutdownNow();
+    callExecutor.shutdownNow();
+    for (CompletableFuture<?> pendingCall : pendingCalls) {
+      pendingCall.completeExceptionally(
+          new RejectedExecutionException("The rate limiter is shut down."));
+    }
+  }
+
+  private void execute(Runnable attempt, boolean throttled) {
+    callExecutor.execute(
+        new PrioritizedAttempt(attempt, throttled, attemptSequence.getAndIncrement()));
+  }
+
+  /** An attempt. Attempts that are not throttled run first, each in the order it became ready. */
+  private static final class PrioritizedAttempt
+      implements Runnable, Comparable<PrioritizedAttempt> {
+    private final Runnable attempt;
+    private final boolean throttled;
+    private final long sequence;
+
+    private PrioritizedAttempt(Runnable attempt, boolean throttled, long sequence) {
+      this.attempt = attempt;
+      this.throttled = throttled;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public void run() {
+      attempt.run();
+    }
+
+    @Override
+    public int compareTo(PrioritizedAttempt other) {
+      if (throttled != other.throttled) {
+        return throttled ? 1 : -1;
+      }
+      return Long.compare(sequence, other.sequence);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import com.google.api.ads.adwords.extension.ratelimiter.ApiServicesRetryStrategy.DateProvider;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** The default {@link RateLimitStateStore}, which keeps the wait times in this JVM only. */
+public final class InMemoryRateLimitStateStore implements RateLimitStateStore {
+  // Wait until time (in millis of DateTime) for token scope.
+  private final AtomicLong tokenWaitUntil = new AtomicLong();
+  // Wait until time (in millis of DateTime) for account scope.
+  private final AccountWaitTimeTable accountWaitUntil;
+
+  public InMemoryRateLimitStateStore() {
+    this(System::currentTimeMillis);
+  }
+
+  /** @param dateProvider the provider of the current time, to drop wait times that have passed */
+  InMemoryRateLimitStateStore(DateProvider dateProvider) {
+    this.accountWaitUntil = new AccountWaitTimeTable(dateProvider);
+  }
+
+  @Override
+  public long getTokenWaitUntil() {
+    return tokenWaitUntil.get();
+  }
+
+  @Override
+  public void raiseTokenWaitUntil(long waitUntilMillis) {
+    raise(tokenWaitUntil, waitUntilMillis);
+  }
+
+  @Override
+  public long getAccountWaitUntil(long clientCustomerId) {
+    return accountWaitUntil.get(clientCustomerId);
+  }
+
+  @Override
+  public void raiseAccountWaitUntil(long clientCustomerId, long waitUntilMillis) {
+    accountWaitUntil.raise(clientCustomerId, waitUntilMillis);
+  }
+
+  private static void raise(AtomicLong recordedWaitTime, long waitUntilMillis) {
+    // This update algorithm will eventually terminate, but possibly not on the first iteration due
+    // to concurrent updates. A better solution would be to use
+    // AtomicLongMap.accumulateAndGet(K, long, LongBinaryOperator) from Guava 21.0, however this
+    // would require bumping the Guava version for all Google Ads Java libraries and their
+    // dependents.
+    long snapshotTime = recordedWaitTime.get();
+    while (snapshotTime < waitUntilMillis) {
+      if (recordedWaitTime.compareAndSet(snapshotTime, waitUntilMillis)) {
+        break;
+      } else {
+        snapshotTime = recordedWaitTime.get();
+      }
+    }
+  }
+}
@@ -0,0 +1,226 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link RateLimitStateStore} in a memory-mapped file, so that the processes of a host that map
+ * the same file share their wait times. Once one process encounters a RateExceededError, the
+ * others wait too, instead of each being throttled by the server.
+ *
+ * <p>The file is a table of fixed 16-byte slots. The first slot holds the wait time of the
+ * developer token, and the others hold an account and its wait time, found by open addressing.
+ * Slots are updated with compare-and-swap, so reads and updates take no lock, and a process that
+ * dies mid-update leaves no lock behind. On JVMs without {@code sun.misc.Unsafe}, each read and
+ * update locks its slot instead, see {@link MappedSlots}. A slot whose wait time has passed may be
+ * taken over by another account; an update racing with that can only make the new account wait
+ * longer.
+ *
+ * <p>If all the slots an account can use are taken by accounts that still have to wait, its wait
+ * time is not shared, and the other processes learn of the RateExceededError from the server.
+ *
+ * <p>All processes sharing a file must use the same developer token, since the token slot is not
+ * keyed.
+ */
+public final class MappedFileRateLimitStateStore implements RateLimitStateStore {
+  private static final Logger logger = LoggerFactory.getLogger(MappedFileRateLimitStateStore.class);
+
+  // Property for the number of account slots of a new file.
+  public static final String ACCOUNT_SLOTS_PROPERTY =
+      "com.google.api.ads.adwords.extension.ratelimiter.MappedFileRateLimitStateStore.accountSlots";
+  // 1 MB, each slot holds an account ID and its wait time.
+  private static final int ACCOUNT_SLOTS_DEFAULT = 1 << 16;
+
+  private static final int SLOT_BYTES = 16;
+  // The number of slots probed for an account, so that a full table does not slow down lookups.
+  @VisibleForTesting static final int MAX_PROBES = 32;
+  // Slots are zero in a new file, so IDs are stored with the sign bit flipped to tell an empty
+  // slot from the slot of ID 0.
+  private static final long EMPTY_KEY = 0L;
+  // Byte offsets of the token slot and of the first account slot.
+  private static final long TOKEN_OFFSET = 0L;
+  private static final long ACCOUNTS_OFFSET = SLOT_BYTES;
+
+  private final MappedSlots slots;
+  private final int accountSlots;
+
+  private MappedFileRateLimitStateStore(MappedSlots slots, int accountSlots) {
+    this.slots = slots;
+    this.accountSlots = accountSlots;
+  }
+
+  /**
+   * Maps the file, creating it with the number of account slots in the system property {@value
+   * #ACCOUNT_SLOTS_PROPERTY} if it does not exist.
+   *
+   * @param file the file shared by the processes
+   */
+  public static MappedFileRateLimitStateStore open(Path file) throws IOException {
+    return open(file, ConfigUtil.getIntConfigValue(ACCOUNT_SLOTS_PROPERTY, ACCOUNT_SLOTS_DEFAULT));
+  }
+
+  /**
+   * Maps the file, creating it if it does not exist.
+   *
+   * @param file the file shared by the processes
+   * @param accountSlots the number of account slots of a new file. An existing file keeps its
+   *     number of slots.
+   */
+  public static MappedFileRateLimitStateStore open(Path file, int accountSlots)
+      throws IOException {
+    Preconditions.checkArgument(
+        accountSlots > 0 && accountSlots < Integer.MAX_VALUE / SLOT_BYTES,
+        "Invalid number of account slots: %s",
+        accountSlots);
+    FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE);
+    try {
+      long size;
+      // Only the first process sizes the file, later ones use its size.
+      try (FileLock lock = channel.lock()) {
+        if (channel.size() == 0) {
+          channel.write(ByteBuffer.allocate(1), (long) (accountSlots + 1) * SLOT_BYTES - 1);
+        }
+        size = channel.size();
+      }
+      if (size < 2 * SLOT_BYTES || size % SLOT_BYTES != 0 || size > Integer.MAX_VALUE) {
+        throw new IOException(file + " is not a rate limit state file.");
+      }
+      // The mapping stays valid if the channel is closed.
+      MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, size);
+      return new MappedFileRateLimitStateStore(
+          MappedSlots.create(channel, buffer), (int) (size / SLOT_BYTES) - 1);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public long getTokenWaitUntil() {
+    return slots.getLongVolatile(TOKEN_OFFSET);
+  }
+
+  @Override
+  public void raiseTokenWaitUntil(long waitUntilMillis) {
+    raise(TOKEN_OFFSET, waitUntilMillis);
+  }
+
+  @Override
+  public long getAccountWaitUntil(long clientCustomerId) {
+    long key = toKey(clientCustomerId);
+    int home = getHomeSlot(key);
+    long waitUntil = 0L;
+    for (int probe = 0; probe < getProbeCount(); probe++) {
+      long slotOffset = getSlotOffset(home, probe);
+      long slotKey = slots.getLongVolatile(slotOffset);
+      if (slotKey == EMPTY_KEY) {
+        break;
+      }
+      // Processes racing to add the same account may each take a slot, so keep looking.
+      if (slotKey == key) {
+        waitUntil = Math.max(waitUntil, slots.getLongVolatile(slotOffset + 8));
+      }
+    }
+    return waitUntil;
+  }
+
+  @Override
+  public void raiseAccountWaitUntil(long clientCustomerId, long waitUntilMillis) {
+    long key = toKey(clientCustomerId);
+    int home = getHomeSlot(key);
+    while (true) {
+      long nowMillis = System.currentTimeMillis();
+      long freeSlotOffset = -1L;
+      long freeSlotKey = EMPTY_KEY;
+      for (int probe = 0; probe < getProbeCount(); probe++) {
+        long slotOffset = getSlotOffset(home, probe);
+        long slotKey = slots.getLongVolatile(slotOffset);
+        if (slotKey == key) {
+          raise(slotOffset + 8, waitUntilMillis);
+          return;
+        }
+        if (freeSlotOffset < 0L
+            && (slotKey == EMPTY_KEY
+                || slots.getLongVolatile(slotOffset + 8) < nowMillis)) {
+          freeSlotOffset = slotOffset;
+          freeSlotKey = slotKey;
+        }
+        if (slotKey == EMPTY_KEY) {
+          break;
+        }
+      }
+      if (freeSlotOffset < 0L) {
+        logger.warn(
+            "No free slot to share the wait time of account {}, consider a larger file.",
+            clientCustomerId);
+        return;
+      }
+      // Otherwise another process took the slot, so look again.
+      if (slots.compareAndSwapLong(freeSlotOffset, freeSlotKey, key)) {
+        raise(freeSlotOffset + 8, waitUntilMillis);
+        return;
+      }
+    }
+  }
+
+  private void raise(long offset, long waitUntilMillis) {
+    long snapshotTime = slots.getLongVolatile(offset);
+    while (snapshotTime < waitUntilMillis) {
+      if (slots.compareAndSwapLong(offset, snapshotTime, waitUntilMillis)) {
+        break;
+      } else {
+        snapshotTime = slots.getLongVolatile(offset);
+      }
+    }
+  }
+
+  private static long toKey(long clientCustomerId) {
+    return clientCustomerId ^ Long.MIN_VALUE;
+  }
+
+  private int getHomeSlot(long key) {
+    // Client customer IDs are often close to each other, so spread them out.
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) ((hash >>> 32) % accountSlots);
+  }
+
+  private int getProbeCount() {
+    return Math.min(MAX_PROBES, accountSlots);
+  }
+
+  private long getSlotOffset(int home, int probe) {
+    return ACCOUNTS_OFFSET + (long) ((home + probe) % accountSlots) * SLOT_BYTES;
+  }
+
+  @VisibleForTesting
+  int getAccountSlots() {
+    return accountSlots;
+  }
+}
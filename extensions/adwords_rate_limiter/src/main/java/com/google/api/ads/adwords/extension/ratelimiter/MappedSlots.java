@@ -0,0 +1,214 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Atomic operations on the longs of a memory-mapped file, which Java 8 does not offer on a {@link
+ * MappedByteBuffer}.
+ *
+ * <p>If the JVM provides {@code sun.misc.Unsafe}, the operations are done on the address of the
+ * mapping and take no lock. It is only looked up reflectively, so compiling this class needs no
+ * access to internal APIs. Otherwise each operation holds a lock on the 8 bytes of the file it
+ * accesses, which is slower. The two kinds of operations do not exclude each other, so they are
+ * only atomic if all processes mapping the file run on JVMs that agree on the availability of
+ * {@code sun.misc.Unsafe}.
+ */
+abstract class MappedSlots {
+  private static final Logger logger = LoggerFactory.getLogger(MappedSlots.class);
+
+  /**
+   * Creates the operations on a mapping of {@code channel}. Takes ownership of the channel, which
+   * is closed unless the operations need it.
+   *
+   * @param channel the channel of the mapped file
+   * @param buffer the mapping of the whole file
+   */
+  static MappedSlots create(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+    if (UnsafeSlots.isAvailable()) {
+      channel.close();
+      return new UnsafeSlots(buffer);
+    }
+    logger.info("sun.misc.Unsafe is not available, locking the rate limit state file instead.");
+    return new FileLockSlots(channel, buffer);
+  }
+
+  /** Returns the long at {@code offset}, with volatile semantics. */
+  abstract long getLongVolatile(long offset);
+
+  /** Sets the long at {@code offset} to {@code value} if it is {@code expected}. */
+  abstract boolean compareAndSwapLong(long offset, long expected, long value);
+
+  /** Operations on the address of the mapping, with {@code sun.misc.Unsafe}. */
+  @VisibleForTesting
+  static final class UnsafeSlots extends MappedSlots {
+    private static final MethodHandle GET_LONG;
+    private static final MethodHandle GET_LONG_VOLATILE;
+    private static final MethodHandle COMPARE_AND_SWAP_LONG;
+    private static final long BUFFER_ADDRESS_OFFSET;
+
+    static {
+      MethodHandle getLong = null;
+      MethodHandle getLongVolatile = null;
+      MethodHandle compareAndSwapLong = null;
+      long bufferAddressOffset = -1L;
+      try {
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        Field field = unsafeClass.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        Object unsafe = field.get(null);
+        MethodHandle objectFieldOffset =
+            findMethod(unsafe, "objectFieldOffset", long.class, Field.class);
+        bufferAddressOffset =
+            (long) objectFieldOffset.invoke(Buffer.class.getDeclaredField("address"));
+        getLong = findMethod(unsafe, "getLong", long.class, Object.class, long.class);
+        getLongVolatile =
+            findMethod(unsafe, "getLongVolatile", long.class, Object.class, long.class);
+        compareAndSwapLong =
+            findMethod(
+                unsafe,
+                "compareAndSwapLong",
+                boolean.class,
+                Object.class,
+                long.class,
+                long.class,
+                long.class);
+      } catch (Throwable t) {
+        // Not a HotSpot-like JVM, or one that no longer provides these operations.
+        Throwables.throwIfInstanceOf(t, VirtualMachineError.class);
+        logger.debug("sun.misc.Unsafe is not available.", t);
+        getLong = null;
+        getLongVolatile = null;
+        compareAndSwapLong = null;
+      }
+      GET_LONG = getLong;
+      GET_LONG_VOLATILE = getLongVolatile;
+      COMPARE_AND_SWAP_LONG = compareAndSwapLong;
+      BUFFER_ADDRESS_OFFSET = bufferAddressOffset;
+    }
+
+    /** Finds a method of {@code unsafe}, bound to it. */
+    private static MethodHandle findMethod(
+        Object unsafe, String name, Class<?> returnType, Class<?>... parameterTypes)
+        throws ReflectiveOperationException {
+      return MethodHandles.publicLookup()
+          .findVirtual(unsafe.getClass(), name, MethodType.methodType(returnType, parameterTypes))
+          .bindTo(unsafe);
+    }
+
+    // Keeps the mapping, and so the address, valid.
+    private final MappedByteBuffer buffer;
+    private final long address;
+
+    private UnsafeSlots(MappedByteBuffer buffer) {
+      this.buffer = buffer;
+      try {
+        this.address = (long) GET_LONG.invokeExact((Object) buffer, BUFFER_ADDRESS_OFFSET);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+    static boolean isAvailable() {
+      return GET_LONG != null;
+    }
+
+    @Override
+    long getLongVolatile(long offset) {
+      try {
+        return (long) GET_LONG_VOLATILE.invokeExact((Object) null, address + offset);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+    @Override
+    boolean compareAndSwapLong(long offset, long expected, long value) {
+      try {
+        return (boolean)
+            COMPARE_AND_SWAP_LONG.invokeExact((Object) null, address + offset, expected, value);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+    private static RuntimeException propagate(Throwable t) {
+      Throwables.throwIfUnchecked(t);
+      throw new IllegalStateException(t);
+    }
+  }
+
+  /** Operations that lock the bytes they access, in the file and within this JVM. */
+  @VisibleForTesting
+  static final class FileLockSlots extends MappedSlots {
+    // File locks are held by the whole JVM, and overlapping ones throw, so one thread at a time
+    // takes them.
+    private static final ReentrantLock jvmLock = new ReentrantLock();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    @VisibleForTesting
+    FileLockSlots(FileChannel channel, MappedByteBuffer buffer) {
+      this.channel = channel;
+      // The same layout as the operations on the address.
+      this.buffer = (MappedByteBuffer) buffer.order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    long getLongVolatile(long offset) {
+      jvmLock.lock();
+      try (FileLock lock = channel.lock(offset, 8, true)) {
+        return buffer.getLong((int) offset);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        jvmLock.unlock();
+      }
+    }
+
+    @Override
+    boolean compareAndSwapLong(long offset, long expected, long value) {
+      jvmLock.lock();
+      try (FileLock lock = channel.lock(offset, 8, false)) {
+        if (buffer.getLong((int) offset) != expected) {
+          return false;
+        }
+        buffer.putLong((int) offset, value);
+        return true;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        jvmLock.unlock();
+      }
+    }
+  }
+}
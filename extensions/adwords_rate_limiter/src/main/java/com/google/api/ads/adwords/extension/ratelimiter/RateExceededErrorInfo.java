@@ -0,0 +1,157 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import com.google.common.collect.ImmutableList;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * The scope and retry delay of a RateExceededError, extracted through reflection so that it works
+ * with any AdWords API version.
+ *
+ * <p>The classes of errors are analyzed once, into method handles cached for each class, since
+ * every call fails during a burst of rate limit errors.
+ */
+final class RateExceededErrorInfo {
+  // The getters of each class, or no getters if it is neither ApiException nor RateExceededError.
+  private static final ClassValue<ErrorClass> errorClasses =
+      new ClassValue<ErrorClass>() {
+        @Override
+        protected ErrorClass computeValue(Class<?> type) {
+          return new ErrorClass(type);
+        }
+      };
+
+  private final String rateScope;
+  private final Integer retryAfterSeconds;
+
+  private RateExceededErrorInfo(String rateScope, Integer retryAfterSeconds) {
+    this.rateScope = rateScope;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /**
+   * Extracts the RateExceededErrors of an AdWords API ApiException.
+   *
+   * @param throwable the encountered error
+   * @return the RateExceededErrors in the order reported, or an empty list if {@code throwable} is
+   *     not an ApiException
+   * @throws RateLimiterReflectionException if the errors could not be analyzed
+   */
+  static List<RateExceededErrorInfo> fromThrowable(Throwable throwable) {
+    if (throwable == null) {
+      return ImmutableList.of();
+    }
+    ErrorClass throwableClass = errorClasses.get(throwable.getClass());
+    if (!throwableClass.isApiException) {
+      return ImmutableList.of();
+    }
+    Object[] errors = (Object[]) throwableClass.getErrors.invoke(throwable);
+    if (errors == null) {
+      return ImmutableList.of();
+    }
+    ImmutableList.Builder<RateExceededErrorInfo> rateExceededErrors = ImmutableList.builder();
+    for (Object error : errors) {
+      if (error == null) {
+        continue;
+      }
+      ErrorClass errorClass = errorClasses.get(error.getClass());
+      if (errorClass.isRateExceededError) {
+        rateExceededErrors.add(
+            new RateExceededErrorInfo(
+                (String) errorClass.getRateScope.invoke(error),
+                (Integer) errorClass.getRetryAfterSeconds.invoke(error)));
+      }
+    }
+    return rateExceededErrors.build();
+  }
+
+  /** Returns the rate scope, e.g., "DEVELOPER" or "ACCOUNT". */
+  @Nullable
+  String getRateScope() {
+    return rateScope;
+  }
+
+  /** Returns the number of seconds the server asked to wait before retrying. */
+  @Nullable
+  Integer getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  /** Whether a class is ApiException or RateExceededError, and the getters it is read with. */
+  private static final class ErrorClass {
+    private final boolean isApiException;
+    private final boolean isRateExceededError;
+    // Null unless the class is of the matching kind.
+    private final Getter getErrors;
+    private final Getter getRateScope;
+    private final Getter getRetryAfterSeconds;
+
+    private ErrorClass(Class<?> type) {
+      isApiException = ReflectionUtil.isSubclassOf(type, "ApiException");
+      isRateExceededError = ReflectionUtil.isSubclassOf(type, "RateExceededError");
+      getErrors = isApiException ? new Getter(type, "getErrors") : null;
+      getRateScope = isRateExceededError ? new Getter(type, "getRateScope") : null;
+      getRetryAfterSeconds = isRateExceededError ? new Getter(type, "getRetryAfterSeconds") : null;
+    }
+  }
+
+  /** A public no-argument method, resolved once into a method handle. */
+  private static final class Getter {
+    private final String methodName;
+    // Null if the method could not be resolved.
+    private final MethodHandle handle;
+    private final Exception lookupError;
+
+    private Getter(Class<?> type, String methodName) {
+      this.methodName = methodName;
+      MethodHandle handle = null;
+      Exception lookupError = null;
+      try {
+        handle =
+            MethodHandles.publicLookup()
+                .unreflect(type.getMethod(methodName))
+                .asType(MethodType.methodType(Object.class, Object.class));
+      } catch (ReflectiveOperationException | SecurityException e) {
+        lookupError = e;
+      }
+      this.handle = handle;
+      this.lookupError = lookupError;
+    }
+
+    /**
+     * Invokes the method, with the same errors as {@link ReflectionUtil#invokeNoArgMethod(Object,
+     * String)}.
+     */
+    private Object invoke(Object obj) {
+      if (handle == null) {
+        throw new RateLimiterReflectionException(
+            "Failed to reflect method \"" + methodName + "\" on object: " + obj, lookupError);
+      }
+      try {
+        return handle.invokeExact(obj);
+      } catch (Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new RateLimiterException(
+            "Failed to invoke method \"" + methodName + "\" on object: " + obj, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,40 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+/**
+ * Stores the times (in millis since the UNIX epoch) until which AdWords API calls must wait after
+ * a RateExceededError, for the developer token and for each account.
+ *
+ * <p>{@link InMemoryRateLimitStateStore} keeps them in the JVM. {@link
+ * MappedFileRateLimitStateStore} shares them between the processes of a host that use the same
+ * developer token.
+ *
+ * <p>Implementations must be thread-safe.
+ */
+public interface RateLimitStateStore {
+
+  /** Returns the time until which calls of the developer token must wait, or 0 if none. */
+  long getTokenWaitUntil();
+
+  /** Raises the time until which calls of the developer token must wait, if it is later. */
+  void raiseTokenWaitUntil(long waitUntilMillis);
+
+  /** Returns the time until which calls of the account must wait, or 0 if none. */
+  long getAccountWaitUntil(long clientCustomerId);
+
+  /** Raises the time until which calls of the account must wait, if it is later. */
+  void raiseAccountWaitUntil(long clientCustomerId, long waitUntilMillis);
+}
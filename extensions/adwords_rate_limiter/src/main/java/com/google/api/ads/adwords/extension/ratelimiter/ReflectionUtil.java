@@ -28,12 +28,19 @@ public class ReflectionUtil {
    * @return true if the object is an instance of the specified class
    */
   public static boolean isInstanceOf(Object obj, String classSimpleName) {
-    if (obj == null) {
-      return false;
-    }
-    
-    Class<?> currentClass = obj.getClass();
-    while (currentClass != Object.class) {
+    return obj != null && isSubclassOf(obj.getClass(), classSimpleName);
+  }
+
+  /**
+   * Check whether a class is, or extends, a specified class.
+   *
+   * @param clazz the class to check
+   * @param classSimpleName the simple name of the specified class.
+   * @return true if the class is, or extends, the specified class
+   */
+  public static boolean isSubclassOf(Class<?> clazz, String classSimpleName) {
+    Class<?> currentClass = clazz;
+    while (currentClass != null && currentClass != Object.class) {
       if (currentClass.getSimpleName().equals(classSimpleName)) {
         return true;
       } else {
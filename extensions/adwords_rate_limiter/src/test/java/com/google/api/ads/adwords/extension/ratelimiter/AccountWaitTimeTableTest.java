@@ -0,0 +1,115 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.ads.adwords.extension.ratelimiter.ApiServicesRetryStrategy.DateProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Test case for the {@link AccountWaitTimeTable} class.
+ */
+@RunWith(JUnit4.class)
+public class AccountWaitTimeTableTest {
+  private static final long CID = 123L;
+  private static final long OTHER_CID = 456L;
+
+  private long nowMillis;
+  private AccountWaitTimeTable table;
+
+  @Before
+  public void setUp() {
+    nowMillis = 1000;
+    table = new AccountWaitTimeTable(new DateProvider() {
+      @Override
+      public long getNowInMillis() {
+        return nowMillis;
+      }
+    });
+  }
+
+  @Test
+  public void AccountWaitTimeTable_get_returnsZeroForUnknownAccount() {
+    table.raise(CID, 5000);
+
+    assertThat(table.get(CID)).isEqualTo(5000);
+    assertThat(table.get(OTHER_CID)).isEqualTo(0);
+    assertThat(table.get(0)).isEqualTo(0);
+  }
+
+  @Test
+  public void AccountWaitTimeTable_raise_keepsLaterTime() {
+    table.raise(CID, 5000);
+    table.raise(CID, 3000);
+    assertThat(table.get(CID)).isEqualTo(5000);
+
+    table.raise(CID, 8000);
+    assertThat(table.get(CID)).isEqualTo(8000);
+  }
+
+  @Test
+  public void AccountWaitTimeTable_raise_tellsZeroFromVirtualCid() {
+    table.raise(AdWordsSessionUtil.VIRTUAL_CID, 5000);
+    table.raise(0, 6000);
+
+    assertThat(table.get(AdWordsSessionUtil.VIRTUAL_CID)).isEqualTo(5000);
+    assertThat(table.get(0)).isEqualTo(6000);
+  }
+
+  @Test
+  public void AccountWaitTimeTable_raise_growsWithWaitingAccounts() {
+    for (long cid = 1; cid <= 1000; cid++) {
+      table.raise(cid, 5000 + cid);
+    }
+
+    for (long cid = 1; cid <= 1000; cid++) {
+      assertThat(table.get(cid)).isEqualTo(5000 + cid);
+    }
+    assertThat(table.getCapacity()).isAtLeast(2000);
+  }
+
+  @Test
+  public void AccountWaitTimeTable_raise_reusesExpiredEntries() {
+    // Each account waits until the next one is added, so at most one entry is live.
+    for (long cid = 1; cid <= 1000; cid++) {
+      table.raise(cid, nowMillis + 1);
+      nowMillis += 10;
+    }
+
+    assertThat(table.getCapacity()).isEqualTo(AccountWaitTimeTable.MIN_CAPACITY);
+    assertThat(table.get(1000)).isEqualTo(nowMillis - 9);
+  }
+
+  @Test
+  public void AccountWaitTimeTable_raise_doesNotGrowWhenEntriesExpire() {
+    for (long cid = 1; cid <= 1000; cid++) {
+      table.raise(cid, 5000);
+    }
+    int capacity = table.getCapacity();
+    nowMillis = 6000;
+    for (long cid = 1001; cid <= 2000; cid++) {
+      table.raise(cid, 10000);
+    }
+
+    assertThat(table.getCapacity()).isAtMost(capacity);
+    for (long cid = 1001; cid <= 2000; cid++) {
+      assertThat(table.get(cid)).isEqualTo(10000);
+    }
+  }
+}
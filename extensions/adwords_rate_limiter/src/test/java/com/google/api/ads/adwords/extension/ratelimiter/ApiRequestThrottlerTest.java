@@ -0,0 +1,140 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.ads.adwords.axis.v201806.cm.ApiError;
+import com.google.api.ads.adwords.axis.v201806.cm.ApiException;
+import com.google.api.ads.adwords.axis.v201806.cm.RateExceededError;
+import com.google.api.ads.adwords.extension.ratelimiter.ApiServicesRetryStrategy.DateProvider;
+import java.rmi.RemoteException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Test case for the {@link ApiRequestThrottler} class.
+ */
+@RunWith(JUnit4.class)
+public class ApiRequestThrottlerTest {
+  private static final long CID = 123L;
+  private static final long OTHER_CID = 456L;
+  private static final int RETRY_AFTER_SECONDS = 10;
+
+  private ApiException accountException;
+  private ApiException developerException;
+  private FakeDateProvider dateProvider;
+  private ApiRequestThrottler throttler;
+
+  @Before
+  public void setUp() {
+    accountException = createRateExceededException("ACCOUNT");
+    developerException = createRateExceededException("DEVELOPER");
+    dateProvider = new FakeDateProvider();
+    throttler = new ApiRequestThrottler(ApiRateLimitBucket.OTHERS, dateProvider, 0, 0);
+  }
+
+  private static ApiException createRateExceededException(String rateScope) {
+    RateExceededError error = new RateExceededError();
+    error.setRateScope(rateScope);
+    error.setRetryAfterSeconds(RETRY_AFTER_SECONDS);
+    ApiException exception = new ApiException();
+    exception.setErrors(new ApiError[] {error});
+    return exception;
+  }
+
+  // Makes the given number of calls at the current time, and returns the last wait time.
+  private long reserve(long clientCustomerId, int calls) {
+    long waitForMillis = 0;
+    for (int i = 0; i < calls; i++) {
+      waitForMillis = throttler.reserve(clientCustomerId);
+    }
+    return waitForMillis;
+  }
+
+  @Test
+  public void ApiRequestThrottler_reserve_admitsAllBeforeRateExceededError() {
+    assertThat(reserve(CID, 1000)).isEqualTo(0);
+    assertThat(throttler.getTokenPermitsPerSecond()).isEqualTo(0.0);
+  }
+
+  @Test
+  public void ApiRequestThrottler_onError_developerScopePausesAndCutsObservedRate() {
+    reserve(CID, 10);
+    throttler.onError(CID, developerException);
+
+    assertThat(throttler.getTokenPermitsPerSecond())
+        .isEqualTo(10 * AdaptiveTokenBucket.DECREASE_FACTOR);
+    assertThat(throttler.reserve(OTHER_CID)).isEqualTo(RETRY_AFTER_SECONDS * 1000L);
+    // Later calls are spread out at the reduced rate.
+    assertThat(throttler.reserve(CID)).isEqualTo(RETRY_AFTER_SECONDS * 1000L + 200);
+  }
+
+  @Test
+  public void ApiRequestThrottler_onError_accountScopeOnlyThrottlesAccount() {
+    reserve(CID, 10);
+    throttler.onError(CID, accountException);
+
+    assertThat(throttler.getTokenPermitsPerSecond()).isEqualTo(0.0);
+    assertThat(throttler.reserve(CID)).isEqualTo(RETRY_AFTER_SECONDS * 1000L);
+    assertThat(throttler.reserve(OTHER_CID)).isEqualTo(0);
+  }
+
+  @Test
+  public void ApiRequestThrottler_onError_ignoresOtherErrors() {
+    reserve(CID, 10);
+    throttler.onError(CID, new ApiException());
+    throttler.onError(CID, new RemoteException("message"));
+
+    assertThat(reserve(CID, 10)).isEqualTo(0);
+  }
+
+  @Test
+  public void ApiRequestThrottler_onSuccess_recoversRate() {
+    reserve(CID, 10);
+    throttler.onError(CID, developerException);
+    double throttledRate = throttler.getTokenPermitsPerSecond();
+
+    for (int i = 0; i < 10; i++) {
+      throttler.onSuccess(CID);
+    }
+    assertThat(throttler.getTokenPermitsPerSecond()).isGreaterThan(throttledRate);
+  }
+
+  @Test
+  public void ApiRequestThrottler_reserve_respectsMaxRate() {
+    throttler = new ApiRequestThrottler(ApiRateLimitBucket.OTHERS, dateProvider, 2, 0);
+
+    // A burst of up to one second worth of calls is admitted immediately.
+    assertThat(reserve(CID, 3)).isEqualTo(0);
+    assertThat(throttler.reserve(CID)).isEqualTo(500);
+    assertThat(throttler.reserve(CID)).isEqualTo(1000);
+
+    for (int i = 0; i < 100; i++) {
+      throttler.onSuccess(CID);
+    }
+    assertThat(throttler.getTokenPermitsPerSecond()).isEqualTo(2.0);
+  }
+
+  private static class FakeDateProvider implements DateProvider {
+
+    @Override
+    public long getNowInMillis() {
+      return 1000000L;
+    }
+  }
+}
@@ -0,0 +1,231 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.api.ads.adwords.axis.v201806.cm.ApiError;
+import com.google.api.ads.adwords.axis.v201806.cm.ApiException;
+import com.google.api.ads.adwords.axis.v201806.cm.RateExceededError;
+import com.google.common.collect.ImmutableList;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mockito;
+
+/**
+ * Test case for the {@link AsyncApiRateLimiter} class.
+ */
+@RunWith(JUnit4.class)
+public class AsyncApiRateLimiterTest {
+  private static final long TEST_CID = 1L;
+  private static final long OTHER_CID = 2L;
+  private static final Object DUMMY_OBJECT = new Object();
+
+  private static final int MAX_ATTEMPTS = 3;
+  private static final long WAIT_MILLIS = 200;
+
+  private static final RateExceededError rateExceededError = new RateExceededError();
+  private static final ApiException rateExceededException = new ApiException();
+  private static final RemoteException remoteException = new RemoteException("message");
+
+  // The service that mocks AdWords API services.
+  private interface MockService {
+    Object invoke() throws RemoteException;
+  }
+
+  // Retries on RateExceededError after a fixed wait, so that tests do not depend on the
+  // configuration of ApiServicesRetryStrategy.
+  private static final class FixedWaitRetryStrategy implements ApiRetryStrategy {
+    @Override
+    public boolean canDoThisAttempt(int kthAttempt) {
+      return kthAttempt <= MAX_ATTEMPTS;
+    }
+
+    @Override
+    public boolean shouldRetryOnError(long clientCustomerId, Throwable throwable) {
+      return throwable == rateExceededException;
+    }
+
+    @Override
+    public long calcWaitTimeBeforeCall(long clientCustomerId, int kthAttempt, Throwable throwable) {
+      return throwable == null ? 0 : WAIT_MILLIS;
+    }
+  }
+
+  private final MockService mockService = Mockito.mock(MockService.class);
+  private AsyncApiRateLimiter rateLimiter;
+
+  @BeforeClass
+  public static void beforeClass() {
+    rateExceededError.setRateScope("DEVELOPER");
+    rateExceededError.setRetryAfterSeconds(1);
+    rateExceededException.setErrors(new ApiError[] {rateExceededError});
+  }
+
+  @Before
+  public void setUp() {
+    rateLimiter = new AsyncApiRateLimiter(new FixedWaitRetryStrategy(), null, 1);
+  }
+
+  @After
+  public void tearDown() {
+    rateLimiter.shutdown();
+  }
+
+  private static Throwable getError(CompletableFuture<?> future) throws Exception {
+    try {
+      future.get(5, SECONDS);
+    } catch (ExecutionException e) {
+      return e.getCause();
+    }
+    throw new AssertionError("The call did not fail!");
+  }
+
+  // Test that AdWords API call succeeds.
+  @Test
+  public void testPass() throws Exception {
+    when(mockService.invoke()).thenReturn(DUMMY_OBJECT);
+
+    assertSame(DUMMY_OBJECT, rateLimiter.submit(TEST_CID, mockService::invoke, "invoke").get());
+  }
+
+  // Test that AdWords API call failed with RateExceededError first, but succeeds on retry.
+  @Test
+  public void testPassAfterOneRetry() throws Exception {
+    when(mockService.invoke()).thenThrow(rateExceededException).thenReturn(DUMMY_OBJECT);
+
+    long startTime = System.currentTimeMillis();
+    Object result = rateLimiter.submit(TEST_CID, mockService::invoke, "invoke").get(5, SECONDS);
+    long duration = System.currentTimeMillis() - startTime;
+
+    assertSame(DUMMY_OBJECT, result);
+    assertTrue("Unexpected execution duration!", duration >= WAIT_MILLIS);
+    verify(mockService, times(2)).invoke();
+  }
+
+  // Test that AdWords API call failed with RateExceededError with all retries.
+  @Test
+  public void testFailWithRateExceededError() throws Exception {
+    when(mockService.invoke()).thenThrow(rateExceededException);
+
+    Throwable error = getError(rateLimiter.submit(TEST_CID, mockService::invoke, "invoke"));
+
+    assertSame(rateExceededException, error);
+    verify(mockService, times(MAX_ATTEMPTS)).invoke();
+  }
+
+  // Test that AdWords API call failed with RemoteException, without retries.
+  @Test
+  public void testFailWithRemoteException() throws Exception {
+    when(mockService.invoke()).thenThrow(remoteException);
+
+    Throwable error = getError(rateLimiter.submit(TEST_CID, mockService::invoke, "invoke"));
+
+    assertSame(remoteException, error);
+    verify(mockService, times(1)).invoke();
+  }
+
+  // Test that a call that throws an Error fails instead of never completing, and that later calls
+  // still run.
+  @Test
+  public void testFailWithError() throws Exception {
+    Error linkageError = new LinkageError("Failed to link");
+    when(mockService.invoke()).thenThrow(linkageError).thenReturn(DUMMY_OBJECT);
+
+    Throwable error = getError(rateLimiter.submit(TEST_CID, mockService::invoke, "invoke"));
+
+    assertSame(linkageError, error);
+    assertSame(
+        DUMMY_OBJECT,
+        rateLimiter.submit(TEST_CID, mockService::invoke, "invoke").get(5, SECONDS));
+    verify(mockService, times(2)).invoke();
+  }
+
+  // Test that calls for another account run while a retry waits, and before the retry when both
+  // are ready.
+  @Test
+  public void testThrottledRetryRunsAfterOtherCalls() throws Exception {
+    final List<String> calls = Collections.synchronizedList(new ArrayList<String>());
+    final CountDownLatch retryReady = new CountDownLatch(1);
+    when(mockService.invoke()).thenThrow(rateExceededException).thenReturn(DUMMY_OBJECT);
+
+    CompletableFuture<Object> throttledCall =
+        rateLimiter.submit(
+            TEST_CID,
+            () -> {
+              calls.add("throttled");
+              return mockService.invoke();
+            },
+            "invoke");
+    List<CompletableFuture<Object>> otherCalls = new ArrayList<CompletableFuture<Object>>();
+    for (int i = 0; i < 3; i++) {
+      final String name = "other" + i;
+      otherCalls.add(
+          rateLimiter.submit(
+              OTHER_CID,
+              () -> {
+                // Keep the only call thread busy until the retry is waiting in the queue.
+                retryReady.await(WAIT_MILLIS * 2, MILLISECONDS);
+                calls.add(name);
+                return DUMMY_OBJECT;
+              },
+              "invoke"));
+    }
+    Thread.sleep(WAIT_MILLIS + 100);
+    retryReady.countDown();
+
+    assertSame(DUMMY_OBJECT, throttledCall.get(5, SECONDS));
+    for (CompletableFuture<Object> otherCall : otherCalls) {
+      assertSame(DUMMY_OBJECT, otherCall.get(5, SECONDS));
+    }
+    assertEquals(ImmutableList.of("throttled", "other0", "other1", "other2", "throttled"), calls);
+  }
+
+  // Test that calls waiting for a retry fail on shutdown, as do calls submitted afterwards.
+  @Test
+  public void testShutdown() throws Exception {
+    when(mockService.invoke()).thenThrow(rateExceededException);
+
+    CompletableFuture<Object> waitingCall =
+        rateLimiter.submit(TEST_CID, mockService::invoke, "invoke");
+    Thread.sleep(WAIT_MILLIS / 2);
+    rateLimiter.shutdown();
+
+    assertTrue(getError(waitingCall) instanceof RejectedExecutionException);
+    verify(mockService, times(1)).invoke();
+    assertTrue(
+        getError(rateLimiter.submit(TEST_CID, mockService::invoke, "invoke"))
+            instanceof RejectedExecutionException);
+  }
+}
@@ -0,0 +1,145 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Test case for the {@link MappedFileRateLimitStateStore} class.
+ */
+@RunWith(JUnit4.class)
+public class MappedFileRateLimitStateStoreTest {
+  private static final long CID = 123L;
+  private static final long OTHER_CID = 456L;
+  private static final int ACCOUNT_SLOTS = 64;
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path file;
+  private MappedFileRateLimitStateStore store;
+  // Maps the same file, as another process would.
+  private MappedFileRateLimitStateStore otherStore;
+
+  @Before
+  public void setUp() throws IOException {
+    file = temporaryFolder.getRoot().toPath().resolve("ratelimiter.state");
+    store = MappedFileRateLimitStateStore.open(file, ACCOUNT_SLOTS);
+    otherStore = MappedFileRateLimitStateStore.open(file, ACCOUNT_SLOTS);
+  }
+
+  private static long inFuture(long millis) {
+    return System.currentTimeMillis() + millis;
+  }
+
+  @Test
+  public void MappedFileRateLimitStateStore_raiseTokenWaitUntil_isShared() {
+    long waitUntil = inFuture(10000);
+    store.raiseTokenWaitUntil(waitUntil);
+
+    assertThat(otherStore.getTokenWaitUntil()).isEqualTo(waitUntil);
+    assertThat(otherStore.getAccountWaitUntil(CID)).isEqualTo(0);
+  }
+
+  @Test
+  public void MappedFileRateLimitStateStore_raiseTokenWaitUntil_keepsLaterTime() {
+    long waitUntil = inFuture(10000);
+    store.raiseTokenWaitUntil(waitUntil);
+    otherStore.raiseTokenWaitUntil(waitUntil - 5000);
+
+    assertThat(store.getTokenWaitUntil()).isEqualTo(waitUntil);
+  }
+
+  @Test
+  public void MappedFileRateLimitStateStore_raiseAccountWaitUntil_isSharedPerAccount() {
+    long waitUntil = inFuture(10000);
+    store.raiseAccountWaitUntil(CID, waitUntil);
+    otherStore.raiseAccountWaitUntil(CID, waitUntil - 5000);
+    otherStore.raiseAccountWaitUntil(OTHER_CID, waitUntil + 5000);
+
+    assertThat(otherStore.getAccountWaitUntil(CID)).isEqualTo(waitUntil);
+    assertThat(store.getAccountWaitUntil(OTHER_CID)).isEqualTo(waitUntil + 5000);
+    assertThat(store.getTokenWaitUntil()).isEqualTo(0);
+  }
+
+  @Test
+  public void MappedFileRateLimitStateStore_raiseAccountWaitUntil_tellsZeroFromVirtualCid() {
+    long waitUntil = inFuture(10000);
+    store.raiseAccountWaitUntil(AdWordsSessionUtil.VIRTUAL_CID, waitUntil);
+
+    assertThat(store.getAccountWaitUntil(AdWordsSessionUtil.VIRTUAL_CID)).isEqualTo(waitUntil);
+    assertThat(store.getAccountWaitUntil(0)).isEqualTo(0);
+  }
+
+  @Test
+  public void MappedFileRateLimitStateStore_raiseAccountWaitUntil_skipsWhenFull()
+      throws IOException {
+    // Every account can use every slot of a table no larger than the probed slots.
+    int accountSlots = MappedFileRateLimitStateStore.MAX_PROBES;
+    MappedFileRateLimitStateStore smallStore =
+        MappedFileRateLimitStateStore.open(temporaryFolder.newFile().toPath(), accountSlots);
+    long waitUntil = inFuture(10000);
+    for (long cid = 1; cid <= accountSlots; cid++) {
+      smallStore.raiseAccountWaitUntil(cid, waitUntil);
+    }
+    smallStore.raiseAccountWaitUntil(OTHER_CID, waitUntil);
+
+    for (long cid = 1; cid <= accountSlots; cid++) {
+      assertThat(smallStore.getAccountWaitUntil(cid)).isEqualTo(waitUntil);
+    }
+    assertThat(smallStore.getAccountWaitUntil(OTHER_CID)).isEqualTo(0);
+  }
+
+  @Test
+  public void MappedFileRateLimitStateStore_raiseAccountWaitUntil_reusesExpiredSlots() {
+    long expired = System.currentTimeMillis() - 1;
+    for (long cid = 1; cid <= ACCOUNT_SLOTS; cid++) {
+      store.raiseAccountWaitUntil(cid, expired);
+    }
+    long waitUntil = inFuture(10000);
+    otherStore.raiseAccountWaitUntil(OTHER_CID, waitUntil);
+
+    assertThat(store.getAccountWaitUntil(OTHER_CID)).isEqualTo(waitUntil);
+  }
+
+  @Test
+  public void MappedFileRateLimitStateStore_open_keepsSlotsOfExistingFile() throws IOException {
+    store.raiseAccountWaitUntil(CID, inFuture(10000));
+
+    MappedFileRateLimitStateStore reopened =
+        MappedFileRateLimitStateStore.open(file, ACCOUNT_SLOTS * 2);
+
+    assertThat(reopened.getAccountSlots()).isEqualTo(ACCOUNT_SLOTS);
+    assertThat(reopened.getAccountWaitUntil(CID)).isEqualTo(store.getAccountWaitUntil(CID));
+  }
+
+  @Test
+  public void ApiServicesRetryStrategy_withSharedStore_waitsForOtherProcess() {
+    long waitUntil = inFuture(10000);
+    otherStore.raiseTokenWaitUntil(waitUntil);
+
+    ApiServicesRetryStrategy retries = ApiServicesRetryStrategy.newInstance(store);
+
+    assertThat(retries.calcWaitTimeBeforeCall(CID, 1, null)).isGreaterThan(5000L);
+  }
+}
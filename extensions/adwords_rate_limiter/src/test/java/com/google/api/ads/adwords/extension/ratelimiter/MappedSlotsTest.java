@@ -0,0 +1,86 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Test case for the {@link MappedSlots} class.
+ */
+@RunWith(JUnit4.class)
+public class MappedSlotsTest {
+  private static final int FILE_BYTES = 64;
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static MappedSlots open(Path file, boolean useFileLocks) throws IOException {
+    FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE);
+    if (channel.size() == 0) {
+      channel.write(ByteBuffer.allocate(FILE_BYTES), 0);
+    }
+    if (useFileLocks) {
+      return new MappedSlots.FileLockSlots(
+          channel, channel.map(MapMode.READ_WRITE, 0, FILE_BYTES));
+    }
+    return MappedSlots.create(channel, channel.map(MapMode.READ_WRITE, 0, FILE_BYTES));
+  }
+
+  private static void assertCompareAndSwap(MappedSlots slots) {
+    assertThat(slots.getLongVolatile(8)).isEqualTo(0L);
+    assertThat(slots.compareAndSwapLong(8, 0L, 42L)).isTrue();
+    assertThat(slots.compareAndSwapLong(8, 0L, 43L)).isFalse();
+    assertThat(slots.getLongVolatile(8)).isEqualTo(42L);
+    assertThat(slots.getLongVolatile(0)).isEqualTo(0L);
+    assertThat(slots.getLongVolatile(16)).isEqualTo(0L);
+  }
+
+  @Test
+  public void MappedSlots_create_usesUnsafe() throws IOException {
+    MappedSlots slots = open(temporaryFolder.newFile().toPath(), false);
+
+    assertThat(slots).isInstanceOf(MappedSlots.UnsafeSlots.class);
+    assertCompareAndSwap(slots);
+  }
+
+  @Test
+  public void MappedSlots_fileLockSlots_compareAndSwap() throws IOException {
+    assertCompareAndSwap(open(temporaryFolder.newFile().toPath(), true));
+  }
+
+  @Test
+  public void MappedSlots_fileLockSlots_sameLayoutAsUnsafe() throws IOException {
+    Path file = temporaryFolder.newFile().toPath();
+    MappedSlots unsafeSlots = open(file, false);
+    MappedSlots fileLockSlots = open(file, true);
+
+    assertThat(unsafeSlots.compareAndSwapLong(24, 0L, 0x0102030405060708L)).isTrue();
+
+    assertThat(fileLockSlots.getLongVolatile(24)).isEqualTo(0x0102030405060708L);
+  }
+}
@@ -0,0 +1,91 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.extension.ratelimiter;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.ads.adwords.axis.v201806.cm.ApiError;
+import com.google.api.ads.adwords.axis.v201806.cm.ApiException;
+import com.google.api.ads.adwords.axis.v201806.cm.InternalApiError;
+import com.google.api.ads.adwords.axis.v201806.cm.RateExceededError;
+import java.rmi.RemoteException;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Test case for the {@link RateExceededErrorInfo} class.
+ */
+@RunWith(JUnit4.class)
+public class RateExceededErrorInfoTest {
+
+  @Rule public final ExpectedException thrown = ExpectedException.none();
+
+  private static final class Malformed {
+    // Has the simple name of ApiException, but no errors to read.
+    private static final class ApiException extends Exception {}
+  }
+
+  private static RateExceededError createRateExceededError(String rateScope, int seconds) {
+    RateExceededError error = new RateExceededError();
+    error.setRateScope(rateScope);
+    error.setRetryAfterSeconds(seconds);
+    return error;
+  }
+
+  @Test
+  public void RateExceededErrorInfo_fromThrowable_extractsRateExceededErrors() {
+    ApiException exception = new ApiException();
+    exception.setErrors(
+        new ApiError[] {
+          new InternalApiError(),
+          createRateExceededError("ACCOUNT", 10),
+          createRateExceededError("DEVELOPER", 20)
+        });
+
+    // Twice, so that the second time reads through the cached getters.
+    for (int i = 0; i < 2; i++) {
+      List<RateExceededErrorInfo> errors = RateExceededErrorInfo.fromThrowable(exception);
+
+      assertThat(errors).hasSize(2);
+      assertThat(errors.get(0).getRateScope()).isEqualTo("ACCOUNT");
+      assertThat(errors.get(0).getRetryAfterSeconds()).isEqualTo(10);
+      assertThat(errors.get(1).getRateScope()).isEqualTo("DEVELOPER");
+      assertThat(errors.get(1).getRetryAfterSeconds()).isEqualTo(20);
+    }
+  }
+
+  @Test
+  public void RateExceededErrorInfo_fromThrowable_ignoresOtherErrors() {
+    ApiException exception = new ApiException();
+    assertThat(RateExceededErrorInfo.fromThrowable(exception)).isEmpty();
+
+    exception.setErrors(new ApiError[] {new InternalApiError()});
+    assertThat(RateExceededErrorInfo.fromThrowable(exception)).isEmpty();
+
+    assertThat(RateExceededErrorInfo.fromThrowable(new RemoteException("message"))).isEmpty();
+    assertThat(RateExceededErrorInfo.fromThrowable(null)).isEmpty();
+  }
+
+  @Test
+  public void RateExceededErrorInfo_fromThrowable_failsWithoutGetter() {
+    thrown.expect(RateLimiterReflectionException.class);
+    thrown.expectMessage("getErrors");
+    RateExceededErrorInfo.fromThrowable(new Malformed.ApiException());
+  }
+}
@@ -17,8 +17,8 @@ package com.google.api.ads.admanager.lib;
 import com.google.api.ads.admanager.lib.client.AdManagerServiceClient;
 import com.google.api.ads.admanager.lib.conf.AdManagerConfigurationModule;
 import com.google.api.ads.common.lib.AdsModule;
+import com.google.api.ads.common.lib.utils.HttpTransportProvider;
 import com.google.api.client.http.HttpTransport;
-import com.google.api.client.http.javanet.NetHttpTransport;
 
 /** Guice module for Ad Manager bindings. */
 public class AdManagerModule extends AdsModule {
@@ -30,6 +30,6 @@ public class AdManagerModule extends AdsModule {
     super.configure();
     configureLogging(AdManagerServiceClient.class.getName());
     install(new AdManagerConfigurationModule());
-    bind(HttpTransport.class).to(NetHttpTransport.class);
+    bind(HttpTransport.class).toProvider(HttpTransportProvider.class);
   }
 }
@@ -40,6 +40,11 @@ public class AdManagerLibConfiguration extends AdsLibConfiguration {
     return config.getBoolean(KEY_PREFIX + "." + AUTO_REFRESH_OAUTH2_TOKEN_POSTFIX, true);
   }
 
+  @Override
+  public boolean isOAuth2TokenCacheEnabled() {
+    return config.getBoolean(KEY_PREFIX + "." + OAUTH2_TOKEN_CACHE_POSTFIX, false);
+  }
+
   @Override
   public boolean isCompressionEnabled() {
     return config.getBoolean(KEY_PREFIX + "." + USE_COMPRESSION_POSTFIX, false);
@@ -50,4 +55,46 @@ public class AdManagerLibConfiguration extends AdsLibConfiguration {
     return config.getInt(
         KEY_PREFIX + "." + SOAP_REQUEST_TIMEOUT_POSTFIX, DEFAULT_SOAP_REQUEST_TIMEOUT);
   }
+
+  @Override
+  public boolean isLazyPayloadCaptureEnabled() {
+    return config.getBoolean(KEY_PREFIX + "." + LAZY_PAYLOAD_CAPTURE_POSTFIX, false);
+  }
+
+  @Override
+  public int getSoapClientPoolSize() {
+    return config.getInt(KEY_PREFIX + "." + SOAP_CLIENT_POOL_SIZE_POSTFIX, 0);
+  }
+
+  @Override
+  public long getSoapClientPoolMaxWait() {
+    return config.getLong(KEY_PREFIX + "." + SOAP_CLIENT_POOL_MAX_WAIT_POSTFIX, 0L);
+  }
+
+  @Override
+  public int getHttpConnectionPoolMaxTotal() {
+    return config.getInt(KEY_PREFIX + "." + HTTP_CONNECTION_POOL_MAX_TOTAL_POSTFIX, 0);
+  }
+
+  @Override
+  public int getHttpConnectionPoolMaxPerRoute() {
+    return config.getInt(KEY_PREFIX + "." + HTTP_CONNECTION_POOL_MAX_PER_ROUTE_POSTFIX,
+        getHttpConnectionPoolMaxTotal());
+  }
+
+  @Override
+  public long getHttpConnectionPoolIdleTimeout() {
+    return config.getLong(KEY_PREFIX + "." + HTTP_CONNECTION_POOL_IDLE_TIMEOUT_POSTFIX,
+        DEFAULT_HTTP_CONNECTION_POOL_IDLE_TIMEOUT);
+  }
+
+  @Override
+  public int getDetailsLogQueueSize() {
+    return config.getInt(KEY_PREFIX + "." + DETAILS_LOG_QUEUE_SIZE_POSTFIX, 0);
+  }
+
+  @Override
+  public long getDetailsLogQueueMaxWait() {
+    return config.getLong(KEY_PREFIX + "." + DETAILS_LOG_QUEUE_MAX_WAIT_POSTFIX, 0L);
+  }
 }
@@ -58,7 +58,11 @@ public class AdManagerServiceClientFactoryHelper
                            * the raw type here. */
           SoapClientHandlerInterface soapClientHandler,
       AdsLibConfiguration adsLibConfiguration) {
-    super(adsServiceClientFactory, adsServiceDescriptorFactory, soapClientHandler);
+    super(
+        adsServiceClientFactory,
+        adsServiceDescriptorFactory,
+        soapClientHandler,
+        adsLibConfiguration);
     this.adsLibConfiguration = adsLibConfiguration;
   }
 
@@ -0,0 +1,151 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.admanager.lib.utils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.apache.commons.beanutils.PropertyUtils;
+
+/**
+ * An iterator over all objects of a keyset paginated statement.
+ *
+ * <p>Each page is requested after the largest ID seen so far, so every page costs the same however
+ * deep the scan is. The objects of each page must be in ascending ID order. Pages are fetched
+ * lazily, and the scan ends once a page holds every remaining object. Only objects with a
+ * {@code Long} ID are supported.
+ *
+ * @param <T> the object type
+ */
+public class KeysetIteratorHelper<T> implements Iterator<T> {
+
+  private final PageFetcher<? extends Iterable<T>> pageFetcher;
+  private long lastId;
+  private Iterator<T> results = Collections.emptyIterator();
+  private boolean lastPage;
+
+  /**
+   * Fetches the page of objects after an ID.
+   *
+   * @param <P> the page type
+   */
+  public interface PageFetcher<P> {
+    /**
+     * Fetches the page of objects with an ID greater than {@code lastId}, in ascending ID order.
+     */
+    P getPageAfter(long lastId) throws Exception;
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param pageFetcher fetches each page
+   * @param lastId the ID to start the scan after
+   */
+  public KeysetIteratorHelper(PageFetcher<? extends Iterable<T>> pageFetcher, long lastId) {
+    this.pageFetcher = Preconditions.checkNotNull(pageFetcher, "Null page fetcher");
+    this.lastId = lastId;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalStateException if fetching a page failed, with the failure as its cause
+   */
+  @Override
+  public boolean hasNext() {
+    while (!results.hasNext() && !lastPage) {
+      fetchPage();
+    }
+    return results.hasNext();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalStateException if fetching a page failed, with the failure as its cause
+   */
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return results.next();
+  }
+
+  /**
+   * Returns the largest ID fetched so far. Objects up to this ID may not have been returned by
+   * {@link #next()} yet.
+   */
+  public long getLastId() {
+    return lastId;
+  }
+
+  private void fetchPage() {
+    Iterable<T> page;
+    try {
+      page = pageFetcher.getPageAfter(lastId);
+    } catch (Exception e) {
+      Throwables.throwIfUnchecked(e);
+      throw new IllegalStateException("Failed to fetch the page after ID " + lastId, e);
+    }
+    int totalResultSetSize = StatementPagerHelper.getTotalResultSetSize(page);
+    List<T> pageResults = Lists.newArrayList(page);
+    // The total counts the objects remaining after lastId, so it is the last page if it holds all
+    // of them.
+    lastPage = pageResults.isEmpty() || pageResults.size() >= totalResultSetSize;
+    if (!pageResults.isEmpty()) {
+      long pageLastId = getId(pageResults.get(pageResults.size() - 1));
+      Preconditions.checkState(
+          pageLastId > lastId,
+          "Page after ID %s ended at ID %s, is it ordered by ID?",
+          lastId,
+          pageLastId);
+      lastId = pageLastId;
+    }
+    results = pageResults.iterator();
+  }
+
+  /**
+   * Returns the ID of {@code object}.
+   *
+   * @throws IllegalArgumentException if the object has no {@code Long} ID
+   */
+  private static long getId(Object object) {
+    try {
+      Object id = PropertyUtils.getProperty(object, "id");
+      Preconditions.checkState(id != null, "Null ID: %s", object);
+      if (!(id instanceof Long)) {
+        throw new IllegalArgumentException(
+            "Keyset pagination needs Long IDs, but "
+                + object.getClass().getName()
+                + " has IDs of type "
+                + id.getClass().getName());
+      }
+      return (Long) id;
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Could not get field.", e);
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException("Could not get field.", e);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalArgumentException("No ID: " + object.getClass().getName(), e);
+    }
+  }
+}
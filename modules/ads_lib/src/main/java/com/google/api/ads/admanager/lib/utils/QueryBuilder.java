@@ -23,6 +23,16 @@ import java.util.Map;
 /**
  * {@code QueryBuilder} allows for queries to be constructed in parts.
  *
+ * <p>Queries are paged with {@code LIMIT} and {@code OFFSET} by default. With
+ * keyset pagination, set by {@link #afterId(Object)} or {@link #upToId(Object)},
+ * the query is instead built as<br><br>
+ * <code>"WHERE (&lt;conditions&gt;) AND id &gt; :lastId [AND id &lt;= :maxId]
+ * ORDER BY id ASC LIMIT &lt;count&gt;"</code>
+ * <br><br>
+ * so each page costs the same however deep the scan is, and objects created or
+ * deleted during the scan do not shift later pages. Disjoint ID ranges can be
+ * scanned by independent workers.
+ *
  * @param <V> the type of the API Value
  */
 public class QueryBuilder<V> implements QueryBuilderInterface<V> {
@@ -33,6 +43,10 @@ public class QueryBuilder<V> implements QueryBuilderInterface<V> {
   protected static final String LIMIT = "LIMIT";
   protected static final String OFFSET = "OFFSET";
   protected static final String ORDER_BY = "ORDER BY";
+  protected static final String ID = "id";
+  protected static final String ID_ORDER = ID + " ASC";
+  protected static final String LAST_ID = "lastId";
+  protected static final String MAX_ID = "maxId";
 
   protected String select;
   protected String from;
@@ -40,6 +54,9 @@ public class QueryBuilder<V> implements QueryBuilderInterface<V> {
   protected Integer limit = null;
   protected Integer offset = null;
   protected String orderBy;
+  protected boolean keysetPagination;
+  protected boolean hasLastId;
+  protected boolean hasMaxId;
 
   protected Map<String, V> valueMap;
 
@@ -194,6 +211,37 @@ public class QueryBuilder<V> implements QueryBuilderInterface<V> {
     return this;
   }
 
+  /**
+   * Switches the query to keyset pagination, selecting only objects with an ID
+   * greater than {@code lastId} in ascending ID order. The ID is bound to
+   * {@code :lastId}.
+   * @param lastId the last ID seen, or a value below all IDs to start a scan
+   * @return a reference to this object
+   */
+  @Override
+  public QueryBuilder<V> afterId(V lastId) {
+    Preconditions.checkNotNull(lastId, "Last ID cannot be null");
+    valueMap.put(LAST_ID, lastId);
+    keysetPagination = true;
+    hasLastId = true;
+    return this;
+  }
+
+  /**
+   * Switches the query to keyset pagination, selecting only objects with an ID
+   * up to and including {@code maxId}. The ID is bound to {@code :maxId}.
+   * @param maxId the largest ID to select
+   * @return a reference to this object
+   */
+  @Override
+  public QueryBuilder<V> upToId(V maxId) {
+    Preconditions.checkNotNull(maxId, "Max ID cannot be null");
+    valueMap.put(MAX_ID, maxId);
+    keysetPagination = true;
+    hasMaxId = true;
+    return this;
+  }
+
   /**
    * Adds a value to the statement in the form of a {@code Value}.
    *
@@ -232,6 +280,40 @@ public class QueryBuilder<V> implements QueryBuilderInterface<V> {
   protected void validateQuery() {
     Preconditions.checkState(limit != null || (limit == null && offset == null),
         "OFFSET cannot be set if LIMIT is not set.");
+    if (keysetPagination) {
+      Preconditions.checkState(offset == null,
+          "OFFSET cannot be set with keyset pagination.");
+      Preconditions.checkState(orderBy == null || ID_ORDER.equalsIgnoreCase(orderBy.trim()),
+          "ORDER BY must be \"%s\" with keyset pagination.", ID_ORDER);
+    }
+  }
+
+  /**
+   * Gets the WHERE clause of the query, including the ID range conditions of
+   * keyset pagination.
+   */
+  private String getConditions() {
+    if (!keysetPagination) {
+      return where;
+    }
+    StringBuilder conditions = new StringBuilder();
+    if (!Strings.isNullOrEmpty(where)) {
+      conditions.append('(').append(where).append(')');
+    }
+    if (hasLastId) {
+      appendCondition(conditions, ID + " > :" + LAST_ID);
+    }
+    if (hasMaxId) {
+      appendCondition(conditions, ID + " <= :" + MAX_ID);
+    }
+    return conditions.toString();
+  }
+
+  private static void appendCondition(StringBuilder conditions, String condition) {
+    if (conditions.length() > 0) {
+      conditions.append(" AND ");
+    }
+    conditions.append(condition);
   }
 
   /**
@@ -249,10 +331,13 @@ public class QueryBuilder<V> implements QueryBuilderInterface<V> {
     if (!Strings.isNullOrEmpty(from)) {
       stringBuilder = stringBuilder.append(FROM).append(" ").append(from).append(" ");
     }
-    if (!Strings.isNullOrEmpty(where)) {
-      stringBuilder = stringBuilder.append(WHERE).append(" ").append(where).append(" ");
+    String conditions = getConditions();
+    if (!Strings.isNullOrEmpty(conditions)) {
+      stringBuilder = stringBuilder.append(WHERE).append(" ").append(conditions).append(" ");
     }
-    if (!Strings.isNullOrEmpty(orderBy)) {
+    if (keysetPagination) {
+      stringBuilder = stringBuilder.append(ORDER_BY).append(" ").append(ID_ORDER).append(" ");
+    } else if (!Strings.isNullOrEmpty(orderBy)) {
       stringBuilder = stringBuilder.append(ORDER_BY).append(" ").append(orderBy).append(" ");
     }
     if (limit != null) {
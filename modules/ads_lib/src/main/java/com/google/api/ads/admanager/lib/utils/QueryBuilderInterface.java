@@ -105,6 +105,23 @@ public interface QueryBuilderInterface<V> {
    */
   QueryBuilderInterface<V> orderBy(String orderBy);
 
+  /**
+   * Switches the query to keyset pagination, selecting only objects with an ID
+   * greater than {@code lastId} in ascending ID order. The ID is bound to
+   * {@code :lastId}.
+   * @param lastId the last ID seen, or a value below all IDs to start a scan
+   * @return a reference to this object
+   */
+  QueryBuilderInterface<V> afterId(V lastId);
+
+  /**
+   * Switches the query to keyset pagination, selecting only objects with an ID
+   * up to and including {@code maxId}. The ID is bound to {@code :maxId}.
+   * @param maxId the largest ID to select
+   * @return a reference to this object
+   */
+  QueryBuilderInterface<V> upToId(V maxId);
+
   /**
    * Puts a key-value into the bind variables.
    */
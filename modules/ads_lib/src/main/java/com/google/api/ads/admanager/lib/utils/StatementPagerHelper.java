@@ -0,0 +1,179 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.admanager.lib.utils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import org.apache.commons.beanutils.PropertyUtils;
+
+/**
+ * A utility class that fetches all pages of a statement, fetching pages after the first one
+ * concurrently.
+ *
+ * <p>The first page is fetched to learn the {@code totalResultSetSize} of the statement. The
+ * remaining pages are then fetched with up to {@code maxConcurrentPages} requests in flight, and
+ * passed to a consumer on the calling thread, either in offset order or in the order they arrive.
+ * At most {@code maxConcurrentPages} fetched pages are held in memory at a time.
+ *
+ * <p>The total is read with bean accessors, so any API page type with a
+ * {@code totalResultSetSize} property is supported.
+ *
+ * <p>As with serial paging, results may be skipped or repeated if entities matching the statement
+ * are created or deleted while paging.
+ */
+public class StatementPagerHelper {
+
+  private final int pageSize;
+  private final int maxConcurrentPages;
+
+  /**
+   * Creates requests for pages. Requests are created on the calling thread, in offset order, and
+   * run on other threads.
+   *
+   * @param <P> the page type
+   */
+  public interface PageRequestFactory<P> {
+    /**
+     * Creates a request for the page of results at {@code offset}.
+     *
+     * @param offset the offset of the page
+     * @param limit the maximum number of results in the page
+     */
+    Callable<P> create(int offset, int limit);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param pageSize the number of results to request in each page
+   * @param maxConcurrentPages the maximum number of page requests in flight at a time
+   */
+  public StatementPagerHelper(int pageSize, int maxConcurrentPages) {
+    Preconditions.checkArgument(pageSize > 0, "Page size %s is not positive", pageSize);
+    Preconditions.checkArgument(
+        maxConcurrentPages > 0, "Max concurrent pages %s is not positive", maxConcurrentPages);
+    this.pageSize = pageSize;
+    this.maxConcurrentPages = maxConcurrentPages;
+  }
+
+  /**
+   * Fetches every page from {@code startOffset} and passes it to {@code consumer}.
+   *
+   * @param <P> the page type
+   * @param startOffset the offset of the first page
+   * @param pageRequestFactory creates the request for each page
+   * @param consumer receives each page on the calling thread
+   * @param inOrder if true, pages are passed to the consumer in offset order. Otherwise they are
+   *     passed in the order they are fetched, after the first page.
+   * @return the total number of results of the statement, as reported by the first page
+   * @throws Exception the first exception thrown by a page request or the consumer. Page requests
+   *     still in flight are cancelled.
+   */
+  public <P> int forEachPage(
+      int startOffset,
+      PageRequestFactory<P> pageRequestFactory,
+      Consumer<? super P> consumer,
+      boolean inOrder)
+      throws Exception {
+    Preconditions.checkArgument(startOffset >= 0, "Start offset %s is < 0", startOffset);
+    P firstPage = pageRequestFactory.create(startOffset, pageSize).call();
+    int totalResultSetSize = getTotalResultSetSize(firstPage);
+    consumer.accept(firstPage);
+
+    int nextOffset = startOffset + pageSize;
+    if (nextOffset >= totalResultSetSize) {
+      return totalResultSetSize;
+    }
+    ExecutorService executorService =
+        Executors.newFixedThreadPool(
+            maxConcurrentPages,
+            new ThreadFactoryBuilder().setNameFormat("statement-pager-%d").setDaemon(true).build());
+    // Only used when pages are passed on as they arrive. In offset order, nothing would take the
+    // completed futures from its queue.
+    CompletionService<P> completionService =
+        inOrder ? null : new ExecutorCompletionService<P>(executorService);
+    // Futures of the requests in flight, in offset order.
+    Deque<Future<P>> futures = new ArrayDeque<Future<P>>(maxConcurrentPages);
+    try {
+      while (!futures.isEmpty() || nextOffset < totalResultSetSize) {
+        while (futures.size() < maxConcurrentPages && nextOffset < totalResultSetSize) {
+          Callable<P> pageRequest = pageRequestFactory.create(nextOffset, pageSize);
+          futures.add(
+              inOrder
+                  ? executorService.submit(pageRequest)
+                  : completionService.submit(pageRequest));
+          nextOffset += pageSize;
+        }
+        Future<P> future;
+        if (inOrder) {
+          future = futures.remove();
+        } else {
+          future = completionService.take();
+          futures.remove(future);
+        }
+        consumer.accept(getPage(future));
+      }
+    } finally {
+      for (Future<P> future : futures) {
+        future.cancel(true);
+      }
+      executorService.shutdownNow();
+    }
+    return totalResultSetSize;
+  }
+
+  /** Returns the total number of results of the statement that {@code page} belongs to. */
+  static int getTotalResultSetSize(Object page) {
+    Preconditions.checkNotNull(page, "Null page");
+    try {
+      Integer totalResultSetSize =
+          (Integer) PropertyUtils.getProperty(page, "totalResultSetSize");
+      return totalResultSetSize == null ? 0 : totalResultSetSize;
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Could not get field.", e);
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException("Could not get field.", e);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalArgumentException("Not a page: " + page.getClass().getName(), e);
+    }
+  }
+
+  /** Waits for a page request and returns its page, rethrowing the exception it failed with. */
+  private static <P> P getPage(Future<P> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -28,11 +28,13 @@ public abstract class BaseAdWordsServices
     implements AdWordsServicesInterface {
 
   final Injector injector;
+  private final SessionInjectorCache sessionInjectorCache;
 
   /** @param injector an injector which binds all the necessary classes */
   protected BaseAdWordsServices(Injector injector) {
     super(new AdWordsServiceClientFactory(injector));
     this.injector = injector;
+    this.sessionInjectorCache = injector.getInstance(SessionInjectorCache.class);
   }
 
   @Override
@@ -43,8 +45,7 @@ public abstract class BaseAdWordsServices
       throw new IllegalArgumentException(
           utilityClass + " is not annotated with " + SessionUtility.class);
     }
-    Injector childInjector = injector.createChildInjector(new AdWordsSessionModule(session));
-    return childInjector.getInstance(utilityClass);
+    return sessionInjectorCache.getChildInjector(session).getInstance(utilityClass);
   }
 
   /** Returns a new {@link DependencyBootstrapper} bound to this object's injector. */
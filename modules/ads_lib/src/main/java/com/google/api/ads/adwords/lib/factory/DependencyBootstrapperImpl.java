@@ -27,12 +27,12 @@ import com.google.inject.Injector;
  */
 class DependencyBootstrapperImpl implements DependencyBootstrapper {
 
-  private final Injector injector;
+  private final SessionInjectorCache sessionInjectorCache;
 
   /** Constructor used by Guice. */
   @Inject
   DependencyBootstrapperImpl(Injector injector) {
-    this.injector = injector;
+    this.sessionInjectorCache = injector.getInstance(SessionInjectorCache.class);
   }
 
   @Override
@@ -47,7 +47,6 @@ class DependencyBootstrapperImpl implements DependencyBootstrapper {
               dependencyClass, SessionUtility.class);
       throw new IllegalArgumentException(message);
     }
-    Injector childInjector = injector.createChildInjector(new AdWordsSessionModule(session));
-    return childInjector.getInstance(dependencyClass);
+    return sessionInjectorCache.getChildInjector(session).getInstance(dependencyClass);
   }
 }
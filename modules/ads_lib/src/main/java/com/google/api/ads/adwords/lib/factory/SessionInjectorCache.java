@@ -0,0 +1,76 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.factory;
+
+import com.google.api.ads.adwords.lib.client.AdWordsSession;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of child injectors that bind an {@link AdWordsSession}, so that obtaining several
+ * utilities for the same session does not create a new child injector each time.
+ *
+ * <p>Sessions are compared by identity. A cached child injector binds the same session instance
+ * that a new one would, so changes made to the session after the injector is created are still
+ * seen by the objects it creates. Each entry keeps its session reachable until the entry is
+ * evicted, either because the cache is full or because the entry has not been used for
+ * {@link #EXPIRE_AFTER_ACCESS_MINUTES} minutes.
+ */
+@Singleton
+class SessionInjectorCache {
+
+  @VisibleForTesting static final int MAX_SIZE = 1000;
+  @VisibleForTesting static final long EXPIRE_AFTER_ACCESS_MINUTES = 10;
+
+  private final LoadingCache<AdWordsSession, Injector> childInjectors;
+
+  /** Constructor used by Guice. */
+  @Inject
+  SessionInjectorCache(final Injector injector) {
+    Preconditions.checkNotNull(injector, "Null injector");
+    this.childInjectors =
+        CacheBuilder.newBuilder()
+            // Weak keys make the cache compare sessions by identity.
+            .weakKeys()
+            .maximumSize(MAX_SIZE)
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS_MINUTES, TimeUnit.MINUTES)
+            .build(
+                new CacheLoader<AdWordsSession, Injector>() {
+                  @Override
+                  public Injector load(AdWordsSession session) {
+                    return injector.createChildInjector(new AdWordsSessionModule(session));
+                  }
+                });
+  }
+
+  /** Returns a child injector that binds {@code session}, creating it if necessary. */
+  Injector getChildInjector(AdWordsSession session) {
+    Preconditions.checkNotNull(session, "Null session");
+    return childInjectors.getUnchecked(session);
+  }
+
+  /** Returns the approximate number of cached child injectors. */
+  @VisibleForTesting
+  long size() {
+    return childInjectors.size();
+  }
+}
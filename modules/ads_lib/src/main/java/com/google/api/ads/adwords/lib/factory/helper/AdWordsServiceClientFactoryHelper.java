@@ -62,7 +62,11 @@ public class AdWordsServiceClientFactoryHelper extends
                                      * the raw type here. */
       SoapClientHandlerInterface soapClientHandler,
       AdsLibConfiguration adsLibConfiguration) {
-    super(adsServiceClientFactory, adsServiceDescriptorFactory, soapClientHandler);
+    super(
+        adsServiceClientFactory,
+        adsServiceDescriptorFactory,
+        soapClientHandler,
+        adsLibConfiguration);
     this.adsLibConfiguration = adsLibConfiguration;
   }
 
@@ -67,7 +67,8 @@ class AdHocReportDownloadHelperImpl implements AdHocReportDownloadHelperInterfac
       String apiVersion = reportRequest.getApiVersion();
       String downloadUrl = generateReportUrl(apiVersion);
       HttpRequestFactory requestFactory =
-          reportRequestFactoryHelper.getHttpRequestFactory(downloadUrl, apiVersion);
+          reportRequestFactoryHelper.getHttpRequestFactory(
+              downloadUrl, apiVersion, reportRequest.getClientCustomerId());
       ReportBodyProvider reportBodyProvider =
           reportBodyProviderFactory.getReportBodyProvider(reportRequest);
       HttpRequest httpRequest = requestFactory
@@ -16,6 +16,7 @@ package com.google.api.ads.adwords.lib.utils;
 
 import com.google.api.ads.common.lib.utils.AdsUtility;
 import com.google.api.ads.common.lib.utils.UsesAdsUtilities;
+import javax.annotation.Nullable;
 
 /**
  * Utility for uploading operations and downloading results for a {@code BatchJob}.
@@ -72,6 +73,34 @@ public interface BatchJobHelperInterface<
       BatchJobUploadStatus batchJobUploadStatus)
       throws BatchJobException;
 
+  /**
+   * Uploads the specified chunks of operations to the batch job, one request per chunk. After this
+   * method returns successfully, the job will transition to the {@code ACTIVE} state.
+   *
+   * <p>Unlike calling {@link #uploadIncrementalBatchJobOperations(Iterable, boolean,
+   * BatchJobUploadStatus)} for each chunk, the next chunks are serialized while a chunk is being
+   * uploaded, and if the connection fails, only the bytes that were not received are sent again.
+   *
+   * <p>If a {@code checkpoint} is given, the progress of the upload is written to it after each
+   * chunk. If the process is interrupted, calling this method again with the same chunks and
+   * checkpoint resumes the upload after the last chunk that was received. The checkpoint is
+   * deleted once the last chunk has been uploaded.
+   *
+   * @param operationChunks the chunks of operations to upload to the batch job
+   * @param batchJobUploadStatus the current upload status. If this is the first upload, set the
+   *     {@link BatchJobUploadStatus#getResumableUploadUri()} to the {@code
+   *     BatchJob#getUploadUrl()}. Ignored if resuming from the {@code checkpoint}.
+   * @param checkpoint the checkpoint of the upload, or {@code null}
+   * @return the response from the upload of the last chunk if the requests succeeded
+   * @throws BatchJobException if a request failed
+   */
+  @UsesAdsUtilities({AdsUtility.BATCH_JOB_HELPER})
+  BatchJobUploadResponse uploadBatchJobOperationChunks(
+      Iterable<? extends Iterable<? extends OperationT>> operationChunks,
+      BatchJobUploadStatus batchJobUploadStatus,
+      @Nullable BatchJobUploadCheckpoint checkpoint)
+      throws BatchJobException;
+
   /**
    * Downloads and returns the results from the attempted operations for a completed batch job.
    *
@@ -96,4 +125,20 @@ public interface BatchJobHelperInterface<
   @UsesAdsUtilities(AdsUtility.BATCH_JOB_HELPER)
   ResponseT downloadBatchJobMutateResponse(String downloadUrl, int startIndex, int numberResults)
       throws BatchJobException;
+
+  /**
+   * Returns an iterator over the results from the attempted operations for a completed batch job.
+   * Unlike {@link #downloadBatchJobMutateResponse(String)}, results are downloaded and deserialized
+   * one at a time as they are consumed, so memory use does not grow with the number of results.
+   *
+   * <p>The iterator closes the download once the last result has been read. Close it if you stop
+   * iterating before then. If a result cannot be read, the iterator throws an {@link
+   * IllegalStateException} whose cause is a {@link BatchJobException}.
+   *
+   * @param downloadUrl the {@code BatchJob.getDownloadUrl()}
+   * @throws BatchJobException if unable to start downloading the results.
+   */
+  @UsesAdsUtilities(AdsUtility.BATCH_JOB_HELPER)
+  BatchJobMutateResultIterator<ResultT> iterateBatchJobMutateResults(String downloadUrl)
+      throws BatchJobException;
 }
@@ -16,6 +16,7 @@ package com.google.api.ads.adwords.lib.utils;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.google.api.ads.adwords.lib.utils.BatchJobMutateResultIterator.ResultParser;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
 import com.google.common.io.ByteSource;
@@ -132,4 +133,25 @@ public class BatchJobHelperUtility {
 
     return ByteSource.wrap(outputStream.toByteArray());
   }
+
+  /**
+   * Returns an iterator that reads the batch job response from {@code url} one {@code <rval>} at a
+   * time as results are consumed, and parses each one with {@code resultParser}.
+   */
+  public <ResultT> BatchJobMutateResultIterator<ResultT> buildMutateResultIterator(
+      URL url, ResultParser<ResultT> resultParser) throws IOException, XMLStreamException {
+    InputStream inputStream = url.openStream();
+    try {
+      return new BatchJobMutateResultIterator<ResultT>(
+          url.toString(),
+          inputStream,
+          xmlInputFactory.createXMLEventReader(inputStream),
+          xmlOutputFactory,
+          xmlEventFactory,
+          resultParser);
+    } catch (XMLStreamException | RuntimeException e) {
+      inputStream.close();
+      throw e;
+    }
+  }
 }
@@ -0,0 +1,188 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.utils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteSource;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * Iterator over the results of a batch job that reads the download stream as results are
+ * consumed, so that only one result is held in memory at a time regardless of the number of
+ * results.
+ *
+ * <p>Each {@code <rval>} element is copied into a small {@code <mutateResponse>} document that
+ * contains only that element, which is then passed to a {@link ResultParser} for the SOAP toolkit.
+ *
+ * <p>The underlying stream is closed once the last result has been read or reading fails. Callers
+ * that stop iterating early must call {@link #close()}. If a result cannot be read, {@link
+ * #hasNext()} and {@link #next()} throw an {@link IllegalStateException} whose cause is a {@link
+ * BatchJobException}.
+ *
+ * <p>Implementation is not thread-safe.
+ *
+ * @param <ResultT> the mutate result type for the API version and SOAP toolkit.
+ */
+public final class BatchJobMutateResultIterator<ResultT> implements Iterator<ResultT>, Closeable {
+
+  private static final String TAG_MUTATE_RESPONSE = "mutateResponse";
+  private static final String TAG_RVAL = "rval";
+
+  private final String downloadUrl;
+  private final InputStream inputStream;
+  private final XMLEventReader xmlEventReader;
+  private final XMLOutputFactory xmlOutputFactory;
+  private final XMLEventFactory xmlEventFactory;
+  private final ResultParser<ResultT> resultParser;
+
+  /** The start tag of the response, written around each result to keep its namespaces. */
+  private StartElement mutateResponseElement;
+  private ResultT nextResult;
+  private boolean closed;
+
+  BatchJobMutateResultIterator(
+      String downloadUrl,
+      InputStream inputStream,
+      XMLEventReader xmlEventReader,
+      XMLOutputFactory xmlOutputFactory,
+      XMLEventFactory xmlEventFactory,
+      ResultParser<ResultT> resultParser) {
+    this.downloadUrl = Preconditions.checkNotNull(downloadUrl, "Null download URL");
+    this.inputStream = Preconditions.checkNotNull(inputStream, "Null input stream");
+    this.xmlEventReader = Preconditions.checkNotNull(xmlEventReader, "Null XML event reader");
+    this.xmlOutputFactory = Preconditions.checkNotNull(xmlOutputFactory, "Null output factory");
+    this.xmlEventFactory = Preconditions.checkNotNull(xmlEventFactory, "Null event factory");
+    this.resultParser = Preconditions.checkNotNull(resultParser, "Null result parser");
+    this.mutateResponseElement =
+        xmlEventFactory.createStartElement("", "", TAG_MUTATE_RESPONSE);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (nextResult == null && !closed) {
+      nextResult = readNextResult();
+    }
+    return nextResult != null;
+  }
+
+  @Override
+  public ResultT next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more batch job mutate results");
+    }
+    ResultT result = nextResult;
+    nextResult = null;
+    return result;
+  }
+
+  /** Closes the underlying stream. Has no effect if the iterator is already closed. */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      xmlEventReader.close();
+    } catch (XMLStreamException e) {
+      // The input stream below is what actually holds resources.
+    } finally {
+      inputStream.close();
+    }
+  }
+
+  /** Reads and parses the next result, or returns {@code null} after the last result. */
+  private ResultT readNextResult() {
+    try {
+      while (xmlEventReader.hasNext()) {
+        XMLEvent event = xmlEventReader.nextEvent();
+        if (event.isStartElement()) {
+          StartElement startElement = event.asStartElement();
+          String name = startElement.getName().getLocalPart();
+          if (name.equals(TAG_MUTATE_RESPONSE)) {
+            mutateResponseElement = startElement;
+          } else if (name.equals(TAG_RVAL)) {
+            return resultParser.parse(ByteSource.wrap(copyResult(startElement)));
+          }
+        } else if (event.isEndElement()
+            && event.asEndElement().getName().getLocalPart().equals(TAG_MUTATE_RESPONSE)) {
+          break;
+        }
+      }
+      close();
+      return null;
+    } catch (Exception e) {
+      try {
+        close();
+      } catch (IOException closeException) {
+        e.addSuppressed(closeException);
+      }
+      throw new IllegalStateException(
+          new BatchJobException(
+              "Failed to read batch job mutate results from URL: " + downloadUrl, e));
+    }
+  }
+
+  /**
+   * Copies the {@code <rval>} element that starts with {@code rvalElement} into a {@code
+   * <mutateResponse>} document.
+   */
+  private byte[] copyResult(StartElement rvalElement) throws XMLStreamException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    XMLEventWriter xmlEventWriter = xmlOutputFactory.createXMLEventWriter(outputStream, "UTF-8");
+    xmlEventWriter.add(mutateResponseElement);
+    xmlEventWriter.add(rvalElement);
+    int depth = 1;
+    while (depth > 0) {
+      XMLEvent event = xmlEventReader.nextEvent();
+      if (event.isStartElement()) {
+        depth++;
+      } else if (event.isEndElement()) {
+        depth--;
+      }
+      xmlEventWriter.add(event);
+    }
+    xmlEventWriter.add(xmlEventFactory.createEndElement(mutateResponseElement.getName(), null));
+    xmlEventWriter.close();
+    return outputStream.toByteArray();
+  }
+
+  /**
+   * Parses a single result.
+   *
+   * @param <ResultT> the mutate result type for the API version and SOAP toolkit.
+   */
+  public interface ResultParser<ResultT> {
+    /**
+     * Parses the only result in {@code wrappedResult}.
+     *
+     * @param wrappedResult a {@code <mutateResponse>} document with a single {@code <rval>}
+     * @return the parsed result
+     */
+    ResultT parse(ByteSource wrappedResult) throws Exception;
+  }
+}
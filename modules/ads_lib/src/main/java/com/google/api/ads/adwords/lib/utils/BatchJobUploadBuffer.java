@@ -0,0 +1,37 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.utils;
+
+import com.google.api.client.http.ByteArrayContent;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Buffer that {@link BatchJobUploadBodyProvider}s serialize operations into. Its contents are
+ * wrapped as HTTP content without being copied.
+ *
+ * <p>Implementation is not thread-safe.
+ */
+public final class BatchJobUploadBuffer extends ByteArrayOutputStream {
+
+  /**
+   * Returns the buffered bytes as HTTP content backed by this buffer. The content must not be used
+   * after this buffer is modified.
+   *
+   * @param type the content type
+   */
+  public synchronized ByteArrayContent toHttpContent(String type) {
+    return new ByteArrayContent(type, buf, 0, count);
+  }
+}
@@ -0,0 +1,186 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.utils;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import javax.annotation.Nullable;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.apache.commons.lang.builder.ToStringStyle;
+
+/**
+ * File that records the progress of a multi-request upload to a batch job, so that an upload
+ * interrupted by a crash can be resumed by another process. See {@link
+ * BatchJobHelperInterface#uploadBatchJobOperationChunks(Iterable, BatchJobUploadStatus,
+ * BatchJobUploadCheckpoint)}.
+ *
+ * <p>The file is replaced atomically where the file system supports it, so a crash while writing
+ * leaves the previous state intact.
+ */
+public class BatchJobUploadCheckpoint {
+  private static final String UPLOADED_REQUEST_COUNT_KEY = "uploadedRequestCount";
+  private static final String TOTAL_CONTENT_LENGTH_KEY = "totalContentLength";
+  private static final String RESUMABLE_UPLOAD_URI_KEY = "resumableUploadUri";
+
+  private final Path file;
+
+  /**
+   * @param file the checkpoint file. It does not need to exist, but its directory does.
+   */
+  public BatchJobUploadCheckpoint(Path file) {
+    this.file = Preconditions.checkNotNull(file, "Null checkpoint file");
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Returns the last state written to the file, or {@code null} if there is none.
+   *
+   * @throws BatchJobException if the file exists but cannot be read
+   */
+  @Nullable
+  public synchronized State read() throws BatchJobException {
+    Properties properties = new Properties();
+    try (InputStream inputStream = Files.newInputStream(file)) {
+      properties.load(inputStream);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      throw new BatchJobException("Failed to read batch job upload checkpoint: " + file, e);
+    }
+    try {
+      return new State(
+          Long.parseLong(properties.getProperty(UPLOADED_REQUEST_COUNT_KEY)),
+          new BatchJobUploadStatus(
+              Long.parseLong(properties.getProperty(TOTAL_CONTENT_LENGTH_KEY)),
+              URI.create(properties.getProperty(RESUMABLE_UPLOAD_URI_KEY))));
+    } catch (RuntimeException e) {
+      throw new BatchJobException("Invalid batch job upload checkpoint: " + file, e);
+    }
+  }
+
+  /**
+   * Replaces the contents of the file with {@code state}.
+   *
+   * @throws BatchJobException if the file cannot be written
+   */
+  public synchronized void write(State state) throws BatchJobException {
+    Preconditions.checkNotNull(state, "Null state");
+    Properties properties = new Properties();
+    properties.setProperty(
+        UPLOADED_REQUEST_COUNT_KEY, String.valueOf(state.getUploadedRequestCount()));
+    properties.setProperty(
+        TOTAL_CONTENT_LENGTH_KEY,
+        String.valueOf(state.getUploadStatus().getTotalContentLength()));
+    properties.setProperty(
+        RESUMABLE_UPLOAD_URI_KEY, state.getUploadStatus().getResumableUploadUri().toString());
+
+    Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+        properties.store(outputStream, "Batch job upload checkpoint");
+      }
+      try {
+        Files.move(
+            tempFile,
+            file,
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      throw new BatchJobException("Failed to write batch job upload checkpoint: " + file, e);
+    }
+  }
+
+  /**
+   * Deletes the file if it exists.
+   *
+   * @throws BatchJobException if the file cannot be deleted
+   */
+  public synchronized void delete() throws BatchJobException {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      throw new BatchJobException("Failed to delete batch job upload checkpoint: " + file, e);
+    }
+  }
+
+  /** The progress of an upload after a number of requests. */
+  public static final class State {
+    private final long uploadedRequestCount;
+    private final BatchJobUploadStatus uploadStatus;
+
+    /**
+     * @param uploadedRequestCount the number of requests uploaded so far
+     * @param uploadStatus the upload status after the last uploaded request
+     */
+    public State(long uploadedRequestCount, BatchJobUploadStatus uploadStatus) {
+      Preconditions.checkArgument(
+          uploadedRequestCount >= 0, "Uploaded request count %s is < 0", uploadedRequestCount);
+      this.uploadedRequestCount = uploadedRequestCount;
+      this.uploadStatus = Preconditions.checkNotNull(uploadStatus, "Null upload status");
+      Preconditions.checkNotNull(
+          uploadStatus.getResumableUploadUri(), "No resumable session URI");
+    }
+
+    public long getUploadedRequestCount() {
+      return uploadedRequestCount;
+    }
+
+    public BatchJobUploadStatus getUploadStatus() {
+      return uploadStatus;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof State)) {
+        return false;
+      }
+      State other = (State) obj;
+      return uploadedRequestCount == other.uploadedRequestCount
+          && Objects.equal(uploadStatus, other.uploadStatus);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(uploadedRequestCount, uploadStatus);
+    }
+
+    @Override
+    public String toString() {
+      return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+          .append("uploadedRequestCount", uploadedRequestCount)
+          .append("uploadStatus", uploadStatus)
+          .toString();
+    }
+  }
+}
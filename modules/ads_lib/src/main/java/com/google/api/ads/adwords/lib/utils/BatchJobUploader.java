@@ -22,6 +22,7 @@ import com.google.api.ads.common.lib.utils.Streams;
 import com.google.api.client.http.ByteArrayContent;
 import com.google.api.client.http.EmptyContent;
 import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpContent;
 import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpRequest;
 import com.google.api.client.http.HttpRequestFactory;
@@ -30,11 +31,25 @@ import com.google.api.client.http.HttpResponseException;
 import com.google.api.client.http.HttpTransport;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
-import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Iterators;
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
 
 /**
  * Utility for uploading operations to a BatchJob and downloading results from
@@ -52,6 +67,13 @@ public class BatchJobUploader {
   @VisibleForTesting
   static final int REQUIRED_CONTENT_LENGTH_INCREMENT = 262144;
 
+  /** The number of times the missing bytes of a request are sent again after a failure. */
+  @VisibleForTesting
+  static final int MAX_RESUME_ATTEMPTS = 3;
+
+  /** The number of worker threads that serialize requests while another request is uploaded. */
+  private static final int SERIALIZATION_THREADS = 2;
+
   @Inject
   BatchJobUploader(
       AdWordsSession session, HttpTransport httpTransport, BatchJobLogger batchJobLogger) {
@@ -70,6 +92,9 @@ public class BatchJobUploader {
   /**
    * Incrementally uploads a batch job's operations and returns the response.
    *
+   * <p>If the connection fails while the request is being sent, the bytes that Google Cloud
+   * Storage did not receive are sent again, up to {@value #MAX_RESUME_ATTEMPTS} times.
+   *
    * @param request the request to upload
    * @param isLastRequest if the request is the last request in the sequence of uploads for the job
    * @param batchJobUploadStatus the current upload status of the job
@@ -81,78 +106,349 @@ public class BatchJobUploader {
     Preconditions.checkNotNull(
         batchJobUploadStatus.getResumableUploadUri(), "No resumable session URI");
 
-    // This reference is final because it is referenced below within an anonymous class.
-    final BatchJobUploadStatus effectiveStatus;
-    if (batchJobUploadStatus.getTotalContentLength() == 0) {
-      // If this is the first upload, then issue a request to get the resumable session URI from
-      // Google Cloud Storage.
-      URI uploadUri = initiateResumableUpload(batchJobUploadStatus.getResumableUploadUri());
-      effectiveStatus = new BatchJobUploadStatus(0, uploadUri);
-    } else {
-      effectiveStatus = batchJobUploadStatus;
+    BatchJobUploadStatus effectiveStatus = startUpload(batchJobUploadStatus);
+    ByteArrayContent content =
+        createContent(request, effectiveStatus.getTotalContentLength() == 0, isLastRequest);
+    return uploadContent(content, isLastRequest, effectiveStatus, false);
+  }
+
+  /**
+   * Uploads a sequence of requests to a batch job and returns the response to the last request.
+   *
+   * <p>The requests are uploaded one after the other, but the next few requests are serialized in
+   * parallel on worker threads while a request is uploaded, so that the connection is not idle
+   * while operations are serialized. Only those few serialized requests are held in memory.
+   *
+   * <p>If a {@code checkpoint} is given, its state is written after each request. If it already
+   * has a state when this method is called, the upload resumes from there: the requests recorded
+   * as uploaded are skipped without being serialized, and only the bytes of the next request that
+   * Google Cloud Storage did not receive are sent. {@code requests} must therefore produce the
+   * same requests as the interrupted upload. The checkpoint is deleted once the last request has
+   * been uploaded.
+   *
+   * @param requests the requests to upload, of which at least one must not have been uploaded
+   * @param batchJobUploadStatus the current upload status of the job. Ignored if the checkpoint
+   *     has a state.
+   * @param checkpoint the checkpoint of the upload, or {@code null}
+   */
+  public BatchJobUploadResponse uploadIncrementalBatchJobOperations(
+      Iterator<? extends BatchJobMutateRequestInterface> requests,
+      BatchJobUploadStatus batchJobUploadStatus,
+      @Nullable BatchJobUploadCheckpoint checkpoint) throws BatchJobException {
+    Preconditions.checkNotNull(requests, "Null requests");
+    Preconditions.checkNotNull(batchJobUploadStatus, "Null batch job upload status");
+    Preconditions.checkNotNull(
+        batchJobUploadStatus.getResumableUploadUri(), "No resumable session URI");
+
+    long uploadedRequestCount = 0;
+    BatchJobUploadStatus effectiveStatus = batchJobUploadStatus;
+    BatchJobUploadCheckpoint.State checkpointState = checkpoint == null ? null : checkpoint.read();
+    boolean isResumed = checkpointState != null;
+    if (isResumed) {
+      uploadedRequestCount = checkpointState.getUploadedRequestCount();
+      effectiveStatus = checkpointState.getUploadStatus();
+      Iterators.advance(requests, Ints.saturatedCast(uploadedRequestCount));
+    }
+    Preconditions.checkArgument(
+        requests.hasNext(), "No requests to upload after %s uploaded requests",
+        uploadedRequestCount);
+    effectiveStatus = startUpload(effectiveStatus);
+
+    ExecutorService executorService =
+        Executors.newFixedThreadPool(
+            SERIALIZATION_THREADS,
+            new ThreadFactoryBuilder()
+                .setNameFormat("batch-job-serializer-%d")
+                .setDaemon(true)
+                .build());
+    try {
+      Deque<Future<ByteArrayContent>> serializedRequests = new ArrayDeque<>();
+      boolean isFirstRequest = effectiveStatus.getTotalContentLength() == 0;
+      BatchJobUploadResponse response = null;
+      while (!serializedRequests.isEmpty() || requests.hasNext()) {
+        while (serializedRequests.size() <= SERIALIZATION_THREADS && requests.hasNext()) {
+          final BatchJobMutateRequestInterface request = requests.next();
+          final boolean isFirst = isFirstRequest;
+          final boolean isLast = !requests.hasNext();
+          serializedRequests.add(
+              executorService.submit(() -> createContent(request, isFirst, isLast)));
+          isFirstRequest = false;
+        }
+        ByteArrayContent content = getSerializedRequest(serializedRequests.remove());
+        boolean isLastRequest = serializedRequests.isEmpty() && !requests.hasNext();
+        response = uploadContent(content, isLastRequest, effectiveStatus, isResumed);
+        isResumed = false;
+        effectiveStatus = response.getBatchJobUploadStatus();
+        uploadedRequestCount++;
+        if (checkpoint != null) {
+          if (isLastRequest) {
+            checkpoint.delete();
+          } else {
+            checkpoint.write(
+                new BatchJobUploadCheckpoint.State(uploadedRequestCount, effectiveStatus));
+          }
+        }
+      }
+      return response;
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  /** Waits for a request serialized by a worker thread. */
+  private static ByteArrayContent getSerializedRequest(Future<ByteArrayContent> future)
+      throws BatchJobException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BatchJobException("Interrupted while serializing the request", e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfInstanceOf(e.getCause(), BatchJobException.class);
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new BatchJobException("Failed to serialize the request", e.getCause());
     }
+  }
+
+  /**
+   * Returns the status to upload the next request with, after initiating the resumable upload if
+   * nothing has been uploaded yet.
+   */
+  private BatchJobUploadStatus startUpload(BatchJobUploadStatus batchJobUploadStatus)
+      throws BatchJobException {
+    if (batchJobUploadStatus.getTotalContentLength() != 0) {
+      return batchJobUploadStatus;
+    }
+    // If this is the first upload, then issue a request to get the resumable session URI from
+    // Google Cloud Storage.
+    URI uploadUri = initiateResumableUpload(batchJobUploadStatus.getResumableUploadUri());
+    return new BatchJobUploadStatus(0, uploadUri);
+  }
 
+  /** Serializes and post-processes the request. */
+  private ByteArrayContent createContent(
+      BatchJobMutateRequestInterface request, boolean isFirstRequest, boolean isLastRequest)
+      throws BatchJobException {
     // The process below follows the Google Cloud Storage guidelines for resumable
     // uploads of unknown size:
     // https://cloud.google.com/storage/docs/concepts-techniques#unknownresumables
     ByteArrayContent content = request.createBatchJobUploadBodyProvider().getHttpContent(
-        request, effectiveStatus.getTotalContentLength() == 0, isLastRequest);
+        request, isFirstRequest, isLastRequest);
     try {
-      content = postProcessContent(
-          content, effectiveStatus.getTotalContentLength() == 0L, isLastRequest);
+      return postProcessContent(content, isFirstRequest, isLastRequest);
     } catch (IOException e) {
       throw new BatchJobException("Failed to post-process the request content", e);
     }
+  }
 
-    String requestXml = null;
+  /**
+   * Uploads the post-processed content of a request, and sends the missing bytes again if the
+   * connection fails.
+   *
+   * @param content the post-processed content
+   * @param isLastRequest if the request is the last request for the job
+   * @param effectiveStatus the status of the job <em>before</em> this upload
+   * @param isResumed if part of the content may have been received by an interrupted upload
+   */
+  private BatchJobUploadResponse uploadContent(
+      ByteArrayContent content,
+      boolean isLastRequest,
+      BatchJobUploadStatus effectiveStatus,
+      boolean isResumed)
+      throws BatchJobException {
     Throwable exception = null;
     BatchJobUploadResponse batchJobUploadResponse = null;
     final long contentLength = content.getLength();
+    URI uploadUri = effectiveStatus.getResumableUploadUri();
+    Long totalContentLength =
+        isLastRequest ? effectiveStatus.getTotalContentLength() + contentLength : null;
+
+    try {
+      // The number of bytes of the content that Google Cloud Storage has received.
+      long receivedLength =
+          isResumed ? getReceivedLength(content, effectiveStatus, totalContentLength) : 0;
+      int resumeAttempts = 0;
+      while (true) {
+        try {
+          batchJobUploadResponse =
+              putContent(content, receivedLength, isLastRequest, effectiveStatus);
+          return batchJobUploadResponse;
+        } catch (HttpResponseException e) {
+          throw e;
+        } catch (IOException e) {
+          if (resumeAttempts++ == MAX_RESUME_ATTEMPTS) {
+            throw e;
+          }
+          try {
+            receivedLength = getReceivedLength(content, effectiveStatus, totalContentLength);
+          } catch (IOException statusException) {
+            e.addSuppressed(statusException);
+            throw e;
+          }
+        }
+      }
+    } catch (HttpResponseException e) {
+      exception = e;
+      throw new BatchJobException("Failed response status from batch upload URL.", e);
+    } catch (IOException e) {
+      exception = e;
+      throw new BatchJobException("Problem sending data to batch upload URL.", e);
+    } finally {
+      // Only decode the request, which may be several megabytes, if it will be logged.
+      String requestXml = null;
+      if (batchJobLogger.isUploadContentsLoggable(exception == null)) {
+        try {
+          requestXml = Streams.readAll(content.getInputStream(), UTF_8);
+        } catch (IOException e) {
+          // Cannot happen for in-memory content, and is no reason to fail the upload.
+        }
+      }
+      batchJobLogger.logUpload(requestXml, uploadUri, batchJobUploadResponse, exception);
+    }
+  }
+
+  /**
+   * Sends the bytes of {@code content} after the first {@code receivedLength} bytes, or nothing if
+   * all bytes were received.
+   */
+  private BatchJobUploadResponse putContent(
+      ByteArrayContent content,
+      long receivedLength,
+      final boolean isLastRequest,
+      BatchJobUploadStatus effectiveStatus)
+      throws IOException {
+    long contentLength = content.getLength();
+    long newTotalContentLength = effectiveStatus.getTotalContentLength() + contentLength;
+    URI uploadUri = effectiveStatus.getResumableUploadUri();
+    if (receivedLength == contentLength) {
+      // A previous attempt sent everything, only its response was lost.
+      return new BatchJobUploadResponse(
+          new ByteArrayInputStream(new byte[0]),
+          isLastRequest ? 200 : 308,
+          "Upload already received",
+          newTotalContentLength,
+          uploadUri);
+    }
+
+    final HttpContent remainingContent;
+    if (receivedLength == 0) {
+      remainingContent = content;
+    } else {
+      byte[] bytes = ByteStreams.toByteArray(content.getInputStream());
+      int offset = Ints.checkedCast(receivedLength);
+      remainingContent =
+          new ByteArrayContent(content.getType(), bytes, offset, bytes.length - offset);
+    }
+    final long remainingLength = remainingContent.getLength();
+    // This reference is final because it is referenced below within an anonymous class.
+    final BatchJobUploadStatus remainingStatus =
+        new BatchJobUploadStatus(
+            effectiveStatus.getTotalContentLength() + receivedLength, uploadUri);
 
     try {
       HttpRequestFactory requestFactory =
           httpTransport.createRequestFactory(
               req -> {
                 HttpHeaders headers = createHttpHeaders();
-                headers.setContentLength(contentLength);
+                headers.setContentLength(remainingLength);
                 headers.setContentRange(
                     constructContentRangeHeaderValue(
-                        contentLength, isLastRequest, effectiveStatus));
+                        remainingLength, isLastRequest, remainingStatus));
                 req.setHeaders(headers);
                 req.setLoggingEnabled(true);
               });
 
       // Incremental uploads require a PUT request.
       HttpRequest httpRequest =
-          requestFactory.buildPutRequest(
-              new GenericUrl(effectiveStatus.getResumableUploadUri()), content);
-
-      requestXml = Streams.readAll(content.getInputStream(), UTF_8);
-      content.getInputStream().reset();
+          requestFactory.buildPutRequest(new GenericUrl(uploadUri), remainingContent);
 
       HttpResponse response = httpRequest.execute();
-      batchJobUploadResponse = new BatchJobUploadResponse(
-          response,
-          effectiveStatus.getTotalContentLength() + httpRequest.getContent().getLength(),
-          effectiveStatus.getResumableUploadUri());
-      return batchJobUploadResponse;
+      return new BatchJobUploadResponse(response, newTotalContentLength, uploadUri);
     } catch (HttpResponseException e) {
       if (e.getStatusCode() == 308) {
         // 308 indicates that the upload succeeded.
-        batchJobUploadResponse =
-            new BatchJobUploadResponse(new ByteArrayInputStream(new byte[0]), e.getStatusCode(),
-                e.getStatusMessage(), effectiveStatus.getTotalContentLength() + contentLength,
-                effectiveStatus.getResumableUploadUri());
-        return batchJobUploadResponse;
+        return new BatchJobUploadResponse(new ByteArrayInputStream(new byte[0]),
+            e.getStatusCode(), e.getStatusMessage(), newTotalContentLength, uploadUri);
       }
-      exception = e;
-      throw new BatchJobException("Failed response status from batch upload URL.", e);
-    } catch (IOException e) {
-      exception = e;
-      throw new BatchJobException("Problem sending data to batch upload URL.", e);
+      throw e;
+    }
+  }
+
+  /**
+   * Asks Google Cloud Storage how many bytes of the upload it has received, and returns how many
+   * of those belong to {@code content}.
+   *
+   * @param content the content being uploaded
+   * @param effectiveStatus the status of the job <em>before</em> {@code content} was uploaded
+   * @param totalContentLength the total length of the upload if {@code content} is the last
+   *     request, or {@code null}
+   */
+  private long getReceivedLength(
+      ByteArrayContent content,
+      BatchJobUploadStatus effectiveStatus,
+      @Nullable final Long totalContentLength) throws IOException {
+    // This follows the Google Cloud Storage guidelines for checking the status of resumable
+    // uploads: https://cloud.google.com/storage/docs/performing-resumable-uploads
+    HttpRequestFactory requestFactory =
+        httpTransport.createRequestFactory(
+            req -> {
+              HttpHeaders headers = createHttpHeaders();
+              headers.setContentLength(0L);
+              headers.setContentRange(
+                  "bytes */" + (totalContentLength == null ? "*" : totalContentLength));
+              req.setHeaders(headers);
+              req.setLoggingEnabled(true);
+              req.setThrowExceptionOnExecuteError(false);
+              // A 308 response to this request reports progress, it is not a redirect.
+              req.setFollowRedirects(false);
+            });
+    HttpResponse response =
+        requestFactory
+            .buildPutRequest(
+                new GenericUrl(effectiveStatus.getResumableUploadUri()), new EmptyContent())
+            .execute();
+    try {
+      long receivedTotalLength;
+      if (response.isSuccessStatusCode()) {
+        // The last request was received in full.
+        receivedTotalLength = effectiveStatus.getTotalContentLength() + content.getLength();
+      } else if (response.getStatusCode() == 308) {
+        receivedTotalLength = parseReceivedTotalLength(response.getHeaders().getRange());
+      } else {
+        throw new HttpResponseException(response);
+      }
+      long receivedLength = receivedTotalLength - effectiveStatus.getTotalContentLength();
+      if (receivedLength < 0 || receivedLength > content.getLength()) {
+        throw new IOException(
+            String.format(
+                "Received length %d of the upload does not match the request from %d to %d",
+                receivedTotalLength,
+                effectiveStatus.getTotalContentLength(),
+                effectiveStatus.getTotalContentLength() + content.getLength()));
+      }
+      return receivedLength;
     } finally {
-      batchJobLogger.logUpload(
-          requestXml, effectiveStatus.getResumableUploadUri(), batchJobUploadResponse, exception);
+      response.disconnect();
+    }
+  }
+
+  /**
+   * Returns the number of bytes received according to the {@code Range} header of a 308 response,
+   * e.g., 100 for {@code bytes=0-99}, or 0 if there is no such header.
+   */
+  @VisibleForTesting
+  static long parseReceivedTotalLength(@Nullable String range) throws IOException {
+    if (range == null) {
+      return 0;
+    }
+    int dashIndex = range.lastIndexOf('-');
+    if (!range.startsWith("bytes=0-") || dashIndex != "bytes=0".length()) {
+      throw new IOException("Unexpected range of received bytes: " + range);
+    }
+    try {
+      return Long.parseLong(range.substring(dashIndex + 1).trim()) + 1;
+    } catch (NumberFormatException e) {
+      throw new IOException("Unexpected range of received bytes: " + range, e);
     }
   }
 
@@ -192,6 +488,9 @@ public class BatchJobUploader {
   /**
    * Post-processes the request content to conform to the requirements of Google Cloud Storage.
    *
+   * <p>The content is copied once into a buffer large enough for the padding, and then trimmed
+   * and padded in place.
+   *
    * @param content the content produced by the {@link BatchJobUploadBodyProvider}.
    * @param isFirstRequest if this is the first request for the batch job.
    * @param isLastRequest if this is the last request for the batch job.
@@ -202,20 +501,29 @@ public class BatchJobUploader {
       return content;
     }
 
-    String serializedRequest = Streams.readAll(content.getInputStream(), UTF_8);
+    int contentLength = Ints.checkedCast(content.getLength());
+    byte[] serializedRequest = new byte[padToContentLengthIncrement(contentLength)];
+    try (InputStream inputStream = content.getInputStream()) {
+      ByteStreams.readFully(inputStream, serializedRequest, 0, contentLength);
+    }
 
-    serializedRequest = trimStartEndElements(serializedRequest, isFirstRequest, isLastRequest);
+    int[] range =
+        getTrimmedRange(serializedRequest, contentLength, isFirstRequest, isLastRequest);
+    int trimmedLength = range[1] - range[0];
+    System.arraycopy(serializedRequest, range[0], serializedRequest, 0, trimmedLength);
 
     // The request is part of a set of incremental uploads, so pad to the required content
     // length. This is not necessary if all operations for the job are being uploaded in a
     // single request.
-    int numBytes = serializedRequest.getBytes(UTF_8).length;
-    int remainder = numBytes % REQUIRED_CONTENT_LENGTH_INCREMENT;
-    if (remainder > 0) {
-      int pad = REQUIRED_CONTENT_LENGTH_INCREMENT - remainder;
-      serializedRequest = Strings.padEnd(serializedRequest, numBytes + pad, ' ');
-    }
-    return new ByteArrayContent(content.getType(), serializedRequest.getBytes(UTF_8));
+    int paddedLength = padToContentLengthIncrement(trimmedLength);
+    Arrays.fill(serializedRequest, trimmedLength, paddedLength, (byte) ' ');
+    return new ByteArrayContent(content.getType(), serializedRequest, 0, paddedLength);
+  }
+
+  /** Returns {@code length} rounded up to a multiple of the required content length increment. */
+  private static int padToContentLengthIncrement(int length) {
+    int remainder = length % REQUIRED_CONTENT_LENGTH_INCREMENT;
+    return remainder == 0 ? length : length + REQUIRED_CONTENT_LENGTH_INCREMENT - remainder;
   }
 
   /**
@@ -228,26 +536,51 @@ public class BatchJobUploader {
   @VisibleForTesting
   String trimStartEndElements(
       String serializedRequest, boolean isFirstRequest, boolean isLastRequest) {
+    byte[] bytes = serializedRequest.getBytes(UTF_8);
+    int[] range = getTrimmedRange(bytes, bytes.length, isFirstRequest, isLastRequest);
+    return new String(bytes, range[0], range[1] - range[0], UTF_8);
+  }
+
+  /**
+   * Returns the start (inclusive) and end (exclusive) indexes of the first {@code length} bytes of
+   * the UTF-8 encoded {@code serializedRequest} once the start or end {@code mutate} element is
+   * removed, depending on whether the request is the first and/or last request.
+   */
+  private static int[] getTrimmedRange(
+      byte[] serializedRequest, int length, boolean isFirstRequest, boolean isLastRequest) {
+    // The searched characters are ASCII, and no byte of a multi-byte UTF-8 character is.
     int beginIndex = 0;
-    int endIndex = serializedRequest.length();
+    int endIndex = length;
     if (!isFirstRequest) {
       // Move the beginIndex (inclusive) to the character after the first opening tag, which
       // should be a "<mutate>" tag, possibly with namespace declarations.
-      beginIndex = serializedRequest.indexOf('>') + 1;
-      Preconditions.checkArgument(
-          serializedRequest.substring(0, beginIndex - 1).contains("mutate"),
-          "Did not find an opening <mutate> element at the beginning of serialized request: %s",
-          serializedRequest);
+      while (beginIndex < length && serializedRequest[beginIndex] != '>') {
+        beginIndex++;
+      }
+      if (beginIndex == length
+          || !new String(serializedRequest, 0, beginIndex, UTF_8).contains("mutate")) {
+        throw new IllegalArgumentException(
+            "Did not find an opening <mutate> element at the beginning of serialized request: "
+                + new String(serializedRequest, 0, length, UTF_8));
+      }
+      beginIndex++;
     }
     if (!isLastRequest) {
-      // Move the endIndex (exclusive) to the beginning of the first closing tag, which
+      // Move the endIndex (exclusive) to the beginning of the last closing tag, which
       // should be a "</mutate>" tag.
-      endIndex = serializedRequest.lastIndexOf('<');
-      Preconditions.checkArgument(serializedRequest.substring(endIndex).contains("mutate"),
-          "Did not find a closing </mutate> element at the end of serialized request: %s",
-          serializedRequest);
+      endIndex = length - 1;
+      while (endIndex >= beginIndex && serializedRequest[endIndex] != '<') {
+        endIndex--;
+      }
+      if (endIndex < beginIndex
+          || !new String(serializedRequest, endIndex, length - endIndex, UTF_8)
+              .contains("mutate")) {
+        throw new IllegalArgumentException(
+            "Did not find a closing </mutate> element at the end of serialized request: "
+                + new String(serializedRequest, 0, length, UTF_8));
+      }
     }
-    return serializedRequest.substring(beginIndex, endIndex);
+    return new int[] {beginIndex, endIndex};
   }
 
   /**
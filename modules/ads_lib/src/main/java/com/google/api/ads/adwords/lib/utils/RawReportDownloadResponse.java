@@ -15,6 +15,8 @@
 package com.google.api.ads.adwords.lib.utils;
 
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 
 /**
@@ -42,6 +44,14 @@ public class RawReportDownloadResponse {
   public InputStream getInputStream() {
     return inputStream;
   }
+
+  /**
+   * Returns a channel that reads the response body exactly as it was received, without inflating
+   * gzipped formats. Closing the channel closes the input stream.
+   */
+  public ReadableByteChannel getChannel() {
+    return Channels.newChannel(inputStream);
+  }
   
   public Charset getCharset() {
     return charset;
@@ -16,13 +16,20 @@ package com.google.api.ads.adwords.lib.utils;
 
 import com.google.api.ads.common.lib.utils.Streams;
 import com.google.common.base.Preconditions;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
 
-import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.HttpURLConnection;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.util.zip.GZIPInputStream;
 
 import javax.annotation.Nullable;
@@ -34,6 +41,9 @@ public class ReportDownloadResponse {
 
   private static final String HTTP_SUCCESS_MESSAGE = "SUCCESS";
 
+  /** Maximum number of bytes to transfer to a file channel per call. */
+  private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+
   private final RawReportDownloadResponse rawResponse;
 
   /**
@@ -62,19 +72,37 @@ public class ReportDownloadResponse {
     return rawResponse.getInputStream();
   }
   
+  /**
+   * Returns a channel that reads the contents of the response exactly as downloaded, i.e., without
+   * inflating gzip formats. Closing the channel closes the underlying input stream.
+   */
+  public ReadableByteChannel getChannel() {
+    return rawResponse.getChannel();
+  }
+
+  /**
+   * Returns a stream of the contents of the response, inflating the response if it is in one of
+   * the gzip formats. The caller is responsible for closing the returned stream.
+   *
+   * @throws IOException if the gzip header of the response cannot be read
+   */
+  public InputStream getContentStream() throws IOException {
+    return isGzipped() ? new GZIPInputStream(getInputStream()) : getInputStream();
+  }
+
   /**
    * Returns the contents of the response as a String. Inflates the response if it is in one of the
    * gzip formats.
    *
+   * <p>The entire report is held in memory. For large reports, use {@link #saveToFile(String)},
+   * {@link #transferTo(FileChannel)} or {@link #processRows(ReportRowHandler)} instead.
+   *
    * @throws IOException if unable to read the response contents
    */
   public String getAsString() throws IOException {
-    InputStream inputStream = isGzipped()
-        ? new GZIPInputStream(getInputStream())
-        : getInputStream();
-    return Streams.readAll(inputStream, rawResponse.getCharset());
+    return Streams.readAll(getContentStream(), rawResponse.getCharset());
   }
-  
+
   /**
    * Writes the contents of the response to the specified File.
    *
@@ -83,10 +111,75 @@ public class ReportDownloadResponse {
    * @throws IOException if unable to read the response contents
    */
   public void saveToFile(String outputFile) throws FileNotFoundException, IOException {
-    Streams.copy(getInputStream(), new BufferedOutputStream(new FileOutputStream(outputFile)));
+    try (FileChannel fileChannel = new FileOutputStream(outputFile).getChannel()) {
+      transferTo(fileChannel);
+    }
   }
-  
+
+  /**
+   * Transfers the contents of the response exactly as downloaded, i.e., without inflating gzip
+   * formats, to the file channel starting at its current position, and closes the response. The
+   * file channel is left open, with its position after the last byte written.
+   *
+   * @param fileChannel the channel to write to
+   * @return the number of bytes transferred
+   * @throws IOException if unable to read the response contents or write to {@code fileChannel}
+   */
+  public long transferTo(FileChannel fileChannel) throws IOException {
+    Preconditions.checkNotNull(fileChannel, "Null file channel");
+    long startPosition = fileChannel.position();
+    long position = startPosition;
+    try (ReadableByteChannel channel = getChannel()) {
+      long transferred;
+      while ((transferred = fileChannel.transferFrom(channel, position, TRANSFER_CHUNK_SIZE)) > 0) {
+        position += transferred;
+      }
+    }
+    fileChannel.position(position);
+    return position - startPosition;
+  }
+
+  /**
+   * Parses the contents of the response one row at a time, inflating the response if it is in one
+   * of the gzip formats, and passes each row to {@code rowHandler}. Only one row is held in memory
+   * at a time, so this method is suitable for reports of any size. The response is closed when
+   * this method returns.
+   *
+   * <p>{@code TSV} reports are split on tabs without quote handling, {@code CSVFOREXCEL} reports
+   * are split on tabs, and all other delimited formats are split on commas.
+   *
+   * @param rowHandler the handler to call for each row
+   * @return the number of rows processed
+   * @throws IllegalStateException if the download format is not a delimited format
+   * @throws IOException if unable to read the response contents, or if thrown by
+   *     {@code rowHandler}
+   */
+  public long processRows(ReportRowHandler rowHandler) throws IOException {
+    Preconditions.checkNotNull(rowHandler, "Null row handler");
+    String downloadFormat = rawResponse.getDownloadFormat();
+    Preconditions.checkState(downloadFormat == null || !downloadFormat.endsWith("XML"),
+        "Rows can only be processed for delimited download formats, not %s", downloadFormat);
+    CSVParserBuilder parserBuilder = new CSVParserBuilder();
+    if ("TSV".equals(downloadFormat)) {
+      parserBuilder = parserBuilder.withSeparator('\t').withIgnoreQuotations(true);
+    } else if ("CSVFOREXCEL".equals(downloadFormat)) {
+      parserBuilder = parserBuilder.withSeparator('\t');
+    }
+    Reader contentReader =
+        new BufferedReader(new InputStreamReader(getContentStream(), rawResponse.getCharset()));
+    long rowNumber = 0;
+    try (CSVReader reader =
+        new CSVReaderBuilder(contentReader).withCSVParser(parserBuilder.build()).build()) {
+      String[] row;
+      while ((row = reader.readNext()) != null) {
+        rowHandler.handleRow(row, ++rowNumber);
+      }
+    }
+    return rowNumber;
+  }
+
   private boolean isGzipped() {
-    return rawResponse.getDownloadFormat().startsWith("GZIPPED");
+    String downloadFormat = rawResponse.getDownloadFormat();
+    return downloadFormat != null && downloadFormat.startsWith("GZIPPED");
   }
 }
@@ -38,6 +38,14 @@ public interface ReportRequest {
    * Return the version of the AdWords API ({@code vYYYYMM}).
    */
   public String getApiVersion();
+
+  /**
+   * Return the client customer ID to download the report for, or {@code null} to download it for
+   * the client customer ID of the session.
+   */
+  public default String getClientCustomerId() {
+    return null;
+  }
   
   /**
    * Enumeration of the different types of report requests supported by the AdWords API.
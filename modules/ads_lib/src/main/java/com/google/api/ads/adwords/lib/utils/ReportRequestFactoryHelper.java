@@ -77,7 +77,22 @@ public class ReportRequestFactoryHelper {
   @VisibleForTesting
   HttpRequestFactory getHttpRequestFactory(final String reportUrl, String version)
       throws AuthenticationException {
-    final HttpHeaders httpHeaders = createHeaders(reportUrl, version);
+    return getHttpRequestFactory(reportUrl, version, null);
+  }
+
+  /**
+   * Gets the report HTTP URL connection for a client customer ID other than the session's, so that
+   * reports of many clients can be downloaded with the same session and transport.
+   *
+   * @param reportUrl the URL of the report response or download
+   * @param clientCustomerId the client customer ID to download the report for, or {@code null} for
+   *     the client customer ID of the session
+   * @return the report HTTP URL connection
+   * @throws AuthenticationException If OAuth authorization fails.
+   */
+  HttpRequestFactory getHttpRequestFactory(final String reportUrl, String version,
+      String clientCustomerId) throws AuthenticationException {
+    final HttpHeaders httpHeaders = createHeaders(reportUrl, version, clientCustomerId);
     return httpTransport.createRequestFactory(
         request -> {
           request.setHeaders(httpHeaders);
@@ -94,14 +109,15 @@ public class ReportRequestFactoryHelper {
    * the session.
    * @throws AuthenticationException If OAuth authorization fails.
    */
-  private HttpHeaders createHeaders(String reportUrl, String version)
+  private HttpHeaders createHeaders(String reportUrl, String version, String clientCustomerId)
       throws AuthenticationException {
     HttpHeaders httpHeaders = new HttpHeaders();
     httpHeaders.setAuthorization(
         authorizationHeaderProvider.getAuthorizationHeader(session, reportUrl));
     httpHeaders.setUserAgent(userAgentCombiner.getUserAgent(session.getUserAgent()));
     httpHeaders.set("developerToken", session.getDeveloperToken());
-    httpHeaders.set("clientCustomerId", session.getClientCustomerId());
+    httpHeaders.set("clientCustomerId",
+        clientCustomerId != null ? clientCustomerId : session.getClientCustomerId());
     ReportingConfiguration reportingConfiguration = session.getReportingConfiguration();
     if (reportingConfiguration != null) {
       reportingConfiguration.validate(version);
@@ -0,0 +1,37 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.utils;
+
+import java.io.IOException;
+
+/**
+ * Callback for the rows of a delimited report, used by
+ * {@link ReportDownloadResponse#processRows(ReportRowHandler)}.
+ */
+@FunctionalInterface
+public interface ReportRowHandler {
+
+  /**
+   * Handles a single row of the report. Report and column headers and the summary row are passed
+   * to this method like any other row unless they were excluded from the download using the
+   * corresponding reporting configuration options.
+   *
+   * @param row the fields of the row. The array is not reused after this method returns.
+   * @param rowNumber the one-indexed number of the row within the report
+   * @throws IOException if the row cannot be handled. Processing stops and the exception is
+   *     propagated to the caller.
+   */
+  void handleRow(String[] row, long rowNumber) throws IOException;
+}
@@ -48,6 +48,16 @@ public class BatchJobLogger {
     this.loggerDelegate = loggerDelegate;
   }
 
+  /**
+   * Returns true if the contents of an upload with the specified result will be logged, so that
+   * callers can skip decoding them otherwise.
+   *
+   * @param isSuccess if the upload succeeded.
+   */
+  public boolean isUploadContentsLoggable(boolean isSuccess) {
+    return loggerDelegate.isDetailsLoggable(isSuccess);
+  }
+
   /**
    * Logs a batch job operations upload.
    *
@@ -101,21 +111,33 @@ public class BatchJobLogger {
       String downloadUrl,
       @Nullable BatchJobMutateResponseInterface<O, E, R> response,
       @Nullable Throwable throwable) {
-    RequestInfo requestInfo =
-        new RequestInfo.Builder()
-            .withServiceName("batchjobdownload")
-            .withContext(CONTEXT_NAME, null)
-            .withUrl(downloadUrl)
-            .build();
     int resultsCount = 0;
     if (response != null && response.getMutateResults() != null) {
       resultsCount = response.getMutateResults().length;
     }
     // The response payload could be massive, so simply indicate the number of results instead.
-    ResponseInfo responseInfo =
-        new ResponseInfo.Builder()
-            .withPayload(String.format("Results count: %d", resultsCount))
+    logDownload(downloadUrl, String.format("Results count: %d", resultsCount), throwable);
+  }
+
+  /**
+   * Logs the start of a batch job results download whose results are streamed, so their count is
+   * not known yet.
+   *
+   * @param downloadUrl the download URL for the batch job.
+   */
+  public void logStreamedDownload(String downloadUrl) {
+    logDownload(downloadUrl, "Results streamed", null);
+  }
+
+  private void logDownload(
+      String downloadUrl, String responsePayload, @Nullable Throwable throwable) {
+    RequestInfo requestInfo =
+        new RequestInfo.Builder()
+            .withServiceName("batchjobdownload")
+            .withContext(CONTEXT_NAME, null)
+            .withUrl(downloadUrl)
             .build();
+    ResponseInfo responseInfo = new ResponseInfo.Builder().withPayload(responsePayload).build();
     RemoteCallReturn remoteCallReturn =
         new RemoteCallReturn.Builder()
             .withRequestInfo(requestInfo)
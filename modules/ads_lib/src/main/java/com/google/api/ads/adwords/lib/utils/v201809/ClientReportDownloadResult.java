@@ -0,0 +1,74 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.utils.v201809;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * The outcome of downloading a report for a single client customer ID with
+ * {@link MultipleClientReportDownloader}.
+ */
+public final class ClientReportDownloadResult {
+
+  private final String clientCustomerId;
+  private final long latencyNanos;
+  @Nullable private final Exception exception;
+
+  ClientReportDownloadResult(
+      String clientCustomerId, long latencyNanos, @Nullable Exception exception) {
+    this.clientCustomerId = Preconditions.checkNotNull(clientCustomerId, "Null client customer ID");
+    this.latencyNanos = latencyNanos;
+    this.exception = exception;
+  }
+
+  public String getClientCustomerId() {
+    return clientCustomerId;
+  }
+
+  /**
+   * Returns the time taken to download the report and pass it to the sink, or until the download
+   * failed.
+   */
+  public long getLatency(TimeUnit unit) {
+    return unit.convert(latencyNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /** Returns {@code true} if the report was downloaded and consumed by the sink. */
+  public boolean isSuccess() {
+    return exception == null;
+  }
+
+  /**
+   * Returns the exception that caused the download to fail, or {@code null} if it succeeded. For
+   * errors returned by the reporting server, this is a
+   * {@link com.google.api.ads.adwords.lib.utils.ReportDownloadResponseException}.
+   */
+  @Nullable
+  public Exception getException() {
+    return exception;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("clientCustomerId", clientCustomerId)
+        .add("latencyMillis", getLatency(TimeUnit.MILLISECONDS))
+        .add("exception", exception)
+        .toString();
+  }
+}
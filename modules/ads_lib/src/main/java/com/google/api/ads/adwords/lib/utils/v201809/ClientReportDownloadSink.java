@@ -0,0 +1,55 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.utils.v201809;
+
+import com.google.api.ads.adwords.lib.utils.ReportDownloadResponse;
+import com.google.api.ads.adwords.lib.utils.ReportRowHandler;
+import com.google.common.base.Preconditions;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Consumer of the reports downloaded by {@link MultipleClientReportDownloader}.
+ *
+ * <p>Implementations are called concurrently from the downloader's threads, one call per client
+ * customer ID, and must be thread-safe. Each call should consume the response before returning,
+ * e.g., using {@link ReportDownloadResponse#saveToFile(String)} or
+ * {@link ReportDownloadResponse#processRows(ReportRowHandler)}, so that reports are streamed rather
+ * than held in memory.
+ */
+@FunctionalInterface
+public interface ClientReportDownloadSink {
+
+  /**
+   * Consumes the report downloaded for a client customer ID.
+   *
+   * @param clientCustomerId the client customer ID the report was downloaded for
+   * @param response the successful response. Its input stream is closed after this method returns.
+   * @throws IOException if the response could not be consumed. The download is recorded as failed.
+   */
+  void accept(String clientCustomerId, ReportDownloadResponse response) throws IOException;
+
+  /**
+   * Returns a sink that saves each report, as downloaded, to a file named
+   * {@code <clientCustomerId>.<fileExtension>} in {@code directory}.
+   */
+  static ClientReportDownloadSink toDirectory(final File directory, final String fileExtension) {
+    Preconditions.checkNotNull(directory, "Null directory");
+    Preconditions.checkNotNull(fileExtension, "Null file extension");
+    return (clientCustomerId, response) ->
+        response.saveToFile(
+            new File(directory, clientCustomerId + "." + fileExtension).getPath());
+  }
+}
@@ -0,0 +1,58 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.utils.v201809;
+
+import com.google.api.ads.adwords.lib.utils.ReportRequest;
+import com.google.common.base.Preconditions;
+
+/**
+ * ReportRequest that downloads another request's report for a given client customer ID.
+ */
+class ClientReportRequest implements ReportRequest {
+
+  private final ReportRequest reportRequest;
+  private final String clientCustomerId;
+
+  ClientReportRequest(ReportRequest reportRequest, String clientCustomerId) {
+    this.reportRequest = Preconditions.checkNotNull(reportRequest, "Null report request");
+    this.clientCustomerId =
+        Preconditions.checkNotNull(clientCustomerId, "Null client customer ID");
+  }
+
+  @Override
+  public String getReportRequestString() {
+    return reportRequest.getReportRequestString();
+  }
+
+  @Override
+  public Enum<?> getDownloadFormat() {
+    return reportRequest.getDownloadFormat();
+  }
+
+  @Override
+  public RequestType getRequestType() {
+    return reportRequest.getRequestType();
+  }
+
+  @Override
+  public String getApiVersion() {
+    return reportRequest.getApiVersion();
+  }
+
+  @Override
+  public String getClientCustomerId() {
+    return clientCustomerId;
+  }
+}
@@ -0,0 +1,134 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.utils.v201809;
+
+import com.google.api.ads.adwords.lib.utils.DetailedReportDownloadResponseException;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-client results and aggregate latency and failure statistics of a
+ * {@link MultipleClientReportDownloader} run.
+ */
+public final class MultipleClientReportDownloadResult {
+
+  private final List<ClientReportDownloadResult> results;
+  private final long elapsedNanos;
+  /** Sorted latencies of all results, for percentiles. */
+  private final long[] sortedLatencyNanos;
+
+  MultipleClientReportDownloadResult(List<ClientReportDownloadResult> results, long elapsedNanos) {
+    this.results = ImmutableList.copyOf(results);
+    this.elapsedNanos = elapsedNanos;
+    this.sortedLatencyNanos =
+        this.results.stream().mapToLong(r -> r.getLatency(TimeUnit.NANOSECONDS)).sorted().toArray();
+  }
+
+  /** Returns the result for each client customer ID, in the order the IDs were supplied. */
+  public List<ClientReportDownloadResult> getResults() {
+    return results;
+  }
+
+  /** Returns the results of the downloads that failed. */
+  public List<ClientReportDownloadResult> getFailedResults() {
+    return results.stream().filter(r -> !r.isSuccess()).collect(Collectors.toList());
+  }
+
+  public int getSuccessCount() {
+    return results.size() - getFailureCount();
+  }
+
+  public int getFailureCount() {
+    return (int) results.stream().filter(r -> !r.isSuccess()).count();
+  }
+
+  /**
+   * Returns the number of failures for each kind of failure. Errors returned by the reporting
+   * server are counted by their API error type, e.g.,
+   * {@code AuthorizationError.USER_PERMISSION_DENIED}. Other failures are counted by exception
+   * class name.
+   */
+  public Map<String, Integer> getFailureCountsByType() {
+    Map<String, Integer> failureCounts = new TreeMap<String, Integer>();
+    for (ClientReportDownloadResult result : results) {
+      if (!result.isSuccess()) {
+        failureCounts.merge(getFailureType(result.getException()), 1, Integer::sum);
+      }
+    }
+    return failureCounts;
+  }
+
+  private static String getFailureType(Exception exception) {
+    if (exception instanceof DetailedReportDownloadResponseException
+        && ((DetailedReportDownloadResponseException) exception).getType() != null) {
+      return ((DetailedReportDownloadResponseException) exception).getType();
+    }
+    return exception.getClass().getSimpleName();
+  }
+
+  /** Returns the wall-clock time of the whole run. */
+  public long getElapsedTime(TimeUnit unit) {
+    return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the latency at the given percentile over all clients, using the nearest-rank method,
+   * or {@code 0} if there are no results.
+   *
+   * @param percentile the percentile, greater than {@code 0} and at most {@code 100}
+   */
+  public long getLatencyPercentile(double percentile, TimeUnit unit) {
+    Preconditions.checkArgument(percentile > 0 && percentile <= 100,
+        "Percentile must be in (0, 100]: %s", percentile);
+    if (sortedLatencyNanos.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile / 100 * sortedLatencyNanos.length);
+    return unit.convert(sortedLatencyNanos[rank - 1], TimeUnit.NANOSECONDS);
+  }
+
+  /** Returns the mean latency over all clients, or {@code 0} if there are no results. */
+  public long getMeanLatency(TimeUnit unit) {
+    return unit.convert(
+        (long) Arrays.stream(sortedLatencyNanos).average().orElse(0), TimeUnit.NANOSECONDS);
+  }
+
+  /** Returns the highest latency over all clients, or {@code 0} if there are no results. */
+  public long getMaxLatency(TimeUnit unit) {
+    return sortedLatencyNanos.length == 0
+        ? 0
+        : unit.convert(sortedLatencyNanos[sortedLatencyNanos.length - 1], TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("clients", results.size())
+        .add("successes", getSuccessCount())
+        .add("failures", getFailureCountsByType())
+        .add("elapsedMillis", getElapsedTime(TimeUnit.MILLISECONDS))
+        .add("meanLatencyMillis", getMeanLatency(TimeUnit.MILLISECONDS))
+        .add("p99LatencyMillis", getLatencyPercentile(99, TimeUnit.MILLISECONDS))
+        .add("maxLatencyMillis", getMaxLatency(TimeUnit.MILLISECONDS))
+        .toString();
+  }
+}
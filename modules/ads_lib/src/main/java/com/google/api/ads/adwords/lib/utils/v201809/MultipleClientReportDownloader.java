@@ -0,0 +1,193 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.utils.v201809;
+
+import com.google.api.ads.adwords.lib.client.AdWordsSession;
+import com.google.api.ads.adwords.lib.jaxb.v201809.DownloadFormat;
+import com.google.api.ads.adwords.lib.jaxb.v201809.ReportDefinition;
+import com.google.api.ads.adwords.lib.utils.AdHocReportDownloadHelper;
+import com.google.api.ads.adwords.lib.utils.AdHocReportDownloadHelperInterface;
+import com.google.api.ads.adwords.lib.utils.AdWordsInternals;
+import com.google.api.ads.adwords.lib.utils.ReportDownloadResponse;
+import com.google.api.ads.adwords.lib.utils.ReportRequest;
+import com.google.api.ads.common.lib.exception.ValidationException;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Downloads the same report for many client customer IDs in parallel, like in the following code:
+ *
+ * <pre>
+ *<code>MultipleClientReportDownloadResult result =
+ *    new MultipleClientReportDownloader(adWordsSession, 8).downloadReport(
+ *        reportQuery, DownloadFormat.GZIPPED_CSV, clientCustomerIds,
+ *        ClientReportDownloadSink.toDirectory(outputDirectory, "csv.gz"));
+ *</code>
+ *</pre>
+ *
+ * <p>All reports are requested through one report download helper created from
+ * {@code adWordsSession}, which only sets a different client customer ID header for each client.
+ * So all requests share the session's OAuth2 credential, and therefore its access token, as well as
+ * its HTTP transport and its other headers. At most {@code maxConcurrentDownloads} reports are
+ * downloaded at a time, and each report is streamed to the {@link ClientReportDownloadSink} by the
+ * thread that downloaded it, so memory use is bounded by the number of concurrent downloads rather
+ * than the number of clients.
+ *
+ * <p>A failed download does not stop the others. Failures and per-client latencies are reported in
+ * the returned {@link MultipleClientReportDownloadResult}.
+ *
+ * <p>Implementation is thread-safe.
+ */
+public class MultipleClientReportDownloader {
+
+  private final int maxConcurrentDownloads;
+  private final AdHocReportDownloadHelperInterface reportDownloadHelper;
+
+  /**
+   * Constructs a {@link MultipleClientReportDownloader}.
+   *
+   * @param session the session to download every client's report with, except for its client
+   *     customer ID. Changes to the session after this constructor returns are not seen by this
+   *     downloader.
+   * @param maxConcurrentDownloads the maximum number of reports to download at a time
+   * @throws ValidationException if the session cannot be copied because it is invalid
+   */
+  public MultipleClientReportDownloader(AdWordsSession session, int maxConcurrentDownloads)
+      throws ValidationException {
+    this(
+        AdWordsInternals.getBootstrapper()
+            .getInstanceOf(
+                Preconditions.checkNotNull(session, "Null session").newBuilder().buildImmutable(),
+                AdHocReportDownloadHelper.class),
+        maxConcurrentDownloads);
+  }
+
+  @VisibleForTesting
+  MultipleClientReportDownloader(
+      AdHocReportDownloadHelperInterface reportDownloadHelper, int maxConcurrentDownloads) {
+    Preconditions.checkArgument(maxConcurrentDownloads > 0,
+        "Max concurrent downloads must be > 0: %s", maxConcurrentDownloads);
+    this.maxConcurrentDownloads = maxConcurrentDownloads;
+    this.reportDownloadHelper = reportDownloadHelper;
+  }
+
+  /**
+   * Downloads the report defined by {@code reportDefinition} for each client customer ID.
+   *
+   * @param reportDefinition the definition of the report to download
+   * @param clientCustomerIds the client customer IDs to download the report for
+   * @param sink the sink that consumes each downloaded report
+   * @return the per-client results and statistics
+   * @throws InterruptedException if the calling thread is interrupted while waiting for the
+   *     downloads to finish. Downloads that have not started are cancelled.
+   */
+  public MultipleClientReportDownloadResult downloadReport(ReportDefinition reportDefinition,
+      Collection<String> clientCustomerIds, ClientReportDownloadSink sink)
+      throws InterruptedException {
+    Preconditions.checkNotNull(reportDefinition, "Null report definition");
+    return downloadReports(
+        new XmlReportDefinitionRequest(reportDefinition), clientCustomerIds, sink);
+  }
+
+  /**
+   * Downloads the report for the AWQL {@code reportQuery} for each client customer ID.
+   *
+   * @param reportQuery the AWQL query of the report to download
+   * @param format the download format of the report
+   * @param clientCustomerIds the client customer IDs to download the report for
+   * @param sink the sink that consumes each downloaded report
+   * @return the per-client results and statistics
+   * @throws InterruptedException if the calling thread is interrupted while waiting for the
+   *     downloads to finish. Downloads that have not started are cancelled.
+   */
+  public MultipleClientReportDownloadResult downloadReport(String reportQuery,
+      DownloadFormat format, Collection<String> clientCustomerIds, ClientReportDownloadSink sink)
+      throws InterruptedException {
+    Preconditions.checkNotNull(reportQuery, "Null report query");
+    Preconditions.checkNotNull(format, "Null download format");
+    return downloadReports(new AwqlReportRequest(reportQuery, format), clientCustomerIds, sink);
+  }
+
+  private MultipleClientReportDownloadResult downloadReports(ReportRequest reportRequest,
+      Collection<String> clientCustomerIds, ClientReportDownloadSink sink)
+      throws InterruptedException {
+    Preconditions.checkNotNull(clientCustomerIds, "Null client customer IDs");
+    Preconditions.checkNotNull(sink, "Null sink");
+    List<String> clientCustomerIdList = ImmutableList.copyOf(clientCustomerIds);
+
+    long startNanos = System.nanoTime();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.max(1, Math.min(maxConcurrentDownloads, clientCustomerIdList.size())),
+            new ThreadFactoryBuilder()
+                .setNameFormat("report-downloader-%d")
+                .setDaemon(true)
+                .build());
+    try {
+      List<Future<ClientReportDownloadResult>> futures =
+          new ArrayList<Future<ClientReportDownloadResult>>(clientCustomerIdList.size());
+      for (String clientCustomerId : clientCustomerIdList) {
+        futures.add(
+            executor.submit(() -> downloadReport(clientCustomerId, reportRequest, sink)));
+      }
+      List<ClientReportDownloadResult> results =
+          new ArrayList<ClientReportDownloadResult>(futures.size());
+      for (Future<ClientReportDownloadResult> future : futures) {
+        try {
+          results.add(future.get());
+        } catch (ExecutionException e) {
+          // Exceptions are recorded in the results, so only errors get here.
+          Throwables.throwIfUnchecked(e.getCause());
+          throw new IllegalStateException("Unexpected exception downloading report", e.getCause());
+        }
+      }
+      return new MultipleClientReportDownloadResult(results, System.nanoTime() - startNanos);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Downloads the report for a single client and passes it to the sink, recording any failure.
+   */
+  private ClientReportDownloadResult downloadReport(String clientCustomerId,
+      ReportRequest reportRequest, ClientReportDownloadSink sink) {
+    long startNanos = System.nanoTime();
+    Exception exception = null;
+    try {
+      ReportDownloadResponse response = reportDownloadHelper.downloadReport(
+          new ClientReportRequest(reportRequest, clientCustomerId),
+          new DetailedReportDownloadResponseException.Builder());
+      try (InputStream inputStream = response.getInputStream()) {
+        sink.accept(clientCustomerId, response);
+      }
+    } catch (Exception e) {
+      exception = e;
+    }
+    return new ClientReportDownloadResult(
+        clientCustomerId, System.nanoTime() - startNanos, exception);
+  }
+}
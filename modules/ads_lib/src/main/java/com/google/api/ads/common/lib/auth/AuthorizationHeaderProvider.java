@@ -35,6 +35,7 @@ public class AuthorizationHeaderProvider {
   private final OAuth2AuthorizationHeaderProvider oAuth2AuthorizationHeaderProvider;
   private final AdsLibConfiguration adsLibConfiguration;
   private final OAuth2Helper oAuth2Helper;
+  @Nullable private final OAuth2TokenCache oAuth2TokenCache;
 
   /**
    * Constructor.
@@ -43,14 +44,31 @@ public class AuthorizationHeaderProvider {
    * @param adsLibConfiguration the library configuration
    * @param oAuth2Helper the OAuth2 helper
    */
-  @Inject
   public AuthorizationHeaderProvider(
       OAuth2AuthorizationHeaderProvider oAuth2AuthorizationHeaderProvider,
       AdsLibConfiguration adsLibConfiguration,
       OAuth2Helper oAuth2Helper) {
+    this(oAuth2AuthorizationHeaderProvider, adsLibConfiguration, oAuth2Helper, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param oAuth2AuthorizationHeaderProvider the OAuth2 header provider
+   * @param adsLibConfiguration the library configuration
+   * @param oAuth2Helper the OAuth2 helper
+   * @param oAuth2TokenCache the OAuth2 token cache, used if enabled in the configuration
+   */
+  @Inject
+  public AuthorizationHeaderProvider(
+      OAuth2AuthorizationHeaderProvider oAuth2AuthorizationHeaderProvider,
+      AdsLibConfiguration adsLibConfiguration,
+      OAuth2Helper oAuth2Helper,
+      @Nullable OAuth2TokenCache oAuth2TokenCache) {
     this.oAuth2AuthorizationHeaderProvider = oAuth2AuthorizationHeaderProvider;
     this.adsLibConfiguration = adsLibConfiguration;
     this.oAuth2Helper = oAuth2Helper;
+    this.oAuth2TokenCache = oAuth2TokenCache;
   }
 
   /**
@@ -85,6 +103,9 @@ public class AuthorizationHeaderProvider {
    */
   private String getOAuth2Header(OAuth2Compatible oAuth2Compatible) throws OAuthException {
     if (adsLibConfiguration.isAutoRefreshOAuth2TokenEnabled()) {
+      if (oAuth2TokenCache != null && adsLibConfiguration.isOAuth2TokenCacheEnabled()) {
+        return oAuth2TokenCache.getAuthorizationHeader(oAuth2Compatible);
+      }
       try {
         oAuth2Helper.refreshCredential(oAuth2Compatible.getOAuth2Credential());
       } catch (IOException e) {
@@ -0,0 +1,314 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.auth;
+
+import com.google.api.ads.common.lib.exception.OAuthException;
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.util.Clock;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+
+/**
+ * Cache of OAuth2 authorization headers that refreshes tokens in the background before they
+ * expire.
+ *
+ * <p>{@link Credential} refreshes under its own lock, which also guards reading the access token,
+ * so every thread sharing a credential waits while it is refreshed. This cache instead serves the
+ * header of each credential from an immutable snapshot read without locking. Once
+ * {@link #REFRESH_FRACTION} of a token's lifetime has passed, the next request starts a refresh
+ * in the background and is still served the current token. Requests only wait if there is no
+ * token yet, or it is within the refresh window of expiring. At most one refresh of a credential
+ * runs at a time; concurrent requests that need a token wait for that refresh.
+ *
+ * <p>Credentials are compared by identity. Tokens set on a credential by other code are picked up
+ * at the credential's next refresh.
+ */
+@Singleton
+public class OAuth2TokenCache {
+
+  /** The fraction of a token's lifetime after which it is refreshed in the background. */
+  @VisibleForTesting static final double REFRESH_FRACTION = 0.8;
+
+  /** The delay before retrying a failed background refresh. */
+  @VisibleForTesting static final long RETRY_DELAY_MILLIS = 10 * 1000;
+
+  private static final Executor DEFAULT_REFRESH_EXECUTOR =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder()
+              .setNameFormat("oauth2-token-refresh-%d")
+              .setDaemon(true)
+              .build());
+
+  private final OAuth2Helper oAuth2Helper;
+  private final OAuth2AuthorizationHeaderProvider oAuth2AuthorizationHeaderProvider;
+  private final long refreshWindowMillis;
+  private final Logger libLogger;
+  private final Clock clock;
+  private final Executor refreshExecutor;
+
+  private final LoadingCache<Credential, Entry> entries =
+      CacheBuilder.newBuilder()
+          // Weak keys make the cache compare credentials by identity.
+          .weakKeys()
+          .build(
+              new CacheLoader<Credential, Entry>() {
+                @Override
+                public Entry load(Credential credential) {
+                  return new Entry();
+                }
+              });
+
+  private final AtomicLong refreshCount = new AtomicLong();
+  private final AtomicLong refreshFailureCount = new AtomicLong();
+  private final AtomicLong staleServeCount = new AtomicLong();
+  private final AtomicLong totalRefreshNanos = new AtomicLong();
+  private final AtomicLong maxRefreshNanos = new AtomicLong();
+
+  /**
+   * Constructor.
+   *
+   * @param oAuth2Helper the OAuth2 helper
+   * @param oAuth2AuthorizationHeaderProvider the OAuth2 header provider
+   * @param refreshWindowSeconds the time before expiry within which requests wait for a refresh
+   * @param libLogger the lib logger
+   */
+  @Inject
+  public OAuth2TokenCache(
+      OAuth2Helper oAuth2Helper,
+      OAuth2AuthorizationHeaderProvider oAuth2AuthorizationHeaderProvider,
+      @Named("oAuth2RefreshWindow") Long refreshWindowSeconds,
+      @Named("libLogger") Logger libLogger) {
+    this(oAuth2Helper, oAuth2AuthorizationHeaderProvider, refreshWindowSeconds, libLogger,
+        Clock.SYSTEM, DEFAULT_REFRESH_EXECUTOR);
+  }
+
+  @VisibleForTesting
+  OAuth2TokenCache(
+      OAuth2Helper oAuth2Helper,
+      OAuth2AuthorizationHeaderProvider oAuth2AuthorizationHeaderProvider,
+      Long refreshWindowSeconds,
+      Logger libLogger,
+      Clock clock,
+      Executor refreshExecutor) {
+    this.oAuth2Helper = oAuth2Helper;
+    this.oAuth2AuthorizationHeaderProvider = oAuth2AuthorizationHeaderProvider;
+    this.refreshWindowMillis = TimeUnit.SECONDS.toMillis(refreshWindowSeconds);
+    this.libLogger = libLogger;
+    this.clock = clock;
+    this.refreshExecutor = refreshExecutor;
+  }
+
+  /**
+   * Gets the OAuth2 authorization header for the credential, refreshing the token if needed.
+   *
+   * @param oAuth2Compatible exposes the OAuth2 credential
+   * @return the {@code Authorization} header value to set
+   * @throws OAuthException if the request had to wait for a refresh, and the refresh failed
+   */
+  public String getAuthorizationHeader(OAuth2Compatible oAuth2Compatible) throws OAuthException {
+    Credential credential = oAuth2Compatible.getOAuth2Credential();
+    Entry entry = entries.getUnchecked(credential);
+    TokenSnapshot snapshot = entry.snapshot;
+    long now = clock.currentTimeMillis();
+    if (snapshot != null && now < snapshot.usableUntilMillis) {
+      if (now >= snapshot.refreshAtMillis) {
+        staleServeCount.incrementAndGet();
+        startRefresh(entry, credential, true);
+      }
+      return snapshot.authorizationHeader;
+    }
+    try {
+      return startRefresh(entry, credential, false).join().authorizationHeader;
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new OAuthException("OAuth2 token could not be refreshed.", e.getCause());
+    }
+  }
+
+  /**
+   * Starts a refresh of the credential unless one is already running, and returns the future of
+   * the running refresh.
+   *
+   * @param background if {@code true}, the token is refreshed on the refresh executor even if it
+   *     is not yet within the refresh window. Otherwise, the token is refreshed by the calling
+   *     thread only if needed.
+   */
+  private CompletableFuture<TokenSnapshot> startRefresh(
+      final Entry entry, final Credential credential, final boolean background) {
+    while (true) {
+      CompletableFuture<TokenSnapshot> inFlight = entry.inFlightRefresh.get();
+      if (inFlight != null) {
+        return inFlight;
+      }
+      final CompletableFuture<TokenSnapshot> refresh = new CompletableFuture<TokenSnapshot>();
+      if (entry.inFlightRefresh.compareAndSet(null, refresh)) {
+        if (background) {
+          refreshExecutor.execute(() -> refresh(entry, credential, true, refresh));
+        } else {
+          refresh(entry, credential, false, refresh);
+        }
+        return refresh;
+      }
+    }
+  }
+
+  private void refresh(Entry entry, Credential credential, boolean force,
+      CompletableFuture<TokenSnapshot> refresh) {
+    long startNanos = System.nanoTime();
+    TokenSnapshot snapshot = null;
+    Throwable failure = null;
+    try {
+      if (!force) {
+        oAuth2Helper.refreshCredential(credential);
+      } else if (!oAuth2Helper.callRefreshToken(credential)) {
+        throw new IOException("OAuth2 token could not be refreshed. "
+            + "Add a refreshListener to the Credential to capture this failure.");
+      }
+      snapshot = createSnapshot(credential);
+      refreshCount.incrementAndGet();
+    } catch (IOException | RuntimeException e) {
+      refreshFailureCount.incrementAndGet();
+      failure = e;
+      TokenSnapshot previous = entry.snapshot;
+      if (force && previous != null) {
+        libLogger.warn("OAuth2 token could not be refreshed in the background, retrying in "
+            + RETRY_DELAY_MILLIS + " ms.", e);
+        // Keep serving the current token, and retry after a delay.
+        snapshot = previous.withRefreshAt(clock.currentTimeMillis() + RETRY_DELAY_MILLIS);
+      }
+    }
+    recordRefresh(System.nanoTime() - startNanos);
+    entry.snapshot = snapshot;
+    entry.inFlightRefresh.set(null);
+    if (failure != null) {
+      refresh.completeExceptionally(failure);
+    } else {
+      refresh.complete(snapshot);
+    }
+  }
+
+  /** Creates a snapshot of the credential's current token. */
+  private TokenSnapshot createSnapshot(Credential credential) {
+    long now = clock.currentTimeMillis();
+    String accessToken = credential.getAccessToken();
+    Long expiresInSeconds = credential.getExpiresInSeconds();
+    String authorizationHeader =
+        oAuth2AuthorizationHeaderProvider.getOAuth2AuthorizationHeader(() -> credential);
+    if (accessToken == null) {
+      // Not usable, so every request tries to refresh, as without the cache.
+      return new TokenSnapshot(authorizationHeader, now, now);
+    }
+    if (expiresInSeconds == null) {
+      return new TokenSnapshot(authorizationHeader, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+    long expiresInMillis = TimeUnit.SECONDS.toMillis(expiresInSeconds);
+    return new TokenSnapshot(
+        authorizationHeader,
+        now + (long) (expiresInMillis * REFRESH_FRACTION),
+        now + expiresInMillis - refreshWindowMillis);
+  }
+
+  private void recordRefresh(long refreshNanos) {
+    totalRefreshNanos.addAndGet(refreshNanos);
+    long currentMax;
+    do {
+      currentMax = maxRefreshNanos.get();
+    } while (refreshNanos > currentMax && !maxRefreshNanos.compareAndSet(currentMax, refreshNanos));
+  }
+
+  /** Returns the number of successful token refreshes. */
+  public long getRefreshCount() {
+    return refreshCount.get();
+  }
+
+  /** Returns the number of failed token refreshes. */
+  public long getRefreshFailureCount() {
+    return refreshFailureCount.get();
+  }
+
+  /**
+   * Returns the number of requests served a token that was due for refresh, while it was refreshed
+   * in the background.
+   */
+  public long getStaleServeCount() {
+    return staleServeCount.get();
+  }
+
+  /** Returns the total time spent refreshing tokens, including failed refreshes. */
+  public long getTotalRefreshTime(TimeUnit unit) {
+    return unit.convert(totalRefreshNanos.get(), TimeUnit.NANOSECONDS);
+  }
+
+  /** Returns the longest time a single token refresh took. */
+  public long getMaxRefreshTime(TimeUnit unit) {
+    return unit.convert(maxRefreshNanos.get(), TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("credentials", entries.size())
+        .add("refreshes", getRefreshCount())
+        .add("refreshFailures", getRefreshFailureCount())
+        .add("staleServes", getStaleServeCount())
+        .add("totalRefreshMillis", getTotalRefreshTime(TimeUnit.MILLISECONDS))
+        .add("maxRefreshMillis", getMaxRefreshTime(TimeUnit.MILLISECONDS))
+        .toString();
+  }
+
+  /** The cached state of one credential. */
+  private static final class Entry {
+    volatile TokenSnapshot snapshot;
+    final AtomicReference<CompletableFuture<TokenSnapshot>> inFlightRefresh =
+        new AtomicReference<CompletableFuture<TokenSnapshot>>();
+  }
+
+  /** An immutable snapshot of a credential's token. */
+  private static final class TokenSnapshot {
+    final String authorizationHeader;
+    /** The time after which the token is refreshed in the background. */
+    final long refreshAtMillis;
+    /** The time after which requests wait for a refresh. */
+    final long usableUntilMillis;
+
+    TokenSnapshot(String authorizationHeader, long refreshAtMillis, long usableUntilMillis) {
+      this.authorizationHeader = authorizationHeader;
+      this.refreshAtMillis = refreshAtMillis;
+      this.usableUntilMillis = usableUntilMillis;
+    }
+
+    TokenSnapshot withRefreshAt(long refreshAtMillis) {
+      return new TokenSnapshot(authorizationHeader, refreshAtMillis, usableUntilMillis);
+    }
+  }
+}
@@ -14,10 +14,12 @@
 
 package com.google.api.ads.common.lib.auth;
 
+import com.google.api.ads.common.lib.conf.AdsLibConfiguration;
 import com.google.api.ads.common.lib.conf.ConfigurationHelper;
 import com.google.api.ads.common.lib.conf.ConfigurationLoadException;
 import com.google.api.ads.common.lib.exception.OAuthException;
 import com.google.api.ads.common.lib.exception.ValidationException;
+import com.google.api.ads.common.lib.utils.HttpTransportPool;
 import com.google.api.ads.common.lib.utils.Internals;
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
@@ -392,9 +394,16 @@ public class OfflineCredentials {
      * <li>clientId</li>
      * <li>clientSecret</li>
      * <li>jsonKeyFilePath</li>
+     * <li>httpConnectionPoolMaxTotal</li>
+     * <li>httpConnectionPoolMaxPerRoute</li>
+     * <li>httpConnectionPoolIdleTimeout</li>
      * </ul><br>
      * For example, the AdWords OAuth2 refresh token can be read from:
      * <code>api.adwords.refreshToken</code>
+     * <br><br>
+     * If {@code httpConnectionPoolMaxTotal} is positive and no transport was set with
+     * {@link #withHttpTransport(HttpTransport)}, token refreshes use the shared
+     * {@link HttpTransportPool} for the configured settings.
      *
      * @param config the configuration
      * @return Builder populated from the Configuration
@@ -406,6 +415,22 @@ public class OfflineCredentials {
       this.clientSecret = config.getString(getPropertyKey("clientSecret"), null);
       this.jsonKeyFilePath = config.getString(getPropertyKey("jsonKeyFilePath"), null);
       this.serviceAccountUser = config.getString(getPropertyKey("serviceAccountUser"), null);
+      int httpConnectionPoolMaxTotal = config.getInt(
+          getPropertyKey(AdsLibConfiguration.HTTP_CONNECTION_POOL_MAX_TOTAL_POSTFIX), 0);
+      if (httpConnectionPoolMaxTotal > 0 && this.httpTransport == null) {
+        this.httpTransport =
+            HttpTransportPool.getShared(
+                    httpConnectionPoolMaxTotal,
+                    config.getInt(
+                        getPropertyKey(
+                            AdsLibConfiguration.HTTP_CONNECTION_POOL_MAX_PER_ROUTE_POSTFIX),
+                        httpConnectionPoolMaxTotal),
+                    config.getLong(
+                        getPropertyKey(
+                            AdsLibConfiguration.HTTP_CONNECTION_POOL_IDLE_TIMEOUT_POSTFIX),
+                        AdsLibConfiguration.DEFAULT_HTTP_CONNECTION_POOL_IDLE_TIMEOUT))
+                .getHttpTransport();
+      }
       return this;
     }
 
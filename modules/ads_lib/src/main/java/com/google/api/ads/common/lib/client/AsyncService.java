@@ -0,0 +1,237 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.client;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes the calls of a service client, as returned by {@code AdWordsServices.get} or
+ * {@code AdManagerServices.get}, on an {@link Executor} and returns their results as
+ * {@link CompletableFuture}s.
+ *
+ * <p>A future completes exceptionally with exactly the exception the blocking call would have
+ * thrown, e.g., the service's {@code ApiException}, so error handling is the same for blocking and
+ * asynchronous calls.
+ *
+ * <p>Unless the service client has a SOAP client pool (see the {@code soapClientPoolSize}
+ * setting), the service client makes one call at a time, so concurrent calls through one instance
+ * of this class are serialized. Use a pool, or one service client per session, to have many calls
+ * in flight.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * AsyncService<CampaignServiceInterface> campaignService = AsyncService.of(
+ *     adWordsServices.get(session, CampaignServiceInterface.class), executor);
+ * CompletableFuture<CampaignPage> page = campaignService.call(service -> service.get(selector));
+ * }</pre>
+ *
+ * @param <T> the service interface type
+ */
+public final class AsyncService<T> {
+
+  /** Number of threads of the default executor when virtual threads are not available. */
+  public static final int DEFAULT_POOL_SIZE =
+      Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+  private final T service;
+  private final Executor executor;
+
+  private AsyncService(T service, Executor executor) {
+    this.service = Preconditions.checkNotNull(service, "Null service");
+    this.executor = Preconditions.checkNotNull(executor, "Null executor");
+  }
+
+  /**
+   * Returns an asynchronous view of {@code service} that makes calls on {@code executor}.
+   *
+   * @param service the service client
+   * @param executor the executor to make calls on
+   */
+  public static <T> AsyncService<T> of(T service, Executor executor) {
+    return new AsyncService<T>(service, executor);
+  }
+
+  /**
+   * Returns an asynchronous view of {@code service} that makes calls on
+   * {@link #getDefaultExecutor()}.
+   *
+   * @param service the service client
+   */
+  public static <T> AsyncService<T> of(T service) {
+    return new AsyncService<T>(service, getDefaultExecutor());
+  }
+
+  /**
+   * Returns the executor used by {@link #of(Object)}. It runs each call on a new virtual thread if
+   * the JVM supports them, and otherwise on a shared pool of {@link #DEFAULT_POOL_SIZE} daemon
+   * threads that queues further calls. Use {@link #of(Object, Executor)} to run more calls at once.
+   *
+   * <p>Service clients guard their SOAP calls with locks rather than monitors, so a virtual thread
+   * waiting for a response does not pin its carrier thread.
+   */
+  public static Executor getDefaultExecutor() {
+    return DefaultExecutorHolder.EXECUTOR;
+  }
+
+  /** Returns the blocking service client that calls are made on. */
+  public T getService() {
+    return service;
+  }
+
+  /**
+   * Makes a call on the service client asynchronously.
+   *
+   * @param serviceCall the call, e.g., {@code service -> service.get(selector)}
+   * @return a future that completes with the call's result, or exceptionally with the exception
+   *     the call threw
+   */
+  public <R> CompletableFuture<R> call(final ServiceCall<? super T, R> serviceCall) {
+    Preconditions.checkNotNull(serviceCall, "Null service call");
+    final CompletableFuture<R> future = new CompletableFuture<R>();
+    executor.execute(
+        () -> {
+          try {
+            future.complete(serviceCall.call(service));
+          } catch (Throwable t) {
+            future.completeExceptionally(t);
+          }
+        });
+    return future;
+  }
+
+  /**
+   * Returns a proxy implementing {@code asyncInterfaceClass} whose methods make the call of the
+   * service method with the same name and parameter types, and return its result as a
+   * {@link CompletableFuture}. For example, for a service interface with
+   * {@code CampaignPage get(Selector selector) throws ApiException}, the asynchronous interface
+   * would declare {@code CompletableFuture<CampaignPage> get(Selector selector)}.
+   *
+   * @param asyncInterfaceClass an interface whose methods all return {@code CompletableFuture}
+   * @throws IllegalArgumentException if {@code asyncInterfaceClass} is not an interface, or one of
+   *     its methods does not return {@code CompletableFuture} or has no matching service method
+   */
+  public <A> A as(Class<A> asyncInterfaceClass) {
+    Preconditions.checkNotNull(asyncInterfaceClass, "Null async interface class");
+    Preconditions.checkArgument(asyncInterfaceClass.isInterface(),
+        "%s is not an interface", asyncInterfaceClass.getName());
+    final Map<Method, Method> serviceMethods = new HashMap<Method, Method>();
+    for (Method asyncMethod : asyncInterfaceClass.getMethods()) {
+      Preconditions.checkArgument(
+          CompletableFuture.class.equals(asyncMethod.getReturnType()),
+          "%s does not return CompletableFuture", asyncMethod);
+      try {
+        serviceMethods.put(asyncMethod,
+            service.getClass().getMethod(asyncMethod.getName(), asyncMethod.getParameterTypes()));
+      } catch (NoSuchMethodException e) {
+        throw new IllegalArgumentException(String.format("%s has no method %s%s",
+            service.getClass().getName(), asyncMethod.getName(),
+            Arrays.toString(asyncMethod.getParameterTypes())), e);
+      }
+    }
+    InvocationHandler invocationHandler = (proxy, method, args) -> {
+      Method serviceMethod = serviceMethods.get(method);
+      if (serviceMethod != null) {
+        return call(unused -> invokeServiceMethod(serviceMethod, args));
+      }
+      // Methods declared by Object.
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return "AsyncService proxy for " + asyncInterfaceClass.getName();
+      }
+    };
+    return asyncInterfaceClass.cast(Proxy.newProxyInstance(
+        asyncInterfaceClass.getClassLoader(), new Class<?>[] {asyncInterfaceClass},
+        invocationHandler));
+  }
+
+  /**
+   * Invokes a service method, rethrowing the exception thrown by the method itself rather than
+   * the reflection wrapper.
+   */
+  private Object invokeServiceMethod(Method serviceMethod, Object[] args) throws Throwable {
+    try {
+      return serviceMethod.invoke(service, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * A call on a service client.
+   *
+   * @param <T> the service interface type
+   * @param <R> the result type
+   */
+  @FunctionalInterface
+  public interface ServiceCall<T, R> {
+
+    /**
+     * Makes the call.
+     *
+     * @param service the service client
+     * @return the result of the call
+     * @throws Throwable the exception thrown by the service client
+     */
+    R call(T service) throws Throwable;
+  }
+
+  /** Lazily creates the default executor. */
+  private static final class DefaultExecutorHolder {
+
+    private static final Executor EXECUTOR = createDefaultExecutor();
+
+    private static Executor createDefaultExecutor() {
+      try {
+        // Executors.newVirtualThreadPerTaskExecutor is only available on Java 21+.
+        return (ExecutorService)
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (ReflectiveOperationException e) {
+        ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(
+                DEFAULT_POOL_SIZE,
+                DEFAULT_POOL_SIZE,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactoryBuilder()
+                    .setNameFormat("async-service-%d")
+                    .setDaemon(true)
+                    .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+      }
+    }
+  }
+}
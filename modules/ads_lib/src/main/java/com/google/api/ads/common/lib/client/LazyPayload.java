@@ -0,0 +1,66 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.client;
+
+import com.google.common.base.Supplier;
+
+/**
+ * A request or response payload that is computed at most once, on the first call to {@link #get()}.
+ * Unlike {@link com.google.common.base.Suppliers#memoize(Supplier)}, it tells whether the payload
+ * has been computed, so that {@code toString()} can describe it without computing it.
+ */
+final class LazyPayload implements Supplier<String> {
+
+  private Supplier<String> delegate;
+  private volatile boolean materialized;
+  private String payload;
+
+  private LazyPayload(Supplier<String> delegate) {
+    this.delegate = delegate;
+  }
+
+  private LazyPayload(String payload) {
+    this.payload = payload;
+    this.materialized = true;
+  }
+
+  static LazyPayload of(String payload) {
+    return new LazyPayload(payload);
+  }
+
+  static LazyPayload of(Supplier<String> delegate) {
+    return new LazyPayload(delegate);
+  }
+
+  @Override
+  public String get() {
+    if (!materialized) {
+      synchronized (this) {
+        if (!materialized) {
+          payload = delegate.get();
+          materialized = true;
+          // Releases the message the payload was computed from.
+          delegate = null;
+        }
+      }
+    }
+    return payload;
+  }
+
+  /** Returns whether the payload has been computed. */
+  boolean isMaterialized() {
+    return materialized;
+  }
+}
@@ -15,14 +15,16 @@
 package com.google.api.ads.common.lib.client;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
 
 /**
  * Contains information about the request that was made.
  */
 public class RequestInfo {
 
-  private String payload;
+  private LazyPayload payload;
   private String serviceName;
   private String methodName;
   private String url;
@@ -32,10 +34,11 @@ public class RequestInfo {
   private RequestInfo() {}
 
   /**
-   * Gets the SOAP request XML.
+   * Gets the SOAP request XML. If the payload was captured lazily, it is materialized on the
+   * first call to this method.
    */
   public String getPayload() {
-    return payload;
+    return payload == null ? null : payload.get();
   }
 
   /**
@@ -78,15 +81,20 @@ public class RequestInfo {
 
   @Override
   public String toString() {
-    return MoreObjects.toStringHelper(this)
+    ToStringHelper helper = MoreObjects.toStringHelper(this)
         .add("serviceName", serviceName)
         .add("methodName", methodName)
         .add("url", url)
         .add("contextName", contextName)
-        .add("contextValue", contextValue)
-        // Return payload length, since the payload could be large.
-        .add("payload.length", Strings.nullToEmpty(payload).length())
-        .toString();
+        .add("contextValue", contextValue);
+    // Return payload length, since the payload could be large. A lazy payload that has not been
+    // computed yet is left out, so that logging this object does not serialize the message.
+    if (payload == null) {
+      helper.add("payload.length", 0);
+    } else if (payload.isMaterialized()) {
+      helper.add("payload.length", Strings.nullToEmpty(payload.get()).length());
+    }
+    return helper.toString();
   }
   
   /**
@@ -130,7 +138,19 @@ public class RequestInfo {
      * @return this builder
      */
     public Builder withPayload(String payload) {
-      requestInfo.payload = payload;
+      requestInfo.payload = LazyPayload.of(payload);
+      return this;
+    }
+
+    /**
+     * Adds a lazily computed request payload to the RequestInfo under construction. The supplier
+     * will be invoked at most once, and only if {@link RequestInfo#getPayload()} is called.
+     *
+     * @param payloadSupplier supplier of the raw request string to add to the RequestInfo
+     * @return this builder
+     */
+    public Builder withPayload(Supplier<String> payloadSupplier) {
+      requestInfo.payload = LazyPayload.of(payloadSupplier);
       return this;
     }
 
@@ -15,22 +15,27 @@
 package com.google.api.ads.common.lib.client;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
 import javax.annotation.Nullable;
 
 /** Contains information about the response from the request that was made. */
 public class ResponseInfo {
 
-  private String payload;
+  private LazyPayload payload;
   private String requestId;
   private Long operationsCount;
   private Long responseTimeMillis;
 
   private ResponseInfo() {}
 
-  /** Gets the response payload (e.g., XML, HTTP request). */
+  /**
+   * Gets the response payload (e.g., XML, HTTP request). If the payload was captured lazily, it is
+   * materialized on the first call to this method.
+   */
   public String getPayload() {
-    return payload;
+    return payload == null ? null : payload.get();
   }
 
   /** Gets the SOAP response request ID. */
@@ -52,13 +57,18 @@ public class ResponseInfo {
 
   @Override
   public String toString() {
-    return MoreObjects.toStringHelper(this)
+    ToStringHelper helper = MoreObjects.toStringHelper(this)
         .add("requestId", requestId)
         .add("operationsCount", operationsCount)
-        .add("responseTimeMillis", responseTimeMillis)
-        // Return payload length, since the payload could be large.
-        .add("payload.length", Strings.nullToEmpty(payload).length())
-        .toString();
+        .add("responseTimeMillis", responseTimeMillis);
+    // Return payload length, since the payload could be large. A lazy payload that has not been
+    // computed yet is left out, so that logging this object does not serialize the message.
+    if (payload == null) {
+      helper.add("payload.length", 0);
+    } else if (payload.isMaterialized()) {
+      helper.add("payload.length", Strings.nullToEmpty(payload.get()).length());
+    }
+    return helper.toString();
   }
 
   /** Builder for {@link ResponseInfo} objects. */
@@ -76,7 +86,18 @@ public class ResponseInfo {
      * @return this builder
      */
     public Builder withPayload(String payload) {
-      responseInfo.payload = payload;
+      responseInfo.payload = LazyPayload.of(payload);
+      return this;
+    }
+
+    /**
+     * Adds a lazily computed response payload to the ResponseInfo under construction. The supplier
+     * will be invoked at most once, and only if {@link ResponseInfo#getPayload()} is called.
+     *
+     * @return this builder
+     */
+    public Builder withPayload(Supplier<String> payloadSupplier) {
+      responseInfo.payload = LazyPayload.of(payloadSupplier);
       return this;
     }
 
@@ -29,12 +29,24 @@ public abstract class AdsLibConfiguration extends BaseConfiguration {
       "com.google.api.ads.common.lib.auth.refetchstaletokens";
   public static final String VERSION_KEY = "com.google.api.ads.version";
   public static final String AUTO_REFRESH_OAUTH2_TOKEN_POSTFIX = "refreshOAuth2Token";
+  public static final String OAUTH2_TOKEN_CACHE_POSTFIX = "oAuth2TokenCache";
   public static final String USE_COMPRESSION_POSTFIX = "useCompression";
   public static final String SOAP_REQUEST_TIMEOUT_POSTFIX = "soapRequestTimeout";
   public static final String INCLUDE_UTILITIES_IN_USER_AGENT_POSTFIX =
       "includeUtilitiesInUserAgent";
+  public static final String LAZY_PAYLOAD_CAPTURE_POSTFIX = "lazyPayloadCapture";
+  public static final String SOAP_CLIENT_POOL_SIZE_POSTFIX = "soapClientPoolSize";
+  public static final String SOAP_CLIENT_POOL_MAX_WAIT_POSTFIX = "soapClientPoolMaxWait";
+  public static final String HTTP_CONNECTION_POOL_MAX_TOTAL_POSTFIX = "httpConnectionPoolMaxTotal";
+  public static final String HTTP_CONNECTION_POOL_MAX_PER_ROUTE_POSTFIX =
+      "httpConnectionPoolMaxPerRoute";
+  public static final String HTTP_CONNECTION_POOL_IDLE_TIMEOUT_POSTFIX =
+      "httpConnectionPoolIdleTimeout";
+  public static final String DETAILS_LOG_QUEUE_SIZE_POSTFIX = "detailsLogQueueSize";
+  public static final String DETAILS_LOG_QUEUE_MAX_WAIT_POSTFIX = "detailsLogQueueMaxWait";
   
   public static final int DEFAULT_SOAP_REQUEST_TIMEOUT = 20 * 60 * 1000;
+  public static final long DEFAULT_HTTP_CONNECTION_POOL_IDLE_TIMEOUT = 30 * 1000;
 
   /**
    * Constructor.
@@ -66,6 +78,14 @@ public abstract class AdsLibConfiguration extends BaseConfiguration {
   public boolean isAutoRefreshOAuth2TokenEnabled() {
     return true;
   }
+
+  /**
+   * Gets if automatically refreshed OAuth2 tokens should be cached and refreshed in the background
+   * before they expire. Default is {@code false}.
+   */
+  public boolean isOAuth2TokenCacheEnabled() {
+    return false;
+  }
   
   /**
    * Returns if requests and responses should be compressed.
@@ -87,4 +107,69 @@ public abstract class AdsLibConfiguration extends BaseConfiguration {
   public boolean isIncludeAdsUtilitiesInUserAgent() {
     return true;
   }
+
+  /**
+   * Returns if SOAP request and response payloads should only be serialized when they are needed
+   * for logging. Default is {@code false}.
+   */
+  public boolean isLazyPayloadCaptureEnabled() {
+    return false;
+  }
+
+  /**
+   * Gets the maximum number of SOAP clients pooled by each service client. Default is {@code 0},
+   * which disables pooling so that each service client makes one call at a time.
+   */
+  public int getSoapClientPoolSize() {
+    return 0;
+  }
+
+  /**
+   * Gets the maximum time in milliseconds to wait for a pooled SOAP client. Default is {@code 0},
+   * which waits indefinitely.
+   */
+  public long getSoapClientPoolMaxWait() {
+    return 0;
+  }
+
+  /**
+   * Gets the maximum number of pooled keep-alive connections used for HTTP (non-SOAP) requests,
+   * such as report downloads, batch job uploads and OAuth2 token refreshes. Default is {@code 0},
+   * which disables pooling so that {@code HttpURLConnection} defaults apply.
+   */
+  public int getHttpConnectionPoolMaxTotal() {
+    return 0;
+  }
+
+  /**
+   * Gets the maximum number of pooled connections to a single host. Default is
+   * {@link #getHttpConnectionPoolMaxTotal()}.
+   */
+  public int getHttpConnectionPoolMaxPerRoute() {
+    return getHttpConnectionPoolMaxTotal();
+  }
+
+  /**
+   * Gets the time in milliseconds after which idle pooled connections are closed. Default is
+   * {@link #DEFAULT_HTTP_CONNECTION_POOL_IDLE_TIMEOUT}.
+   */
+  public long getHttpConnectionPoolIdleTimeout() {
+    return DEFAULT_HTTP_CONNECTION_POOL_IDLE_TIMEOUT;
+  }
+
+  /**
+   * Gets the maximum number of request and response details waiting to be logged by a background
+   * thread. Default is {@code 0}, which logs details on the thread that made the request.
+   */
+  public int getDetailsLogQueueSize() {
+    return 0;
+  }
+
+  /**
+   * Gets the maximum time in milliseconds a request waits for space in a full details log queue
+   * before its details are dropped. Default is {@code 0}, which drops details without waiting.
+   */
+  public long getDetailsLogQueueMaxWait() {
+    return 0;
+  }
 }
@@ -21,8 +21,15 @@ import com.google.api.ads.common.lib.exception.ServiceException;
 import com.google.api.ads.common.lib.factory.helper.AdsServiceClientFactoryHelper;
 import com.google.common.collect.Sets;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.inject.Inject;
 
@@ -39,6 +46,17 @@ public class AdsServiceClientFactory<C extends AdsServiceClient<S, D>,
 
   private final AdsServiceClientFactoryHelper<C, S, D> adsServiceFactoryHelper;
 
+  /** Service descriptors, which only depend on the interface class, keyed by interface class. */
+  private final ConcurrentMap<Class<?>, D> adsServiceDescriptors =
+      new ConcurrentHashMap<Class<?>, D>();
+
+  /**
+   * Constructors of the proxy classes returned to callers, keyed by the interface class and the
+   * class of the {@link AdsServiceClient}, whose interfaces the proxy class also implements.
+   */
+  private final ConcurrentMap<List<Class<?>>, Constructor<?>> proxyConstructors =
+      new ConcurrentHashMap<List<Class<?>>, Constructor<?>>();
+
   /**
    * Constructor.
    *
@@ -59,6 +77,10 @@ public class AdsServiceClientFactory<C extends AdsServiceClient<S, D>,
   /**
    * Gets a client given a session and the class of the desired stub interface.
    *
+   * <p>The service descriptor and proxy class for each interface class are created once and
+   * reused, so this method may be called concurrently and is inexpensive after the first call for
+   * an interface class.
+   *
    * @param <T> the service type
    * @param adsSession the session associated with the desired
    *     client
@@ -66,17 +88,26 @@ public class AdsServiceClientFactory<C extends AdsServiceClient<S, D>,
    * @return a client for the specified ads service
    * @throws ServiceException if the service client could not be created
    */
-  public synchronized <T> T getServiceClient(S adsSession, Class<T> interfaceClass)
+  public <T> T getServiceClient(S adsSession, Class<T> interfaceClass)
       throws ServiceException {
     adsServiceFactoryHelper.checkServiceClientPreconditions(adsSession, interfaceClass);
-    String version = adsServiceFactoryHelper.determineVersion(interfaceClass);
-    D adsServiceDescriptor =
-        adsServiceFactoryHelper.createServiceDescriptor(interfaceClass, version);
+    D adsServiceDescriptor = getServiceDescriptor(interfaceClass);
     C adsServiceClient =
         adsServiceFactoryHelper.createAdsServiceClient(adsServiceDescriptor, adsSession);
     return createProxy(interfaceClass, adsServiceClient);
   }
 
+  /**
+   * Returns the service descriptor for the interface class, creating it on first use.
+   */
+  private D getServiceDescriptor(Class<?> interfaceClass) {
+    return adsServiceDescriptors.computeIfAbsent(
+        interfaceClass,
+        key ->
+            adsServiceFactoryHelper.createServiceDescriptor(
+                key, adsServiceFactoryHelper.determineVersion(key)));
+  }
+
   /**
    * Creates the proxy for the {@link AdsServiceClient}.
    *
@@ -85,11 +116,37 @@ public class AdsServiceClientFactory<C extends AdsServiceClient<S, D>,
    * @return the proxy
    */
   <T> T createProxy(Class<T> interfaceClass, C adsServiceClient) {
+    List<Class<?>> proxyKey =
+        Arrays.<Class<?>>asList(interfaceClass, adsServiceClient.getClass());
+    Constructor<?> proxyConstructor = proxyConstructors.get(proxyKey);
+    if (proxyConstructor == null
+        || proxyConstructor.getDeclaringClass().getClassLoader()
+            != adsServiceClient.getSoapClient().getClass().getClassLoader()) {
+      proxyConstructor = createProxyConstructor(interfaceClass, adsServiceClient);
+      proxyConstructors.put(proxyKey, proxyConstructor);
+    }
+    try {
+      return interfaceClass.cast(proxyConstructor.newInstance(adsServiceClient));
+    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+      throw new ServiceException("Unexpected exception creating proxy for " + interfaceClass, e);
+    }
+  }
+
+  /**
+   * Creates the constructor of the proxy class that implements the interface class and the
+   * interfaces of the {@link AdsServiceClient}.
+   */
+  @SuppressWarnings("deprecation") // Proxy.getProxyClass is deprecated as of Java 9.
+  private Constructor<?> createProxyConstructor(Class<?> interfaceClass, C adsServiceClient) {
     Set<Class<?>> interfaces = Sets.newHashSet(adsServiceClient.getClass().getInterfaces());
     interfaces.add(interfaceClass);
-    Object proxy = Proxy.newProxyInstance(
+    Class<?> proxyClass = Proxy.getProxyClass(
         adsServiceClient.getSoapClient().getClass().getClassLoader(),
-        interfaces.toArray(new Class[] {}), adsServiceClient);
-    return interfaceClass.cast(proxy);
+        interfaces.toArray(new Class[] {}));
+    try {
+      return proxyClass.getConstructor(InvocationHandler.class);
+    } catch (NoSuchMethodException e) {
+      throw new ServiceException("Unexpected exception creating proxy for " + interfaceClass, e);
+    }
   }
 }
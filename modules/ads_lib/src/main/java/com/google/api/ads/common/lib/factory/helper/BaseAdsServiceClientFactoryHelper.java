@@ -17,10 +17,12 @@ package com.google.api.ads.common.lib.factory.helper;
 import com.google.api.ads.common.lib.client.AdsServiceClient;
 import com.google.api.ads.common.lib.client.AdsServiceDescriptor;
 import com.google.api.ads.common.lib.client.AdsSession;
+import com.google.api.ads.common.lib.conf.AdsLibConfiguration;
 import com.google.api.ads.common.lib.exception.ServiceException;
 import com.google.api.ads.common.lib.factory.FactoryModule.AdsServiceClientFactoryInterface;
 import com.google.api.ads.common.lib.factory.FactoryModule.AdsServiceDescriptorFactoryInterface;
 import com.google.api.ads.common.lib.soap.SoapClientHandlerInterface;
+import com.google.api.ads.common.lib.soap.SoapClientPool;
 import com.google.common.annotations.VisibleForTesting;
 
 import java.net.MalformedURLException;
@@ -40,6 +42,7 @@ public abstract class BaseAdsServiceClientFactoryHelper<C extends AdsServiceClie
   private final AdsServiceClientFactoryInterface<C, S, D> adsServiceClientFactory;
   private final AdsServiceDescriptorFactoryInterface<D> adsServiceDescriptorFactory;
   private final SoapClientHandlerInterface<?> soapClientHandler;
+  private final AdsLibConfiguration adsLibConfiguration;
 
   /**
    * Constructor.
@@ -50,9 +53,25 @@ public abstract class BaseAdsServiceClientFactoryHelper<C extends AdsServiceClie
       AdsServiceClientFactoryInterface<C, S, D> adsServiceClientFactory,
       AdsServiceDescriptorFactoryInterface<D> adsServiceDescriptorFactory,
       SoapClientHandlerInterface<?> soapClientHandler) {
+    this(adsServiceClientFactory, adsServiceDescriptorFactory, soapClientHandler, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param adsServiceClientFactory the Guice service client factory.
+   * @param adsLibConfiguration the lib configuration, which determines whether service clients
+   *     use a pool of SOAP clients. If {@code null}, pooling is disabled.
+   */
+  public BaseAdsServiceClientFactoryHelper(
+      AdsServiceClientFactoryInterface<C, S, D> adsServiceClientFactory,
+      AdsServiceDescriptorFactoryInterface<D> adsServiceDescriptorFactory,
+      SoapClientHandlerInterface<?> soapClientHandler,
+      AdsLibConfiguration adsLibConfiguration) {
     this.adsServiceClientFactory = adsServiceClientFactory;
     this.adsServiceDescriptorFactory = adsServiceDescriptorFactory;
     this.soapClientHandler = soapClientHandler;
+    this.adsLibConfiguration = adsLibConfiguration;
   }
 
   /**
@@ -75,9 +94,28 @@ public abstract class BaseAdsServiceClientFactoryHelper<C extends AdsServiceClie
     } catch (MalformedURLException e) {
       throw new ServiceException("Unexpected exception", e);
     }
+    SoapClientPool<Object> soapClientPool = createSoapClientPool(adsServiceDescriptor);
+    if (soapClientPool != null) {
+      adsServiceClient.setSoapClientPool(soapClientPool);
+    }
     return adsServiceClient;
   }
 
+  /**
+   * Creates the pool of SOAP clients for a service client, or returns {@code null} if pooling is
+   * disabled in the lib configuration.
+   */
+  @VisibleForTesting
+  SoapClientPool<Object> createSoapClientPool(D adsServiceDescriptor) {
+    if (adsLibConfiguration == null || adsLibConfiguration.getSoapClientPoolSize() <= 0) {
+      return null;
+    }
+    return new SoapClientPool<Object>(
+        () -> createSoapClient(adsServiceDescriptor),
+        adsLibConfiguration.getSoapClientPoolSize(),
+        adsLibConfiguration.getSoapClientPoolMaxWait());
+  }
+
   /**
    * Creates the service client from the factory, descriptor, and SOAP client.
    */
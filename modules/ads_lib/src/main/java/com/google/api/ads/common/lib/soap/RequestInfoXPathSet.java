@@ -76,19 +76,37 @@ public class RequestInfoXPathSet {
   }
 
   public RequestInfo.Builder parseMessage(RequestInfo.Builder builder, SOAPMessage soapMessage) {
+    return parseMessage(builder, soapMessage, false);
+  }
+
+  /**
+   * Populates the builder with the payload and context of the SOAP request.
+   *
+   * @param builder the builder to populate
+   * @param soapMessage the SOAP request message
+   * @param lazyPayload if {@code true}, the payload will not be serialized until {@link
+   *     RequestInfo#getPayload()} is called on the built object. Callers that set this must ensure
+   *     that {@code soapMessage} is not modified after this method returns.
+   * @return the builder
+   */
+  public RequestInfo.Builder parseMessage(
+      RequestInfo.Builder builder, SOAPMessage soapMessage, boolean lazyPayload) {
     Preconditions.checkNotNull(builder, "Null builder");
-    Transformer transformer = transformerSupplier.get();
-    if (soapMessage == null || soapMessage.getSOAPPart() == null || transformer == null) {
+    if (soapMessage == null || soapMessage.getSOAPPart() == null) {
       return builder;
     }
-    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      // Some SOAP frameworks don't include SOAP headers when calling SOAPMessage.writeTo.
-      // Use an XML transformer to write the XML content instead.
-      transformer.transform(soapMessage.getSOAPPart().getContent(), new StreamResult(outputStream));
-      builder.withPayload(outputStream.toString(StandardCharsets.UTF_8.name()));
-    } catch (TransformerException | SOAPException | IOException e) {
-      builder.withPayload("Unable to read request content due to exception: " + e);
-      libLogger.warn("Unable to read request content due to exception.", e);
+    if (lazyPayload) {
+      builder.withPayload(
+          () -> {
+            Transformer transformer = transformerSupplier.get();
+            return transformer == null ? null : serializePayload(soapMessage, transformer);
+          });
+    } else {
+      Transformer transformer = transformerSupplier.get();
+      if (transformer == null) {
+        return builder;
+      }
+      builder.withPayload(serializePayload(soapMessage, transformer));
     }
 
     try {
@@ -100,4 +118,17 @@ public class RequestInfoXPathSet {
     }
     return builder;
   }
+
+  /** Returns the XML content of the SOAP message, or a description of the failure. */
+  private String serializePayload(SOAPMessage soapMessage, Transformer transformer) {
+    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+      // Some SOAP frameworks don't include SOAP headers when calling SOAPMessage.writeTo.
+      // Use an XML transformer to write the XML content instead.
+      transformer.transform(soapMessage.getSOAPPart().getContent(), new StreamResult(outputStream));
+      return outputStream.toString(StandardCharsets.UTF_8.name());
+    } catch (TransformerException | SOAPException | IOException e) {
+      libLogger.warn("Unable to read request content due to exception.", e);
+      return "Unable to read request content due to exception: " + e;
+    }
+  }
 }
@@ -68,15 +68,30 @@ public class ResponseInfoXPathSet {
   }
 
   public ResponseInfo.Builder parseMessage(ResponseInfo.Builder builder, SOAPMessage soapMessage) {
+    return parseMessage(builder, soapMessage, false);
+  }
+
+  /**
+   * Populates the builder with the payload and header values of the SOAP response. Header values
+   * are always read directly from the SOAP header, without serializing the message body.
+   *
+   * @param builder the builder to populate
+   * @param soapMessage the SOAP response message
+   * @param lazyPayload if {@code true}, the payload will not be serialized until {@link
+   *     ResponseInfo#getPayload()} is called on the built object. Callers that set this must ensure
+   *     that {@code soapMessage} is not modified after this method returns.
+   * @return the builder
+   */
+  public ResponseInfo.Builder parseMessage(
+      ResponseInfo.Builder builder, SOAPMessage soapMessage, boolean lazyPayload) {
     Preconditions.checkNotNull(builder, "Null builder");
     if (soapMessage == null) {
       return builder;
     }
-    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      soapMessage.writeTo(outputStream);
-      builder.withPayload(outputStream.toString(StandardCharsets.UTF_8.name()));
-    } catch (SOAPException | IOException e) {
-      builder.withPayload("Unable to read response due to exception: " + e);
+    if (lazyPayload) {
+      builder.withPayload(() -> serializePayload(soapMessage));
+    } else {
+      builder.withPayload(serializePayload(soapMessage));
     }
 
     try {
@@ -95,4 +110,14 @@ public class ResponseInfoXPathSet {
     }
     return builder;
   }
+
+  /** Returns the content of the SOAP message, or a description of the failure. */
+  private static String serializePayload(SOAPMessage soapMessage) {
+    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+      soapMessage.writeTo(outputStream);
+      return outputStream.toString(StandardCharsets.UTF_8.name());
+    } catch (SOAPException | IOException e) {
+      return "Unable to read response due to exception: " + e;
+    }
+  }
 }
@@ -16,6 +16,8 @@ package com.google.api.ads.common.lib.soap;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Base class for SOAP client handlers. Calling {@link #invoke(SoapCall)} will
@@ -29,6 +31,15 @@ import java.util.Arrays;
  */
 public abstract class SoapClientHandler<T> implements SoapClientHandlerInterface<T> {
 
+  /** For each SOAP client class, the SOAP client methods that match invoked methods. */
+  private static final ClassValue<ConcurrentMap<Method, Method>> SOAP_CLIENT_METHODS =
+      new ClassValue<ConcurrentMap<Method, Method>>() {
+        @Override
+        protected ConcurrentMap<Method, Method> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<Method, Method>();
+        }
+      };
+
   /**
    * Default constructor.
    */
@@ -61,7 +72,7 @@ public abstract class SoapClientHandler<T> implements SoapClientHandlerInterface
    * Gets the method from the SOAP client that matches the supplied method.
    * <p>
    * In the default implementation, only the method name and return type
-   * will be matched.
+   * will be matched. Matches are cached for each SOAP client class.
    * </p>
    *
    * @param soapClient the SOAP client within which to search for the method
@@ -74,6 +85,17 @@ public abstract class SoapClientHandler<T> implements SoapClientHandlerInterface
    */
   @Override
   public Method getSoapClientMethod(T soapClient, Method method) throws NoSuchMethodException {
+    ConcurrentMap<Method, Method> soapClientMethods =
+        SOAP_CLIENT_METHODS.get(soapClient.getClass());
+    Method soapClientMethod = soapClientMethods.get(method);
+    if (soapClientMethod == null) {
+      soapClientMethod = findSoapClientMethod(soapClient, method);
+      soapClientMethods.putIfAbsent(method, soapClientMethod);
+    }
+    return soapClientMethod;
+  }
+
+  private Method findSoapClientMethod(T soapClient, Method method) throws NoSuchMethodException {
     for (Method soapClientMethod : soapClient.getClass().getMethods()) {
       if (method.getName().equals(soapClientMethod.getName())
           && method.getReturnType().equals(soapClientMethod.getReturnType())) {
@@ -0,0 +1,177 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.soap;
+
+import com.google.api.ads.common.lib.exception.ServiceException;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of SOAP clients for a single service. SOAP clients are created lazily, up to
+ * {@link #getMaxSize()}, and a caller that finds every client checked out waits until one is
+ * released.
+ *
+ * <p>SOAP clients carry per-call state such as headers, so a client must only be used by the
+ * thread that checked it out, and must be released after the call completes.
+ *
+ * @param <T> the SOAP client type
+ */
+public class SoapClientPool<T> {
+
+  private final Supplier<T> soapClientSupplier;
+  private final int maxSize;
+  private final long maxWaitMillis;
+
+  private final Semaphore permits;
+  private final ConcurrentLinkedDeque<T> idleClients = new ConcurrentLinkedDeque<T>();
+
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicInteger inUseCount = new AtomicInteger();
+  private final AtomicLong checkoutCount = new AtomicLong();
+  private final AtomicLong totalWaitNanos = new AtomicLong();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+
+  /**
+   * Constructor.
+   *
+   * @param soapClientSupplier supplier of new SOAP clients
+   * @param maxSize the maximum number of SOAP clients in the pool
+   * @param maxWaitMillis the maximum time to wait for a SOAP client, or {@code 0} to wait
+   *     indefinitely
+   */
+  public SoapClientPool(Supplier<T> soapClientSupplier, int maxSize, long maxWaitMillis) {
+    Preconditions.checkArgument(maxSize > 0, "Max size must be > 0: %s", maxSize);
+    Preconditions.checkArgument(maxWaitMillis >= 0, "Max wait must be >= 0: %s", maxWaitMillis);
+    this.soapClientSupplier = Preconditions.checkNotNull(soapClientSupplier);
+    this.maxSize = maxSize;
+    this.maxWaitMillis = maxWaitMillis;
+    this.permits = new Semaphore(maxSize, true);
+  }
+
+  /**
+   * Checks out a SOAP client, creating one if none are idle and the pool is not full.
+   *
+   * @return a SOAP client for exclusive use by the caller until passed to {@link #release}
+   * @throws ServiceException if no SOAP client became available within the maximum wait time,
+   *     the thread was interrupted, or a new SOAP client could not be created
+   */
+  public T checkout() throws ServiceException {
+    long startNanos = System.nanoTime();
+    try {
+      if (maxWaitMillis == 0) {
+        permits.acquire();
+      } else if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+        throw new ServiceException(
+            "Timed out after " + maxWaitMillis + " ms waiting for a SOAP client from " + this);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServiceException("Interrupted waiting for a SOAP client", e);
+    }
+    recordWait(System.nanoTime() - startNanos);
+
+    T soapClient = idleClients.pollFirst();
+    if (soapClient == null) {
+      try {
+        soapClient = soapClientSupplier.get();
+      } catch (RuntimeException e) {
+        permits.release();
+        throw e;
+      }
+      size.incrementAndGet();
+    }
+    inUseCount.incrementAndGet();
+    checkoutCount.incrementAndGet();
+    return soapClient;
+  }
+
+  /**
+   * Returns a SOAP client obtained from {@link #checkout()} to the pool.
+   */
+  public void release(T soapClient) {
+    Preconditions.checkNotNull(soapClient, "Null SOAP client");
+    inUseCount.decrementAndGet();
+    // Hand out the most recently used client first to keep the working set of clients warm.
+    idleClients.offerFirst(soapClient);
+    permits.release();
+  }
+
+  private void recordWait(long waitNanos) {
+    totalWaitNanos.addAndGet(waitNanos);
+    long currentMax;
+    do {
+      currentMax = maxWaitNanos.get();
+    } while (waitNanos > currentMax && !maxWaitNanos.compareAndSet(currentMax, waitNanos));
+  }
+
+  /** Returns the maximum number of SOAP clients in the pool. */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /** Returns the number of SOAP clients created by the pool so far. */
+  public int getSize() {
+    return size.get();
+  }
+
+  /** Returns the number of SOAP clients currently checked out. */
+  public int getInUseCount() {
+    return inUseCount.get();
+  }
+
+  /** Returns the number of threads waiting for a SOAP client. This is an estimate. */
+  public int getWaitingCount() {
+    return permits.getQueueLength();
+  }
+
+  /** Returns the fraction of the maximum pool size that is currently checked out. */
+  public double getUtilization() {
+    return (double) inUseCount.get() / maxSize;
+  }
+
+  /** Returns the number of successful checkouts. */
+  public long getCheckoutCount() {
+    return checkoutCount.get();
+  }
+
+  /** Returns the total time callers spent waiting to check out a SOAP client. */
+  public long getTotalWaitTime(TimeUnit unit) {
+    return unit.convert(totalWaitNanos.get(), TimeUnit.NANOSECONDS);
+  }
+
+  /** Returns the longest time a single caller spent waiting to check out a SOAP client. */
+  public long getMaxWaitTime(TimeUnit unit) {
+    return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("maxSize", maxSize)
+        .add("size", getSize())
+        .add("inUse", getInUseCount())
+        .add("waiting", getWaitingCount())
+        .add("checkouts", getCheckoutCount())
+        .add("totalWaitMillis", getTotalWaitTime(TimeUnit.MILLISECONDS))
+        .add("maxWaitMillis", getMaxWaitTime(TimeUnit.MILLISECONDS))
+        .toString();
+  }
+}
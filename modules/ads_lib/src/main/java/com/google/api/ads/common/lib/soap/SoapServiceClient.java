@@ -20,6 +20,11 @@ import com.google.api.ads.common.lib.exception.ServiceException;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * The {@code SoapServiceClient} class pairs together the {@code soapClient} and
@@ -33,8 +38,24 @@ import java.lang.reflect.Method;
  */
 public abstract class SoapServiceClient<T> implements InvocationHandler {
 
+  /**
+   * For each service client class, the service client methods that match invoked methods. An
+   * empty value means the invoked method is meant for the SOAP client.
+   */
+  private static final ClassValue<ConcurrentMap<Method, Optional<Method>>> SERVICE_CLIENT_METHODS =
+      new ClassValue<ConcurrentMap<Method, Optional<Method>>>() {
+        @Override
+        protected ConcurrentMap<Method, Optional<Method>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<Method, Optional<Method>>();
+        }
+      };
+
   private final SoapClientHandlerInterface<T> soapClientHandler;
   private final T soapClient;
+  // A lock rather than a monitor, so that a virtual thread waiting for the SOAP response does not
+  // pin its carrier thread.
+  private final Lock soapClientLock = new ReentrantLock();
+  private SoapClientPool<T> soapClientPool;
 
   /**
    * Protected constructor.
@@ -52,14 +73,16 @@ public abstract class SoapServiceClient<T> implements InvocationHandler {
    * Called from {@link #invoke(Object, Method, Object[])} if the method is
    * intended for the SOAP client. Extending classes should override this method
    * if they wish to wrap the call, such in cases of reauthentication or
-   * exception handling. The actual SOAP call is synchronized on the SOAP client
-   * so that only one request to the SOAP client can be made with without
-   * interruption, useful for logging and exception handling.
+   * exception handling. Calls on the single SOAP client are made while holding
+   * a lock of this service client, so that only one request to the SOAP client
+   * can be made without interruption, useful for logging and exception handling.
+   * Calls on a client checked out from the {@link SoapClientPool} are made
+   * without that lock, since no other thread uses the checked out client.
    *
    * @param soapCall the call to send to the SOAP client
    * @return the return value from the {@code soapCall}
    */
-  protected synchronized RemoteCallReturn callSoapClient(SoapCall<T> soapCall) {
+  protected RemoteCallReturn callSoapClient(SoapCall<T> soapCall) {
     return soapClientHandler.invokeSoapCall(soapCall);
   }
 
@@ -83,15 +106,55 @@ public abstract class SoapServiceClient<T> implements InvocationHandler {
   @Override
   public Object invoke(Object proxy, final Method method, final Object[] args)
       throws Throwable {
+    Optional<Method> serviceClientMethod = SERVICE_CLIENT_METHODS.get(getClass())
+        .computeIfAbsent(method, this::findServiceClientMethod);
+    if (serviceClientMethod.isPresent()) {
+      return serviceClientMethod.get().invoke(this, args);
+    }
+    if (soapClientPool != null) {
+      return invokePooled(method, args);
+    }
+    setHeaders();
+    RemoteCallReturn remoteCallReturn;
+    soapClientLock.lock();
     try {
-      return getClass().getMethod(method.getName(), method.getParameterTypes())
-          .invoke(this, args);
+      remoteCallReturn = callSoapClient(
+          createSoapCall(soapClientHandler.getSoapClientMethod(soapClient, method), args));
+    } finally {
+      soapClientLock.unlock();
+    }
+    logSoapCall(remoteCallReturn);
+    return unwrapRemoteCallReturn(remoteCallReturn);
+  }
+
+  /**
+   * Returns the method of this class with the same signature as {@code method}, or an empty value
+   * if the SOAP client handler should handle the call.
+   */
+  private Optional<Method> findServiceClientMethod(Method method) {
+    try {
+      return Optional.of(getClass().getMethod(method.getName(), method.getParameterTypes()));
     } catch (NoSuchMethodException e) {
-      // Ignore and let the SOAP client handler take over.
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Makes the SOAP call on a client checked out from the {@link SoapClientPool}. The checked out
+   * client is used by the calling thread only, so no lock is held during the call.
+   */
+  private Object invokePooled(Method method, Object[] args) throws Throwable {
+    T pooledSoapClient = soapClientPool.checkout();
+    RemoteCallReturn remoteCallReturn;
+    try {
+      soapClientHandler.setEndpointAddress(
+          pooledSoapClient, soapClientHandler.getEndpointAddress(soapClient));
+      setHeaders(pooledSoapClient);
+      remoteCallReturn = callSoapClient(createSoapCall(pooledSoapClient,
+          soapClientHandler.getSoapClientMethod(pooledSoapClient, method), args));
+    } finally {
+      soapClientPool.release(pooledSoapClient);
     }
-    setHeaders();
-    RemoteCallReturn remoteCallReturn = callSoapClient(
-        createSoapCall(soapClientHandler.getSoapClientMethod(soapClient, method), args));
     logSoapCall(remoteCallReturn);
     return unwrapRemoteCallReturn(remoteCallReturn);
   }
@@ -101,6 +164,18 @@ public abstract class SoapServiceClient<T> implements InvocationHandler {
    * {@code args}.
    */
   protected SoapCall<T> createSoapCall(Method soapClientMethod, Object[] args) {
+    return createSoapCall(soapClient, soapClientMethod, args);
+  }
+
+  /**
+   * Creates the {@link SoapCall} of {@code soapClientMethod} on the given SOAP
+   * client, which is either {@link #getSoapClient()} or a client checked out
+   * from the {@link SoapClientPool}. Calls on pooled clients are only created
+   * through this method, so extending classes that customize SOAP calls and use
+   * a pool should override this method rather than
+   * {@link #createSoapCall(Method, Object[])}.
+   */
+  protected SoapCall<T> createSoapCall(T soapClient, Method soapClientMethod, Object[] args) {
     return new SoapCall<T>(soapClientMethod, soapClient, args);
   }
 
@@ -118,6 +193,25 @@ public abstract class SoapServiceClient<T> implements InvocationHandler {
     return soapClient;
   }
 
+  /**
+   * Returns the pool of SOAP clients used to make calls, or {@code null} if all calls are made
+   * on the single SOAP client returned by {@link #getSoapClient()}.
+   */
+  public SoapClientPool<T> getSoapClientPool() {
+    return soapClientPool;
+  }
+
+  /**
+   * Sets the pool of SOAP clients used to make calls. If set, concurrent calls are made on
+   * separate SOAP clients from the pool instead of one at a time on {@link #getSoapClient()}. This
+   * must be called before the service client is shared with other threads.
+   *
+   * @param soapClientPool the pool, or {@code null} to make all calls on the single SOAP client
+   */
+  public void setSoapClientPool(SoapClientPool<T> soapClientPool) {
+    this.soapClientPool = soapClientPool;
+  }
+
   /**
    * Returns the SOAP client handler.
    */
@@ -141,6 +235,19 @@ public abstract class SoapServiceClient<T> implements InvocationHandler {
    */
   protected abstract void setHeaders() throws ServiceException, AuthenticationException;
 
+  /**
+   * Sets the headers on the given SOAP client, which is either
+   * {@link #getSoapClient()} or a client checked out from the
+   * {@link SoapClientPool}.
+   *
+   * @param soapClient the SOAP client to set the headers on
+   * @throws ServiceException if there was a problem setting the headers
+   * @throws AuthenticationException if there was a problem authenticating while
+   *     setting headers
+   */
+  protected abstract void setHeaders(T soapClient)
+      throws ServiceException, AuthenticationException;
+
   /**
    * Handles the exception.
    * <p>
@@ -16,6 +16,7 @@ package com.google.api.ads.common.lib.soap.jaxb;
 
 import org.apache.commons.lang.SerializationException;
 
+import java.io.OutputStream;
 import java.io.StringWriter;
 
 import javax.xml.bind.JAXBContext;
@@ -72,16 +73,36 @@ public class JaxBSerializer<T> {
    * @throws SerializationException if we cannot serialize the object.
    */
   public String serialize(T object, boolean includeXmlDeclaration) {
+    StringWriter stringWriter = new StringWriter();
     try {
-      Marshaller marshaller = jaxbContext.createMarshaller();
-      marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.valueOf(!includeXmlDeclaration));
-      JAXBElement<T> element =
-          new JAXBElement<T>(qname, clazz, object);
-      StringWriter stringWriter = new StringWriter();
-      marshaller.marshal(element, stringWriter);
-      return stringWriter.toString();
+      createMarshaller(includeXmlDeclaration).marshal(createElement(object), stringWriter);
     } catch (JAXBException e) {
       throw new SerializationException(String.format("Could not serialize object: %s.", object), e);
     }
+    return stringWriter.toString();
+  }
+
+  /**
+   * Serializes the object as UTF-8 to the output stream, with the option to include or exclude the
+   * XML declaration.
+   *
+   * @throws SerializationException if we cannot serialize the object.
+   */
+  public void serialize(T object, boolean includeXmlDeclaration, OutputStream outputStream) {
+    try {
+      createMarshaller(includeXmlDeclaration).marshal(createElement(object), outputStream);
+    } catch (JAXBException e) {
+      throw new SerializationException(String.format("Could not serialize object: %s.", object), e);
+    }
+  }
+
+  private Marshaller createMarshaller(boolean includeXmlDeclaration) throws JAXBException {
+    Marshaller marshaller = jaxbContext.createMarshaller();
+    marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.valueOf(!includeXmlDeclaration));
+    return marshaller;
+  }
+
+  private JAXBElement<T> createElement(T object) {
+    return new JAXBElement<T>(qname, clazz, object);
   }
 }
@@ -0,0 +1,187 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.utils;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.apache.ApacheHttpTransport;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.net.ProxySelector;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.ProxySelectorRoutePlanner;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * A pool of keep-alive HTTP connections, and the {@link HttpTransport} that makes requests over
+ * them. Connections are reused across requests and threads, so requests to the same host do not
+ * each pay for a new TCP connection and TLS handshake. Connections idle for longer than the idle
+ * timeout are closed in the background.
+ *
+ * <p>Use {@link #getShared(int, int, long)} so that all users with the same settings, e.g.,
+ * reporting, batch job uploads and OAuth2 token refreshes, share one pool.
+ *
+ * <p>Implementation is thread-safe.
+ */
+// google-http-client's ApacheHttpTransport is built on the HttpClient 4.2 API.
+@SuppressWarnings("deprecation")
+public final class HttpTransportPool {
+
+  /** Shared pools, keyed by max total connections, max per route and idle timeout. */
+  private static final ConcurrentMap<List<Long>, HttpTransportPool> SHARED_POOLS =
+      new ConcurrentHashMap<List<Long>, HttpTransportPool>();
+
+  /** Closes idle and expired connections of all pools. */
+  private static final ScheduledExecutorService EVICTOR =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("http-connection-evictor-%d")
+              .setDaemon(true)
+              .build());
+
+  private final int maxTotal;
+  private final int maxPerRoute;
+  private final long idleTimeoutMillis;
+  private final PoolingClientConnectionManager connectionManager;
+  private final HttpTransport httpTransport;
+  private final ScheduledFuture<?> evictionFuture;
+
+  /**
+   * Returns the pool with the given settings, creating it on first use. The pool lives as long as
+   * the class loader that loaded this class.
+   *
+   * @param maxTotal the maximum number of connections
+   * @param maxPerRoute the maximum number of connections to a single host
+   * @param idleTimeoutMillis the time after which idle connections are closed
+   */
+  public static HttpTransportPool getShared(
+      final int maxTotal, final int maxPerRoute, final long idleTimeoutMillis) {
+    return SHARED_POOLS.computeIfAbsent(
+        ImmutableList.of((long) maxTotal, (long) maxPerRoute, idleTimeoutMillis),
+        key -> new HttpTransportPool(maxTotal, maxPerRoute, idleTimeoutMillis));
+  }
+
+  @VisibleForTesting
+  HttpTransportPool(int maxTotal, int maxPerRoute, long idleTimeoutMillis) {
+    Preconditions.checkArgument(maxTotal > 0, "Max total must be > 0: %s", maxTotal);
+    Preconditions.checkArgument(maxPerRoute > 0, "Max per route must be > 0: %s", maxPerRoute);
+    Preconditions.checkArgument(idleTimeoutMillis > 0,
+        "Idle timeout must be > 0: %s", idleTimeoutMillis);
+    this.maxTotal = maxTotal;
+    this.maxPerRoute = maxPerRoute;
+    this.idleTimeoutMillis = idleTimeoutMillis;
+
+    connectionManager = new PoolingClientConnectionManager();
+    connectionManager.setMaxTotal(maxTotal);
+    connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+    DefaultHttpClient httpClient = new DefaultHttpClient(connectionManager);
+    // Honor the JVM's proxy settings, as NetHttpTransport does.
+    httpClient.setRoutePlanner(new ProxySelectorRoutePlanner(
+        connectionManager.getSchemeRegistry(), ProxySelector.getDefault()));
+    httpClient.setKeepAliveStrategy(createKeepAliveStrategy(idleTimeoutMillis));
+    httpTransport = new ApacheHttpTransport(httpClient);
+
+    long evictionPeriodMillis = Math.max(idleTimeoutMillis / 2, 1000L);
+    evictionFuture = EVICTOR.scheduleWithFixedDelay(
+        this::closeIdleConnections, evictionPeriodMillis, evictionPeriodMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Keeps connections alive for as long as the server allows, but no longer than the idle timeout.
+   */
+  private static ConnectionKeepAliveStrategy createKeepAliveStrategy(final long idleTimeoutMillis) {
+    return (response, context) -> {
+      long serverKeepAliveMillis =
+          DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+      return serverKeepAliveMillis > 0
+          ? Math.min(serverKeepAliveMillis, idleTimeoutMillis)
+          : idleTimeoutMillis;
+    };
+  }
+
+  private void closeIdleConnections() {
+    connectionManager.closeExpiredConnections();
+    connectionManager.closeIdleConnections(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /** Returns the transport that makes requests using this pool's connections. */
+  public HttpTransport getHttpTransport() {
+    return httpTransport;
+  }
+
+  /** Returns the maximum number of connections. */
+  public int getMaxTotal() {
+    return maxTotal;
+  }
+
+  /** Returns the maximum number of connections to a single host. */
+  public int getMaxPerRoute() {
+    return maxPerRoute;
+  }
+
+  /** Returns the time in milliseconds after which idle connections are closed. */
+  public long getIdleTimeoutMillis() {
+    return idleTimeoutMillis;
+  }
+
+  /** Returns the number of connections currently in use by requests. */
+  public int getLeasedConnections() {
+    return connectionManager.getTotalStats().getLeased();
+  }
+
+  /** Returns the number of open connections available for reuse. */
+  public int getAvailableConnections() {
+    return connectionManager.getTotalStats().getAvailable();
+  }
+
+  /** Returns the number of requests waiting for a connection. */
+  public int getPendingRequests() {
+    return connectionManager.getTotalStats().getPending();
+  }
+
+  /** Closes all connections and stops background eviction. For tests only. */
+  @VisibleForTesting
+  void shutdown() {
+    evictionFuture.cancel(false);
+    connectionManager.shutdown();
+  }
+
+  @Override
+  public String toString() {
+    PoolStats stats = connectionManager.getTotalStats();
+    return MoreObjects.toStringHelper(this)
+        .add("maxTotal", maxTotal)
+        .add("maxPerRoute", maxPerRoute)
+        .add("idleTimeoutMillis", idleTimeoutMillis)
+        .add("leased", stats.getLeased())
+        .add("available", stats.getAvailable())
+        .add("pending", stats.getPending())
+        .toString();
+  }
+}
@@ -0,0 +1,63 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.utils;
+
+import com.google.api.ads.common.lib.conf.AdsLibConfiguration;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import javax.annotation.Nullable;
+
+/**
+ * Provides the {@link HttpTransport} for HTTP (non-SOAP) requests such as report downloads and
+ * batch job uploads. If {@link AdsLibConfiguration#getHttpConnectionPoolMaxTotal()} is positive,
+ * the transport of the shared {@link HttpTransportPool} for the configured settings is provided;
+ * otherwise a new {@link NetHttpTransport} is provided.
+ */
+public class HttpTransportProvider implements Provider<HttpTransport> {
+
+  private final AdsLibConfiguration adsLibConfiguration;
+
+  /** Constructor used by Guice. */
+  @Inject
+  public HttpTransportProvider(AdsLibConfiguration adsLibConfiguration) {
+    this.adsLibConfiguration = adsLibConfiguration;
+  }
+
+  @Override
+  public HttpTransport get() {
+    HttpTransportPool httpTransportPool = getHttpTransportPool();
+    return httpTransportPool == null
+        ? new NetHttpTransport()
+        : httpTransportPool.getHttpTransport();
+  }
+
+  /**
+   * Returns the pool used by the provided transports, e.g., to monitor its statistics, or
+   * {@code null} if connection pooling is disabled.
+   */
+  @Nullable
+  public HttpTransportPool getHttpTransportPool() {
+    int maxTotal = adsLibConfiguration.getHttpConnectionPoolMaxTotal();
+    if (maxTotal <= 0) {
+      return null;
+    }
+    return HttpTransportPool.getShared(
+        maxTotal,
+        adsLibConfiguration.getHttpConnectionPoolMaxPerRoute(),
+        adsLibConfiguration.getHttpConnectionPoolIdleTimeout());
+  }
+}
@@ -36,15 +36,18 @@ public class AdsServiceLoggers {
    * @param prettyPrinter an object capable of pretty printing XML messages
    * @param soapXmlLogger the SOAP XML logger
    * @param requestInfoLogger the request info logger
+   * @param detailsLogQueue the queue for logging SOAP XML in the background, if enabled
    */
   @Inject
   private AdsServiceLoggers(
       PrettyPrinterInterface prettyPrinter,
       @Named("soapXmlLogger") Logger soapXmlLogger,
-      @Named("requestInfoLogger") Logger requestInfoLogger) {
+      @Named("requestInfoLogger") Logger requestInfoLogger,
+      DetailsLogQueue detailsLogQueue) {
     this(
         new RemoteCallLoggerDelegate(
-            requestInfoLogger, soapXmlLogger, prettyPrinter, RemoteCallType.SOAP));
+            requestInfoLogger, soapXmlLogger, prettyPrinter, RemoteCallType.SOAP,
+            detailsLogQueue));
   }
 
   AdsServiceLoggers(RemoteCallLoggerDelegate loggerDelegate) {
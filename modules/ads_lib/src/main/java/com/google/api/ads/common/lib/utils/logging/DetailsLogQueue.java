@@ -0,0 +1,249 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.utils.logging;
+
+import com.google.api.ads.common.lib.conf.AdsLibConfiguration;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * Bounded queue of request and response details that are pretty printed and logged in the
+ * background, so that requests do not wait for redaction and formatting of their payloads.
+ *
+ * <p>The queue is disabled unless {@link AdsLibConfiguration#getDetailsLogQueueSize()} is
+ * positive. When the queue is full, a request waits up to
+ * {@link AdsLibConfiguration#getDetailsLogQueueMaxWait()} milliseconds for space, and its details
+ * are dropped if none becomes available. Dropped details are counted and reported to the lib
+ * logger.
+ *
+ * <p>All queues of the JVM share a single daemon thread, which only runs while details are waiting
+ * and exits after being idle for {@link #WORKER_KEEP_ALIVE_SECONDS} seconds, so a queue that is
+ * no longer used holds no thread and can be garbage collected. When the JVM shuts down, details
+ * still queued are logged for up to {@link #SHUTDOWN_FLUSH_TIMEOUT_SECONDS} seconds. Use
+ * {@link #flush()} to log them at a point of your choosing.
+ */
+@Singleton
+public class DetailsLogQueue {
+
+  /** The maximum number of details the background thread takes from a queue at once. */
+  @VisibleForTesting static final int MAX_BATCH_SIZE = 64;
+
+  /** How long the shared background thread waits for new details before it exits. */
+  static final long WORKER_KEEP_ALIVE_SECONDS = 60;
+
+  /** How long a JVM shutdown waits for queued details to be logged. */
+  static final long SHUTDOWN_FLUSH_TIMEOUT_SECONDS = 5;
+
+  /** The queued details, or {@code null} if the queue is disabled. */
+  private final BlockingQueue<Runnable> entries;
+  private final long maxWaitMillis;
+  private final Logger libLogger;
+  private final Executor executor;
+  private final AtomicLong droppedCount = new AtomicLong();
+  /** Whether a task that logs the queued details has been handed to the executor. */
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+  /**
+   * Constructor.
+   *
+   * @param adsLibConfiguration the lib configuration
+   * @param libLogger the logger to use for dropped details and errors
+   */
+  @Inject
+  public DetailsLogQueue(
+      AdsLibConfiguration adsLibConfiguration, @Named("libLogger") Logger libLogger) {
+    this(
+        adsLibConfiguration.getDetailsLogQueueSize(),
+        adsLibConfiguration.getDetailsLogQueueMaxWait(),
+        libLogger,
+        null);
+  }
+
+  /**
+   * @param executor runs the tasks that log queued details, or {@code null} to use the background
+   *     thread shared by all queues
+   */
+  @VisibleForTesting
+  DetailsLogQueue(int size, long maxWaitMillis, Logger libLogger, @Nullable Executor executor) {
+    Preconditions.checkArgument(size >= 0, "Details log queue size %s is < 0", size);
+    Preconditions.checkArgument(
+        maxWaitMillis >= 0, "Details log queue max wait %s is < 0", maxWaitMillis);
+    this.maxWaitMillis = maxWaitMillis;
+    this.libLogger = Preconditions.checkNotNull(libLogger, "Null lib logger");
+    if (size == 0) {
+      entries = null;
+      this.executor = null;
+    } else {
+      entries = new ArrayBlockingQueue<Runnable>(size);
+      this.executor = executor != null ? executor : SharedWorkerHolder.WORKER;
+    }
+  }
+
+  /** Returns true if details are logged in the background. */
+  public boolean isEnabled() {
+    return entries != null;
+  }
+
+  /** Returns the number of details dropped because the queue was full. */
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * Logs all details that are in the queue on the calling thread. Details queued while this method
+   * runs may be logged by the background thread instead.
+   */
+  public void flush() {
+    if (isEnabled()) {
+      List<Runnable> batch = new ArrayList<Runnable>();
+      entries.drainTo(batch);
+      logBatch(batch);
+    }
+  }
+
+  /**
+   * Adds details to log to the queue.
+   *
+   * @param entry logs the details. Must not depend on state that may change after this call.
+   * @return true if the details were queued, or false if they were dropped
+   */
+  boolean offer(Runnable entry) {
+    Preconditions.checkState(isEnabled(), "Details log queue is disabled");
+    Preconditions.checkNotNull(entry, "Null entry");
+    boolean queued;
+    try {
+      queued = entries.offer(entry, maxWaitMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      queued = false;
+    }
+    if (queued) {
+      scheduleDrain();
+    } else {
+      long dropped = droppedCount.incrementAndGet();
+      // Only report when the count reaches a power of two, so a backlog does not flood the log.
+      if (Long.bitCount(dropped) == 1) {
+        libLogger.warn(
+            "Details log queue is full. {} request and response details have been dropped.",
+            dropped);
+      }
+    }
+    return queued;
+  }
+
+  /**
+   * Logs the details that are in the queue, up to {@link #MAX_BATCH_SIZE}, without waiting.
+   *
+   * @return the number of details logged
+   */
+  @VisibleForTesting
+  int logQueued() {
+    List<Runnable> batch = new ArrayList<Runnable>(MAX_BATCH_SIZE);
+    entries.drainTo(batch, MAX_BATCH_SIZE);
+    logBatch(batch);
+    return batch.size();
+  }
+
+  /** Hands a task that logs the queued details to the executor, unless one is pending already. */
+  private void scheduleDrain() {
+    if (drainScheduled.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        // The JVM is shutting down, so log the details on the calling thread.
+        drainScheduled.set(false);
+        flush();
+      }
+    }
+  }
+
+  /**
+   * Logs one batch of queued details, then schedules itself again if more are waiting, so that
+   * queues sharing the background thread take turns.
+   */
+  private void drain() {
+    logQueued();
+    drainScheduled.set(false);
+    if (!entries.isEmpty()) {
+      scheduleDrain();
+    }
+  }
+
+  private void logBatch(List<Runnable> batch) {
+    for (Runnable entry : batch) {
+      try {
+        entry.run();
+      } catch (RuntimeException e) {
+        libLogger.warn("Unable to log request and response details.", e);
+      }
+    }
+  }
+
+  /** Lazily creates the background thread shared by all queues of the JVM. */
+  private static final class SharedWorkerHolder {
+
+    private static final ThreadPoolExecutor WORKER = createWorker();
+
+    private static ThreadPoolExecutor createWorker() {
+      final ThreadPoolExecutor worker =
+          new ThreadPoolExecutor(
+              1,
+              1,
+              WORKER_KEEP_ALIVE_SECONDS,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<Runnable>(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("ads-details-logger-%d")
+                  .setDaemon(true)
+                  .build());
+      worker.allowCoreThreadTimeOut(true);
+      Thread shutdownHook =
+          new Thread(
+              () -> {
+                // Logs the details that were queued before the JVM started shutting down.
+                worker.shutdown();
+                try {
+                  worker.awaitTermination(SHUTDOWN_FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              },
+              "ads-details-logger-shutdown");
+      try {
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+      } catch (IllegalStateException e) {
+        // The JVM is already shutting down.
+      }
+      return worker;
+    }
+  }
+}
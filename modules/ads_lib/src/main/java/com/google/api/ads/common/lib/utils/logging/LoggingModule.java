@@ -63,7 +63,7 @@ public class LoggingModule extends AbstractModule {
     // XPathFactory is *not* guaranteed to be thread-safe.
     bind(new TypeLiteral<Supplier<XPath>>(){}).to( 
         XPathSupplier.class);
-    bind(PrettyPrinterInterface.class).to(PrettyPrinter.class);
+    bind(PrettyPrinterInterface.class).to(StreamingPrettyPrinter.class);
     bind(Logger.class)
         .annotatedWith(Names.named("libLogger")).toInstance(AdsServiceLoggers.ADS_API_LIB_LOG);
     configureLogger(loggerPrefix, "soapXmlLogger");
@@ -29,7 +29,9 @@ import org.xml.sax.SAXException;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.EmptyStackException;
+import java.util.List;
 
 import javax.annotation.Nullable;
 import javax.xml.parsers.DocumentBuilder;
@@ -55,6 +57,13 @@ public final class PrettyPrinter implements PrettyPrinterInterface {
   private final Supplier<Transformer> transformerSupplier;
   private final Supplier<DocumentBuilder> documentBuilderSupplier;
 
+  /**
+   * The sensitive XPaths compiled by each thread, because {@link XPathExpression} is <em>not</em>
+   * thread-safe. Compiling once avoids recompiling every XPath for every message.
+   */
+  private final ThreadLocal<List<XPathExpression>> sensitiveXPathExpressions =
+      new ThreadLocal<List<XPathExpression>>();
+
   /**
    * Default constructor used by Guice. Takes {@link Supplier} instances for {@link XPath},
    * {@link Transformer}, and {@link DocumentBuilder} because the corresponding factory objects are
@@ -143,11 +152,10 @@ public final class PrettyPrinter implements PrettyPrinterInterface {
     if (xml != null && !sensitiveXPathStrings.isEmpty()) {
       try {
         DocumentBuilder documentBuilder = documentBuilderSupplier.get();
-        XPath xpath = xpathSupplier.get();
-        if (documentBuilder != null && xpath != null) {
+        List<XPathExpression> xpathExpressions = getSensitiveXPathExpressions();
+        if (documentBuilder != null && xpathExpressions != null) {
           Document doc = documentBuilder.parse(new InputSource(new StringReader(xml)));
-          for (String xpathString : sensitiveXPathStrings) {
-            XPathExpression expr = xpath.compile(xpathString);
+          for (XPathExpression expr : xpathExpressions) {
             Node node = (Node) expr.evaluate(doc, XPathConstants.NODE);
             if (node != null && node.getTextContent() != null) {
               node.setTextContent("REDACTED");
@@ -165,4 +173,26 @@ public final class PrettyPrinter implements PrettyPrinterInterface {
     }
     return null;
   }
+
+  /**
+   * Returns the sensitive XPaths compiled for the current thread, compiling them if needed.
+   *
+   * @return the compiled XPaths, or null if no {@link XPath} is available
+   */
+  @Nullable
+  private List<XPathExpression> getSensitiveXPathExpressions() throws XPathExpressionException {
+    List<XPathExpression> xpathExpressions = sensitiveXPathExpressions.get();
+    if (xpathExpressions == null) {
+      XPath xpath = xpathSupplier.get();
+      if (xpath == null) {
+        return null;
+      }
+      xpathExpressions = new ArrayList<XPathExpression>(sensitiveXPathStrings.size());
+      for (String xpathString : sensitiveXPathStrings) {
+        xpathExpressions.add(xpath.compile(xpathString));
+      }
+      sensitiveXPathExpressions.set(xpathExpressions);
+    }
+    return xpathExpressions;
+  }
 }
@@ -37,6 +37,7 @@ public class RemoteCallLoggerDelegate {
   private final Logger detailLogger;
   private final PrettyPrinterInterface prettyPrinter;
   private final RemoteCallType remoteCallType;
+  @Nullable private final DetailsLogQueue detailsLogQueue;
 
   private static final Pattern NEWLINE_PATTERN =
       Pattern.compile(String.format("%n"), Pattern.LITERAL);
@@ -66,6 +67,26 @@ public class RemoteCallLoggerDelegate {
       Logger detailLogger,
       @Nullable PrettyPrinterInterface prettyPrinter,
       RemoteCallType remoteCallType) {
+    this(summaryLogger, detailLogger, prettyPrinter, remoteCallType, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param summaryLogger the logger for request summaries
+   * @param detailLogger the logger for request and response details
+   * @param prettyPrinter pretty prints request and response payloads, or {@code null} to log them
+   *     unmodified
+   * @param remoteCallType the type of the request and response
+   * @param detailsLogQueue if enabled, the queue that pretty prints and logs details in the
+   *     background. Otherwise details are logged by the thread that made the request.
+   */
+  public RemoteCallLoggerDelegate(
+      Logger summaryLogger,
+      Logger detailLogger,
+      @Nullable PrettyPrinterInterface prettyPrinter,
+      RemoteCallType remoteCallType,
+      @Nullable DetailsLogQueue detailsLogQueue) {
     this.summaryLogger = Preconditions.checkNotNull(summaryLogger, "Null summary logger");
     this.detailLogger = Preconditions.checkNotNull(detailLogger, "Null detail logger");
     // If no pretty printer supplied, then use the default implementation that simply returns
@@ -73,6 +94,8 @@ public class RemoteCallLoggerDelegate {
     this.prettyPrinter =
         MoreObjects.firstNonNull(prettyPrinter, PrettyPrinterInterface.NO_OP_PRETTY_PRINTER);
     this.remoteCallType = Preconditions.checkNotNull(remoteCallType, "Null remote call type");
+    this.detailsLogQueue =
+        detailsLogQueue != null && detailsLogQueue.isEnabled() ? detailsLogQueue : null;
   }
 
   /** Returns true if the log level for request summaries and the specified result is enabled. */
@@ -99,14 +122,26 @@ public class RemoteCallLoggerDelegate {
     if (!isDetailsLoggable(isSuccess)) {
       return;
     }
-    String prettyRequest = null;
-    if (remoteCallReturn.getRequestInfo() != null) {
-      prettyRequest = prettyPrinter.prettyPrint(remoteCallReturn.getRequestInfo().getPayload());
-    }
-    String prettyResponse = null;
-    if (remoteCallReturn.getResponseInfo() != null) {
-      prettyResponse = prettyPrinter.prettyPrint(remoteCallReturn.getResponseInfo().getPayload());
+    // Payloads are read here because lazily captured payloads are only valid until the SOAP
+    // message is reused.
+    String request =
+        remoteCallReturn.getRequestInfo() == null
+            ? null
+            : remoteCallReturn.getRequestInfo().getPayload();
+    String response =
+        remoteCallReturn.getResponseInfo() == null
+            ? null
+            : remoteCallReturn.getResponseInfo().getPayload();
+    if (detailsLogQueue != null) {
+      detailsLogQueue.offer(() -> logDetails(isSuccess, request, response));
+    } else {
+      logDetails(isSuccess, request, response);
     }
+  }
+
+  private void logDetails(boolean isSuccess, @Nullable String request, @Nullable String response) {
+    String prettyRequest = request == null ? null : prettyPrinter.prettyPrint(request);
+    String prettyResponse = response == null ? null : prettyPrinter.prettyPrint(response);
     if (isSuccess) {
       detailLogger.debug(DETAILS_REQUEST_TEMPLATE, remoteCallType, prettyRequest);
       detailLogger.debug(DETAILS_RESPONSE_TEMPLATE, remoteCallType, prettyResponse);
@@ -0,0 +1,98 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.utils.logging;
+
+import com.google.api.ads.common.lib.conf.AdsApiConfiguration;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.xml.stream.XMLStreamException;
+import org.slf4j.Logger;
+
+/**
+ * Pretty printer that redacts and indents XML messages in a single streaming pass with
+ * {@link StreamingXmlRedactor}.
+ *
+ * <p>Messages that cannot be streamed, such as malformed XML, are printed by the DOM-based
+ * {@link PrettyPrinter} instead. So are all messages if any of the sensitive XPaths is not
+ * supported by {@link StreamingXmlRedactor}.
+ */
+public final class StreamingPrettyPrinter implements PrettyPrinterInterface {
+
+  private final Logger libLogger;
+  private final PrettyPrinterInterface domPrettyPrinter;
+  @Nullable private final StreamingXmlRedactor redactor;
+
+  /**
+   * Constructor.
+   *
+   * @param adsApiConfiguration the API configuration
+   * @param libLogger the logger to use for errors
+   * @param domPrettyPrinter the pretty printer for messages that cannot be streamed
+   */
+  @Inject
+  public StreamingPrettyPrinter(
+      AdsApiConfiguration adsApiConfiguration,
+      @Named("libLogger") Logger libLogger,
+      PrettyPrinter domPrettyPrinter) {
+    this(getSensitiveXPaths(adsApiConfiguration), libLogger, domPrettyPrinter);
+  }
+
+  @VisibleForTesting
+  StreamingPrettyPrinter(
+      List<String> sensitiveXPaths, Logger libLogger, PrettyPrinterInterface domPrettyPrinter) {
+    this.libLogger = libLogger;
+    this.domPrettyPrinter = domPrettyPrinter;
+    StreamingXmlRedactor redactor = null;
+    if (sensitiveXPaths.stream().allMatch(StreamingXmlRedactor::isSupported)) {
+      redactor = new StreamingXmlRedactor(sensitiveXPaths, true);
+    } else {
+      libLogger.info(
+          "Sensitive XPaths {} cannot be streamed. XML will be redacted with a DOM instead.",
+          sensitiveXPaths);
+    }
+    this.redactor = redactor;
+  }
+
+  private static List<String> getSensitiveXPaths(AdsApiConfiguration adsApiConfiguration) {
+    String[] sensitiveXPaths = adsApiConfiguration.getSensitiveXPaths();
+    return sensitiveXPaths == null
+        ? ImmutableList.<String>of()
+        : ImmutableList.<String>copyOf(sensitiveXPaths);
+  }
+
+  /**
+   * Transforms XML into a pretty-printed format with sensitive strings removed. If the XML cannot
+   * be streamed, it is printed as by {@link PrettyPrinter#prettyPrint(String)}.
+   *
+   * @param xml the XML message to be pretty printed
+   * @return the given message in pretty-printed format
+   */
+  @Override
+  public String prettyPrint(String xml) {
+    if (xml == null || redactor == null) {
+      return domPrettyPrinter.prettyPrint(xml);
+    }
+    try {
+      return redactor.redact(xml);
+    } catch (XMLStreamException e) {
+      libLogger.debug("Unable to stream XML, falling back to DOM: {}", e.toString());
+      return domPrettyPrinter.prettyPrint(xml);
+    }
+  }
+}
@@ -0,0 +1,291 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.utils.logging;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Redacts sensitive elements from XML and optionally indents it in a single streaming pass,
+ * without building a DOM.
+ *
+ * <p>Only absolute XPaths made of child steps are supported, such as
+ * {@code /Envelope/Header/RequestHeader/developerToken}. Each step is matched against the local
+ * name of an element, and may be {@code *} to match any element. The XPaths are compiled into a
+ * tree of steps, which is walked as elements start and end. The text content of every element
+ * that matches an XPath is replaced with {@value #REDACTED}.
+ *
+ * <p>Documents with a DTD are rejected.
+ *
+ * <p>Implementation is thread-safe.
+ */
+final class StreamingXmlRedactor {
+
+  static final String REDACTED = "REDACTED";
+
+  private static final String WILDCARD = "*";
+  private static final String NAME = "[A-Za-z_][\\w.-]*";
+  private static final Pattern SUPPORTED_XPATH =
+      Pattern.compile("(/(" + NAME + ":)?(" + NAME + "|\\*))+");
+  private static final String INDENT = "    ";
+
+  private final Step root = new Step();
+  private final boolean indent;
+  private final XMLInputFactory xmlInputFactory;
+  private final XMLOutputFactory xmlOutputFactory;
+
+  /**
+   * Constructor.
+   *
+   * @param sensitiveXPaths the XPaths of elements to redact
+   * @param indent if true, elements are indented and whitespace between them is replaced
+   * @throws IllegalArgumentException if an XPath is not {@link #isSupported(String) supported}
+   */
+  StreamingXmlRedactor(List<String> sensitiveXPaths, boolean indent) {
+    for (String xpath : sensitiveXPaths) {
+      Preconditions.checkArgument(isSupported(xpath), "Unsupported XPath: %s", xpath);
+      Step step = root;
+      for (String name : xpath.substring(1).split("/")) {
+        step = step.getOrAddChild(name.substring(name.indexOf(':') + 1));
+      }
+      step.sensitive = true;
+    }
+    this.indent = indent;
+    // Configured factories are safe to share between threads in the JDK and common StAX
+    // implementations.
+    xmlInputFactory = XMLInputFactory.newFactory();
+    xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    xmlOutputFactory = XMLOutputFactory.newFactory();
+  }
+
+  /** Returns true if the XPath can be matched by this class. */
+  static boolean isSupported(String xpath) {
+    return xpath != null && SUPPORTED_XPATH.matcher(xpath).matches();
+  }
+
+  /**
+   * Returns the XML with sensitive elements redacted.
+   *
+   * @throws XMLStreamException if the XML is not well formed, or has a DTD
+   */
+  String redact(String xml) throws XMLStreamException {
+    StringWriter stringWriter = new StringWriter(xml.length() + xml.length() / 4);
+    XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(new StringReader(xml));
+    XMLStreamWriter writer = xmlOutputFactory.createXMLStreamWriter(stringWriter);
+    try {
+      new Pass(reader, writer).run();
+      writer.flush();
+    } finally {
+      reader.close();
+      writer.close();
+    }
+    return stringWriter.toString();
+  }
+
+  /** A step of the sensitive XPaths. */
+  private static final class Step {
+    private final Map<String, Step> children = new HashMap<String, Step>();
+    private boolean sensitive;
+
+    private Step getOrAddChild(String name) {
+      Step child = children.get(name);
+      if (child == null) {
+        child = new Step();
+        children.put(name, child);
+      }
+      return child;
+    }
+  }
+
+  /** The state of a single document being redacted. */
+  private final class Pass {
+    private final XMLStreamReader reader;
+    private final XMLStreamWriter writer;
+    /** The steps matched by each open element, innermost first. */
+    private final Deque<List<Step>> matchedSteps = new ArrayDeque<List<Step>>();
+    /** The type of the last event written, or {@code -1} if nothing has been written. */
+    private int lastWritten = -1;
+
+    private Pass(XMLStreamReader reader, XMLStreamWriter writer) {
+      this.reader = reader;
+      this.writer = writer;
+      matchedSteps.push(ImmutableList.of(root));
+    }
+
+    private void run() throws XMLStreamException {
+      if (reader.getVersion() != null) {
+        String encoding = reader.getCharacterEncodingScheme();
+        if (encoding != null) {
+          writer.writeStartDocument(encoding, reader.getVersion());
+        } else {
+          writer.writeStartDocument(reader.getVersion());
+        }
+        lastWritten = XMLStreamConstants.START_DOCUMENT;
+      }
+      while (reader.hasNext()) {
+        int event = reader.next();
+        switch (event) {
+          case XMLStreamConstants.START_ELEMENT:
+            startElement();
+            break;
+          case XMLStreamConstants.END_ELEMENT:
+            matchedSteps.pop();
+            if (lastWritten == XMLStreamConstants.END_ELEMENT
+                || lastWritten == XMLStreamConstants.COMMENT) {
+              writeIndent();
+            }
+            writer.writeEndElement();
+            lastWritten = event;
+            break;
+          case XMLStreamConstants.CHARACTERS:
+          case XMLStreamConstants.SPACE:
+            if (!indent || !reader.isWhiteSpace()) {
+              writer.writeCharacters(
+                  reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+              lastWritten = XMLStreamConstants.CHARACTERS;
+            }
+            break;
+          case XMLStreamConstants.CDATA:
+            writer.writeCData(reader.getText());
+            lastWritten = XMLStreamConstants.CHARACTERS;
+            break;
+          case XMLStreamConstants.COMMENT:
+            writeIndent();
+            writer.writeComment(reader.getText());
+            lastWritten = event;
+            break;
+          case XMLStreamConstants.PROCESSING_INSTRUCTION:
+            writeIndent();
+            writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+            lastWritten = XMLStreamConstants.COMMENT;
+            break;
+          case XMLStreamConstants.END_DOCUMENT:
+            writer.writeEndDocument();
+            break;
+          case XMLStreamConstants.DTD:
+            throw new XMLStreamException(
+                "Documents with a DTD are not supported", reader.getLocation());
+          default:
+            throw new XMLStreamException(
+                "Unsupported XML event type " + event, reader.getLocation());
+        }
+      }
+    }
+
+    private void startElement() throws XMLStreamException {
+      String localName = reader.getLocalName();
+      List<Step> parentSteps = matchedSteps.peek();
+      List<Step> steps = ImmutableList.of();
+      boolean sensitive = false;
+      if (!parentSteps.isEmpty()) {
+        steps = new ArrayList<Step>(2);
+        for (Step parentStep : parentSteps) {
+          sensitive |= addChild(steps, parentStep.children.get(localName));
+          sensitive |= addChild(steps, parentStep.children.get(WILDCARD));
+        }
+      }
+      writeIndent();
+      copyStartElement();
+      if (sensitive) {
+        skipElementContent();
+        writer.writeCharacters(REDACTED);
+        writer.writeEndElement();
+        lastWritten = XMLStreamConstants.END_ELEMENT;
+      } else {
+        matchedSteps.push(steps);
+        lastWritten = XMLStreamConstants.START_ELEMENT;
+      }
+    }
+
+    /** Adds {@code step} to {@code steps} if not null, and returns if it is sensitive. */
+    private boolean addChild(List<Step> steps, Step step) {
+      if (step == null) {
+        return false;
+      }
+      steps.add(step);
+      return step.sensitive;
+    }
+
+    private void copyStartElement() throws XMLStreamException {
+      writer.writeStartElement(
+          Strings.nullToEmpty(reader.getPrefix()),
+          reader.getLocalName(),
+          Strings.nullToEmpty(reader.getNamespaceURI()));
+      for (int i = 0; i < reader.getNamespaceCount(); i++) {
+        String prefix = reader.getNamespacePrefix(i);
+        if (Strings.isNullOrEmpty(prefix)) {
+          writer.writeDefaultNamespace(reader.getNamespaceURI(i));
+        } else {
+          writer.writeNamespace(prefix, reader.getNamespaceURI(i));
+        }
+      }
+      for (int i = 0; i < reader.getAttributeCount(); i++) {
+        String prefix = reader.getAttributePrefix(i);
+        if (Strings.isNullOrEmpty(prefix)) {
+          writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        } else {
+          writer.writeAttribute(
+              prefix,
+              reader.getAttributeNamespace(i),
+              reader.getAttributeLocalName(i),
+              reader.getAttributeValue(i));
+        }
+      }
+    }
+
+    /** Reads up to and including the end of the current element. */
+    private void skipElementContent() throws XMLStreamException {
+      int depth = 1;
+      while (depth > 0) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          depth++;
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          depth--;
+        }
+      }
+    }
+
+    /** Starts a new line at the current depth, unless indenting is off or in mixed content. */
+    private void writeIndent() throws XMLStreamException {
+      if (!indent || lastWritten == -1 || lastWritten == XMLStreamConstants.CHARACTERS) {
+        return;
+      }
+      int depth = matchedSteps.size() - 1;
+      StringBuilder builder = new StringBuilder(1 + depth * INDENT.length()).append('\n');
+      for (int i = 0; i < depth; i++) {
+        builder.append(INDENT);
+      }
+      writer.writeCharacters(builder.toString());
+    }
+  }
+}
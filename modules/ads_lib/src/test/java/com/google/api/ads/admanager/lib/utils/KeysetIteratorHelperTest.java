@@ -0,0 +1,198 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.admanager.lib.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link KeysetIteratorHelper}. */
+@RunWith(JUnit4.class)
+public class KeysetIteratorHelperTest {
+
+  private static final List<Long> IDS = ImmutableList.of(3L, 7L, 8L, 12L, 20L, 21L, 40L);
+
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  private final List<Long> requestedIds = new ArrayList<Long>();
+
+  /** Fetches pages of up to 3 of {@link #IDS} after the last ID. */
+  private KeysetIteratorHelper.PageFetcher<FakePage> pages() {
+    return lastId -> {
+      requestedIds.add(lastId);
+      List<FakeObject> remaining = new ArrayList<FakeObject>();
+      for (Long id : IDS) {
+        if (id > lastId) {
+          remaining.add(new FakeObject(id));
+        }
+      }
+      return new FakePage(remaining.size(), remaining.subList(0, Math.min(3, remaining.size())));
+    };
+  }
+
+  /** Tests that all objects are returned, each page after the last ID of the previous one. */
+  @Test
+  public void testIterate() {
+    KeysetIteratorHelper<FakeObject> iterator = new KeysetIteratorHelper<FakeObject>(pages(), 0);
+
+    List<Long> ids = new ArrayList<Long>();
+    while (iterator.hasNext()) {
+      ids.add(iterator.next().getId());
+    }
+
+    assertEquals(IDS, ids);
+    assertEquals(ImmutableList.of(0L, 8L, 21L), requestedIds);
+    assertEquals(40L, iterator.getLastId());
+  }
+
+  /** Tests that a scan can start after an ID. */
+  @Test
+  public void testIterate_startAfterId() {
+    KeysetIteratorHelper<FakeObject> iterator = new KeysetIteratorHelper<FakeObject>(pages(), 20);
+
+    assertEquals(21L, (long) iterator.next().getId());
+    assertEquals(40L, (long) iterator.next().getId());
+    assertFalse(iterator.hasNext());
+    assertEquals(ImmutableList.of(20L), requestedIds);
+  }
+
+  /** Tests that there are no objects if the first page is empty. */
+  @Test
+  public void testIterate_empty() {
+    KeysetIteratorHelper<FakeObject> iterator =
+        new KeysetIteratorHelper<FakeObject>(
+            lastId -> new FakePage(0, ImmutableList.<FakeObject>of()), 0);
+
+    assertFalse(iterator.hasNext());
+  }
+
+  /** Tests that a failure to fetch a page is rethrown with the last ID. */
+  @Test
+  public void testIterate_fetchFails() {
+    IOException failure = new IOException("Page failed");
+    KeysetIteratorHelper<FakeObject> iterator =
+        new KeysetIteratorHelper<FakeObject>(
+            lastId -> {
+              throw failure;
+            },
+            5);
+
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Failed to fetch the page after ID 5");
+    thrown.expectCause(Matchers.sameInstance(failure));
+    iterator.hasNext();
+  }
+
+  /** Tests that pages not ordered by ID are rejected instead of being fetched forever. */
+  @Test
+  public void testIterate_notOrderedById() {
+    KeysetIteratorHelper<FakeObject> iterator =
+        new KeysetIteratorHelper<FakeObject>(
+            lastId ->
+                new FakePage(10, ImmutableList.of(new FakeObject(40L), new FakeObject(3L))),
+            5);
+
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("is it ordered by ID?");
+    iterator.hasNext();
+  }
+
+  /** Tests that objects whose IDs are not {@code Long} are rejected. */
+  @Test
+  public void testIterate_stringIds() {
+    KeysetIteratorHelper<StringIdObject> iterator =
+        new KeysetIteratorHelper<StringIdObject>(
+            lastId -> new StringIdPage(new StringIdObject("3")), 0);
+
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage(StringIdObject.class.getName());
+    iterator.hasNext();
+  }
+
+  /** An object with an ID. */
+  public static class FakeObject {
+    private final Long id;
+
+    FakeObject(Long id) {
+      this.id = id;
+    }
+
+    public Long getId() {
+      return id;
+    }
+  }
+
+  /** An object with a {@code String} ID, like an ad unit. */
+  public static class StringIdObject {
+    private final String id;
+
+    StringIdObject(String id) {
+      this.id = id;
+    }
+
+    public String getId() {
+      return id;
+    }
+  }
+
+  /** A page of objects. */
+  public static class FakePage implements Iterable<FakeObject> {
+    private final int totalResultSetSize;
+    private final List<FakeObject> results;
+
+    FakePage(int totalResultSetSize, List<FakeObject> results) {
+      this.totalResultSetSize = totalResultSetSize;
+      this.results = results;
+    }
+
+    public Integer getTotalResultSetSize() {
+      return totalResultSetSize;
+    }
+
+    @Override
+    public Iterator<FakeObject> iterator() {
+      return results.iterator();
+    }
+  }
+
+  /** A single page of objects with {@code String} IDs. */
+  public static class StringIdPage implements Iterable<StringIdObject> {
+    private final List<StringIdObject> results;
+
+    StringIdPage(StringIdObject... results) {
+      this.results = ImmutableList.copyOf(results);
+    }
+
+    public Integer getTotalResultSetSize() {
+      return results.size();
+    }
+
+    @Override
+    public Iterator<StringIdObject> iterator() {
+      return results.iterator();
+    }
+  }
+}
@@ -205,4 +205,48 @@ public class QueryBuilderTest {
     assertEquals(value, builder.getBindVariableMap().get(key));
     assertEquals(value2, builder.getBindVariableMap().get(key2));
   }
+
+  @Test
+  public void testBuildQuery_keyset() {
+    String expectedQuery =
+        "WHERE (a = 1 OR b = 2) AND id > :lastId ORDER BY id ASC LIMIT 500";
+    QueryBuilder<Object> builder = new QueryBuilder<Object>()
+        .where("a = 1 OR b = 2")
+        .limit(500)
+        .afterId(12345L);
+
+    assertEquals(expectedQuery, builder.buildQuery());
+    assertEquals(12345L, builder.getBindVariableMap().get("lastId"));
+  }
+
+  @Test
+  public void testBuildQuery_keysetRange() {
+    String expectedQuery =
+        "FROM line_item WHERE id > :lastId AND id <= :maxId ORDER BY id ASC LIMIT 500";
+    QueryBuilder<Object> builder = new QueryBuilder<Object>()
+        .from("line_item")
+        .orderBy("id asc")
+        .limit(500)
+        .afterId(100L)
+        .upToId(200L);
+
+    assertEquals(expectedQuery, builder.buildQuery());
+    assertEquals(200L, builder.getBindVariableMap().get("maxId"));
+  }
+
+  @Test
+  public void testBuildQuery_keysetWithOffset() {
+    QueryBuilder<Object> builder = new QueryBuilder<Object>().limit(500).offset(500).afterId(0L);
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("OFFSET cannot be set with keyset pagination.");
+    builder.buildQuery();
+  }
+
+  @Test
+  public void testBuildQuery_keysetWithOrderBy() {
+    QueryBuilder<Object> builder = new QueryBuilder<Object>().orderBy("name").afterId(0L);
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("ORDER BY must be \"id ASC\" with keyset pagination.");
+    builder.buildQuery();
+  }
 }
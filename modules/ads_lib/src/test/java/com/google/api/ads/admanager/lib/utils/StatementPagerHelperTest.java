@@ -0,0 +1,145 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.admanager.lib.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link StatementPagerHelper}. */
+@RunWith(JUnit4.class)
+public class StatementPagerHelperTest {
+
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  private final List<Integer> requestedOffsets = Collections.synchronizedList(new ArrayList<>());
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+
+  /** Creates requests for pages of a statement with {@code total} results. */
+  private StatementPagerHelper.PageRequestFactory<FakePage> pages(int total) {
+    return (offset, limit) -> {
+      requestedOffsets.add(offset);
+      return () -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+          // Later pages take less time, so they complete out of order.
+          Thread.sleep(Math.max(0, 50 - offset));
+          return new FakePage(total, offset);
+        } finally {
+          inFlight.decrementAndGet();
+        }
+      };
+    };
+  }
+
+  /** Tests that only the first page is fetched if it has all results. */
+  @Test
+  public void testForEachPage_singlePage() throws Exception {
+    List<FakePage> received = new ArrayList<>();
+
+    int total = new StatementPagerHelper(10, 4).forEachPage(0, pages(7), received::add, true);
+
+    assertEquals(7, total);
+    assertEquals(ImmutableList.of(0), requestedOffsets);
+    assertEquals(1, received.size());
+  }
+
+  /** Tests that pages are passed in offset order, with bounded concurrency. */
+  @Test
+  public void testForEachPage_inOrder() throws Exception {
+    List<Integer> receivedOffsets = new ArrayList<>();
+
+    int total =
+        new StatementPagerHelper(5, 3)
+            .forEachPage(5, pages(48), page -> receivedOffsets.add(page.offset), true);
+
+    assertEquals(48, total);
+    assertEquals(ImmutableList.of(5, 10, 15, 20, 25, 30, 35, 40, 45), receivedOffsets);
+    assertEquals(receivedOffsets, requestedOffsets);
+    assertTrue("Too many pages in flight: " + maxInFlight, maxInFlight.get() <= 3);
+  }
+
+  /** Tests that all pages are passed when pages may be passed out of order. */
+  @Test
+  public void testForEachPage_unordered() throws Exception {
+    List<Integer> receivedOffsets = new ArrayList<>();
+
+    new StatementPagerHelper(5, 3)
+        .forEachPage(0, pages(30), page -> receivedOffsets.add(page.offset), false);
+
+    assertEquals("First page should be passed first", 0, (int) receivedOffsets.get(0));
+    Collections.sort(receivedOffsets);
+    assertEquals(ImmutableList.of(0, 5, 10, 15, 20, 25), receivedOffsets);
+    assertTrue("Too many pages in flight: " + maxInFlight, maxInFlight.get() <= 3);
+  }
+
+  /** Tests that the exception a page request failed with is rethrown. */
+  @Test
+  public void testForEachPage_requestFails() throws Exception {
+    IOException failure = new IOException("Page failed");
+    StatementPagerHelper.PageRequestFactory<FakePage> pages = pages(100);
+    StatementPagerHelper.PageRequestFactory<FakePage> failingPages =
+        (offset, limit) -> {
+          Callable<FakePage> request = pages.create(offset, limit);
+          if (offset == 20) {
+            return () -> {
+              throw failure;
+            };
+          }
+          return request;
+        };
+
+    thrown.expect(IOException.class);
+    thrown.expectMessage("Page failed");
+    new StatementPagerHelper(10, 2).forEachPage(0, failingPages, page -> {}, true);
+  }
+
+  /** Tests that objects without a total result set size are rejected. */
+  @Test
+  public void testForEachPage_notAPage() throws Exception {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("Not a page");
+    new StatementPagerHelper(10, 2)
+        .forEachPage(0, (offset, limit) -> () -> "page", page -> {}, true);
+  }
+
+  /** A page of a statement. */
+  public static class FakePage {
+    private final int totalResultSetSize;
+    private final int offset;
+
+    FakePage(int totalResultSetSize, int offset) {
+      this.totalResultSetSize = totalResultSetSize;
+      this.offset = offset;
+    }
+
+    public Integer getTotalResultSetSize() {
+      return totalResultSetSize;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.factory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.google.api.ads.adwords.lib.client.AdWordsSession;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mockito;
+
+/**
+ * Tests for {@link SessionInjectorCache}.
+ */
+@RunWith(JUnit4.class)
+public class SessionInjectorCacheTest {
+
+  private Injector injector;
+  private SessionInjectorCache sessionInjectorCache;
+
+  @Before
+  public void setUp() {
+    injector = Guice.createInjector();
+    sessionInjectorCache = injector.getInstance(SessionInjectorCache.class);
+  }
+
+  /**
+   * Tests that the cache is a singleton within its parent injector, so all users of the injector
+   * share it.
+   */
+  @Test
+  public void testSingletonPerInjector() {
+    assertSame(sessionInjectorCache, injector.getInstance(SessionInjectorCache.class));
+  }
+
+  /**
+   * Tests that the same child injector is returned for the same session, and that it binds that
+   * session.
+   */
+  @Test
+  public void testGetChildInjector_reusedForSameSession() {
+    AdWordsSession session = Mockito.mock(AdWordsSession.class);
+
+    Injector first = sessionInjectorCache.getChildInjector(session);
+    Injector second = sessionInjectorCache.getChildInjector(session);
+
+    assertSame(first, second);
+    assertSame(injector, first.getParent());
+    assertSame(session, first.getInstance(AdWordsSession.class));
+    assertEquals(1, sessionInjectorCache.size());
+  }
+
+  /**
+   * Tests that different session instances get different child injectors.
+   */
+  @Test
+  public void testGetChildInjector_separateForDifferentSessions() {
+    AdWordsSession session1 = Mockito.mock(AdWordsSession.class);
+    AdWordsSession session2 = Mockito.mock(AdWordsSession.class);
+
+    Injector first = sessionInjectorCache.getChildInjector(session1);
+    Injector second = sessionInjectorCache.getChildInjector(session2);
+
+    assertNotSame(first, second);
+    assertSame(session1, first.getInstance(AdWordsSession.class));
+    assertSame(session2, second.getInstance(AdWordsSession.class));
+  }
+}
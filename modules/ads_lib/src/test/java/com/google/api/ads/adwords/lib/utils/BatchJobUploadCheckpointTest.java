@@ -0,0 +1,94 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link BatchJobUploadCheckpoint}. */
+@RunWith(JUnit4.class)
+public class BatchJobUploadCheckpointTest {
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path file;
+  private BatchJobUploadCheckpoint checkpoint;
+
+  @Before
+  public void setUp() {
+    file = temporaryFolder.getRoot().toPath().resolve("checkpoint");
+    checkpoint = new BatchJobUploadCheckpoint(file);
+  }
+
+  /** Tests that a checkpoint without a file has no state. */
+  @Test
+  public void testRead_noFile() throws Exception {
+    assertNull("Checkpoint without a file should have no state", checkpoint.read());
+  }
+
+  /** Tests that the state read from a checkpoint is the last state written to it. */
+  @Test
+  public void testWriteAndRead() throws Exception {
+    checkpoint.write(
+        new BatchJobUploadCheckpoint.State(
+            1, new BatchJobUploadStatus(100L, URI.create("http://www.example.com/first"))));
+    BatchJobUploadCheckpoint.State state =
+        new BatchJobUploadCheckpoint.State(
+            2, new BatchJobUploadStatus(200L, URI.create("http://www.example.com/second")));
+    checkpoint.write(state);
+
+    assertEquals("State does not match the last state written", state, checkpoint.read());
+    assertEquals(
+        "State should be readable by a new instance",
+        state,
+        new BatchJobUploadCheckpoint(file).read());
+  }
+
+  /** Tests that a deleted checkpoint has no state. */
+  @Test
+  public void testDelete() throws Exception {
+    checkpoint.write(
+        new BatchJobUploadCheckpoint.State(
+            1, new BatchJobUploadStatus(100L, URI.create("http://www.example.com/upload"))));
+    checkpoint.delete();
+
+    assertFalse("Checkpoint file should have been deleted", Files.exists(file));
+    assertNull("Deleted checkpoint should have no state", checkpoint.read());
+  }
+
+  /** Tests that reading a file that is not a checkpoint fails. */
+  @Test
+  public void testRead_invalidFile() throws Exception {
+    Files.write(file, "foo=bar".getBytes(UTF_8));
+
+    thrown.expect(BatchJobException.class);
+    thrown.expectMessage("Invalid batch job upload checkpoint");
+    checkpoint.read();
+  }
+}
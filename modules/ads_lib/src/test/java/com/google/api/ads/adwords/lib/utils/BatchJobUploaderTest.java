@@ -17,8 +17,11 @@ package com.google.api.ads.adwords.lib.utils;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -26,22 +29,29 @@ import static org.mockito.Mockito.when;
 import com.google.api.ads.adwords.lib.client.AdWordsSession;
 import com.google.api.ads.adwords.lib.utils.logging.BatchJobLogger;
 import com.google.api.ads.adwords.lib.utils.testing.GenericAdWordsServices;
+import com.google.api.ads.common.lib.testing.ActualResponse;
 import com.google.api.ads.common.lib.testing.MockHttpServer;
 import com.google.api.ads.common.lib.testing.MockResponse;
 import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.LowLevelHttpRequest;
 import com.google.api.client.http.LowLevelHttpResponse;
 import com.google.api.client.testing.http.MockHttpTransport;
 import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import org.hamcrest.Matchers;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 import org.mockito.Mock;
@@ -60,6 +70,9 @@ public class BatchJobUploaderTest {
   @Rule
   public ExpectedException thrown = ExpectedException.none();
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   @SuppressWarnings("rawtypes")
   private BatchJobUploader uploader;
   
@@ -270,6 +283,7 @@ public class BatchJobUploaderTest {
     when(uploadBodyProvider.getHttpContent(request, false, true))
         .thenReturn(new ByteArrayContent(null, uploadRequestBody.getBytes(UTF_8)));
     mockHttpServer.setMockResponse(new MockResponse("testUploadResponse"));
+    when(batchJobLogger.isUploadContentsLoggable(true)).thenReturn(true);
 
     String expectedBody = "testUpload</mutate>";
     expectedBody =
@@ -286,6 +300,252 @@ public class BatchJobUploaderTest {
     );
    }
 
+  /**
+   * Verifies that the request contents are not passed to the logger if they would not be logged.
+   */
+  @Test
+  public void testUploadIncrementalBatchJobOperations_loggingDisabled() throws Exception {
+    BatchJobUploadStatus status =
+        new BatchJobUploadStatus(10, URI.create(mockHttpServer.getServerUrl()));
+    String uploadRequestBody = "<mutate>testUpload</mutate>";
+    when(uploadBodyProvider.getHttpContent(request, false, true))
+        .thenReturn(new ByteArrayContent(null, uploadRequestBody.getBytes(UTF_8)));
+    mockHttpServer.setMockResponse(new MockResponse("testUploadResponse"));
+    when(batchJobLogger.isUploadContentsLoggable(true)).thenReturn(false);
+
+    BatchJobUploadResponse response =
+        uploader.uploadIncrementalBatchJobOperations(request, true, status);
+    verify(batchJobLogger, times(1)).logUpload(
+        null,
+        status.getResumableUploadUri(),
+        response,
+        null
+    );
+  }
+
+  /**
+   * Verifies that a request with multi-byte characters is trimmed and padded by its length in
+   * bytes.
+   */
+  @Test
+  public void testUploadIncrementalBatchJobOperations_multiByteCharacters() throws Exception {
+    BatchJobUploadStatus status =
+        new BatchJobUploadStatus(10, URI.create(mockHttpServer.getServerUrl()));
+    String uploadRequestBody = "<mutate>caf\u00e9 \u00fcber</mutate>";
+    when(uploadBodyProvider.getHttpContent(request, false, false))
+        .thenReturn(new ByteArrayContent(null, uploadRequestBody.getBytes(UTF_8)));
+    mockHttpServer.setMockResponse(new MockResponse("testUploadResponse"));
+
+    BatchJobUploadResponse response =
+        uploader.uploadIncrementalBatchJobOperations(request, false, status);
+
+    String trimmedBody = "caf\u00e9 \u00fcber";
+    String expectedBody =
+        Strings.padEnd(
+            trimmedBody,
+            BatchJobUploader.REQUIRED_CONTENT_LENGTH_INCREMENT
+                - (trimmedBody.getBytes(UTF_8).length - trimmedBody.length()),
+            ' ');
+    assertEquals(
+        "Request body is incorrect",
+        expectedBody,
+        mockHttpServer.getLastResponse().getRequestBody());
+    assertEquals(
+        "Status total content length is incorrect",
+        status.getTotalContentLength() + BatchJobUploader.REQUIRED_CONTENT_LENGTH_INCREMENT,
+        response.getBatchJobUploadStatus().getTotalContentLength());
+  }
+
+  /**
+   * Tests that after a failed request, the uploader asks which bytes were received and only sends
+   * the rest.
+   */
+  @Test
+  public void testUploadIncrementalBatchJobOperations_ioException_resumes() throws Exception {
+    int receivedLength = 100000;
+    long previousLength = 10;
+    long totalLength = previousLength + BatchJobUploader.REQUIRED_CONTENT_LENGTH_INCREMENT;
+    List<MockLowLevelHttpRequest> requests = Lists.newArrayList();
+    MockHttpTransport transport =
+        createTransport(
+            requests,
+            new IOException("mock IO exception"),
+            new MockLowLevelHttpResponse()
+                .setStatusCode(308)
+                .addHeader("Range", "bytes=0-" + (previousLength + receivedLength - 1)),
+            new MockLowLevelHttpResponse().setContent("testUploadResponse"));
+    uploader = new BatchJobUploader(adWordsSession, transport, batchJobLogger);
+    when(uploadBodyProvider.getHttpContent(request, false, true))
+        .thenReturn(new ByteArrayContent(null, "<mutate>testUpload</mutate>".getBytes(UTF_8)));
+
+    BatchJobUploadResponse response =
+        uploader.uploadIncrementalBatchJobOperations(
+            request,
+            true,
+            new BatchJobUploadStatus(previousLength, URI.create("http://www.example.com")));
+
+    assertEquals("Should have made three requests", 3, requests.size());
+    assertEquals(
+        "Status request range is incorrect",
+        "bytes */" + totalLength,
+        requests.get(1).getFirstHeaderValue("Content-Range"));
+    assertEquals(
+        "Resumed request range is incorrect",
+        String.format(
+            "bytes %d-%d/%d", previousLength + receivedLength, totalLength - 1, totalLength),
+        requests.get(2).getFirstHeaderValue("Content-Range"));
+    assertEquals(
+        "Resumed request should only contain the missing bytes",
+        BatchJobUploader.REQUIRED_CONTENT_LENGTH_INCREMENT - receivedLength,
+        requests.get(2).getContentAsString().length());
+    assertEquals("Request should have succeeded", 200, response.getHttpStatus());
+    assertEquals(
+        "Status total content length is incorrect",
+        totalLength,
+        response.getBatchJobUploadStatus().getTotalContentLength());
+  }
+
+  /**
+   * Tests that a sequence of requests is uploaded in order, and that the checkpoint is deleted
+   * once the last request has been uploaded.
+   */
+  @Test
+  public void testUploadIncrementalBatchJobOperations_requests() throws Exception {
+    BatchJobUploadCheckpoint checkpoint =
+        new BatchJobUploadCheckpoint(temporaryFolder.getRoot().toPath().resolve("checkpoint"));
+    List<BatchJobMutateRequestInterface> requests =
+        Lists.newArrayList(
+            mockRequest("<mutate>first</mutate>", true, false),
+            mockRequest("<mutate>second</mutate>", false, false),
+            mockRequest("<mutate>third</mutate>", false, true));
+    mockHttpServer.setMockResponses(
+        Lists.newArrayList(
+            new MockResponse("ignore"),
+            new MockResponse("ignore"),
+            new MockResponse("ignore"),
+            new MockResponse("testUploadResponse")));
+
+    BatchJobUploadResponse response =
+        uploader.uploadIncrementalBatchJobOperations(
+            requests.iterator(),
+            new BatchJobUploadStatus(0, URI.create(mockHttpServer.getServerUrl())),
+            checkpoint);
+
+    List<ActualResponse> actualResponses = mockHttpServer.getAllResponses();
+    assertEquals("Should have made four requests", 4, actualResponses.size());
+    assertEquals(
+        "First request body is incorrect",
+        Strings.padEnd("<mutate>first", BatchJobUploader.REQUIRED_CONTENT_LENGTH_INCREMENT, ' '),
+        actualResponses.get(1).getRequestBody());
+    assertEquals(
+        "Second request body is incorrect",
+        Strings.padEnd("second", BatchJobUploader.REQUIRED_CONTENT_LENGTH_INCREMENT, ' '),
+        actualResponses.get(2).getRequestBody());
+    assertEquals(
+        "Third request body is incorrect",
+        Strings.padEnd("third</mutate>", BatchJobUploader.REQUIRED_CONTENT_LENGTH_INCREMENT, ' '),
+        actualResponses.get(3).getRequestBody());
+    assertEquals(
+        "Status total content length is incorrect",
+        3L * BatchJobUploader.REQUIRED_CONTENT_LENGTH_INCREMENT,
+        response.getBatchJobUploadStatus().getTotalContentLength());
+    assertNull("Checkpoint should have been deleted", checkpoint.read());
+  }
+
+  /**
+   * Tests that an upload resumes from its checkpoint without serializing the requests that were
+   * already uploaded.
+   */
+  @Test
+  public void testUploadIncrementalBatchJobOperations_requests_resumesFromCheckpoint()
+      throws Exception {
+    int uploadedLength = BatchJobUploader.REQUIRED_CONTENT_LENGTH_INCREMENT;
+    BatchJobUploadCheckpoint checkpoint =
+        new BatchJobUploadCheckpoint(temporaryFolder.getRoot().toPath().resolve("checkpoint"));
+    checkpoint.write(
+        new BatchJobUploadCheckpoint.State(
+            1, new BatchJobUploadStatus(uploadedLength, URI.create("http://www.example.com"))));
+    BatchJobMutateRequestInterface uploadedRequest = mockRequest("ignore", true, false);
+    List<BatchJobMutateRequestInterface> batchJobRequests =
+        Lists.newArrayList(uploadedRequest, mockRequest("<mutate>second</mutate>", false, true));
+    // No bytes of the second request were received before the interruption.
+    List<MockLowLevelHttpRequest> requests = Lists.newArrayList();
+    MockHttpTransport transport =
+        createTransport(
+            requests,
+            new MockLowLevelHttpResponse()
+                .setStatusCode(308)
+                .addHeader("Range", "bytes=0-" + (uploadedLength - 1)),
+            new MockLowLevelHttpResponse().setContent("testUploadResponse"));
+    uploader = new BatchJobUploader(adWordsSession, transport, batchJobLogger);
+
+    BatchJobUploadResponse response =
+        uploader.uploadIncrementalBatchJobOperations(
+            batchJobRequests.iterator(),
+            new BatchJobUploadStatus(0, URI.create("http://www.example.com")),
+            checkpoint);
+
+    verify(uploadedRequest, never()).createBatchJobUploadBodyProvider();
+    assertEquals("Should have made two requests", 2, requests.size());
+    assertEquals(
+        "Status request range is incorrect",
+        "bytes */" + 2 * uploadedLength,
+        requests.get(0).getFirstHeaderValue("Content-Range"));
+    assertEquals(
+        "Second request body is incorrect",
+        Strings.padEnd("second</mutate>", BatchJobUploader.REQUIRED_CONTENT_LENGTH_INCREMENT, ' '),
+        requests.get(1).getContentAsString());
+    assertEquals("Request should have succeeded", 200, response.getHttpStatus());
+    assertNull("Checkpoint should have been deleted", checkpoint.read());
+  }
+
+  /** Tests parsing the {@code Range} header of responses to upload status requests. */
+  @Test
+  public void testParseReceivedTotalLength() throws Exception {
+    assertEquals(0, BatchJobUploader.parseReceivedTotalLength(null));
+    assertEquals(100, BatchJobUploader.parseReceivedTotalLength("bytes=0-99"));
+
+    thrown.expect(IOException.class);
+    BatchJobUploader.parseReceivedTotalLength("bytes=10-99");
+  }
+
+  /**
+   * Returns a transport that adds its requests to {@code requests}, and answers them with {@code
+   * responses} in order. {@link IOException}s in {@code responses} are thrown instead.
+   */
+  private static MockHttpTransport createTransport(
+      final List<MockLowLevelHttpRequest> requests, Object... responses) {
+    final Deque<Object> remainingResponses = new ArrayDeque<>(Arrays.asList(responses));
+    return new MockHttpTransport() {
+      @Override
+      public LowLevelHttpRequest buildRequest(String method, String url) {
+        MockLowLevelHttpRequest lowLevelHttpRequest =
+            new MockLowLevelHttpRequest(url) {
+              @Override
+              public LowLevelHttpResponse execute() throws IOException {
+                Object response = remainingResponses.remove();
+                if (response instanceof IOException) {
+                  throw (IOException) response;
+                }
+                return (LowLevelHttpResponse) response;
+              }
+            };
+        requests.add(lowLevelHttpRequest);
+        return lowLevelHttpRequest;
+      }
+    };
+  }
+
+  private BatchJobMutateRequestInterface mockRequest(
+      String body, boolean isFirstRequest, boolean isLastRequest) throws BatchJobException {
+    BatchJobMutateRequestInterface mockRequest = mock(BatchJobMutateRequestInterface.class);
+    BatchJobUploadBodyProvider mockUploadBodyProvider = mock(BatchJobUploadBodyProvider.class);
+    when(mockRequest.createBatchJobUploadBodyProvider()).thenReturn(mockUploadBodyProvider);
+    when(mockUploadBodyProvider.getHttpContent(mockRequest, isFirstRequest, isLastRequest))
+        .thenReturn(new ByteArrayContent(null, body.getBytes(UTF_8)));
+    return mockRequest;
+  }
+
   @Test
   public void testConstructContentRangeHeaderValue_notLast_nonZeroLength_zeroPrevious() {
     BatchJobUploadStatus status = new BatchJobUploadStatus(0, null);
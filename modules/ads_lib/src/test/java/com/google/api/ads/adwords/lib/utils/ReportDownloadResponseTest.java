@@ -15,6 +15,7 @@
 package com.google.api.ads.adwords.lib.utils;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import com.google.api.ads.common.lib.utils.Streams;
@@ -24,7 +25,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.net.HttpURLConnection;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.zip.GZIPOutputStream;
 import org.junit.Rule;
 import org.junit.Test;
@@ -112,6 +117,103 @@ public class ReportDownloadResponseTest {
         Streams.readAll(new FileInputStream(outputFile), UTF_8));
   }
 
+  /**
+   * Test method for
+   * {@link com.google.api.ads.adwords.lib.utils.ReportDownloadResponse#transferTo(FileChannel)}
+   * when the channel already has contents.
+   */
+  @Test
+  public void testTransferTo_appends() throws IOException {
+    File outputFile = tempFolder.newFile("ReportOutput.csv");
+    String expectedContents = "a,b,c\nd,e,f\n";
+    RawReportDownloadResponse rawResponse = new RawReportDownloadResponse(HttpURLConnection.HTTP_OK,
+        new ByteArrayInputStream(expectedContents.getBytes(UTF_8)), UTF_8, "CSV");
+    ReportDownloadResponse response = new ReportDownloadResponse(rawResponse);
+
+    try (RandomAccessFile file = new RandomAccessFile(outputFile, "rw")) {
+      FileChannel fileChannel = file.getChannel();
+      file.write("header\n".getBytes(UTF_8));
+      long transferred = response.transferTo(fileChannel);
+      assertEquals("bytes transferred are incorrect", expectedContents.length(), transferred);
+      assertEquals("channel position is incorrect", 7 + expectedContents.length(),
+          fileChannel.position());
+    }
+    assertEquals("contents transferred to file are incorrect", "header\n" + expectedContents,
+        Streams.readAll(new FileInputStream(outputFile), UTF_8));
+  }
+
+  /**
+   * Test method for
+   * {@link ReportDownloadResponse#processRows(ReportRowHandler)} for CSV.
+   */
+  @Test
+  public void testProcessRows_csv() throws IOException {
+    String contents = "a,\"b,1\",c\nd,e,f\n";
+    RawReportDownloadResponse rawResponse = new RawReportDownloadResponse(HttpURLConnection.HTTP_OK,
+        new ByteArrayInputStream(contents.getBytes(UTF_8)), UTF_8, "CSV");
+
+    List<String[]> rows = new ArrayList<>();
+    long rowCount = new ReportDownloadResponse(rawResponse).processRows(
+        (row, rowNumber) -> {
+          assertEquals("row number is incorrect", rows.size() + 1, rowNumber);
+          rows.add(row);
+        });
+
+    assertEquals(2, rowCount);
+    assertArrayEquals(new String[] {"a", "b,1", "c"}, rows.get(0));
+    assertArrayEquals(new String[] {"d", "e", "f"}, rows.get(1));
+  }
+
+  /**
+   * Test method for
+   * {@link ReportDownloadResponse#processRows(ReportRowHandler)} when response data is compressed.
+   */
+  @Test
+  public void testProcessRows_gzippedCsv() throws IOException {
+    ByteArrayOutputStream zippedBytesOut = new ByteArrayOutputStream();
+    Streams.copy(new ByteArrayInputStream("a,b,c\nd,e,f\n".getBytes(UTF_8)),
+        new GZIPOutputStream(zippedBytesOut));
+    RawReportDownloadResponse rawResponse = new RawReportDownloadResponse(HttpURLConnection.HTTP_OK,
+        new ByteArrayInputStream(zippedBytesOut.toByteArray()), UTF_8, "GZIPPED_CSV");
+
+    List<String[]> rows = new ArrayList<>();
+    new ReportDownloadResponse(rawResponse).processRows((row, rowNumber) -> rows.add(row));
+
+    assertEquals(2, rows.size());
+    assertArrayEquals(new String[] {"d", "e", "f"}, rows.get(1));
+  }
+
+  /**
+   * Test method for
+   * {@link ReportDownloadResponse#processRows(ReportRowHandler)} for TSV, where quotes are not
+   * special.
+   */
+  @Test
+  public void testProcessRows_tsv() throws IOException {
+    String contents = "a\t\"b\tc\nd,e\tf\tg\n";
+    RawReportDownloadResponse rawResponse = new RawReportDownloadResponse(HttpURLConnection.HTTP_OK,
+        new ByteArrayInputStream(contents.getBytes(UTF_8)), UTF_8, "TSV");
+
+    List<String[]> rows = new ArrayList<>();
+    new ReportDownloadResponse(rawResponse).processRows((row, rowNumber) -> rows.add(row));
+
+    assertEquals(2, rows.size());
+    assertArrayEquals(new String[] {"a", "\"b", "c"}, rows.get(0));
+    assertArrayEquals(new String[] {"d,e", "f", "g"}, rows.get(1));
+  }
+
+  /**
+   * Test method for
+   * {@link ReportDownloadResponse#processRows(ReportRowHandler)} for XML, which is not supported.
+   */
+  @Test
+  public void testProcessRows_xml_fails() throws IOException {
+    RawReportDownloadResponse rawResponse = new RawReportDownloadResponse(HttpURLConnection.HTTP_OK,
+        new ByteArrayInputStream("<report/>".getBytes(UTF_8)), UTF_8, "XML");
+    thrown.expect(IllegalStateException.class);
+    new ReportDownloadResponse(rawResponse).processRows((row, rowNumber) -> {});
+  }
+
   @Test
   public void testFailedResponse_fails() {
     RawReportDownloadResponse rawResponse = new RawReportDownloadResponse(
@@ -233,6 +233,39 @@ public class ReportRequestFactoryHelperTest {
     }
   }
 
+  /** Tests the factory sets the client customer ID passed in instead of the session's. */
+  @Test
+  public void testGetHttpRequestFactory_clientCustomerId()
+      throws ValidationException, AuthenticationException, IOException {
+    AdWordsSession session =
+        new AdWordsSession.Builder()
+            .withDeveloperToken("foodevtoken")
+            .withClientCustomerId("fooclientcustomerid")
+            .withOAuth2Credential(credential)
+            .withUserAgent("userAgent")
+            .withReportingConfiguration(reportingConfiguration)
+            .build();
+    when(authorizationHeaderProvider.getAuthorizationHeader(session, ENDPOINT_URL.build()))
+        .thenReturn("fooauthheader");
+    when(userAgentCombiner.getUserAgent(anyString())).thenReturn("foouseragent");
+    ReportRequestFactoryHelper helper =
+        new ReportRequestFactoryHelper(
+            session,
+            authorizationHeaderProvider,
+            userAgentCombiner,
+            transport,
+            adWordsLibConfiguration,
+            reportResponseInterceptor);
+    HttpRequestFactory requestFactory =
+        helper.getHttpRequestFactory(ENDPOINT_URL.build(), version, "barclientcustomerid");
+
+    HttpRequest request =
+        requestFactory.buildPostRequest(
+            ENDPOINT_URL, new AwqlReportBodyProvider("select 1", "csv").getHttpContent());
+    assertEquals("barclientcustomerid", request.getHeaders().get("clientCustomerId"));
+    assertEquals("fooauthheader", request.getHeaders().getAuthorization());
+  }
+
   /** @return {@code null} if {@code bool == null}, else returns {@code toString} result. */
   private String toStringBoolean(@Nullable Boolean bool) {
     return bool == null ? null : Boolean.toString(bool);
@@ -18,9 +18,11 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -115,6 +117,16 @@ public class BatchJobLoggerTest {
         returnCaptor.getValue());
   }
 
+  /** Confirms upload contents are loggable exactly when request details are. */
+  @Test
+  public void testIsUploadContentsLoggable() {
+    boolean isSuccess = exception == null;
+    when(loggerDelegate.isDetailsLoggable(isSuccess)).thenReturn(true);
+    assertTrue(batchJobLogger.isUploadContentsLoggable(isSuccess));
+    when(loggerDelegate.isDetailsLoggable(isSuccess)).thenReturn(false);
+    assertFalse(batchJobLogger.isUploadContentsLoggable(isSuccess));
+  }
+
   /**
    * Confirms that passing {@code null} to {@code logUpload} for parameters marked {@code Nullable}
    * does not result in any exceptions.
@@ -195,4 +207,23 @@ public class BatchJobLoggerTest {
         capturedReturn,
         returnCaptor.getValue());
   }
+
+  /** Confirms that a streamed download is logged without a results count. */
+  @Test
+  public void testLogStreamedDownload() {
+    batchJobLogger.logStreamedDownload(url);
+    ArgumentCaptor<RemoteCallReturn> returnCaptor = ArgumentCaptor.forClass(RemoteCallReturn.class);
+    verify(loggerDelegate).logRequestSummary(returnCaptor.capture());
+    RemoteCallReturn capturedReturn = returnCaptor.getValue();
+
+    assertNull(capturedReturn.getException());
+    assertEquals(url, capturedReturn.getRequestInfo().getUrl());
+    assertEquals("Results streamed", capturedReturn.getResponseInfo().getPayload());
+
+    verify(loggerDelegate).logRequestDetails(returnCaptor.capture());
+    assertSame(
+        "The same RemoteCallReturn object was not passed to request details and request summary",
+        capturedReturn,
+        returnCaptor.getValue());
+  }
 }
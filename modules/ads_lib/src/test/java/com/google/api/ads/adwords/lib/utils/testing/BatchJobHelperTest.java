@@ -15,8 +15,10 @@
 package com.google.api.ads.adwords.lib.utils.testing;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
 
 import com.google.api.ads.adwords.lib.client.AdWordsSession;
@@ -25,24 +27,29 @@ import com.google.api.ads.adwords.lib.utils.BatchJobHelperInterface;
 import com.google.api.ads.adwords.lib.utils.BatchJobMutateRequestInterface;
 import com.google.api.ads.adwords.lib.utils.BatchJobMutateResponseInterface;
 import com.google.api.ads.adwords.lib.utils.BatchJobMutateResultInterface;
+import com.google.api.ads.adwords.lib.utils.BatchJobMutateResultIterator;
+import com.google.api.ads.adwords.lib.utils.BatchJobUploadCheckpoint;
 import com.google.api.ads.adwords.lib.utils.BatchJobUploadStatus;
 import com.google.api.ads.adwords.lib.utils.BatchJobUploader;
 import com.google.api.ads.adwords.lib.utils.logging.BatchJobLogger;
 import com.google.api.ads.common.lib.utils.AdsUtilityRegistry;
 import com.google.api.ads.common.lib.utils.Streams;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -119,6 +126,66 @@ public abstract class BatchJobHelperTest<
     }
   }
 
+  /**
+   * Verifies that the iterator returns each result in order, and closes the download after the
+   * last one.
+   */
+  @Test
+  public void testIterateBatchJobMutateResults() throws BatchJobException, IOException {
+    String response = String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<mutateResponse xmlns=\"https://adwords.google.com/api/adwords/cm/%s\">"
+        + "  <rval>"
+        + "    <result>"
+        + "      <Campaign>"
+        + "        <id>%d</id>"
+        + "        <status>PAUSED</status>"
+        + "      </Campaign>"
+        + "    </result>"
+        + "    <index>0</index>"
+        + "  </rval>"
+        + "  <rval>"
+        + "    <errorList/>"
+        + "    <index>1</index>"
+        + "  </rval>"
+        + "</mutateResponse>", getVersion(), TEST_CAMPAIGN_ID);
+    File tempFile = tempFolder.newFile();
+    OutputStream responseOutputStream = new FileOutputStream(tempFile);
+    Streams.write(response, responseOutputStream, StandardCharsets.UTF_8);
+
+    BatchJobMutateResultIterator<ResultT> results =
+        batchJobHelper.iterateBatchJobMutateResults(tempFile.toURI().toURL().toString());
+    assertTrue("Missing first result", results.hasNext());
+    ResultT firstResult = results.next();
+    assertEquals(Long.valueOf(0), firstResult.getIndex());
+    assertNotNull("Operand of first result is null", firstResult.getOperand());
+    assertNull("Error list of first result is not null", firstResult.getErrorList());
+    assertTrue("Missing second result", results.hasNext());
+    ResultT secondResult = results.next();
+    assertEquals(Long.valueOf(1), secondResult.getIndex());
+    assertNull("Operand of second result is not null", secondResult.getOperand());
+    assertNotNull("Error list of second result is null", secondResult.getErrorList());
+    assertFalse("Unexpected third result", results.hasNext());
+    results.close();
+  }
+
+  /**
+   * Verifies that the iterator handles the case where the response does not contain any results.
+   */
+  @Test
+  public void testIterateBatchJobMutateResults_emptyResponse()
+      throws BatchJobException, IOException {
+    String noResultsResponse = String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<mutateResponse xmlns=\"https://adwords.google.com/api/adwords/cm/%s\">"
+        + "</mutateResponse>", getVersion());
+    File tempFile = tempFolder.newFile();
+    OutputStream responseOutputStream = new FileOutputStream(tempFile);
+    Streams.write(noResultsResponse, responseOutputStream, StandardCharsets.UTF_8);
+
+    BatchJobMutateResultIterator<ResultT> results =
+        batchJobHelper.iterateBatchJobMutateResults(tempFile.toURI().toURL().toString());
+    assertFalse("Unexpected result", results.hasNext());
+  }
+
   @Test
   public void testUploadBatchJobOperations() throws BatchJobException {
     BatchJobUploadStatus status = new BatchJobUploadStatus(0L, URI.create(UPLOAD_URL));
@@ -149,6 +216,24 @@ public abstract class BatchJobHelperTest<
         .uploadIncrementalBatchJobOperations(
             Matchers.<BatchJobMutateRequestInterface>any(), Matchers.eq(true), Matchers.eq(status));
   }
+  /** Tests that each chunk of operations is uploaded as one request. */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  @Test
+  public void testUploadBatchJobOperationChunks() throws BatchJobException {
+    BatchJobUploadStatus status = new BatchJobUploadStatus(0L, URI.create(UPLOAD_URL));
+    BatchJobUploadCheckpoint checkpoint =
+        new BatchJobUploadCheckpoint(tempFolder.getRoot().toPath().resolve("checkpoint"));
+    batchJobHelper.uploadBatchJobOperationChunks(
+        ImmutableList.of(operations, operations), status, checkpoint);
+
+    ArgumentCaptor<Iterator> requestsCaptor = ArgumentCaptor.forClass(Iterator.class);
+    verify(uploader)
+        .uploadIncrementalBatchJobOperations(
+            requestsCaptor.capture(), Matchers.eq(status), Matchers.eq(checkpoint));
+    assertEquals(
+        "Should upload one request per chunk", 2, Iterators.size(requestsCaptor.getValue()));
+  }
+
 
   /**
    * Returns the {@link BatchJobHelperInterface} for this test's version and SOAP toolkit.
@@ -0,0 +1,185 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.adwords.lib.utils.v201809;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.api.ads.adwords.lib.jaxb.v201809.DownloadFormat;
+import com.google.api.ads.adwords.lib.utils.AdHocReportDownloadHelperInterface;
+import com.google.api.ads.adwords.lib.utils.RawReportDownloadResponse;
+import com.google.api.ads.adwords.lib.utils.ReportDownloadResponse;
+import com.google.api.ads.adwords.lib.utils.ReportDownloadResponseException;
+import com.google.api.ads.adwords.lib.utils.ReportException;
+import com.google.api.ads.adwords.lib.utils.ReportRequest;
+import com.google.api.ads.common.lib.utils.Streams;
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link MultipleClientReportDownloader}.
+ */
+@RunWith(JUnit4.class)
+public class MultipleClientReportDownloaderTest {
+
+  private static final String AWQL_REQUEST = "SELECT CampaignId, Impressions "
+      + "FROM CAMPAIGN_PERFORMANCE_REPORT DURING THIS_MONTH";
+
+  private static final String FAILING_CLIENT_CUSTOMER_ID = "333-333-3333";
+
+  @Rule public ExpectedException thrown = ExpectedException.none();
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private AdHocReportDownloadHelperInterface reportDownloadHelper;
+  /** The requests passed to the report download helper, keyed by client customer ID. */
+  private Map<String, ReportRequest> clientRequests;
+  private AtomicInteger concurrentDownloads;
+  private AtomicInteger maxConcurrentDownloads;
+
+  @Before
+  public void setUp() throws ReportException, ReportDownloadResponseException {
+    clientRequests = new ConcurrentHashMap<String, ReportRequest>();
+    concurrentDownloads = new AtomicInteger();
+    maxConcurrentDownloads = new AtomicInteger();
+    reportDownloadHelper = mock(AdHocReportDownloadHelperInterface.class);
+    when(reportDownloadHelper.downloadReport(
+            any(ReportRequest.class), any(DetailedReportDownloadResponseException.Builder.class)))
+        .thenAnswer(invocation -> downloadReport((ReportRequest) invocation.getArguments()[0]));
+  }
+
+  /**
+   * Returns the client customer ID as the report contents, or fails for
+   * {@link #FAILING_CLIENT_CUSTOMER_ID}.
+   */
+  private ReportDownloadResponse downloadReport(ReportRequest reportRequest)
+      throws ReportDownloadResponseException, InterruptedException {
+    String clientCustomerId = reportRequest.getClientCustomerId();
+    clientRequests.put(clientCustomerId, reportRequest);
+    if (FAILING_CLIENT_CUSTOMER_ID.equals(clientCustomerId)) {
+      throw new DetailedReportDownloadResponseException.Builder()
+          .build(HttpURLConnection.HTTP_BAD_REQUEST, "error");
+    }
+    int current = concurrentDownloads.incrementAndGet();
+    maxConcurrentDownloads.accumulateAndGet(current, Math::max);
+    Thread.sleep(10);
+    concurrentDownloads.decrementAndGet();
+    return new ReportDownloadResponse(
+        new RawReportDownloadResponse(HttpURLConnection.HTTP_OK,
+            new ByteArrayInputStream(clientCustomerId.getBytes(UTF_8)), UTF_8, "CSV"));
+  }
+
+  /**
+   * Tests that each client's report is requested for its own client customer ID through the same
+   * report download helper and saved to its own file,
+   * and that a failure for one client is recorded without affecting the others.
+   */
+  @Test
+  public void testDownloadReport_toDirectory() throws Exception {
+    List<String> clientCustomerIds =
+        ImmutableList.of("123-456-7890", FAILING_CLIENT_CUSTOMER_ID, "987-654-3210");
+    File directory = tempFolder.newFolder();
+
+    MultipleClientReportDownloadResult result =
+        new MultipleClientReportDownloader(reportDownloadHelper, 2)
+            .downloadReport(AWQL_REQUEST, DownloadFormat.CSV, clientCustomerIds,
+                ClientReportDownloadSink.toDirectory(directory, "csv"));
+
+    assertEquals(2, result.getSuccessCount());
+    assertEquals(1, result.getFailureCount());
+    assertEquals(3, result.getResults().size());
+    for (int i = 0; i < clientCustomerIds.size(); i++) {
+      assertEquals("Results should be in input order",
+          clientCustomerIds.get(i), result.getResults().get(i).getClientCustomerId());
+    }
+    ClientReportDownloadResult failedResult = result.getFailedResults().get(0);
+    assertEquals(FAILING_CLIENT_CUSTOMER_ID, failedResult.getClientCustomerId());
+    assertTrue(failedResult.getException() instanceof ReportDownloadResponseException);
+    assertEquals(1, result.getFailureCountsByType().values().iterator().next().intValue());
+
+    for (String clientCustomerId : ImmutableList.of("123-456-7890", "987-654-3210")) {
+      assertEquals(clientCustomerId, Streams.readAll(
+          new FileInputStream(new File(directory, clientCustomerId + ".csv")), UTF_8));
+      ReportRequest clientRequest = clientRequests.get(clientCustomerId);
+      assertEquals(AWQL_REQUEST, clientRequest.getReportRequestString());
+      assertEquals(DownloadFormat.CSV, clientRequest.getDownloadFormat());
+    }
+    assertFalse(new File(directory, FAILING_CLIENT_CUSTOMER_ID + ".csv").exists());
+  }
+
+  /**
+   * Tests that no more than the maximum number of downloads run at a time.
+   */
+  @Test
+  public void testDownloadReport_boundedConcurrency() throws Exception {
+    ImmutableList.Builder<String> clientCustomerIds = ImmutableList.builder();
+    for (int i = 0; i < 20; i++) {
+      clientCustomerIds.add("100-000-" + (1000 + i));
+    }
+
+    MultipleClientReportDownloadResult result =
+        new MultipleClientReportDownloader(reportDownloadHelper, 3)
+            .downloadReport(AWQL_REQUEST, DownloadFormat.CSV, clientCustomerIds.build(),
+                (clientCustomerId, response) -> response.getAsString());
+
+    assertEquals(20, result.getSuccessCount());
+    assertTrue("Too many concurrent downloads: " + maxConcurrentDownloads.get(),
+        maxConcurrentDownloads.get() <= 3);
+    assertTrue(result.getLatencyPercentile(50, TimeUnit.NANOSECONDS)
+        <= result.getMaxLatency(TimeUnit.NANOSECONDS));
+  }
+
+  /**
+   * Tests that a sink failure is recorded as a failed download.
+   */
+  @Test
+  public void testDownloadReport_sinkFailure() throws Exception {
+    MultipleClientReportDownloadResult result =
+        new MultipleClientReportDownloader(reportDownloadHelper, 1)
+            .downloadReport(AWQL_REQUEST, DownloadFormat.CSV, ImmutableList.of("123-456-7890"),
+                (clientCustomerId, response) -> {
+                  throw new IOException("Disk full");
+                });
+
+    assertEquals(1, result.getFailureCount());
+    assertEquals(1, result.getFailureCountsByType().get("IOException").intValue());
+  }
+
+  @Test
+  public void testConstructor_invalidMaxConcurrentDownloads() {
+    thrown.expect(IllegalArgumentException.class);
+    new MultipleClientReportDownloader(reportDownloadHelper, 0);
+  }
+}
@@ -43,6 +43,7 @@ public class AuthorizationHeaderProviderTest {
   @Mock private OAuth2AuthorizationHeaderProvider oAuth2AuthorizationHeaderProvider;
   @Mock private AdsLibConfiguration adsLibConfiguration;
   @Mock private OAuth2Helper oAuth2Helper;
+  @Mock private OAuth2TokenCache oAuth2TokenCache;
 
   private static final GenericUrl ENDPOINT_URL = new GenericUrl("https://google.com/api/service");
 
@@ -51,7 +52,7 @@ public class AuthorizationHeaderProviderTest {
     MockitoAnnotations.initMocks(this);
 
     authorizationHeaderProvider = new AuthorizationHeaderProvider(
-        oAuth2AuthorizationHeaderProvider, adsLibConfiguration, oAuth2Helper);
+        oAuth2AuthorizationHeaderProvider, adsLibConfiguration, oAuth2Helper, oAuth2TokenCache);
   }
 
   @Test
@@ -67,6 +68,22 @@ public class AuthorizationHeaderProviderTest {
         authorizationHeaderProvider.getAuthorizationHeader(adsSession, ENDPOINT_URL.toString()));
 
     verify(oAuth2Helper).refreshCredential(credential);
+    verify(oAuth2TokenCache, times(0)).getAuthorizationHeader(adsSession);
+  }
+
+  @Test
+  public void testGetAuthorizationHeader_oAuth2TokenCache() throws Exception {
+    final Credential credential = new Credential(BearerToken.authorizationHeaderAccessMethod());
+    OAuth2Session adsSession = () -> credential;
+
+    when(oAuth2TokenCache.getAuthorizationHeader(adsSession)).thenReturn("Cached Header");
+    when(adsLibConfiguration.isAutoRefreshOAuth2TokenEnabled()).thenReturn(true);
+    when(adsLibConfiguration.isOAuth2TokenCacheEnabled()).thenReturn(true);
+
+    assertEquals("Cached Header",
+        authorizationHeaderProvider.getAuthorizationHeader(adsSession, ENDPOINT_URL.toString()));
+
+    verify(oAuth2Helper, times(0)).refreshCredential(credential);
   }
 
   @Test
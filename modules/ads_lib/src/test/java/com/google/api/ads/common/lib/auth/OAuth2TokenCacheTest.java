@@ -0,0 +1,189 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.auth;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.api.ads.common.lib.exception.OAuthException;
+import com.google.api.client.auth.oauth2.BearerToken;
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.util.Clock;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.Matchers;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+
+/**
+ * Tests for {@link OAuth2TokenCache}.
+ */
+@RunWith(JUnit4.class)
+public class OAuth2TokenCacheTest {
+
+  private static final long TOKEN_LIFETIME_SECONDS = 3600;
+  private static final long REFRESH_WINDOW_SECONDS = 60;
+
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  @Mock private OAuth2Helper oAuth2Helper;
+  @Mock private Logger libLogger;
+
+  private long currentTimeMillis;
+  private Credential credential;
+  private OAuth2Compatible oAuth2Compatible;
+  private AtomicInteger tokenCount;
+  /** Background refreshes that have been submitted but not yet run. */
+  private List<Runnable> pendingRefreshes;
+
+  @Before
+  public void setUp() throws IOException {
+    MockitoAnnotations.initMocks(this);
+    currentTimeMillis = 1000000L;
+    Clock clock = () -> currentTimeMillis;
+    credential = new Credential.Builder(BearerToken.authorizationHeaderAccessMethod())
+        .setClock(clock)
+        .build();
+    oAuth2Compatible = () -> credential;
+    tokenCount = new AtomicInteger();
+    pendingRefreshes = new ArrayList<Runnable>();
+
+    when(oAuth2Helper.callRefreshToken(credential)).thenAnswer(invocation -> {
+      issueToken();
+      return true;
+    });
+    when(oAuth2Helper.refreshCredential(credential)).thenAnswer(invocation -> {
+      if (credential.getAccessToken() == null
+          || credential.getExpiresInSeconds() <= REFRESH_WINDOW_SECONDS) {
+        issueToken();
+      }
+      return credential;
+    });
+  }
+
+  private void issueToken() {
+    credential.setAccessToken("token" + tokenCount.incrementAndGet());
+    credential.setExpiresInSeconds(TOKEN_LIFETIME_SECONDS);
+  }
+
+  private OAuth2TokenCache createCache(Executor refreshExecutor) {
+    return new OAuth2TokenCache(oAuth2Helper, new OAuth2AuthorizationHeaderProvider(),
+        REFRESH_WINDOW_SECONDS, libLogger, () -> currentTimeMillis, refreshExecutor);
+  }
+
+  private void advanceSeconds(long seconds) {
+    currentTimeMillis += seconds * 1000;
+  }
+
+  /**
+   * Tests that the token is fetched on first use and then served from the cache.
+   */
+  @Test
+  public void testGetAuthorizationHeader_cached() throws Exception {
+    OAuth2TokenCache cache = createCache(pendingRefreshes::add);
+
+    assertEquals("Bearer token1", cache.getAuthorizationHeader(oAuth2Compatible));
+    advanceSeconds(60);
+    assertEquals("Bearer token1", cache.getAuthorizationHeader(oAuth2Compatible));
+
+    verify(oAuth2Helper, times(1)).refreshCredential(credential);
+    assertEquals(1, cache.getRefreshCount());
+    assertEquals(0, cache.getStaleServeCount());
+    assertEquals(0, pendingRefreshes.size());
+  }
+
+  /**
+   * Tests that once most of the token's lifetime has passed, requests are served the current
+   * token while a single refresh runs in the background.
+   */
+  @Test
+  public void testGetAuthorizationHeader_backgroundRefresh() throws Exception {
+    OAuth2TokenCache cache = createCache(pendingRefreshes::add);
+    cache.getAuthorizationHeader(oAuth2Compatible);
+    advanceSeconds((long) (TOKEN_LIFETIME_SECONDS * OAuth2TokenCache.REFRESH_FRACTION));
+
+    assertEquals("Bearer token1", cache.getAuthorizationHeader(oAuth2Compatible));
+    assertEquals("Bearer token1", cache.getAuthorizationHeader(oAuth2Compatible));
+    assertEquals("Only one refresh should be started", 1, pendingRefreshes.size());
+    assertEquals(2, cache.getStaleServeCount());
+
+    pendingRefreshes.get(0).run();
+    assertEquals("Bearer token2", cache.getAuthorizationHeader(oAuth2Compatible));
+    verify(oAuth2Helper, times(1)).callRefreshToken(credential);
+    assertEquals(2, cache.getRefreshCount());
+  }
+
+  /**
+   * Tests that requests wait for a refresh once the token is within the refresh window.
+   */
+  @Test
+  public void testGetAuthorizationHeader_expired() throws Exception {
+    OAuth2TokenCache cache = createCache(pendingRefreshes::add);
+    cache.getAuthorizationHeader(oAuth2Compatible);
+    advanceSeconds(TOKEN_LIFETIME_SECONDS - REFRESH_WINDOW_SECONDS);
+
+    assertEquals("Bearer token2", cache.getAuthorizationHeader(oAuth2Compatible));
+    verify(oAuth2Helper, times(2)).refreshCredential(credential);
+    verify(oAuth2Helper, never()).callRefreshToken(credential);
+  }
+
+  /**
+   * Tests that a failed background refresh keeps serving the current token, and is retried after
+   * a delay.
+   */
+  @Test
+  public void testGetAuthorizationHeader_backgroundRefreshFailure() throws Exception {
+    OAuth2TokenCache cache = createCache(Runnable::run);
+    cache.getAuthorizationHeader(oAuth2Compatible);
+    advanceSeconds((long) (TOKEN_LIFETIME_SECONDS * OAuth2TokenCache.REFRESH_FRACTION));
+    when(oAuth2Helper.callRefreshToken(credential)).thenThrow(new IOException("Unavailable"));
+
+    assertEquals("Bearer token1", cache.getAuthorizationHeader(oAuth2Compatible));
+    assertEquals("Bearer token1", cache.getAuthorizationHeader(oAuth2Compatible));
+    verify(oAuth2Helper, times(1)).callRefreshToken(credential);
+    assertEquals(1, cache.getRefreshFailureCount());
+
+    advanceSeconds(OAuth2TokenCache.RETRY_DELAY_MILLIS / 1000);
+    cache.getAuthorizationHeader(oAuth2Compatible);
+    verify(oAuth2Helper, times(2)).callRefreshToken(credential);
+  }
+
+  /**
+   * Tests that a failed refresh that a request waited for throws an {@link OAuthException}.
+   */
+  @Test
+  public void testGetAuthorizationHeader_refreshFailure() throws Exception {
+    OAuth2TokenCache cache = createCache(pendingRefreshes::add);
+    IOException cause = new IOException("Unavailable");
+    when(oAuth2Helper.refreshCredential(credential)).thenThrow(cause);
+
+    thrown.expect(OAuthException.class);
+    thrown.expectCause(Matchers.sameInstance(cause));
+    cache.getAuthorizationHeader(oAuth2Compatible);
+  }
+}
@@ -25,6 +25,7 @@ import com.google.api.ads.common.lib.auth.OfflineCredentials.ForApiBuilder;
 import com.google.api.ads.common.lib.conf.ConfigurationHelper;
 import com.google.api.ads.common.lib.exception.OAuthException;
 import com.google.api.ads.common.lib.exception.ValidationException;
+import com.google.api.ads.common.lib.utils.HttpTransportPool;
 import com.google.api.client.auth.oauth2.ClientParametersAuthentication;
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.http.HttpTransport;
@@ -158,6 +159,27 @@ public class OfflineCredentialsTest {
     assertEquals("refreshToken", offlineCredentials.getRefreshToken());
   }
   
+  /**
+   * Tests that the builder uses the shared connection pool if one is configured.
+   */
+  @Test
+  public void testReadPropertiesFromConfiguration_httpConnectionPool() throws ValidationException {
+    PropertiesConfiguration config = new PropertiesConfiguration();
+    config.setProperty("api.adwords.clientId", "clientId");
+    config.setProperty("api.adwords.clientSecret", "clientSecret");
+    config.setProperty("api.adwords.refreshToken", "refreshToken");
+    config.setProperty("api.adwords.httpConnectionPoolMaxTotal", "7");
+    config.setProperty("api.adwords.httpConnectionPoolIdleTimeout", "5000");
+
+    OfflineCredentials offlineCredentials = new OfflineCredentials.Builder()
+        .forApi(OfflineCredentials.Api.ADWORDS)
+        .from(config)
+        .build();
+
+    assertSame(HttpTransportPool.getShared(7, 7, 5000L).getHttpTransport(),
+        offlineCredentials.getHttpTransport());
+  }
+
   /**
    * Tests that the builder correctly reads properties from a configuration.
    */
@@ -0,0 +1,137 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.rmi.RemoteException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link AsyncService}.
+ */
+@RunWith(JUnit4.class)
+public class AsyncServiceTest {
+
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  private RemoteException apiException;
+  private TestServiceInterface service;
+
+  /** A blocking service interface, as generated for an API service. */
+  public interface TestServiceInterface {
+    String get(String selector) throws RemoteException;
+  }
+
+  /** The asynchronous counterpart of {@link TestServiceInterface}. */
+  public interface AsyncTestServiceInterface {
+    CompletableFuture<String> get(String selector);
+  }
+
+  /** An asynchronous interface with no matching service method. */
+  public interface MismatchedAsyncServiceInterface {
+    CompletableFuture<String> mutate(String operation);
+  }
+
+  @Before
+  public void setUp() {
+    apiException = new RemoteException("API error");
+    // Like service clients, a proxy that throws the unwrapped exception of the remote call.
+    InvocationHandler invocationHandler = (proxy, method, args) -> {
+      if ("fail".equals(args[0])) {
+        throw apiException;
+      }
+      return "page:" + args[0];
+    };
+    service = (TestServiceInterface) Proxy.newProxyInstance(
+        TestServiceInterface.class.getClassLoader(),
+        new Class<?>[] {TestServiceInterface.class},
+        invocationHandler);
+  }
+
+  /**
+   * Tests that a call completes with the service client's result.
+   */
+  @Test
+  public void testCall() throws Exception {
+    CompletableFuture<String> future = AsyncService.of(service).call(s -> s.get("selector"));
+    assertEquals("page:selector", future.get());
+  }
+
+  /**
+   * Tests that a failed call completes exceptionally with the exception the blocking call throws.
+   */
+  @Test
+  public void testCall_failure() throws Exception {
+    CompletableFuture<String> future =
+        AsyncService.of(service, Runnable::run).call(s -> s.get("fail"));
+    try {
+      future.get();
+      fail("Expected ExecutionException");
+    } catch (ExecutionException e) {
+      assertSame(apiException, e.getCause());
+    }
+  }
+
+  /**
+   * Tests that the proxy of an asynchronous interface calls the matching service method.
+   */
+  @Test
+  public void testAs() throws Exception {
+    AsyncTestServiceInterface asyncService =
+        AsyncService.of(service).as(AsyncTestServiceInterface.class);
+    assertEquals("page:selector", asyncService.get("selector").get());
+    assertNotNull(asyncService.toString());
+  }
+
+  /**
+   * Tests that exceptions of the service method are not wrapped in reflection exceptions.
+   */
+  @Test
+  public void testAs_failure() throws Exception {
+    AsyncTestServiceInterface asyncService =
+        AsyncService.of(service, Runnable::run).as(AsyncTestServiceInterface.class);
+    try {
+      asyncService.get("fail").get();
+      fail("Expected ExecutionException");
+    } catch (ExecutionException e) {
+      assertSame(apiException, e.getCause());
+    }
+  }
+
+  @Test
+  public void testAs_noMatchingMethod() {
+    thrown.expect(IllegalArgumentException.class);
+    AsyncService.of(service).as(MismatchedAsyncServiceInterface.class);
+  }
+
+  @Test
+  public void testAs_notCompletableFuture() {
+    thrown.expect(IllegalArgumentException.class);
+    AsyncService.of(service).as(TestServiceInterface.class);
+  }
+}
@@ -15,7 +15,11 @@
 package com.google.api.ads.common.lib.factory;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.api.ads.common.lib.client.AdsServiceClient;
@@ -100,6 +104,58 @@ public class AdsServiceClientFactoryTest {
     assertNotNull("Null mock interface returned from getServiceClient", mockSoapClientInterface);
   }
 
+  /**
+   * Test that verifies that the service descriptor is only created once per interface class, while
+   * each call to getServiceClient still returns a new service client.
+   */
+  @Test
+  public void testGetServiceClient_descriptorCached() {
+    String version = "v1.1";
+
+    when(adsServiceClientFactoryHelper.determineVersion(MockSoapClientInterface.class))
+        .thenReturn(version);
+    when(
+        adsServiceClientFactoryHelper.createServiceDescriptor(
+            MockSoapClientInterface.class, version)).thenReturn(adsServiceDescriptor);
+    when(adsServiceClientFactoryHelper.createAdsServiceClient(adsServiceDescriptor, adsSession))
+        .thenReturn(adsServiceClient);
+    Mockito.<Class<?>>when(adsServiceDescriptor.getInterfaceClass())
+        .thenReturn(MockSoapClientInterface.class);
+    when(adsServiceClient.getSoapClient()).thenReturn(soapServiceClient);
+
+    MockSoapClientInterface first =
+        adsServiceClientFactory.getServiceClient(adsSession, MockSoapClientInterface.class);
+    MockSoapClientInterface second =
+        adsServiceClientFactory.getServiceClient(adsSession, MockSoapClientInterface.class);
+
+    assertNotSame("Each call should return a new service client", first, second);
+    verify(adsServiceClientFactoryHelper, times(1))
+        .createServiceDescriptor(MockSoapClientInterface.class, version);
+    verify(adsServiceClientFactoryHelper, times(2))
+        .createAdsServiceClient(adsServiceDescriptor, adsSession);
+  }
+
+  /**
+   * Test that verifies that proxies of the same interface class still implement the interfaces of
+   * each service client class.
+   */
+  @Test
+  public void testCreateProxy_perServiceClientClass() {
+    @SuppressWarnings("unchecked")
+    AdsServiceClient<AdsSession, AdsServiceDescriptor> otherAdsServiceClient =
+        Mockito.mock(
+            AdsServiceClient.class, Mockito.withSettings().extraInterfaces(Runnable.class));
+    when(adsServiceClient.getSoapClient()).thenReturn(soapServiceClient);
+    when(otherAdsServiceClient.getSoapClient()).thenReturn(soapServiceClient);
+
+    adsServiceClientFactory.createProxy(MockSoapClientInterface.class, adsServiceClient);
+    MockSoapClientInterface otherProxy =
+        adsServiceClientFactory.createProxy(MockSoapClientInterface.class, otherAdsServiceClient);
+
+    assertTrue("Proxy does not implement the interfaces of its service client",
+        otherProxy instanceof Runnable);
+  }
+
   /**
    * Test to verify that a ServiceException is thrown if the preconditions check by the underlying
    * AdsServiceClientFactoryHelper fails.
@@ -14,21 +14,27 @@
 
 package com.google.api.ads.common.lib.factory.helper;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.api.ads.common.lib.client.AdsServiceClient;
 import com.google.api.ads.common.lib.client.AdsServiceDescriptor;
 import com.google.api.ads.common.lib.client.AdsSession;
+import com.google.api.ads.common.lib.conf.AdsLibConfiguration;
 import com.google.api.ads.common.lib.factory.FactoryModule.AdsServiceClientFactoryInterface;
 import com.google.api.ads.common.lib.factory.FactoryModule.AdsServiceDescriptorFactoryInterface;
 import com.google.api.ads.common.lib.soap.SoapClientHandlerInterface;
+import com.google.api.ads.common.lib.soap.SoapClientPool;
 import com.google.api.ads.common.lib.soap.testing.MockSoapClientInterface;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -55,6 +61,7 @@ public class BaseAdsServiceClientFactoryHelperTest {
   private AdsServiceDescriptorFactoryInterface<AdsServiceDescriptor> adsServiceDescriptorFactory;
   @Mock private AdsSession adsSession;
   @Mock private Object soapClient;
+  @Mock private AdsLibConfiguration adsLibConfiguration;
 
   private static final String VERSION = "v201108";
 
@@ -111,6 +118,39 @@ public class BaseAdsServiceClientFactoryHelperTest {
     assertSame(soapClient, testSoapClient);
   }
 
+  @Test
+  public void testCreateSoapClientPool_disabledWithoutConfiguration() {
+    assertNull(abstractAdsServiceClientFactoryHelper.createSoapClientPool(adsServiceDescriptor));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testCreateAdsServiceClient_pooled() {
+    abstractAdsServiceClientFactoryHelper = new BaseAdsServiceClientFactoryHelper<
+        AdsServiceClient<AdsSession, AdsServiceDescriptor>, AdsSession, AdsServiceDescriptor>(
+        adsServiceClientFactory, adsServiceDescriptorFactory, soapClientHandler,
+        adsLibConfiguration) {
+      @Override
+      @SuppressWarnings("rawtypes")
+      public String determineVersion(Class interfaceClass) {
+        return VERSION;
+      }
+    };
+    when(adsLibConfiguration.getSoapClientPoolSize()).thenReturn(4);
+    when(adsLibConfiguration.getSoapClientPoolMaxWait()).thenReturn(1000L);
+    when(soapClientHandler.createSoapClient(adsServiceDescriptor)).thenReturn(soapClient);
+    when(adsServiceClientFactory.create(soapClient, adsServiceDescriptor, adsSession))
+        .thenReturn(adsServiceClient);
+
+    abstractAdsServiceClientFactoryHelper.createAdsServiceClient(adsServiceDescriptor, adsSession);
+
+    ArgumentCaptor<SoapClientPool> poolCaptor = ArgumentCaptor.forClass(SoapClientPool.class);
+    verify(adsServiceClient).setSoapClientPool(poolCaptor.capture());
+    SoapClientPool<Object> soapClientPool = poolCaptor.getValue();
+    assertEquals(4, soapClientPool.getMaxSize());
+    assertSame(soapClient, soapClientPool.checkout());
+  }
+
   @Test
   public void testCreateServiceDescriptor() {
     Class<MockSoapClientInterface> interfaceClass = MockSoapClientInterface.class;
@@ -20,9 +20,13 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
@@ -182,6 +186,43 @@ public class RequestInfoXPathSetTest {
     assertEquals("Context name doesn't match", "bar", requestInfo.getContextName());
   }
 
+  @Test
+  public void testParseActualMessage_lazyPayload()
+      throws SOAPException, IOException, TransformerException {
+    Builder builder = new Builder();
+    SOAPMessage message = Mockito.mock(SOAPMessage.class);
+    SOAPHeader header = Mockito.mock(SOAPHeader.class);
+    SOAPPart soapPart = Mockito.mock(SOAPPart.class);
+    when(message.getSOAPHeader()).thenReturn(header);
+    when(message.getSOAPPart()).thenReturn(soapPart);
+    final String payload = "<foo><bar>MyBar</bar></foo>";
+    when(transformerSupplier.get()).thenReturn(transformer);
+    doAnswer(
+            invocation -> {
+              StreamResult streamResult = (StreamResult) invocation.getArguments()[1];
+              streamResult.getOutputStream().write(payload.getBytes(StandardCharsets.UTF_8));
+              return null;
+            })
+        .when(transformer)
+        .transform(any(), any());
+    assertSame(
+        "parseMessage should return the same builder passed in",
+        builder,
+        xPathSet.parseMessage(builder, message, true));
+    RequestInfo requestInfo = builder.build();
+    assertEquals("Context name doesn't match", "bar", requestInfo.getContextName());
+    assertFalse("toString should not serialize the payload",
+        requestInfo.toString().contains("payload.length"));
+    verify(transformer, never()).transform(any(), any());
+
+    assertEquals("Payload doesn't match", payload, requestInfo.getPayload());
+    assertEquals("Payload doesn't match", payload, requestInfo.getPayload());
+    // The payload should only be serialized once.
+    verify(transformer, times(1)).transform(any(), any());
+    assertTrue("toString should report the serialized payload length",
+        requestInfo.toString().contains("payload.length=" + payload.length()));
+  }
+
   @Test
   public void testToString() {
     when(apiConfig.getRequestContextXPath()).thenReturn("/foo/bar");
@@ -18,7 +18,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
@@ -110,6 +114,44 @@ public class ResponseInfoXPathSetTest {
     assertEquals("Payload doesn't match", payload, responseInfo.getPayload());
   }
 
+  @Test
+  public void testParseActualMessage_lazyPayload() throws SOAPException, IOException {
+    Builder builder = new Builder();
+    SOAPMessage message = Mockito.mock(SOAPMessage.class);
+    SOAPHeader header = Mockito.mock(SOAPHeader.class);
+    when(message.getSOAPHeader()).thenReturn(header);
+    when(nodeExtractor.extractNodeValue(header, xPathSet.getOperationsCountXPath()))
+        .thenReturn("5");
+    final String payload = "<foo><bar>MyBar</bar></foo>";
+    doAnswer(
+            invocation -> {
+              OutputStream outputStream = (OutputStream) invocation.getArguments()[0];
+              outputStream.write(payload.getBytes(StandardCharsets.UTF_8));
+              return null;
+            })
+        .when(message)
+        .writeTo(org.mockito.Matchers.any(OutputStream.class));
+    assertSame(
+        "parseMessage should return the same builder passed in",
+        builder,
+        xPathSet.parseMessage(builder, message, true));
+    ResponseInfo responseInfo = builder.build();
+    assertEquals(
+        "Operations count should be extracted without the payload",
+        Long.valueOf(5L),
+        responseInfo.getOperationsCount());
+    assertFalse("toString should not serialize the payload",
+        responseInfo.toString().contains("payload.length"));
+    verify(message, never()).writeTo(org.mockito.Matchers.any(OutputStream.class));
+
+    assertEquals("Payload doesn't match", payload, responseInfo.getPayload());
+    assertEquals("Payload doesn't match", payload, responseInfo.getPayload());
+    // The payload should only be serialized once.
+    verify(message, times(1)).writeTo(org.mockito.Matchers.any(OutputStream.class));
+    assertTrue("toString should report the serialized payload length",
+        responseInfo.toString().contains("payload.length=" + payload.length()));
+  }
+
   @Test
   public void testToString() {
     String toString = xPathSet.toString();
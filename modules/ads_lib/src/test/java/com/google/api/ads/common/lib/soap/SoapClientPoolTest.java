@@ -0,0 +1,136 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.soap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.google.api.ads.common.lib.exception.ServiceException;
+import com.google.common.base.Supplier;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link SoapClientPool}.
+ */
+@RunWith(JUnit4.class)
+public class SoapClientPoolTest {
+
+  private AtomicInteger createdCount;
+  private Supplier<Object> soapClientSupplier;
+
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  @Before
+  public void setUp() {
+    createdCount = new AtomicInteger();
+    soapClientSupplier = () -> {
+      createdCount.incrementAndGet();
+      return new Object();
+    };
+  }
+
+  @Test
+  public void testCheckout_createsLazily() {
+    SoapClientPool<Object> pool = new SoapClientPool<Object>(soapClientSupplier, 3, 0);
+    assertEquals("No clients should be created until checkout", 0, createdCount.get());
+
+    Object first = pool.checkout();
+    Object second = pool.checkout();
+
+    assertNotSame(first, second);
+    assertEquals(2, createdCount.get());
+    assertEquals(2, pool.getSize());
+    assertEquals(2, pool.getInUseCount());
+    assertEquals(2, pool.getCheckoutCount());
+    assertEquals(2.0 / 3, pool.getUtilization(), 0.0001);
+  }
+
+  @Test
+  public void testRelease_reusesClient() {
+    SoapClientPool<Object> pool = new SoapClientPool<Object>(soapClientSupplier, 2, 0);
+
+    Object first = pool.checkout();
+    pool.release(first);
+    Object second = pool.checkout();
+
+    assertSame("Released client should be reused", first, second);
+    assertEquals(1, createdCount.get());
+    assertEquals(1, pool.getInUseCount());
+  }
+
+  @Test
+  public void testCheckout_timesOutWhenExhausted() {
+    SoapClientPool<Object> pool = new SoapClientPool<Object>(soapClientSupplier, 1, 10);
+    pool.checkout();
+
+    thrown.expect(ServiceException.class);
+    pool.checkout();
+  }
+
+  @Test
+  public void testCheckout_waitsForRelease() throws InterruptedException {
+    final SoapClientPool<Object> pool = new SoapClientPool<Object>(soapClientSupplier, 1, 0);
+    final Object first = pool.checkout();
+    Thread releaser = new Thread(() -> {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      pool.release(first);
+    });
+    releaser.start();
+
+    Object second = pool.checkout();
+    releaser.join();
+
+    assertSame(first, second);
+    assertEquals(1, createdCount.get());
+    assertEquals(0, pool.getWaitingCount());
+  }
+
+  @Test
+  public void testCheckout_supplierFailureReleasesPermit() {
+    final AtomicInteger attempts = new AtomicInteger();
+    SoapClientPool<Object> pool = new SoapClientPool<Object>(() -> {
+      if (attempts.incrementAndGet() == 1) {
+        throw new ServiceException("Failed to create client");
+      }
+      return new Object();
+    }, 1, 10);
+
+    try {
+      pool.checkout();
+    } catch (ServiceException e) {
+      // Expected.
+    }
+    // The permit from the failed checkout must have been returned, so this should not time out.
+    pool.checkout();
+    assertEquals(1, pool.getSize());
+  }
+
+  @Test
+  public void testConstructor_invalidMaxSize() {
+    thrown.expect(IllegalArgumentException.class);
+    new SoapClientPool<Object>(soapClientSupplier, 0, 0);
+  }
+}
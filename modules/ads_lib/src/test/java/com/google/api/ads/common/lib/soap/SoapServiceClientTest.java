@@ -120,6 +120,37 @@ public class SoapServiceClientTest {
     Object result = soapServiceClient.invoke(null, identityCallMethod, args);
 
     assertEquals(returnValue, result);
+    assertEquals(soapCall, soapServiceClient.calledSoapCall);
+  }
+
+  @Test
+  public void testInvoke_pooledSoapClientMethod() throws Throwable {
+    Object returnValue = new Object();
+    RemoteCallReturn callReturn =
+        new RemoteCallReturn.Builder().withReturnValue(returnValue).build();
+    MockSoapClient pooledSoapClient = Mockito.mock(MockSoapClient.class);
+    SoapClientPool<Object> soapClientPool =
+        new SoapClientPool<Object>(() -> pooledSoapClient, 1, 0);
+    soapServiceClient.setSoapClientPool(soapClientPool);
+
+    Method identityCallMethod = MockSoapClient.class.getMethod("identityCall", Object[].class);
+    Object[] arg = new String[] {"arg1", "arg2"};
+    Object[] args = new Object[] {arg};
+    SoapCall<Object> soapCall = new SoapCall<Object>(identityCallMethod, pooledSoapClient, args);
+
+    when(soapClientHandler.getEndpointAddress(soapClient)).thenReturn("http://test.com");
+    when(soapClientHandler.getSoapClientMethod(pooledSoapClient, identityCallMethod))
+        .thenReturn(identityCallMethod);
+    when(soapClientHandler.invokeSoapCall(soapCall)).thenReturn(callReturn);
+
+    Object result = soapServiceClient.invoke(null, identityCallMethod, args);
+
+    assertEquals(returnValue, result);
+    assertSame(pooledSoapClient, soapServiceClient.pooledHeadersClient);
+    assertEquals("Pooled call did not go through callSoapClient",
+        soapCall, soapServiceClient.calledSoapCall);
+    verify(soapClientHandler).setEndpointAddress(pooledSoapClient, "http://test.com");
+    assertEquals("Pooled client was not released", 0, soapClientPool.getInUseCount());
   }
 
   @Test
@@ -205,6 +236,8 @@ public class SoapServiceClientTest {
    */
   private static class TestSoapServiceClient extends SoapServiceClient<Object> {
     boolean throwAuthException = false;
+    Object pooledHeadersClient;
+    SoapCall<Object> calledSoapCall;
 
     static final AuthenticationException AUTH_EXCEPTION =
         new AuthenticationException("auth", new RuntimeException()) {};
@@ -228,6 +261,12 @@ public class SoapServiceClientTest {
       return anything.toString();
     }
 
+    @Override
+    protected RemoteCallReturn callSoapClient(SoapCall<Object> soapCall) {
+      calledSoapCall = soapCall;
+      return super.callSoapClient(soapCall);
+    }
+
     @Override
     protected void logSoapCall(RemoteCallReturn remoteCallReturn) {}
 
@@ -237,5 +276,11 @@ public class SoapServiceClientTest {
         throw AUTH_EXCEPTION;
       }
     }
+
+    @Override
+    protected void setHeaders(Object soapClient) throws AuthenticationException  {
+      setHeaders();
+      pooledHeadersClient = soapClient;
+    }
   }
 }
@@ -0,0 +1,111 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpResponse;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link HttpTransportPool}.
+ */
+@RunWith(JUnit4.class)
+public class HttpTransportPoolTest {
+
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  private HttpServer server;
+  /** Remote ports of the connections that requests arrived on. */
+  private Set<Integer> clientPorts;
+  private HttpTransportPool pool;
+
+  @Before
+  public void setUp() throws IOException {
+    clientPorts = Collections.synchronizedSet(new HashSet<Integer>());
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", exchange -> {
+      clientPorts.add(exchange.getRemoteAddress().getPort());
+      byte[] body = "ok".getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.start();
+    pool = new HttpTransportPool(4, 2, 60000L);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+    server.stop(0);
+  }
+
+  /**
+   * Tests that sequential requests reuse one kept-alive connection.
+   */
+  @Test
+  public void testRequests_reuseConnection() throws IOException {
+    GenericUrl url =
+        new GenericUrl("http://localhost:" + server.getAddress().getPort() + "/report");
+    for (int i = 0; i < 3; i++) {
+      HttpResponse response =
+          pool.getHttpTransport().createRequestFactory().buildGetRequest(url).execute();
+      assertEquals("ok", response.parseAsString());
+    }
+
+    assertEquals("Requests should share one connection", 1, clientPorts.size());
+    assertEquals(0, pool.getLeasedConnections());
+    assertEquals(1, pool.getAvailableConnections());
+    assertEquals(0, pool.getPendingRequests());
+  }
+
+  /**
+   * Tests that pools are shared by settings.
+   */
+  @Test
+  public void testGetShared() {
+    HttpTransportPool shared = HttpTransportPool.getShared(3, 2, 1000L);
+    assertSame(shared, HttpTransportPool.getShared(3, 2, 1000L));
+    assertNotSame(shared, HttpTransportPool.getShared(3, 3, 1000L));
+    assertEquals(3, shared.getMaxTotal());
+    assertEquals(2, shared.getMaxPerRoute());
+    assertEquals(1000L, shared.getIdleTimeoutMillis());
+  }
+
+  @Test
+  public void testConstructor_invalidMaxTotal() {
+    thrown.expect(IllegalArgumentException.class);
+    new HttpTransportPool(0, 1, 1000L);
+  }
+}
@@ -0,0 +1,72 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.utils;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.google.api.ads.common.lib.conf.AdsLibConfiguration;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import org.hamcrest.Matchers;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Tests for {@link HttpTransportProvider}.
+ */
+@RunWith(JUnit4.class)
+public class HttpTransportProviderTest {
+
+  @Mock private AdsLibConfiguration adsLibConfiguration;
+
+  private HttpTransportProvider httpTransportProvider;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    httpTransportProvider = new HttpTransportProvider(adsLibConfiguration);
+  }
+
+  /**
+   * Tests that a plain transport is provided when pooling is disabled.
+   */
+  @Test
+  public void testGet_poolingDisabled() {
+    when(adsLibConfiguration.getHttpConnectionPoolMaxTotal()).thenReturn(0);
+
+    assertThat(httpTransportProvider.get(), Matchers.instanceOf(NetHttpTransport.class));
+    assertNull(httpTransportProvider.getHttpTransportPool());
+  }
+
+  /**
+   * Tests that the shared pool's transport is provided when pooling is enabled.
+   */
+  @Test
+  public void testGet_poolingEnabled() {
+    when(adsLibConfiguration.getHttpConnectionPoolMaxTotal()).thenReturn(5);
+    when(adsLibConfiguration.getHttpConnectionPoolMaxPerRoute()).thenReturn(5);
+    when(adsLibConfiguration.getHttpConnectionPoolIdleTimeout()).thenReturn(2000L);
+
+    HttpTransportPool pool = HttpTransportPool.getShared(5, 5, 2000L);
+    assertSame(pool, httpTransportProvider.getHttpTransportPool());
+    assertSame(pool.getHttpTransport(), httpTransportProvider.get());
+  }
+}
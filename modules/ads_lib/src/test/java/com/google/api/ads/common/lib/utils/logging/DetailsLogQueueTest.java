@@ -0,0 +1,175 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.utils.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+
+/** Tests for {@link DetailsLogQueue}. */
+@RunWith(JUnit4.class)
+public class DetailsLogQueueTest {
+
+  /** Never runs the tasks it is given, so tests log queued details themselves. */
+  private static final Executor NO_OP_EXECUTOR = runnable -> {};
+
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  @Mock private Logger libLogger;
+
+  private List<Integer> logged;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    logged = new ArrayList<>();
+  }
+
+  private Runnable entry(int id) {
+    return () -> logged.add(id);
+  }
+
+  /** Tests that a queue with a size of zero is disabled and rejects details. */
+  @Test
+  public void testDisabled() {
+    DetailsLogQueue queue = new DetailsLogQueue(0, 0L, libLogger, NO_OP_EXECUTOR);
+    assertFalse("Queue with a size of 0 should be disabled", queue.isEnabled());
+
+    thrown.expect(IllegalStateException.class);
+    queue.offer(entry(1));
+  }
+
+  /** Tests that queued details are logged in order. */
+  @Test
+  public void testOffer_logsInOrder() {
+    DetailsLogQueue queue = new DetailsLogQueue(3, 0L, libLogger, NO_OP_EXECUTOR);
+    assertTrue("Queue should be enabled", queue.isEnabled());
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue("Details should have been queued", queue.offer(entry(i)));
+    }
+    assertEquals("Number of details logged", 3, queue.logQueued());
+    assertEquals("Details logged out of order", ImmutableList.of(0, 1, 2), logged);
+    assertEquals("No details should have been dropped", 0, queue.getDroppedCount());
+  }
+
+  /** Tests that details offered to a full queue are dropped and counted. */
+  @Test
+  public void testOffer_full_dropsDetails() {
+    DetailsLogQueue queue = new DetailsLogQueue(2, 0L, libLogger, NO_OP_EXECUTOR);
+
+    for (int i = 0; i < 5; i++) {
+      queue.offer(entry(i));
+    }
+    assertEquals("Number of details dropped", 3, queue.getDroppedCount());
+    // Warnings are only logged when the dropped count reaches a power of two.
+    verify(libLogger, times(2)).warn(anyString(), anyLong());
+    verify(libLogger).warn(anyString(), eq(1L));
+    verify(libLogger).warn(anyString(), eq(2L));
+
+    queue.logQueued();
+    assertEquals(
+        "Details that fit in the queue should be logged", ImmutableList.of(0, 1), logged);
+  }
+
+  /** Tests that an entry that fails does not stop later details from being logged. */
+  @Test
+  public void testLogQueued_entryFails_logsLaterDetails() {
+    DetailsLogQueue queue = new DetailsLogQueue(2, 0L, libLogger, NO_OP_EXECUTOR);
+    RuntimeException failure = new IllegalStateException("Failed to format");
+    queue.offer(
+        () -> {
+          throw failure;
+        });
+    queue.offer(entry(1));
+
+    assertEquals("Number of details logged", 2, queue.logQueued());
+    assertEquals(ImmutableList.of(1), logged);
+    verify(libLogger).warn("Unable to log request and response details.", failure);
+  }
+
+  /** Tests that flush logs all queued details on the calling thread. */
+  @Test
+  public void testFlush_logsAllDetails() {
+    int count = DetailsLogQueue.MAX_BATCH_SIZE + 1;
+    DetailsLogQueue queue = new DetailsLogQueue(count, 0L, libLogger, NO_OP_EXECUTOR);
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      queue.offer(entry(i));
+      expected.add(i);
+    }
+
+    queue.flush();
+    assertEquals("All queued details should be logged", expected, logged);
+    assertEquals("Queue should be empty after a flush", 0, queue.logQueued());
+  }
+
+  /** Tests that only one task is handed to the executor while queued details wait. */
+  @Test
+  public void testOffer_schedulesOneDrain() {
+    List<Runnable> tasks = new ArrayList<>();
+    DetailsLogQueue queue = new DetailsLogQueue(DetailsLogQueue.MAX_BATCH_SIZE * 2, 0L,
+        libLogger, tasks::add);
+    for (int i = 0; i < DetailsLogQueue.MAX_BATCH_SIZE + 1; i++) {
+      queue.offer(entry(i));
+    }
+    assertEquals("Number of scheduled tasks", 1, tasks.size());
+
+    // The task logs one batch and schedules itself again for the rest.
+    tasks.remove(0).run();
+    assertEquals("Number of details logged", DetailsLogQueue.MAX_BATCH_SIZE, logged.size());
+    assertEquals("Number of scheduled tasks", 1, tasks.size());
+    tasks.remove(0).run();
+    assertEquals("Number of details logged", DetailsLogQueue.MAX_BATCH_SIZE + 1, logged.size());
+    assertTrue("No task should be scheduled for an empty queue", tasks.isEmpty());
+
+    queue.offer(entry(0));
+    assertEquals("Number of scheduled tasks", 1, tasks.size());
+  }
+
+  /** Tests that the background thread shared by all queues logs queued details. */
+  @Test
+  public void testBackgroundThread_logsDetails() throws InterruptedException {
+    DetailsLogQueue queue =
+        new DetailsLogQueue(DetailsLogQueue.MAX_BATCH_SIZE * 2, 0L, libLogger, null);
+    int count = DetailsLogQueue.MAX_BATCH_SIZE + 1;
+    CountDownLatch latch = new CountDownLatch(count);
+    for (int i = 0; i < count; i++) {
+      assertTrue("Details should have been queued", queue.offer(latch::countDown));
+    }
+    assertTrue("Details were not logged", latch.await(10, TimeUnit.SECONDS));
+  }
+}
@@ -15,9 +15,11 @@
 package com.google.api.ads.common.lib.utils.logging;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +34,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import org.mockito.AdditionalAnswers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -270,4 +273,23 @@ public class PrettyPrinterTest {
         TEST_XML,
         prettyPrintedXml);
   }
+
+  /** Tests that sensitive XPaths are only compiled once by a thread that prints many messages. */
+  @Test
+  public void testPrettyPrint_compilesXPathsOnce() throws XPathExpressionException {
+    when(adsApiConfiguration.getSensitiveXPaths()).thenReturn(new String[] {TEST_SENSITIVE_XPATH});
+    XPath xpath =
+        Mockito.mock(
+            XPath.class, AdditionalAnswers.delegatesTo(XPathFactory.newInstance().newXPath()));
+    when(xpathSupplier.get()).thenReturn(xpath);
+
+    PrettyPrinter prettyPrinter = createPrettyPrinter();
+    String firstXml = prettyPrinter.prettyPrint(TEST_XML);
+    String secondXml = prettyPrinter.prettyPrint(TEST_XML);
+
+    assertEquals("Pretty printing the same XML twice should be consistent", firstXml, secondXml);
+    assertFalse("Sensitive value should be redacted", secondXml.contains("moe"));
+    verify(xpathSupplier, times(1)).get();
+    verify(xpath, times(1)).compile(TEST_SENSITIVE_XPATH);
+  }
 }
@@ -16,6 +16,7 @@ package com.google.api.ads.common.lib.utils.logging;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -191,6 +192,48 @@ public class RemoteCallLoggerDelegateTest {
             prettyResponse);
   }
 
+  @Test
+  public void testLogRequestDetails_detailsLogQueue_logsInBackground() {
+    when(soapXmlLogger.isDebugEnabled()).thenReturn(true);
+    DetailsLogQueue detailsLogQueue =
+        new DetailsLogQueue(1, 0L, Mockito.mock(Logger.class), runnable -> new Thread());
+    loggerDelegate =
+        new RemoteCallLoggerDelegate(
+            requestInfoLogger, soapXmlLogger, prettyPrinter, RemoteCallType.SOAP, detailsLogQueue);
+
+    loggerDelegate.logRequestDetails(remoteCallReturn);
+
+    verify(prettyPrinter, never()).prettyPrint(any(String.class));
+    verify(soapXmlLogger, never()).debug(any(String.class), any(), any());
+
+    assertEquals(1, detailsLogQueue.logQueued());
+    verify(soapXmlLogger)
+        .debug(
+            RemoteCallLoggerDelegate.DETAILS_REQUEST_TEMPLATE, RemoteCallType.SOAP, prettyRequest);
+    verify(soapXmlLogger)
+        .debug(
+            RemoteCallLoggerDelegate.DETAILS_RESPONSE_TEMPLATE,
+            RemoteCallType.SOAP,
+            prettyResponse);
+  }
+
+  @Test
+  public void testLogRequestDetails_detailsLogQueueFull_dropsDetails() {
+    when(soapXmlLogger.isDebugEnabled()).thenReturn(true);
+    DetailsLogQueue detailsLogQueue =
+        new DetailsLogQueue(1, 0L, Mockito.mock(Logger.class), runnable -> new Thread());
+    loggerDelegate =
+        new RemoteCallLoggerDelegate(
+            requestInfoLogger, soapXmlLogger, prettyPrinter, RemoteCallType.SOAP, detailsLogQueue);
+
+    loggerDelegate.logRequestDetails(remoteCallReturn);
+    loggerDelegate.logRequestDetails(remoteCallReturn);
+
+    assertEquals(1, detailsLogQueue.getDroppedCount());
+    assertEquals(1, detailsLogQueue.logQueued());
+    verify(prettyPrinter, times(1)).prettyPrint(requestXml);
+  }
+
   @Test
   public void testTruncateThrowable_lessThanMaxLength() {
     Throwable t = Mockito.mock(Throwable.class);
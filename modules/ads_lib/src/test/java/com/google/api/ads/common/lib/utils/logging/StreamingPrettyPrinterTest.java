@@ -0,0 +1,88 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.utils.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+
+/** Tests for {@link StreamingPrettyPrinter}. */
+@RunWith(JUnit4.class)
+public class StreamingPrettyPrinterTest {
+
+  @Mock private Logger libLogger;
+  @Mock private PrettyPrinterInterface domPrettyPrinter;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+  }
+
+  /** Tests that well formed XML is redacted without the DOM pretty printer. */
+  @Test
+  public void testPrettyPrint_streamed() {
+    StreamingPrettyPrinter prettyPrinter =
+        new StreamingPrettyPrinter(ImmutableList.of("/a/b"), libLogger, domPrettyPrinter);
+
+    assertEquals(
+        "<a>\n    <b>REDACTED</b>\n</a>", prettyPrinter.prettyPrint("<a><b>secret</b></a>"));
+    verify(domPrettyPrinter, never()).prettyPrint(anyString());
+  }
+
+  /** Tests that XML that cannot be streamed is printed by the DOM pretty printer. */
+  @Test
+  public void testPrettyPrint_malformed_usesDom() {
+    String html = "<html><br></html>";
+    when(domPrettyPrinter.prettyPrint(html)).thenReturn(html);
+    StreamingPrettyPrinter prettyPrinter =
+        new StreamingPrettyPrinter(ImmutableList.of("/a/b"), libLogger, domPrettyPrinter);
+
+    assertEquals(html, prettyPrinter.prettyPrint(html));
+    verify(domPrettyPrinter).prettyPrint(html);
+  }
+
+  /** Tests that all XML is printed by the DOM pretty printer if an XPath cannot be streamed. */
+  @Test
+  public void testPrettyPrint_unsupportedXPath_usesDom() {
+    String xml = "<a><b>secret</b></a>";
+    when(domPrettyPrinter.prettyPrint(xml)).thenReturn("<a><b>REDACTED</b></a>");
+    StreamingPrettyPrinter prettyPrinter =
+        new StreamingPrettyPrinter(
+            ImmutableList.of("/a/c", "//b"), libLogger, domPrettyPrinter);
+
+    assertEquals("<a><b>REDACTED</b></a>", prettyPrinter.prettyPrint(xml));
+  }
+
+  /** Tests that null is printed as null. */
+  @Test
+  public void testPrettyPrint_null() {
+    StreamingPrettyPrinter prettyPrinter =
+        new StreamingPrettyPrinter(ImmutableList.of("/a/b"), libLogger, domPrettyPrinter);
+
+    assertNull(prettyPrinter.prettyPrint(null));
+  }
+}
@@ -0,0 +1,139 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.common.lib.utils.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import javax.xml.stream.XMLStreamException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link StreamingXmlRedactor}. */
+@RunWith(JUnit4.class)
+public class StreamingXmlRedactorTest {
+
+  private static final String TEST_XML =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+          + "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+          + "<soap:Header><ns1:RequestHeader xmlns:ns1=\"https://example.com/cm\""
+          + " soap:mustUnderstand=\"0\"><ns1:developerToken>secret</ns1:developerToken>"
+          + "<ns1:userAgent>a &amp; b</ns1:userAgent></ns1:RequestHeader></soap:Header>"
+          + "<soap:Body><get xmlns=\"https://example.com/cm\"><developerToken>kept</developerToken>"
+          + "<auth><token>secret<nested>secret</nested></token></auth></get></soap:Body>"
+          + "</soap:Envelope>";
+
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  /** Tests that matching elements are redacted and the XML is indented. */
+  @Test
+  public void testRedact_indent() throws XMLStreamException {
+    StreamingXmlRedactor redactor =
+        new StreamingXmlRedactor(
+            ImmutableList.of(
+                "/Envelope/Header/RequestHeader/developerToken",
+                "/Envelope/Body/*/auth/token"),
+            true);
+
+    String expected =
+        Joiner.on('\n')
+            .join(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">",
+                "    <soap:Header>",
+                "        <ns1:RequestHeader xmlns:ns1=\"https://example.com/cm\""
+                    + " soap:mustUnderstand=\"0\">",
+                "            <ns1:developerToken>REDACTED</ns1:developerToken>",
+                "            <ns1:userAgent>a &amp; b</ns1:userAgent>",
+                "        </ns1:RequestHeader>",
+                "    </soap:Header>",
+                "    <soap:Body>",
+                "        <get xmlns=\"https://example.com/cm\">",
+                "            <developerToken>kept</developerToken>",
+                "            <auth>",
+                "                <token>REDACTED</token>",
+                "            </auth>",
+                "        </get>",
+                "    </soap:Body>",
+                "</soap:Envelope>");
+    assertEquals(expected, redactor.redact(TEST_XML));
+  }
+
+  /** Tests that whitespace is kept when the XML is not indented. */
+  @Test
+  public void testRedact_noIndent() throws XMLStreamException {
+    StreamingXmlRedactor redactor =
+        new StreamingXmlRedactor(ImmutableList.of("/a/b"), false);
+
+    assertEquals(
+        "<a>\n  <b>REDACTED</b>\n  <c>text</c>\n</a>",
+        redactor.redact("<a>\n  <b><d>secret</d></b>\n  <c>text</c>\n</a>"));
+  }
+
+  /** Tests that XML is only indented and escaped if there are no sensitive XPaths. */
+  @Test
+  public void testRedact_noSensitiveXPaths() throws XMLStreamException {
+    StreamingXmlRedactor redactor = new StreamingXmlRedactor(ImmutableList.<String>of(), true);
+
+    assertEquals(
+        "<a>\n    <b>text&lt;data&gt;</b>\n</a>",
+        redactor.redact("<a><b>text<![CDATA[<data>]]></b></a>"));
+  }
+
+  /** Tests that XML that is not well formed is rejected. */
+  @Test
+  public void testRedact_malformed() throws XMLStreamException {
+    StreamingXmlRedactor redactor = new StreamingXmlRedactor(ImmutableList.of("/a/b"), true);
+
+    thrown.expect(XMLStreamException.class);
+    redactor.redact("<a><b>secret</a>");
+  }
+
+  /** Tests that documents with a DTD are rejected. */
+  @Test
+  public void testRedact_dtd() throws XMLStreamException {
+    StreamingXmlRedactor redactor = new StreamingXmlRedactor(ImmutableList.of("/a/b"), true);
+
+    thrown.expect(XMLStreamException.class);
+    thrown.expectMessage("DTD");
+    redactor.redact("<!DOCTYPE a [<!ENTITY e \"secret\">]><a><b>&e;</b></a>");
+  }
+
+  /** Tests which XPaths can be streamed. */
+  @Test
+  public void testIsSupported() {
+    assertTrue(StreamingXmlRedactor.isSupported("/Envelope/Header/RequestHeader/developerToken"));
+    assertTrue(StreamingXmlRedactor.isSupported("/soap:Envelope/*/ns1:token"));
+    assertFalse(StreamingXmlRedactor.isSupported(null));
+    assertFalse(StreamingXmlRedactor.isSupported("Envelope/Header"));
+    assertFalse(StreamingXmlRedactor.isSupported("//developerToken"));
+    assertFalse(StreamingXmlRedactor.isSupported("/Envelope/Header[1]"));
+    assertFalse(StreamingXmlRedactor.isSupported("/Envelope/@attribute"));
+  }
+
+  /** Tests that an unsupported XPath is rejected. */
+  @Test
+  public void testConstructor_unsupportedXPath() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("//developerToken");
+    new StreamingXmlRedactor(ImmutableList.of("//developerToken"), true);
+  }
+}
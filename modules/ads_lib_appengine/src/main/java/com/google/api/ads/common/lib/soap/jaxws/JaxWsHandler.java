@@ -22,13 +22,23 @@ import com.google.api.ads.common.lib.soap.SoapClientHandlerInterface;
 import com.google.api.ads.common.lib.soap.SoapServiceDescriptor;
 import com.google.api.ads.common.lib.soap.compatability.JaxWsCompatible;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.inject.Provider;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.inject.Inject;
 import javax.xml.namespace.QName;
 import javax.xml.soap.SOAPElement;
@@ -43,6 +53,47 @@ import javax.xml.ws.handler.MessageContext;
  */
 public class JaxWsHandler extends SoapClientHandler<BindingProvider> {
 
+  /**
+   * No-argument service constructors, per service class. An empty value means the service class
+   * has no such constructor. Unlike a static map, a {@link ClassValue} does not keep the classes
+   * of a redeployed application from being unloaded.
+   */
+  private static final ClassValue<Optional<Constructor<?>>> SERVICE_CONSTRUCTORS =
+      new ClassValue<Optional<Constructor<?>>>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> serviceClass) {
+          try {
+            return Optional.<Constructor<?>>of(serviceClass.getConstructor(new Class[0]));
+          } catch (NoSuchMethodException e) {
+            return Optional.empty();
+          }
+        }
+      };
+  /** For each service class, its {@code get<Interface>Port()} methods, keyed by interface class. */
+  private static final ClassValue<ConcurrentMap<Class<?>, Method>> SERVICE_GET_PORT_METHODS =
+      new ClassValue<ConcurrentMap<Class<?>, Method>>() {
+        @Override
+        protected ConcurrentMap<Class<?>, Method> computeValue(Class<?> serviceClass) {
+          return new ConcurrentHashMap<Class<?>, Method>();
+        }
+      };
+
+  /**
+   * Locks that serialize calls on the same client, weakly keyed by client identity. Locks rather
+   * than the client's monitor, so that a virtual thread waiting for the SOAP response does not pin
+   * its carrier thread.
+   */
+  private static final LoadingCache<BindingProvider, Lock> CLIENT_LOCKS =
+      CacheBuilder.newBuilder()
+          .weakKeys()
+          .build(
+              new CacheLoader<BindingProvider, Lock>() {
+                @Override
+                public Lock load(BindingProvider webService) {
+                  return new ReentrantLock();
+                }
+              });
+
   /**
    * Default connect timeout.
    */
@@ -205,11 +256,10 @@ public class JaxWsHandler extends SoapClientHandler<BindingProvider> {
     try {
       if (soapServiceDescriptor instanceof JaxWsCompatible) {
         JaxWsCompatible jaxWsCompatibleService = (JaxWsCompatible) soapServiceDescriptor;
-        Object portLocator = jaxWsCompatibleService.getServiceClass()
-            .getConstructor(new Class[0]).newInstance(new Object[0]);
-        String interfaceClassName = soapServiceDescriptor.getInterfaceClass().getSimpleName();
-        BindingProvider soapClient = (BindingProvider) portLocator.getClass()
-            .getMethod("get" + interfaceClassName + "Port").invoke(portLocator);
+        Class<?> serviceClass = jaxWsCompatibleService.getServiceClass();
+        Object portLocator = getServiceConstructor(serviceClass).newInstance(new Object[0]);
+        BindingProvider soapClient = (BindingProvider) getServiceGetPortMethod(
+            serviceClass, soapServiceDescriptor.getInterfaceClass()).invoke(portLocator);
 
         // Required for App Engine to avoid default 10s timeout for UrlFetch requests.
         setConnectTimeout(soapClient);
@@ -239,6 +289,33 @@ public class JaxWsHandler extends SoapClientHandler<BindingProvider> {
     }
   }
 
+  /**
+   * Gets the no-argument constructor of the service class, looking it up only once per class.
+   */
+  private static Constructor<?> getServiceConstructor(Class<?> serviceClass)
+      throws NoSuchMethodException {
+    Optional<Constructor<?>> serviceConstructor = SERVICE_CONSTRUCTORS.get(serviceClass);
+    if (!serviceConstructor.isPresent()) {
+      throw new NoSuchMethodException(serviceClass.getName() + ".<init>()");
+    }
+    return serviceConstructor.get();
+  }
+
+  /**
+   * Gets the service's {@code get<Interface>Port()} method, looking it up only once per service
+   * and interface class.
+   */
+  private static Method getServiceGetPortMethod(Class<?> serviceClass, Class<?> interfaceClass)
+      throws NoSuchMethodException {
+    ConcurrentMap<Class<?>, Method> getPortMethods = SERVICE_GET_PORT_METHODS.get(serviceClass);
+    Method getPortMethod = getPortMethods.get(interfaceClass);
+    if (getPortMethod == null) {
+      getPortMethod = serviceClass.getMethod("get" + interfaceClass.getSimpleName() + "Port");
+      getPortMethods.putIfAbsent(interfaceClass, getPortMethod);
+    }
+    return getPortMethod;
+  }
+
   /**
    * Sets properties into the message context to alter the timeout on App Engine.
    */
@@ -267,7 +344,9 @@ public class JaxWsHandler extends SoapClientHandler<BindingProvider> {
   public RemoteCallReturn invokeSoapCall(SoapCall<BindingProvider> soapCall) {
     BindingProvider webService = soapCall.getSoapClient();
     RemoteCallReturn.Builder builder = new RemoteCallReturn.Builder();
-    synchronized (webService) {
+    Lock webServiceLock = CLIENT_LOCKS.getUnchecked(webService);
+    webServiceLock.lock();
+    try {
       Object result = null;
       try {
         result = invoke(soapCall);
@@ -282,6 +361,8 @@ public class JaxWsHandler extends SoapClientHandler<BindingProvider> {
         builder.withResponseInfo(contextHandler.getLastResponseInfoBuilder().build());
       }
       return builder.withReturnValue(result).build();
+    } finally {
+      webServiceLock.unlock();
     }
   }
 
@@ -17,6 +17,7 @@ package com.google.api.ads.common.lib.soap.axis;
 import com.google.api.ads.common.lib.client.RemoteCallReturn;
 import com.google.api.ads.common.lib.client.RequestInfo;
 import com.google.api.ads.common.lib.client.ResponseInfo;
+import com.google.api.ads.common.lib.conf.AdsLibConfiguration;
 import com.google.api.ads.common.lib.exception.ServiceException;
 import com.google.api.ads.common.lib.soap.RequestInfoXPathSet;
 import com.google.api.ads.common.lib.soap.ResponseInfoXPathSet;
@@ -26,9 +27,17 @@ import com.google.api.ads.common.lib.soap.SoapClientHandlerInterface;
 import com.google.api.ads.common.lib.soap.SoapServiceDescriptor;
 import com.google.api.ads.common.lib.soap.compatability.AxisCompatible;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.inject.Inject;
 import javax.xml.namespace.QName;
 import javax.xml.soap.SOAPException;
@@ -46,17 +55,69 @@ import org.apache.commons.beanutils.BeanUtils;
  */
 public class AxisHandler extends SoapClientHandler<Stub> {
 
+  /**
+   * Locator constructors taking an {@link EngineConfiguration}, per locator class. An empty value
+   * means the locator class has no such constructor. Unlike a static map, a {@link ClassValue}
+   * does not keep the classes of a redeployed application from being unloaded.
+   */
+  private static final ClassValue<Optional<Constructor<?>>> LOCATOR_CONSTRUCTORS =
+      new ClassValue<Optional<Constructor<?>>>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> locatorClass) {
+          try {
+            return Optional.<Constructor<?>>of(
+                locatorClass.getConstructor(new Class[] {EngineConfiguration.class}));
+          } catch (NoSuchMethodException e) {
+            return Optional.empty();
+          }
+        }
+      };
+  /**
+   * Locator {@code getPort(Class)} methods, per locator class. An empty value means the locator
+   * class has no such method.
+   */
+  private static final ClassValue<Optional<Method>> LOCATOR_GET_PORT_METHODS =
+      new ClassValue<Optional<Method>>() {
+        @Override
+        protected Optional<Method> computeValue(Class<?> locatorClass) {
+          try {
+            return Optional.of(locatorClass.getMethod("getPort", Class.class));
+          } catch (NoSuchMethodException e) {
+            return Optional.empty();
+          }
+        }
+      };
+
+  /**
+   * Locks that serialize calls on the same stub, weakly keyed by stub identity. Locks rather than
+   * the stub's monitor, so that a virtual thread waiting for the SOAP response does not pin its
+   * carrier thread.
+   */
+  private static final LoadingCache<Stub, Lock> STUB_LOCKS =
+      CacheBuilder.newBuilder()
+          .weakKeys()
+          .build(
+              new CacheLoader<Stub, Lock>() {
+                @Override
+                public Lock load(Stub stub) {
+                  return new ReentrantLock();
+                }
+              });
+
   private final EngineConfigurationFactory engineConfigurationFactory;
   private final RequestInfoXPathSet requestInfoXPathSet;
   private final ResponseInfoXPathSet responseInfoXPathSet;
+  private final AdsLibConfiguration adsLibConfiguration;
   
   @Inject
   public AxisHandler(EngineConfigurationFactory engineConfigurationFactory,
       RequestInfoXPathSet requestInfoXPathSet,
-      ResponseInfoXPathSet responseInfoXPathSet) {
+      ResponseInfoXPathSet responseInfoXPathSet,
+      AdsLibConfiguration adsLibConfiguration) {
     this.engineConfigurationFactory = engineConfigurationFactory;
     this.requestInfoXPathSet = requestInfoXPathSet;
     this.responseInfoXPathSet = responseInfoXPathSet;
+    this.adsLibConfiguration = adsLibConfiguration;
   }
   
   /**
@@ -193,10 +254,10 @@ public class AxisHandler extends SoapClientHandler<Stub> {
         AxisCompatible axisCompatibleService = (AxisCompatible) soapServiceDescriptor;
         EngineConfiguration engineConfiguration =
             engineConfigurationFactory.getClientEngineConfig();
-        Service locator = (Service) axisCompatibleService.getLocatorClass()
-            .getConstructor(new Class[] {EngineConfiguration.class})
+        Class<?> locatorClass = axisCompatibleService.getLocatorClass();
+        Service locator = (Service) getLocatorConstructor(locatorClass)
             .newInstance(new Object[] {engineConfiguration});
-        return (Stub) locator.getClass().getMethod("getPort", Class.class)
+        return (Stub) getLocatorGetPortMethod(locatorClass)
             .invoke(locator, soapServiceDescriptor.getInterfaceClass());
       }
       throw new ServiceException(
@@ -218,9 +279,40 @@ public class AxisHandler extends SoapClientHandler<Stub> {
     }
   }
 
+  /**
+   * Gets the locator constructor that takes an {@link EngineConfiguration}, looking it up only
+   * once per locator class.
+   */
+  private static Constructor<?> getLocatorConstructor(Class<?> locatorClass)
+      throws NoSuchMethodException {
+    Optional<Constructor<?>> locatorConstructor = LOCATOR_CONSTRUCTORS.get(locatorClass);
+    if (!locatorConstructor.isPresent()) {
+      throw new NoSuchMethodException(
+          locatorClass.getName() + ".<init>(" + EngineConfiguration.class.getName() + ")");
+    }
+    return locatorConstructor.get();
+  }
+
+  /**
+   * Gets the locator's {@code getPort(Class)} method, looking it up only once per locator class.
+   */
+  private static Method getLocatorGetPortMethod(Class<?> locatorClass)
+      throws NoSuchMethodException {
+    Optional<Method> getPortMethod = LOCATOR_GET_PORT_METHODS.get(locatorClass);
+    if (!getPortMethod.isPresent()) {
+      throw new NoSuchMethodException(locatorClass.getName() + ".getPort(java.lang.Class)");
+    }
+    return getPortMethod.get();
+  }
+
   /**
    * Invoke a SOAP call.
    *
+   * <p>If lazy payload capture is enabled, the request and response payloads of successful calls
+   * are only serialized if {@link RequestInfo#getPayload()} or {@link ResponseInfo#getPayload()}
+   * is called, e.g., when request details are logged. Payloads of failed calls are always
+   * captured immediately.
+   *
    * @param soapCall the call to make to a SOAP web service
    * @return information about the SOAP response
    */
@@ -228,29 +320,40 @@ public class AxisHandler extends SoapClientHandler<Stub> {
   public RemoteCallReturn invokeSoapCall(SoapCall<Stub> soapCall) {
     Stub stub = soapCall.getSoapClient();
     RemoteCallReturn.Builder builder = new RemoteCallReturn.Builder();
-    synchronized (stub) {
+    Lock stubLock = STUB_LOCKS.getUnchecked(stub);
+    stubLock.lock();
+    try {
       Object result = null;
+      boolean isFault = true;
       try {
         result = invoke(soapCall);
+        isFault = false;
       } catch (InvocationTargetException e) {
         builder.withException(e.getTargetException());
       } catch (Exception e) {
         builder.withException(e);
       } finally {
+        // Axis creates new request and response messages for each call, so the messages
+        // referenced by the context are safe to serialize after the stub is released.
+        boolean lazyPayload = !isFault && adsLibConfiguration.isLazyPayloadCaptureEnabled();
         MessageContext messageContext = stub._getCall().getMessageContext();
         RequestInfo.Builder requestInfoBuilder = new RequestInfo.Builder()
                 .withMethodName(stub._getCall().getOperationName().getLocalPart())
                 .withServiceName(stub._getService().getServiceName().getLocalPart())
                 .withUrl(stub._getCall().getTargetEndpointAddress());
-        requestInfoXPathSet.parseMessage(requestInfoBuilder, messageContext.getRequestMessage());
+        requestInfoXPathSet.parseMessage(
+            requestInfoBuilder, messageContext.getRequestMessage(), lazyPayload);
         builder.withRequestInfo(requestInfoBuilder
                 .build());
         ResponseInfo.Builder responseInfoBuilder = new ResponseInfo.Builder();
-        responseInfoXPathSet.parseMessage(responseInfoBuilder, messageContext.getResponseMessage());
+        responseInfoXPathSet.parseMessage(
+            responseInfoBuilder, messageContext.getResponseMessage(), lazyPayload);
         builder.withResponseInfo(responseInfoBuilder.build());
       }
 
       return builder.withReturnValue(result).build();
+    } finally {
+      stubLock.unlock();
     }
   }
 
@@ -16,8 +16,8 @@ package com.google.api.ads.common.lib.soap.axis;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-import com.google.api.client.http.ByteArrayContent;
 import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpContent;
 import com.google.api.client.http.HttpRequest;
 import com.google.api.client.http.HttpRequestFactory;
 import com.google.api.client.http.HttpRequestInitializer;
@@ -27,10 +27,11 @@ import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.io.ByteStreams;
-import java.io.ByteArrayOutputStream;
 import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.zip.GZIPOutputStream;
@@ -117,24 +118,16 @@ public class HttpHandler extends BasicHandler implements HttpRequestInitializer
         Preconditions.checkNotNull(
             msgContext.getRequestMessage(), "Null request message on message context");
     
-    // Construct the output stream.
+    // Stream the message to the connection instead of buffering it, since requests with many
+    // operations can be large.
     String contentType = requestMessage.getContentType(msgContext.getSOAPConstants());
-    ByteArrayOutputStream bos = new ByteArrayOutputStream(BUFFER_SIZE);
-
-    if (msgContext.isPropertyTrue(HTTPConstants.MC_GZIP_REQUEST)) {
-      logger.debug("Compressing request");
-      try (GZIPOutputStream gzipOs = new GZIPOutputStream(bos, BUFFER_SIZE)) {
-        requestMessage.writeTo(gzipOs);
-      }
-    } else {
-      logger.debug("Not compressing request");
-      requestMessage.writeTo(bos);
-    }
+    boolean gzipRequest = msgContext.isPropertyTrue(HTTPConstants.MC_GZIP_REQUEST);
+    logger.debug(gzipRequest ? "Compressing request" : "Not compressing request");
 
     HttpRequest httpRequest =
         requestFactory.buildPostRequest(
             new GenericUrl(msgContext.getStrProp(MessageContext.TRANS_URL)),
-            new ByteArrayContent(contentType, bos.toByteArray()));
+            new MessageContent(requestMessage, contentType, gzipRequest));
 
     int timeoutMillis = msgContext.getTimeout();
     if (timeoutMillis >= 0) {
@@ -238,6 +231,78 @@ public class HttpHandler extends BasicHandler implements HttpRequestInitializer
     void afterClose();
   }
 
+  /**
+   * HTTP content that writes an Axis message, optionally compressed, directly to the request
+   * stream. Its length is unknown, so it is sent with chunked transfer encoding.
+   */
+  private static class MessageContent implements HttpContent {
+    private final Message message;
+    private final String type;
+    private final boolean gzip;
+
+    MessageContent(Message message, String type, boolean gzip) {
+      this.message = message;
+      this.type = type;
+      this.gzip = gzip;
+    }
+
+    @Override
+    public long getLength() {
+      return -1;
+    }
+
+    @Override
+    public String getType() {
+      return type;
+    }
+
+    /**
+     * Returns {@code false}, so that the message is not serialized an extra time to compute the
+     * length of the compressed content.
+     */
+    @Override
+    public boolean retrySupported() {
+      return false;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+      try {
+        if (gzip) {
+          // Closing the gzip stream frees its deflater, but must not close the stream of the HTTP
+          // request.
+          try (GZIPOutputStream gzipOs =
+              new GZIPOutputStream(new NonClosingOutputStream(out), BUFFER_SIZE)) {
+            message.writeTo(gzipOs);
+          }
+        } else {
+          message.writeTo(out);
+        }
+      } catch (SOAPException e) {
+        throw new IOException("Failed to write the request message", e);
+      }
+      out.flush();
+    }
+  }
+
+  /** Wrapper for an output stream that only flushes it when closed. */
+  private static class NonClosingOutputStream extends FilterOutputStream {
+
+    NonClosingOutputStream(OutputStream outputStream) {
+      super(outputStream);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+
   /** Wrapper for an input stream that triggers lifecycle events. */
   private static class NotifyingInputStream extends FilterInputStream {
     private final InputStreamEventListener inputStreamEventListener;
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import com.google.api.ads.common.lib.conf.AdsLibConfiguration;
 import com.google.api.ads.common.lib.exception.ServiceException;
 import com.google.api.ads.common.lib.soap.RequestInfoXPathSet;
 import com.google.api.ads.common.lib.soap.ResponseInfoXPathSet;
@@ -58,6 +59,8 @@ public class AxisHandlerTest {
   private RequestInfoXPathSet requestInfoXPathSet;
   @Mock
   private ResponseInfoXPathSet responseInfoXPathSet;
+  @Mock
+  private AdsLibConfiguration adsLibConfiguration;
   
   @Rule
   public ExpectedException thrown = ExpectedException.none();
@@ -66,7 +69,11 @@ public class AxisHandlerTest {
   public void setUp() throws Exception {
     MockitoAnnotations.initMocks(this);
     axisHandler =
-        new AxisHandler(engineConfigurationFactory, requestInfoXPathSet, responseInfoXPathSet);
+        new AxisHandler(
+            engineConfigurationFactory,
+            requestInfoXPathSet,
+            responseInfoXPathSet,
+            adsLibConfiguration);
     stub = axisHandler.createSoapClient(new MockAxisCompatibleServiceDescriptor());
   }
 
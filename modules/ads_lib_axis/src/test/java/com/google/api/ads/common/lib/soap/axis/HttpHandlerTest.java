@@ -14,15 +14,23 @@
 
 package com.google.api.ads.common.lib.soap.axis;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.google.api.ads.adwords.lib.soap.testing.SoapResponseXmlProvider;
 import com.google.api.ads.common.lib.soap.axis.HttpHandler.InputStreamEventListener;
+import com.google.api.ads.common.lib.testing.ActualResponse;
 import com.google.api.ads.common.lib.testing.MockHttpServer;
 import com.google.api.ads.common.lib.testing.MockResponse;
 import com.google.api.client.testing.http.MockHttpTransport;
@@ -30,6 +38,7 @@ import com.google.api.client.testing.http.MockLowLevelHttpRequest;
 import com.google.api.client.testing.http.MockLowLevelHttpResponse;
 import com.google.common.base.MoreObjects;
 import java.io.IOException;
+import java.io.OutputStream;
 import org.apache.axis.AxisEngine;
 import org.apache.axis.AxisFault;
 import org.apache.axis.Message;
@@ -46,6 +55,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 /** Tests for {@link HttpHandler}. */
 @RunWith(JUnit4.class)
@@ -136,6 +147,58 @@ public class HttpHandlerTest {
     httpHandler.invoke(messageContext);
   }
 
+  /** Tests that the request message is sent as is if compression is disabled. */
+  @Test
+  public void testInvokeWritesRequestMessage() throws Exception {
+    assertRequestMessageSent(false);
+  }
+
+  /** Tests that the request message is compressed if compression is enabled. */
+  @Test
+  public void testInvokeWritesCompressedRequestMessage() throws Exception {
+    assertRequestMessageSent(true);
+  }
+
+  /**
+   * Asserts that the request message is written to the request once, compressed if {@code
+   * gzip}.
+   */
+  private void assertRequestMessageSent(boolean gzip) throws Exception {
+    final String requestBody = "<soap:Envelope>request</soap:Envelope>";
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) throws Throwable {
+                ((OutputStream) invocation.getArguments()[0]).write(requestBody.getBytes(UTF_8));
+                return null;
+              }
+            })
+        .when(requestMessage)
+        .writeTo(any(OutputStream.class));
+    MessageContext messageContext = new MessageContext(axisEngine);
+    messageContext.setRequestMessage(requestMessage);
+    messageContext.setProperty(MessageContext.TRANS_URL, mockHttpServer.getServerUrl());
+    messageContext.setProperty(HTTPConstants.MC_GZIP_REQUEST, gzip);
+    mockHttpServer.setMockResponse(new MockResponse("Intentional failure", 302));
+
+    try {
+      httpHandler.invoke(messageContext);
+      fail("Expected an AxisFault");
+    } catch (AxisFault e) {
+      assertThat(e.getFaultString(), Matchers.containsString("302"));
+    }
+    ActualResponse actualResponse = mockHttpServer.getLastResponse();
+    assertEquals("Request body is incorrect", requestBody, actualResponse.getRequestBody());
+    if (gzip) {
+      assertTrue("Request body should be compressed", actualResponse.wasRequestBodyCompressed());
+    } else {
+      assertNull(
+          "Request body should not be compressed",
+          actualResponse.getRequestHeader("Content-Encoding"));
+    }
+    verify(requestMessage, times(1)).writeTo(any(OutputStream.class));
+  }
+
   /** Tests that a request with null content type will fail as expected. */
   @Test
   public void testInvokeWithoutContentType() throws AxisFault {
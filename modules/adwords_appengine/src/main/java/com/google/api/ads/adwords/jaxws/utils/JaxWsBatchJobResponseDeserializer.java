@@ -15,8 +15,15 @@
 package com.google.api.ads.adwords.jaxws.utils;
 
 import com.google.api.ads.adwords.lib.utils.BatchJobHelperUtility;
+import com.google.api.ads.adwords.lib.utils.BatchJobMutateResponseInterface;
+import com.google.api.ads.adwords.lib.utils.BatchJobMutateResultInterface;
+import com.google.api.ads.adwords.lib.utils.BatchJobMutateResultIterator;
+import com.google.api.ads.adwords.lib.utils.BatchJobMutateResultIterator.ResultParser;
 import com.google.api.ads.common.lib.soap.jaxb.JaxBDeserializer;
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteSource;
 import com.google.inject.Inject;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import javax.xml.transform.stream.StreamSource;
@@ -57,4 +64,37 @@ public class JaxWsBatchJobResponseDeserializer {
 
     return new JaxBDeserializer<>(clazz).deserialize(new StreamSource(wrappedStream));
   }
+
+  /**
+   * Returns an iterator that downloads and deserializes the mutate results one at a time as they
+   * are consumed, so that memory use does not grow with the number of results.
+   *
+   * @param responseClass the mutate response class, used to deserialize each result
+   * @param url the download URL
+   * @return the iterator over the batch job results
+   * @throws Exception if unable to start downloading the results
+   */
+  public <O,
+          E,
+          ResultT extends BatchJobMutateResultInterface<O, E>,
+          ResponseT extends BatchJobMutateResponseInterface<O, E, ResultT>>
+      BatchJobMutateResultIterator<ResultT> deserializeBatchJobMutateResultIterator(
+          Class<ResponseT> responseClass, URL url) throws Exception {
+    // Creating the JAXB context is expensive, so share it for all results.
+    final JaxBDeserializer<ResponseT> deserializer = new JaxBDeserializer<>(responseClass);
+    return batchJobHelperUtility.buildMutateResultIterator(
+        url,
+        new ResultParser<ResultT>() {
+          @Override
+          public ResultT parse(ByteSource wrappedResult) throws IOException {
+            try (InputStream wrappedStream = wrappedResult.openStream()) {
+              ResultT[] results =
+                  deserializer.deserialize(new StreamSource(wrappedStream)).getMutateResults();
+              Preconditions.checkState(
+                  results != null && results.length == 1, "Expected 1 result: %s", results);
+              return results[0];
+            }
+          }
+        });
+  }
 }
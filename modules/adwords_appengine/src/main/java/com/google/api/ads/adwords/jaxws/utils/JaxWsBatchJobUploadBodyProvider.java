@@ -14,11 +14,10 @@
 
 package com.google.api.ads.adwords.jaxws.utils;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
 import com.google.api.ads.adwords.lib.utils.BatchJobException;
 import com.google.api.ads.adwords.lib.utils.BatchJobMutateRequestInterface;
 import com.google.api.ads.adwords.lib.utils.BatchJobUploadBodyProvider;
+import com.google.api.ads.adwords.lib.utils.BatchJobUploadBuffer;
 import com.google.api.ads.common.lib.soap.jaxb.JaxBSerializer;
 import com.google.api.client.http.ByteArrayContent;
 import com.google.common.base.Preconditions;
@@ -50,8 +49,10 @@ public class JaxWsBatchJobUploadBodyProvider<RequestT extends BatchJobMutateRequ
     JaxBSerializer<RequestT> serializer =
         new JaxBSerializer<RequestT>(requestClass, requestQName);
 
-    String serializedRequest = serializer.serialize((RequestT) request, false);
+    // Serialize straight into bytes, without an intermediate String.
+    BatchJobUploadBuffer buffer = new BatchJobUploadBuffer();
+    serializer.serialize((RequestT) request, false, buffer);
 
-    return new ByteArrayContent("application/xml", serializedRequest.getBytes(UTF_8));
+    return buffer.toHttpContent("application/xml");
   }
 }
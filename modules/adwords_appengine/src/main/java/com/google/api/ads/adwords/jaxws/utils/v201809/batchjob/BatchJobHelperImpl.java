@@ -21,13 +21,17 @@ import com.google.api.ads.adwords.jaxws.v201809.cm.Operand;
 import com.google.api.ads.adwords.jaxws.v201809.cm.Operation;
 import com.google.api.ads.adwords.lib.utils.BatchJobException;
 import com.google.api.ads.adwords.lib.utils.BatchJobHelperInterface;
+import com.google.api.ads.adwords.lib.utils.BatchJobMutateResultIterator;
+import com.google.api.ads.adwords.lib.utils.BatchJobUploadCheckpoint;
 import com.google.api.ads.adwords.lib.utils.BatchJobUploadResponse;
 import com.google.api.ads.adwords.lib.utils.BatchJobUploadStatus;
 import com.google.api.ads.adwords.lib.utils.BatchJobUploader;
 import com.google.api.ads.adwords.lib.utils.logging.BatchJobLogger;
+import com.google.common.collect.Iterators;
 import com.google.inject.Inject;
 import java.net.URI;
 import java.net.URL;
+import javax.annotation.Nullable;
 
 /** Utility for uploading operations and downloading results for a {@link BatchJob}. */
 class BatchJobHelperImpl
@@ -61,10 +65,27 @@ class BatchJobHelperImpl
       boolean isLastRequest,
       BatchJobUploadStatus batchJobUploadStatus)
       throws BatchJobException {
+    return uploader.uploadIncrementalBatchJobOperations(
+        createRequest(operations), isLastRequest, batchJobUploadStatus);
+  }
+
+  @Override
+  public BatchJobUploadResponse uploadBatchJobOperationChunks(
+      Iterable<? extends Iterable<? extends Operation>> operationChunks,
+      BatchJobUploadStatus batchJobUploadStatus,
+      @Nullable BatchJobUploadCheckpoint checkpoint)
+      throws BatchJobException {
+    // Requests are created as the uploader consumes them, so skipped chunks are never copied.
+    return uploader.uploadIncrementalBatchJobOperations(
+        Iterators.transform(operationChunks.iterator(), BatchJobHelperImpl::createRequest),
+        batchJobUploadStatus,
+        checkpoint);
+  }
+
+  private static BatchJobMutateRequest createRequest(Iterable<? extends Operation> operations) {
     BatchJobMutateRequest request = new BatchJobMutateRequest();
     request.addOperations(operations);
-    return uploader.uploadIncrementalBatchJobOperations(
-        request, isLastRequest, batchJobUploadStatus);
+    return request;
   }
 
   @Override
@@ -89,4 +110,20 @@ class BatchJobHelperImpl
           "Failed to download batch job mutate response from URL: " + downloadUrl, e);
     }
   }
+
+  @Override
+  public BatchJobMutateResultIterator<MutateResult> iterateBatchJobMutateResults(
+      String downloadUrl) throws BatchJobException {
+    try {
+      BatchJobMutateResultIterator<MutateResult> mutateResults =
+          deserializer.deserializeBatchJobMutateResultIterator(
+              BatchJobMutateResponse.class, new URL(downloadUrl));
+      batchJobLogger.logStreamedDownload(downloadUrl);
+      return mutateResults;
+    } catch (Exception e) {
+      batchJobLogger.logDownload(downloadUrl, null, e);
+      throw new BatchJobException(
+          "Failed to download batch job mutate response from URL: " + downloadUrl, e);
+    }
+  }
 }
@@ -26,13 +26,27 @@ import com.google.api.ads.common.lib.soap.axis.AxisHandler;
 import com.google.api.ads.common.lib.soap.axis.AxisSoapHeaderFactory;
 import com.google.api.ads.common.lib.useragent.UserAgentCombiner;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import org.apache.axis.client.Stub;
+import org.apache.commons.beanutils.BeanUtils;
 
 /**
  * AdWords implementation of {@link HeaderHandler} for Axis.
+ *
+ * <p>The session fields of the {@code RequestHeader} object rarely change, so a template holding
+ * them is built once per service and distinct combination of those fields. Each call sets a copy
+ * of the template on its stub, since Axis header objects are mutable, and fills in the user agent,
+ * which changes as utilities are used. Changing the session simply selects (or builds) another
+ * template, and the {@code Authorization} HTTP header is still set on every call so that
+ * refreshed OAuth2 tokens are picked up.
  */
+@Singleton
 public class AdWordsAxisHeaderHandler implements
     HeaderHandler<AdWordsSession, AdWordsServiceDescriptor> {
 
@@ -44,7 +58,13 @@ public class AdWordsAxisHeaderHandler implements
   private final AxisSoapHeaderFactory<AdWordsServiceDescriptor> soapHeaderFactory;
   
   static final String REQUEST_HEADER_LOCAL_PART = "RequestHeader";
-  
+
+  private static final int MAX_CACHED_SOAP_HEADERS = 1000;
+
+  /** Header objects holding the session fields, keyed by the values they were built from. */
+  private final Cache<List<Object>, Object> soapHeaderTemplates =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SOAP_HEADERS).build();
+
   /**
    * Constructor.
    *
@@ -83,7 +103,7 @@ public class AdWordsAxisHeaderHandler implements
       Preconditions.checkArgument(soapClient instanceof Stub,
           "soapClient must be Stub but was: %s", soapClient);
       Stub stub = (Stub) soapClient;
-      Object soapHeader = soapHeaderFactory.createSoapHeader(adWordsServiceDescriptor);
+      Object soapHeader = getSoapHeader(adWordsSession, adWordsServiceDescriptor);
 
       String namespace =
           adWordsApiConfiguration.getNamespacePrefix() + "/"
@@ -92,17 +112,6 @@ public class AdWordsAxisHeaderHandler implements
 
       soapClientHandler.setHeader(stub, namespace, REQUEST_HEADER_LOCAL_PART, soapHeader);
 
-      soapClientHandler.setHeaderChild(stub, REQUEST_HEADER_LOCAL_PART, "developerToken",
-          adWordsSession.getDeveloperToken());
-      soapClientHandler.setHeaderChild(stub, REQUEST_HEADER_LOCAL_PART, "clientCustomerId",
-          adWordsSession.getClientCustomerId());
-      soapClientHandler.setHeaderChild(stub, REQUEST_HEADER_LOCAL_PART, "userAgent",
-          userAgentCombiner.getUserAgent(adWordsSession.getUserAgent()));
-      soapClientHandler.setHeaderChild(stub, REQUEST_HEADER_LOCAL_PART, "validateOnly",
-          adWordsSession.isValidateOnly());
-      soapClientHandler.setHeaderChild(stub, REQUEST_HEADER_LOCAL_PART, "partialFailure",
-          adWordsSession.isPartialFailure());
-
       soapClientHandler.setCompression(stub, adsLibConfiguration.isCompressionEnabled());
       soapClientHandler.setRequestTimeout(stub, adsLibConfiguration.getSoapRequestTimeout());
 
@@ -117,4 +126,39 @@ public class AdWordsAxisHeaderHandler implements
           "Unexpected exception setting headers for: " + adWordsServiceDescriptor, e);
     }
   }
+
+  /**
+   * Gets a new SOAP header for the session and service, copied from the template of the session
+   * fields, which is created if no stub has sent the same fields before.
+   */
+  private Object getSoapHeader(AdWordsSession adWordsSession,
+      AdWordsServiceDescriptor adWordsServiceDescriptor) throws InstantiationException,
+      IllegalAccessException, ClassNotFoundException, InvocationTargetException,
+      NoSuchMethodException {
+    // The header class and namespace are derived from the interface class.
+    List<Object> key = Arrays.<Object>asList(
+        adWordsServiceDescriptor.getInterfaceClass(),
+        adWordsSession.getDeveloperToken(),
+        adWordsSession.getClientCustomerId(),
+        adWordsSession.isValidateOnly(),
+        adWordsSession.isPartialFailure());
+    Object soapHeaderTemplate = soapHeaderTemplates.getIfPresent(key);
+    if (soapHeaderTemplate == null) {
+      // Concurrent misses may each build an equal template, the last one wins.
+      soapHeaderTemplate = soapHeaderFactory.createSoapHeader(adWordsServiceDescriptor);
+      BeanUtils.setProperty(
+          soapHeaderTemplate, "developerToken", adWordsSession.getDeveloperToken());
+      BeanUtils.setProperty(
+          soapHeaderTemplate, "clientCustomerId", adWordsSession.getClientCustomerId());
+      BeanUtils.setProperty(soapHeaderTemplate, "validateOnly", adWordsSession.isValidateOnly());
+      BeanUtils.setProperty(
+          soapHeaderTemplate, "partialFailure", adWordsSession.isPartialFailure());
+      soapHeaderTemplates.put(key, soapHeaderTemplate);
+    }
+    // The user agent includes the utilities used since the last call, so it is never cached.
+    Object soapHeader = BeanUtils.cloneBean(soapHeaderTemplate);
+    BeanUtils.setProperty(soapHeader, "userAgent",
+        userAgentCombiner.getUserAgent(adWordsSession.getUserAgent()));
+    return soapHeader;
+  }
 }
@@ -19,11 +19,13 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import com.google.api.ads.adwords.lib.utils.BatchJobException;
 import com.google.api.ads.adwords.lib.utils.BatchJobMutateRequestInterface;
 import com.google.api.ads.adwords.lib.utils.BatchJobUploadBodyProvider;
+import com.google.api.ads.adwords.lib.utils.BatchJobUploadBuffer;
 import com.google.api.client.http.ByteArrayContent;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSortedSet;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.SortedSet;
 import javax.xml.namespace.QName;
 import org.apache.axis.encoding.SerializationContext;
@@ -45,7 +47,9 @@ public class AxisBatchJobUploadBodyProvider implements BatchJobUploadBodyProvide
       boolean isFirstRequest, boolean isLastRequest) throws BatchJobException {
     Preconditions.checkNotNull(request, "Null request");
 
-    StringWriter writer = new StringWriter();
+    // Serialize straight into bytes, without an intermediate String.
+    BatchJobUploadBuffer buffer = new BatchJobUploadBuffer();
+    Writer writer = new OutputStreamWriter(buffer, UTF_8);
     SerializationContext context = new SerializationContext(writer) {
       /**
        * Override the serialize method called by the Axis serializer and force it to
@@ -72,8 +76,13 @@ public class AxisBatchJobUploadBodyProvider implements BatchJobUploadBodyProvide
     
     AxisSerializer serializer = new AxisSerializer();
     serializer.serialize(request, context);
+    try {
+      writer.flush();
+    } catch (IOException e) {
+      throw new BatchJobException("Failed to serialize the request", e);
+    }
 
-    return new ByteArrayContent("application/xml", writer.toString().getBytes(UTF_8));
+    return buffer.toHttpContent("application/xml");
   }
 
 }
@@ -17,6 +17,9 @@ package com.google.api.ads.adwords.axis.utils;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.api.ads.adwords.lib.utils.BatchJobHelperUtility;
+import com.google.api.ads.adwords.lib.utils.BatchJobMutateResultIterator;
+import com.google.api.ads.adwords.lib.utils.BatchJobMutateResultIterator.ResultParser;
+import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.io.ByteSource;
@@ -76,28 +79,87 @@ public class AxisDeserializer {
 
     // Build a wrapped input stream from the response.
     InputStream wrappedStream =
-        ByteSource.concat(
-                ByteSource.wrap(SOAP_START_BODY.getBytes(UTF_8)),
-                batchJobHelperUtility.buildWrappedByteSource(url, startIndex, numberResults),
-                ByteSource.wrap(SOAP_END_BODY.getBytes(UTF_8)))
+        wrapInSoapEnvelope(
+                batchJobHelperUtility.buildWrappedByteSource(url, startIndex, numberResults))
             .openStream();
 
-    // Create a MessageContext with a new TypeMappingRegistry that will only
-    // contain deserializers derived from serviceTypeMappings and the
-    // result class/QName pair.
+    readResults(
+        wrappedStream, createMessageContext(serviceTypeMappings), resultClass, resultQName,
+        results);
+    return results;
+  }
+
+  /**
+   * Returns an iterator that downloads and deserializes the mutate results one at a time as they
+   * are consumed, so that memory use does not grow with the number of results.
+   *
+   * @param resultConverter converts each deserialized {@code resultClass} object into the result
+   *     returned by the iterator
+   */
+  public <DeserializedT, ResultT>
+      BatchJobMutateResultIterator<ResultT> deserializeBatchJobMutateResultIterator(
+          URL url,
+          List<TypeMapping> serviceTypeMappings,
+          final Class<DeserializedT> resultClass,
+          final QName resultQName,
+          final Function<? super DeserializedT, ? extends ResultT> resultConverter)
+          throws Exception {
+    // All results share the deserializers registered once in the message context.
+    final MessageContext messageContext = createMessageContext(serviceTypeMappings);
+    return batchJobHelperUtility.buildMutateResultIterator(
+        url,
+        new ResultParser<ResultT>() {
+          @Override
+          public ResultT parse(ByteSource wrappedResult) throws Exception {
+            List<DeserializedT> results = Lists.newArrayListWithCapacity(1);
+            readResults(
+                wrapInSoapEnvelope(wrappedResult).openStream(),
+                messageContext,
+                resultClass,
+                resultQName,
+                results);
+            Preconditions.checkState(results.size() == 1, "Expected 1 result: %s", results);
+            return resultConverter.apply(results.get(0));
+          }
+        });
+  }
+
+  /** Wraps a {@code mutateResponse} document in a SOAP envelope. */
+  private static ByteSource wrapInSoapEnvelope(ByteSource mutateResponse) {
+    return ByteSource.concat(
+        ByteSource.wrap(SOAP_START_BODY.getBytes(UTF_8)),
+        mutateResponse,
+        ByteSource.wrap(SOAP_END_BODY.getBytes(UTF_8)));
+  }
+
+  /**
+   * Creates a MessageContext with a new TypeMappingRegistry that will only contain deserializers
+   * derived from serviceTypeMappings.
+   */
+  private MessageContext createMessageContext(List<TypeMapping> serviceTypeMappings) {
     MessageContext messageContext = new MessageContext(new AxisClient());
     TypeMappingRegistryImpl typeMappingRegistry = new TypeMappingRegistryImpl(true);
     messageContext.setTypeMappingRegistry(typeMappingRegistry);
 
-    // Construct an Axis deserialization context.
-    DeserializationContext deserializationContext =
-        new DeserializationContext(
-            new InputSource(wrappedStream), messageContext, Message.RESPONSE);
-
     // Register all type mappings with the new type mapping registry.
     TypeMapping registryTypeMapping =
         typeMappingRegistry.getOrMakeTypeMapping(messageContext.getEncodingStyle());
     registerTypeMappings(registryTypeMapping, serviceTypeMappings);
+    return messageContext;
+  }
+
+  /** Parses the wrapped input stream and adds the mutate results it contains to results. */
+  private <ResultT> void readResults(
+      InputStream wrappedStream,
+      MessageContext messageContext,
+      Class<ResultT> resultClass,
+      QName resultQName,
+      List<ResultT> results)
+      throws Exception {
+    // Construct an Axis deserialization context.
+    DeserializationContext deserializationContext =
+        new DeserializationContext(
+            new InputSource(wrappedStream), messageContext, Message.RESPONSE);
 
     // Parse the wrapped input stream.
     deserializationContext.parse();
@@ -113,7 +175,6 @@ public class AxisDeserializer {
       ResultT mutateResult = (ResultT) childElm.getValueAsType(resultQName, resultClass);
       results.add(mutateResult);
     }
-    return results;
   }
 
   /** Adds the type mappings in the list to {@code registryTypeMapping}. */
@@ -21,6 +21,8 @@ import com.google.api.ads.adwords.axis.v201809.cm.Operation;
 import com.google.api.ads.adwords.lib.client.AdWordsSession;
 import com.google.api.ads.adwords.lib.utils.BatchJobException;
 import com.google.api.ads.adwords.lib.utils.BatchJobHelperInterface;
+import com.google.api.ads.adwords.lib.utils.BatchJobMutateResultIterator;
+import com.google.api.ads.adwords.lib.utils.BatchJobUploadCheckpoint;
 import com.google.api.ads.adwords.lib.utils.BatchJobUploadResponse;
 import com.google.api.ads.adwords.lib.utils.BatchJobUploadStatus;
 import com.google.api.ads.adwords.lib.utils.SessionUtility;
@@ -29,6 +31,7 @@ import com.google.api.ads.common.lib.utils.AdsUtilityRegistry;
 import com.google.common.reflect.Reflection;
 import com.google.inject.Inject;
 import java.lang.reflect.InvocationHandler;
+import javax.annotation.Nullable;
 
 /** Implementation of {@link BatchJobHelperInterface} for Axis v201809. */
 @SessionUtility
@@ -71,6 +74,16 @@ public class BatchJobHelper
         operations, isLastRequest, batchJobUploadStatus);
   }
 
+  @Override
+  public BatchJobUploadResponse uploadBatchJobOperationChunks(
+      Iterable<? extends Iterable<? extends Operation>> operationChunks,
+      BatchJobUploadStatus batchJobUploadStatus,
+      @Nullable BatchJobUploadCheckpoint checkpoint)
+      throws BatchJobException {
+    return impl.uploadBatchJobOperationChunks(
+        operationChunks, batchJobUploadStatus, checkpoint);
+  }
+
   @Override
   public BatchJobMutateResponse downloadBatchJobMutateResponse(String downloadUrl)
       throws BatchJobException {
@@ -82,4 +95,10 @@ public class BatchJobHelper
       String downloadUrl, int startIndex, int numberResults) throws BatchJobException {
     return impl.downloadBatchJobMutateResponse(downloadUrl, startIndex, numberResults);
   }
+
+  @Override
+  public BatchJobMutateResultIterator<MutateResult> iterateBatchJobMutateResults(
+      String downloadUrl) throws BatchJobException {
+    return impl.iterateBatchJobMutateResults(downloadUrl);
+  }
 }
@@ -22,17 +22,21 @@ import com.google.api.ads.adwords.axis.v201809.cm.Operand;
 import com.google.api.ads.adwords.axis.v201809.cm.Operation;
 import com.google.api.ads.adwords.lib.utils.BatchJobException;
 import com.google.api.ads.adwords.lib.utils.BatchJobHelperInterface;
+import com.google.api.ads.adwords.lib.utils.BatchJobMutateResultIterator;
+import com.google.api.ads.adwords.lib.utils.BatchJobUploadCheckpoint;
 import com.google.api.ads.adwords.lib.utils.BatchJobUploadResponse;
 import com.google.api.ads.adwords.lib.utils.BatchJobUploadStatus;
 import com.google.api.ads.adwords.lib.utils.BatchJobUploader;
 import com.google.api.ads.adwords.lib.utils.logging.BatchJobLogger;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import java.net.URI;
 import java.net.URL;
 import java.rmi.RemoteException;
 import java.util.List;
+import javax.annotation.Nullable;
 import javax.xml.namespace.QName;
 import javax.xml.rpc.ServiceException;
 import org.apache.axis.client.Call;
@@ -70,10 +74,27 @@ class BatchJobHelperImpl
       boolean isLastRequest,
       BatchJobUploadStatus batchJobUploadStatus)
       throws BatchJobException {
+    return uploader.uploadIncrementalBatchJobOperations(
+        createRequest(operations), isLastRequest, batchJobUploadStatus);
+  }
+
+  @Override
+  public BatchJobUploadResponse uploadBatchJobOperationChunks(
+      Iterable<? extends Iterable<? extends Operation>> operationChunks,
+      BatchJobUploadStatus batchJobUploadStatus,
+      @Nullable BatchJobUploadCheckpoint checkpoint)
+      throws BatchJobException {
+    // Requests are created as the uploader consumes them, so skipped chunks are never copied.
+    return uploader.uploadIncrementalBatchJobOperations(
+        Iterators.transform(operationChunks.iterator(), BatchJobHelperImpl::createRequest),
+        batchJobUploadStatus,
+        checkpoint);
+  }
+
+  private static BatchJobMutateRequest createRequest(Iterable<? extends Operation> operations) {
     BatchJobMutateRequest request = new BatchJobMutateRequest();
     request.addOperations(operations);
-    return uploader.uploadIncrementalBatchJobOperations(
-        request, isLastRequest, batchJobUploadStatus);
+    return request;
   }
 
   @Override
@@ -116,16 +137,7 @@ class BatchJobHelperImpl
     BatchJobMutateResponse response = new BatchJobMutateResponse();
     List<MutateResult> mutateResults = Lists.newArrayList();
     for (com.google.api.ads.adwords.axis.v201809.cm.MutateResult cmMutateResult : cmMutateResults) {
-      MutateResult mutateResult = new MutateResult();
-      mutateResult.setIndex(cmMutateResult.getIndex());
-      mutateResult.setOperand(cmMutateResult.getResult());
-      if (cmMutateResult.getErrorList() != null) {
-        mutateResult.setErrorList(new ErrorList());
-        if (cmMutateResult.getErrorList().getErrors() != null) {
-          mutateResult.getErrorList().setErrors(cmMutateResult.getErrorList().getErrors());
-        }
-      }
-      mutateResults.add(mutateResult);
+      mutateResults.add(toBatchJobMutateResult(cmMutateResult));
     }
     response.setMutateResults(mutateResults.toArray(new MutateResult[mutateResults.size()]));
 
@@ -133,6 +145,42 @@ class BatchJobHelperImpl
     return response;
   }
 
+  @Override
+  public BatchJobMutateResultIterator<MutateResult> iterateBatchJobMutateResults(
+      String downloadUrl) throws BatchJobException {
+    // See downloadBatchJobMutateResponse for why the cm.MutateResult class is deserialized.
+    try {
+      BatchJobMutateResultIterator<MutateResult> mutateResults =
+          deserializer.deserializeBatchJobMutateResultIterator(
+              new URL(downloadUrl),
+              getServiceTypeMappings(),
+              com.google.api.ads.adwords.axis.v201809.cm.MutateResult.class,
+              resultQName,
+              BatchJobHelperImpl::toBatchJobMutateResult);
+      batchJobLogger.logStreamedDownload(downloadUrl);
+      return mutateResults;
+    } catch (Exception e) {
+      batchJobLogger.logDownload(downloadUrl, null, e);
+      throw new BatchJobException(
+          "Failed to download batch job mutate response from URL: " + downloadUrl, e);
+    }
+  }
+
+  /** Translates a cm.MutateResult into a batchjob.MutateResult. */
+  private static MutateResult toBatchJobMutateResult(
+      com.google.api.ads.adwords.axis.v201809.cm.MutateResult cmMutateResult) {
+    MutateResult mutateResult = new MutateResult();
+    mutateResult.setIndex(cmMutateResult.getIndex());
+    mutateResult.setOperand(cmMutateResult.getResult());
+    if (cmMutateResult.getErrorList() != null) {
+      mutateResult.setErrorList(new ErrorList());
+      if (cmMutateResult.getErrorList().getErrors() != null) {
+        mutateResult.getErrorList().setErrors(cmMutateResult.getErrorList().getErrors());
+      }
+    }
+    return mutateResult;
+  }
+
   /** Returns all of the service type mappings required to serialize/deserialize Axis objects. */
   static List<TypeMapping> getServiceTypeMappings() {
     // Build the list of type mappings based on BatchJobOpsService for this version of the API.
@@ -15,14 +15,15 @@
 package com.google.api.ads.adwords.axis;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.atLeast;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.api.ads.adwords.axis.v201809.cm.SoapHeader;
 import com.google.api.ads.adwords.lib.client.AdWordsServiceDescriptor;
 import com.google.api.ads.adwords.lib.client.AdWordsSession;
 import com.google.api.ads.adwords.lib.conf.AdWordsApiConfiguration;
@@ -32,9 +33,7 @@ import com.google.api.ads.common.lib.soap.axis.AxisHandler;
 import com.google.api.ads.common.lib.soap.axis.AxisSoapHeaderFactory;
 import com.google.api.ads.common.lib.useragent.UserAgentCombiner;
 import com.google.api.client.auth.oauth2.Credential;
-import com.google.common.collect.Maps;
 import java.util.List;
-import java.util.Map;
 import org.apache.axis.client.Stub;
 import org.junit.Before;
 import org.junit.Test;
@@ -102,48 +101,86 @@ public class AdWordsAxisHeaderHandlerTest {
    */
   @Test
   public void testSetHeaders() throws Exception {
+    when(soapHeaderFactory.createSoapHeader(adWordsServiceDescriptor)).thenReturn(
+        new SoapHeader());
 
-    // Set up the expected headers in a map.
-    Map<String, Object> expectedHeaders = Maps.newHashMap();
-    expectedHeaders.put("clientCustomerId", adWordsSession.getClientCustomerId());
-    expectedHeaders.put("developerToken", adWordsSession.getDeveloperToken());
-    expectedHeaders.put("validateOnly", adWordsSession.isValidateOnly());
-    expectedHeaders.put("userAgent", "libSig");
+    when(userAgentCombiner.getUserAgent(anyString())).thenReturn("libSig");
 
-    // Configure mocks to avoid relying on the underlying details of soapClientHandler.
-    doNothing().when(soapClientHandler)
-        .setHeader(eq(soapClient), anyString(), anyString(), any());
+    // Call the actual method being tested.
+    headerHandler.setHeaders(soapClient, adWordsSession, adWordsServiceDescriptor);
 
-    when(soapClientHandler.getHeader(eq(soapClient), anyString())).thenReturn(Maps.newHashMap());
+    // Verify that the header set on the stub holds each expected value.
+    SoapHeader soapHeader = captureSoapHeaders(1).get(0);
+    assertEquals(adWordsSession.getClientCustomerId(), soapHeader.getClientCustomerId());
+    assertEquals(adWordsSession.getDeveloperToken(), soapHeader.getDeveloperToken());
+    assertEquals(adWordsSession.isValidateOnly(), soapHeader.getValidateOnly());
+    assertEquals("libSig", soapHeader.getUserAgent());
+    verify(authorizationHeaderHandler).setAuthorization(soapClient, adWordsSession);
+  }
 
-    when(soapHeaderFactory.createSoapHeader(adWordsServiceDescriptor)).thenReturn(
-        Maps.newHashMap());
+  /**
+   * Tests that the session fields are only set once while the session is unchanged, that each call
+   * sets its own copy of the header, and that the authorization header is still set on every call.
+   */
+  @Test
+  public void testSetHeaders_reusesSessionFields() throws Exception {
+    when(soapHeaderFactory.createSoapHeader(adWordsServiceDescriptor)).thenAnswer(
+        invocation -> new SoapHeader());
 
-    when(userAgentCombiner.getUserAgent(anyString())).thenReturn(
-        expectedHeaders.get("userAgent").toString());
+    headerHandler.setHeaders(soapClient, adWordsSession, adWordsServiceDescriptor);
+    headerHandler.setHeaders(soapClient, adWordsSession, adWordsServiceDescriptor);
 
-    // Call the actual method being tested.
+    List<SoapHeader> soapHeaders = captureSoapHeaders(2);
+    assertNotSame(soapHeaders.get(0), soapHeaders.get(1));
+    assertEquals(soapHeaders.get(0), soapHeaders.get(1));
+    verify(soapHeaderFactory, times(1)).createSoapHeader(adWordsServiceDescriptor);
+    verify(authorizationHeaderHandler, times(2)).setAuthorization(soapClient, adWordsSession);
+  }
+
+  /**
+   * Tests that the user agent is computed on every call, so that utilities used between calls show
+   * up in the user agent of the next call.
+   */
+  @Test
+  public void testSetHeaders_userAgentUpdated() throws Exception {
+    when(soapHeaderFactory.createSoapHeader(adWordsServiceDescriptor)).thenAnswer(
+        invocation -> new SoapHeader());
+    when(userAgentCombiner.getUserAgent(anyString())).thenReturn("libSig", "libSig, Utility");
+
+    headerHandler.setHeaders(soapClient, adWordsSession, adWordsServiceDescriptor);
+    headerHandler.setHeaders(soapClient, adWordsSession, adWordsServiceDescriptor);
+
+    List<SoapHeader> soapHeaders = captureSoapHeaders(2);
+    assertEquals("libSig", soapHeaders.get(0).getUserAgent());
+    assertEquals("libSig, Utility", soapHeaders.get(1).getUserAgent());
+    verify(userAgentCombiner, times(2)).getUserAgent(adWordsSession.getUserAgent());
+  }
+
+  /**
+   * Tests that changing the session results in a new SOAP header with the new values.
+   */
+  @Test
+  public void testSetHeaders_sessionChanged() throws Exception {
+    when(soapHeaderFactory.createSoapHeader(adWordsServiceDescriptor)).thenAnswer(
+        invocation -> new SoapHeader());
+
+    headerHandler.setHeaders(soapClient, adWordsSession, adWordsServiceDescriptor);
+    adWordsSession.setClientCustomerId("098-765-4321");
+    adWordsSession.setValidateOnly(false);
     headerHandler.setHeaders(soapClient, adWordsSession, adWordsServiceDescriptor);
 
-    // Verify that setHeaderChild was invoked on each expected name/value pair.
-    ArgumentCaptor<String> nameCaptor = ArgumentCaptor.forClass(String.class);
-    ArgumentCaptor<Object> valueCaptor = ArgumentCaptor.forClass(Object.class);
-
-    verify(soapClientHandler, atLeast(expectedHeaders.size())).setHeaderChild(eq(soapClient),
-        anyString(), nameCaptor.capture(), valueCaptor.capture());
-
-    List<String> capturedNames = nameCaptor.getAllValues();
-    List<Object> capturedValues = valueCaptor.getAllValues();
-
-    // Note that capturedNames.size() will be greater than expectedHeaders.size(),
-    // but that's fine. This test just verifies that the key values in
-    // expectedHeaders are all present.
-    for (int i = 0; i < expectedHeaders.size(); i++) {
-      String name = capturedNames.get(i);
-      Object value = capturedValues.get(i);
-      Object expectedValue = expectedHeaders.get(name);
-      assertEquals("Captured value for " + name + " is incorrect", expectedValue, value);
-    }
+    List<SoapHeader> soapHeaders = captureSoapHeaders(2);
+    assertEquals("123-456-7890", soapHeaders.get(0).getClientCustomerId());
+    assertEquals(true, soapHeaders.get(0).getValidateOnly());
+    assertEquals("098-765-4321", soapHeaders.get(1).getClientCustomerId());
+    assertEquals(false, soapHeaders.get(1).getValidateOnly());
   }
 
+  /** Captures the header objects set on the stub. */
+  private List<SoapHeader> captureSoapHeaders(int expectedCount) {
+    ArgumentCaptor<SoapHeader> soapHeaderCaptor = ArgumentCaptor.forClass(SoapHeader.class);
+    verify(soapClientHandler, times(expectedCount)).setHeader(eq(soapClient), any(),
+        eq(AdWordsAxisHeaderHandler.REQUEST_HEADER_LOCAL_PART), soapHeaderCaptor.capture());
+    return soapHeaderCaptor.getAllValues();
+  }
 }
@@ -26,12 +26,26 @@ import com.google.api.ads.common.lib.soap.AuthorizationHeaderHandler;
 import com.google.api.ads.common.lib.soap.axis.AxisHandler;
 import com.google.api.ads.common.lib.useragent.UserAgentCombiner;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import org.apache.axis.client.Stub;
 import org.apache.commons.beanutils.BeanUtils;
 
-/** Ad Manager implementation of {@link HeaderHandler}. */
+/**
+ * Ad Manager implementation of {@link HeaderHandler}.
+ *
+ * <p>A template of the {@code RequestHeader} object holding the network code is built once per
+ * service and network code. Each call sets a copy of the template on its stub, since Axis header
+ * objects are mutable, and fills in the application name, which includes the user agent of the
+ * utilities used since the last call. The {@code Authorization} HTTP header is still set on every
+ * call so that refreshed OAuth2 tokens are picked up.
+ */
+@Singleton
 public class AdManagerAxisHeaderHandler
     implements HeaderHandler<AdManagerSession, AdManagerServiceDescriptor> {
 
@@ -42,6 +56,12 @@ public class AdManagerAxisHeaderHandler
   private final UserAgentCombiner userAgentCombiner;
   private final AdsLibConfiguration adsLibConfiguration;
 
+  private static final int MAX_CACHED_SOAP_HEADERS = 1000;
+
+  /** Header objects holding the network code, keyed by the values they were built from. */
+  private final Cache<List<Object>, Object> soapHeaderTemplates =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SOAP_HEADERS).build();
+
   /**
    * Constructor.
    *
@@ -84,15 +104,7 @@ public class AdManagerAxisHeaderHandler
 
       adManagerHttpHeaderHandler.setHttpHeaders(soapClient, adManagerSession);
 
-      Object soapHeader = createSoapHeader(adManagerServiceDescriptor);
-
-      BeanUtils.setProperty(
-          soapHeader,
-          "applicationName",
-          userAgentCombiner.getUserAgent(adManagerSession.getApplicationName()));
-      if (adManagerSession.getNetworkCode() != null) {
-        BeanUtils.setProperty(soapHeader, "networkCode", adManagerSession.getNetworkCode());
-      }
+      Object soapHeader = getSoapHeader(adManagerSession, adManagerServiceDescriptor);
 
       setAuthenticationHeaders(soapClient, adManagerSession);
 
@@ -115,6 +127,8 @@ public class AdManagerAxisHeaderHandler
       throw new ServiceException("Unexpected exception.", e);
     } catch (SecurityException e) {
       throw new ServiceException("Unexpected exception.", e);
+    } catch (NoSuchMethodException e) {
+      throw new ServiceException("Unexpected exception.", e);
     }
   }
 
@@ -131,6 +145,40 @@ public class AdManagerAxisHeaderHandler
     authorizationHeaderHandler.setAuthorization(soapClient, adManagerSession);
   }
 
+  /**
+   * Gets a new SOAP header for the session and service, copied from the template holding the
+   * network code, which is created if no stub has sent the same network code before.
+   *
+   * @param adManagerSession the Ad Manager session
+   * @param adsServiceDescriptor the ads service descriptor
+   * @return the populated SOAP header
+   */
+  private Object getSoapHeader(
+      AdManagerSession adManagerSession, AdManagerServiceDescriptor adsServiceDescriptor)
+      throws InstantiationException, IllegalAccessException, ClassNotFoundException,
+          InvocationTargetException, NoSuchMethodException {
+    List<Object> key =
+        Arrays.<Object>asList(
+            adsServiceDescriptor.getInterfaceClass(), adManagerSession.getNetworkCode());
+    Object soapHeaderTemplate = soapHeaderTemplates.getIfPresent(key);
+    if (soapHeaderTemplate == null) {
+      // Concurrent misses may each build an equal template, the last one wins.
+      soapHeaderTemplate = createSoapHeader(adsServiceDescriptor);
+      if (adManagerSession.getNetworkCode() != null) {
+        BeanUtils.setProperty(
+            soapHeaderTemplate, "networkCode", adManagerSession.getNetworkCode());
+      }
+      soapHeaderTemplates.put(key, soapHeaderTemplate);
+    }
+    // The user agent includes the utilities used since the last call, so it is never cached.
+    Object soapHeader = BeanUtils.cloneBean(soapHeaderTemplate);
+    BeanUtils.setProperty(
+        soapHeader,
+        "applicationName",
+        userAgentCombiner.getUserAgent(adManagerSession.getApplicationName()));
+    return soapHeader;
+  }
+
   /**
    * Creates a SOAP header.
    *
@@ -0,0 +1,103 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.admanager.axis.utils.v201911;
+
+import com.google.api.ads.admanager.axis.utils.v201911.StatementPager.PageFetcher;
+import com.google.api.ads.admanager.lib.utils.KeysetIteratorHelper;
+import java.util.Iterator;
+
+/**
+ * {@code KeysetIterator} iterates over all objects of a statement with keyset pagination, fetching
+ * each page after the largest ID seen so far.
+ *
+ * <p>Typical usage is:
+ *
+ * <pre>
+ * StatementBuilder statementBuilder = new StatementBuilder()
+ *     .where("status = :status")
+ *     .limit(StatementBuilder.SUGGESTED_PAGE_LIMIT)
+ *     .withBindVariableValue("status", LineItemStatus.DELIVERING.toString());
+ *
+ * KeysetIterator&lt;LineItem&gt; lineItems =
+ *     new KeysetIterator&lt;&gt;(statementBuilder, lineItemService::getLineItemsByStatement);
+ * while (lineItems.hasNext()) {
+ *   LineItem lineItem = lineItems.next();
+ *   // ...
+ * }
+ * </pre>
+ *
+ * <p>Unlike paging with an offset, each page costs the same however deep the scan is, and objects
+ * created or deleted during the scan do not cause others to be skipped or repeated. Only objects
+ * with a numeric {@code Long} ID are supported, so not, e.g., ad units, whose IDs are strings. The
+ * statement must not set an offset or an order other than {@code id ASC}. To scan in parallel,
+ * give each worker its own statement builder limited to a range of IDs with {@link
+ * StatementBuilder#upToId(Long)}, and start it after the previous range.
+ *
+ * <p>Pages are fetched lazily by {@link #hasNext()}. If fetching a page fails, an {@link
+ * IllegalStateException} is thrown with the {@link java.rmi.RemoteException} as its cause, and
+ * {@link #getLastId()} can be used to resume the scan.
+ *
+ * @param <T> the object type
+ */
+public final class KeysetIterator<T> implements Iterator<T> {
+
+  private final KeysetIteratorHelper<T> keysetIteratorHelper;
+
+  /**
+   * Constructs an iterator over all objects of the statement.
+   *
+   * @param statementBuilder the statement to iterate over. Its ID range is changed while iterating.
+   * @param pageFetcher fetches a page of objects for a statement
+   */
+  public KeysetIterator(
+      StatementBuilder statementBuilder, PageFetcher<? extends Iterable<T>> pageFetcher) {
+    this(statementBuilder, pageFetcher, 0L);
+  }
+
+  /**
+   * Constructs an iterator over the objects of the statement with an ID greater than {@code
+   * lastId}.
+   *
+   * @param statementBuilder the statement to iterate over. Its ID range is changed while iterating.
+   * @param pageFetcher fetches a page of objects for a statement
+   * @param lastId the ID to start after
+   */
+  public KeysetIterator(
+      final StatementBuilder statementBuilder,
+      final PageFetcher<? extends Iterable<T>> pageFetcher,
+      long lastId) {
+    this.keysetIteratorHelper =
+        new KeysetIteratorHelper<T>(
+            id -> pageFetcher.getPage(statementBuilder.afterId(id).toStatement()), lastId);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return keysetIteratorHelper.hasNext();
+  }
+
+  @Override
+  public T next() {
+    return keysetIteratorHelper.next();
+  }
+
+  /**
+   * Returns the largest ID fetched so far. A scan can be resumed after this ID once the objects
+   * already fetched have been processed.
+   */
+  public long getLastId() {
+    return keysetIteratorHelper.getLastId();
+  }
+}
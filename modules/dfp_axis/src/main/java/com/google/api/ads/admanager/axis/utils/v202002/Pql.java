@@ -57,6 +57,9 @@ import org.apache.commons.lang.StringEscapeUtils;
  * CsvFiles.writeCsv(Pql.resultSetToStringArrayList(combinedResultSet), filePath);
  * </code>
  * </pre>
+ *
+ * <p>Combining result sets copies every row again for each page, and holds the whole table in
+ * memory. To read large tables, use {@link PqlReader} instead.
  */
 public final class Pql {
 
@@ -175,7 +178,7 @@ public final class Pql {
         return null;
       } else {
         try {
-          return NumberFormat.getInstance().parse(((NumberValue) value).getValue());
+          return parseNumber(((NumberValue) value).getValue());
         } catch (ParseException e) {
           throw new IllegalStateException(
               "Received invalid number format from API: " + ((NumberValue) value).getValue());
@@ -204,6 +207,40 @@ public final class Pql {
     }
   }
 
+  /**
+   * Parses a number from the API as {@code NumberFormat.getInstance().parse} would, returning a
+   * {@code Long} for integers and a {@code Double} otherwise. Integers, which most numbers are, are
+   * parsed without creating a {@code NumberFormat}.
+   */
+  private static Number parseNumber(String number) throws ParseException {
+    if (isPlainLong(number)) {
+      return Long.parseLong(number);
+    }
+    return NumberFormat.getInstance().parse(number);
+  }
+
+  /**
+   * Returns true if {@code number} is an optional minus sign followed by digits, that fit in a
+   * {@code long}. Negative zero is excluded since {@code NumberFormat} parses it as a {@code
+   * Double}.
+   */
+  private static boolean isPlainLong(String number) {
+    int start = number.startsWith("-") ? 1 : 0;
+    int digits = number.length() - start;
+    if (digits == 0 || digits > 18) {
+      return false;
+    }
+    boolean zero = true;
+    for (int i = start; i < number.length(); i++) {
+      char c = number.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+      zero &= c == '0';
+    }
+    return start == 0 || !zero;
+  }
+
   /**
    * Gets the underlying value of the {@code Value} object that's considered native to Java (i.e.
    * DateTimeValue will return a Joda DateTime, not an API DateTime and DateValue will return a
@@ -0,0 +1,140 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.admanager.axis.utils.v202002;
+
+import com.google.api.ads.admanager.axis.v202002.Statement;
+import com.google.api.ads.admanager.lib.utils.StatementPagerHelper;
+import com.google.common.base.Throwables;
+import java.rmi.RemoteException;
+import java.util.function.Consumer;
+
+/**
+ * {@code StatementPager} fetches all pages of a statement, fetching pages after the first one
+ * concurrently.
+ *
+ * <p>Typical usage is:
+ *
+ * <pre>
+ * StatementBuilder statementBuilder = new StatementBuilder()
+ *     .where("status = :status")
+ *     .orderBy("id ASC")
+ *     .withBindVariableValue("status", LineItemStatus.DELIVERING.toString());
+ *
+ * new StatementPager().forEachPage(
+ *     statementBuilder,
+ *     lineItemService::getLineItemsByStatement,
+ *     page -&gt; {
+ *       for (LineItem lineItem : page) {
+ *         // ...
+ *       }
+ *     });
+ * </pre>
+ *
+ * <p>The first page is fetched to learn the {@code totalResultSetSize} of the statement, and the
+ * remaining pages are fetched with up to {@code maxConcurrentPages} requests in flight. Pages are
+ * passed to the consumer on the calling thread.
+ *
+ * <p>A service client without a SOAP client pool makes one call at a time, so its pages are
+ * fetched one after the other however many requests are in flight. Set
+ * {@code api.admanager.soapClientPoolSize} to at least {@code maxConcurrentPages} in
+ * {@code ads.properties} to fetch pages concurrently.
+ */
+public final class StatementPager {
+
+  public static final int DEFAULT_MAX_CONCURRENT_PAGES = 4;
+
+  private final StatementPagerHelper statementPagerHelper;
+
+  /**
+   * Fetches a page of results for a statement, such as {@code
+   * LineItemServiceInterface#getLineItemsByStatement}.
+   *
+   * @param <P> the page type
+   */
+  public interface PageFetcher<P> {
+    P getPage(Statement statement) throws RemoteException;
+  }
+
+  /**
+   * Constructs a statement pager that fetches pages of {@link
+   * StatementBuilder#SUGGESTED_PAGE_LIMIT} results with up to {@link
+   * #DEFAULT_MAX_CONCURRENT_PAGES} requests in flight.
+   */
+  public StatementPager() {
+    this(StatementBuilder.SUGGESTED_PAGE_LIMIT, DEFAULT_MAX_CONCURRENT_PAGES);
+  }
+
+  /**
+   * Constructs a statement pager.
+   *
+   * @param pageSize the number of results to request in each page
+   * @param maxConcurrentPages the maximum number of page requests in flight at a time
+   */
+  public StatementPager(int pageSize, int maxConcurrentPages) {
+    this.statementPagerHelper = new StatementPagerHelper(pageSize, maxConcurrentPages);
+  }
+
+  /**
+   * Fetches every page of the statement and passes the pages to {@code consumer} in offset order.
+   *
+   * @see #forEachPage(StatementBuilder, PageFetcher, Consumer, boolean)
+   */
+  public <P> int forEachPage(
+      StatementBuilder statementBuilder, PageFetcher<P> pageFetcher, Consumer<? super P> consumer)
+      throws RemoteException {
+    return forEachPage(statementBuilder, pageFetcher, consumer, true);
+  }
+
+  /**
+   * Fetches every page of the statement, starting at its offset, and passes the pages to {@code
+   * consumer}. The limit and offset of {@code statementBuilder} are changed while paging.
+   *
+   * @param statementBuilder the statement to page through
+   * @param pageFetcher fetches a page of results for a statement
+   * @param consumer receives each page on the calling thread
+   * @param inOrder if true, pages are passed to the consumer in offset order. Otherwise they are
+   *     passed in the order they are fetched, after the first page.
+   * @return the total number of results of the statement
+   * @throws RemoteException if fetching a page failed. Page requests still in flight are
+   *     cancelled.
+   */
+  public <P> int forEachPage(
+      StatementBuilder statementBuilder,
+      PageFetcher<P> pageFetcher,
+      Consumer<? super P> consumer,
+      boolean inOrder)
+      throws RemoteException {
+    Integer startOffset = statementBuilder.getOffset();
+    try {
+      return statementPagerHelper.forEachPage(
+          startOffset == null ? 0 : startOffset,
+          (offset, limit) -> {
+            // Statements are built on the calling thread since StatementBuilder is not
+            // thread-safe.
+            Statement statement = statementBuilder.limit(limit).offset(offset).toStatement();
+            return () -> pageFetcher.getPage(statement);
+          },
+          consumer,
+          inOrder);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while fetching pages.", e);
+    } catch (Exception e) {
+      Throwables.throwIfInstanceOf(e, RemoteException.class);
+      Throwables.throwIfUnchecked(e);
+      throw new IllegalStateException("Failed to fetch pages.", e);
+    }
+  }
+}
@@ -0,0 +1,268 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.admanager.axis.utils.v202005;
+
+import com.google.api.ads.admanager.axis.v202005.ColumnType;
+import com.google.api.ads.admanager.axis.v202005.ResultSet;
+import com.google.api.ads.admanager.axis.v202005.Row;
+import com.google.api.ads.admanager.axis.v202005.Statement;
+import com.google.api.ads.admanager.axis.v202005.Value;
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.opencsv.CSVWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.rmi.RemoteException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * {@code PqlReader} reads every row of a PQL query page by page, passing each row on as soon as its
+ * page is fetched, so the whole table is never held in memory.
+ *
+ * <p>Pages are requested until one is empty, so reading costs one request more than there are
+ * pages of rows.
+ *
+ * <p>Typical usage is:
+ *
+ * <pre>
+ * StatementBuilder statementBuilder = new StatementBuilder()
+ *     .select("Id, Name, CountryCode")
+ *     .from("Geo_Target")
+ *     .where("Type = 'City'")
+ *     .orderBy("Id ASC");
+ *
+ * try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+ *   new PqlReader().writeCsv(statementBuilder, pqlService::select, writer);
+ * }
+ * </pre>
+ *
+ * <p>Values are converted as by {@link Pql#getNativeValue(Value)} or {@link Pql#toString(Value)},
+ * so the CSV written matches {@code CsvFiles.writeCsv(Pql.resultSetToStringArrayList(...))} over
+ * the combined result sets.
+ */
+public final class PqlReader {
+
+  private final int pageSize;
+
+  /**
+   * Fetches a result set for a statement, such as {@code
+   * PublisherQueryLanguageServiceInterface#select}.
+   */
+  public interface ResultSetFetcher {
+    ResultSet select(Statement statement) throws RemoteException;
+  }
+
+  /**
+   * Receives the rows of a PQL query.
+   *
+   * @param <T> the type of the values
+   */
+  public interface RowConsumer<T> {
+    /** Receives the column labels, before any row. */
+    void acceptColumnLabels(List<String> columnLabels) throws IOException;
+
+    /**
+     * Receives the values of a row. The list is reused for the next row, so it must be copied to be
+     * kept.
+     */
+    void acceptRow(List<T> values) throws IOException;
+  }
+
+  /**
+   * Constructs a PQL reader that fetches pages of {@link StatementBuilder#SUGGESTED_PAGE_LIMIT}
+   * rows.
+   */
+  public PqlReader() {
+    this(StatementBuilder.SUGGESTED_PAGE_LIMIT);
+  }
+
+  /**
+   * Constructs a PQL reader.
+   *
+   * @param pageSize the number of rows to request in each page
+   */
+  public PqlReader(int pageSize) {
+    Preconditions.checkArgument(pageSize > 0, "Page size %s is not positive", pageSize);
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * Reads every row of the query, starting at its offset, and passes the values of each row as
+   * returned by {@link Pql#getNativeValue(Value)}. The limit and offset of {@code statementBuilder}
+   * are changed while reading.
+   *
+   * @return the number of rows read
+   * @throws RemoteException if fetching a page failed
+   * @throws IOException if the consumer failed
+   * @throws IllegalStateException if the columns of a page do not match the first page
+   */
+  public int forEachRow(
+      StatementBuilder statementBuilder,
+      ResultSetFetcher resultSetFetcher,
+      RowConsumer<Object> consumer)
+      throws RemoteException, IOException {
+    return read(statementBuilder, resultSetFetcher, Pql::getNativeValue, Object[]::new, consumer);
+  }
+
+  /**
+   * Reads every row of the query, starting at its offset, and passes the values of each row as
+   * returned by {@link Pql#toString(Value)}. The limit and offset of {@code statementBuilder} are
+   * changed while reading.
+   *
+   * @return the number of rows read
+   * @throws RemoteException if fetching a page failed
+   * @throws IOException if the consumer failed
+   * @throws IllegalStateException if the columns of a page do not match the first page
+   */
+  public int forEachStringRow(
+      StatementBuilder statementBuilder,
+      ResultSetFetcher resultSetFetcher,
+      RowConsumer<String> consumer)
+      throws RemoteException, IOException {
+    return read(statementBuilder, resultSetFetcher, Pql::toString, String[]::new, consumer);
+  }
+
+  /**
+   * Writes the column labels and every row of the query to {@code writer} as comma separated
+   * values. The writer is flushed but not closed.
+   *
+   * @return the number of rows written, not counting the header
+   * @see #forEachStringRow(StatementBuilder, ResultSetFetcher, RowConsumer)
+   */
+  public int writeCsv(
+      StatementBuilder statementBuilder, ResultSetFetcher resultSetFetcher, Writer writer)
+      throws RemoteException, IOException {
+    return write(statementBuilder, resultSetFetcher, writer, CSVWriter.DEFAULT_SEPARATOR);
+  }
+
+  /**
+   * Writes the column labels and every row of the query to {@code writer} as tab separated values.
+   * The writer is flushed but not closed.
+   *
+   * @return the number of rows written, not counting the header
+   * @see #forEachStringRow(StatementBuilder, ResultSetFetcher, RowConsumer)
+   */
+  public int writeTsv(
+      StatementBuilder statementBuilder, ResultSetFetcher resultSetFetcher, Writer writer)
+      throws RemoteException, IOException {
+    return write(statementBuilder, resultSetFetcher, writer, '\t');
+  }
+
+  private int write(
+      StatementBuilder statementBuilder,
+      ResultSetFetcher resultSetFetcher,
+      Writer writer,
+      char separator)
+      throws RemoteException, IOException {
+    final CSVWriter csvWriter =
+        new CSVWriter(
+            writer,
+            separator,
+            CSVWriter.DEFAULT_QUOTE_CHARACTER,
+            CSVWriter.DEFAULT_ESCAPE_CHARACTER,
+            CSVWriter.DEFAULT_LINE_END);
+    int rowCount =
+        forEachStringRow(
+            statementBuilder,
+            resultSetFetcher,
+            new RowConsumer<String>() {
+              private String[] line;
+
+              @Override
+              public void acceptColumnLabels(List<String> columnLabels) {
+                line = columnLabels.toArray(new String[columnLabels.size()]);
+                csvWriter.writeNext(line);
+              }
+
+              @Override
+              public void acceptRow(List<String> values) {
+                csvWriter.writeNext(values.toArray(line));
+              }
+            });
+    csvWriter.flush();
+    return rowCount;
+  }
+
+  /**
+   * Reads every row of the query, converting each value with {@code converter} into a buffer that
+   * is reused for every row.
+   */
+  private <T> int read(
+      StatementBuilder statementBuilder,
+      ResultSetFetcher resultSetFetcher,
+      Function<Value, T> converter,
+      IntFunction<T[]> newArray,
+      RowConsumer<T> consumer)
+      throws RemoteException, IOException {
+    Integer startOffset = statementBuilder.getOffset();
+    int offset = startOffset == null ? 0 : startOffset;
+    ColumnType[] columnTypes = null;
+    T[] values = null;
+    List<T> row = null;
+    int rowCount = 0;
+    while (true) {
+      ResultSet resultSet =
+          resultSetFetcher.select(statementBuilder.limit(pageSize).offset(offset).toStatement());
+      if (columnTypes == null) {
+        columnTypes = resultSet.getColumnTypes();
+        List<String> columnLabels = getColumnLabels(columnTypes);
+        consumer.acceptColumnLabels(Collections.unmodifiableList(columnLabels));
+        values = newArray.apply(columnLabels.size());
+        row = Collections.unmodifiableList(Arrays.asList(values));
+      }
+      Row[] rows = resultSet.getRows();
+      if (rows == null || rows.length == 0) {
+        return rowCount;
+      }
+      if (!Arrays.equals(columnTypes, resultSet.getColumnTypes())) {
+        throw new IllegalStateException(
+            String.format(
+                "Columns [%s] at offset %d do not match first columns [%s]",
+                Joiner.on(",").join(getColumnLabels(resultSet.getColumnTypes())),
+                offset,
+                Joiner.on(",").join(getColumnLabels(columnTypes))));
+      }
+      for (Row resultRow : rows) {
+        Value[] rowValues = resultRow.getValues();
+        Preconditions.checkState(
+            rowValues.length == values.length,
+            "Row %s has %s values but there are %s columns",
+            rowCount,
+            rowValues.length,
+            values.length);
+        for (int i = 0; i < rowValues.length; i++) {
+          values[i] = converter.apply(rowValues[i]);
+        }
+        consumer.acceptRow(row);
+        rowCount++;
+      }
+      // A short page is not necessarily the last one, since the server may return fewer rows than
+      // requested, so reading only stops at an empty page.
+      offset += rows.length;
+    }
+  }
+
+  private static List<String> getColumnLabels(ColumnType[] columnTypes) {
+    String[] columnLabels = new String[columnTypes == null ? 0 : columnTypes.length];
+    for (int i = 0; i < columnLabels.length; i++) {
+      columnLabels[i] = columnTypes[i].getLabelName();
+    }
+    return Arrays.asList(columnLabels);
+  }
+}
@@ -43,6 +43,9 @@ import java.util.Map;
  * statementBuilder.increaseOffsetBy(20);
  * statement = statementBuilder.toStatement();
  * </pre>
+ *
+ * <p>For deep scans, {@link #afterId(Long)} switches to keyset pagination, which pages by ID
+ * instead of offset. See {@link KeysetIterator}.
  */
 public final class StatementBuilder {
 
@@ -138,6 +141,32 @@ public final class StatementBuilder {
     return this;
   }
 
+  /**
+   * Switches to keyset pagination, selecting only objects with an ID greater than {@code lastId} in
+   * ascending ID order. The ID is bound to {@code :lastId}. Only objects with a numeric {@code
+   * Long} ID can be paged this way.
+   *
+   * @param lastId the last ID seen, or 0 to start a scan
+   * @return a reference to this object
+   */
+  public StatementBuilder afterId(Long lastId) {
+    queryBuilder.afterId(Pql.createValue(lastId));
+    return this;
+  }
+
+  /**
+   * Switches to keyset pagination, selecting only objects with an ID up to and including {@code
+   * maxId}. Together with {@link #afterId(Long)}, this splits a scan into independent ID ranges.
+   * The ID is bound to {@code :maxId}.
+   *
+   * @param maxId the largest ID to select
+   * @return a reference to this object
+   */
+  public StatementBuilder upToId(Long maxId) {
+    queryBuilder.upToId(Pql.createValue(maxId));
+    return this;
+  }
+
   public StatementBuilder orderBy(String orderBy) {
     queryBuilder.orderBy(orderBy);
     return this;
@@ -221,6 +221,21 @@ public class PqlTest {
     assertNull(Pql.getApiValue(new TextValue()));
   }
 
+  @Test
+  public void testGetApiValue_numberFormats() {
+    assertEquals(123456789012345678L, Pql.getApiValue(createNumberValue("123456789012345678")));
+    assertEquals(1.2345678901234567E19, Pql.getApiValue(createNumberValue("12345678901234567890")));
+    assertEquals(2L, Pql.getApiValue(createNumberValue("2.0")));
+    assertEquals(-0.0, Pql.getApiValue(createNumberValue("-0")));
+    assertEquals(7L, Pql.getApiValue(createNumberValue("007")));
+  }
+
+  private static NumberValue createNumberValue(String value) {
+    NumberValue numberValue = new NumberValue();
+    numberValue.setValue(value);
+    return numberValue;
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   public void testGetApiValue_numberSet() {
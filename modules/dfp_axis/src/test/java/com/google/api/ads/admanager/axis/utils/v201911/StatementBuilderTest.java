@@ -202,4 +202,21 @@ public class StatementBuilderTest {
     StatementBuilder statementBuilder = new StatementBuilder().where("id = 1");
     assertTrue(statementBuilder.getBindVariableMap().isEmpty());
   }
+
+  @Test
+  public void testAfterId() {
+    StatementBuilder statementBuilder =
+        new StatementBuilder()
+            .where("status = :status")
+            .limit(100)
+            .afterId(12345L)
+            .upToId(23456L)
+            .withBindVariableValue("status", "READY");
+    String expected =
+        "WHERE (status = :status) AND id > :lastId AND id <= :maxId ORDER BY id ASC LIMIT 100";
+    assertEquals(expected, statementBuilder.buildQuery());
+    Map<String, Value> map = statementBuilder.getBindVariableMap();
+    assertEquals("12345", ((NumberValue) map.get("lastId")).getValue());
+    assertEquals("23456", ((NumberValue) map.get("maxId")).getValue());
+  }
 }
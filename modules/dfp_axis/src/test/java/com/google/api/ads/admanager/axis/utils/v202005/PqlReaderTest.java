@@ -0,0 +1,227 @@
+// Copyright 2026 Google Inc. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.api.ads.admanager.axis.utils.v202005;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.api.ads.admanager.axis.v202005.ColumnType;
+import com.google.api.ads.admanager.axis.v202005.ResultSet;
+import com.google.api.ads.admanager.axis.v202005.Row;
+import com.google.api.ads.admanager.axis.v202005.Statement;
+import com.google.api.ads.admanager.axis.v202005.Value;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test for {@link PqlReader}. */
+@RunWith(JUnit4.class)
+public class PqlReaderTest {
+
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  private final List<String> queries = new ArrayList<String>();
+
+  /** Creates a result set with the columns "id" and "name", and a row for each ID. */
+  private static ResultSet createResultSet(long... ids) {
+    ResultSet resultSet = new ResultSet();
+    resultSet.setColumnTypes(new ColumnType[] {createColumn("id"), createColumn("name")});
+    Row[] rows = new Row[ids.length];
+    for (int i = 0; i < ids.length; i++) {
+      rows[i] = new Row();
+      rows[i].setValues(
+          new Value[] {Pql.createValue(ids[i]), Pql.createValue("name," + ids[i])});
+    }
+    resultSet.setRows(rows);
+    return resultSet;
+  }
+
+  private static ColumnType createColumn(String labelName) {
+    ColumnType columnType = new ColumnType();
+    columnType.setLabelName(labelName);
+    return columnType;
+  }
+
+  /** Returns a fetcher of the result sets in order, recording the query of each statement. */
+  private PqlReader.ResultSetFetcher fetcherOf(ResultSet... resultSets) {
+    return (Statement statement) -> {
+      queries.add(statement.getQuery());
+      return resultSets[queries.size() - 1];
+    };
+  }
+
+  private static StatementBuilder createStatementBuilder() {
+    return new StatementBuilder().select("Id, Name").from("Line_Item").orderBy("Id ASC");
+  }
+
+  /** Tests that all pages are written as CSV, reading on after a short page until an empty one. */
+  @Test
+  public void testWriteCsv() throws IOException {
+    StringWriter writer = new StringWriter();
+
+    int rowCount =
+        new PqlReader(2)
+            .writeCsv(
+                createStatementBuilder(),
+                fetcherOf(
+                    createResultSet(1, 2),
+                    createResultSet(3, 4),
+                    createResultSet(5),
+                    new ResultSet()),
+                writer);
+
+    assertEquals(5, rowCount);
+    assertEquals(
+        "\"id\",\"name\"\n\"1\",\"name,1\"\n\"2\",\"name,2\"\n\"3\",\"name,3\"\n\"4\",\"name,4\"\n"
+            + "\"5\",\"name,5\"\n",
+        writer.toString());
+    assertEquals(
+        ImmutableList.of(
+            "SELECT Id, Name FROM Line_Item ORDER BY Id ASC LIMIT 2 OFFSET 0",
+            "SELECT Id, Name FROM Line_Item ORDER BY Id ASC LIMIT 2 OFFSET 2",
+            "SELECT Id, Name FROM Line_Item ORDER BY Id ASC LIMIT 2 OFFSET 4",
+            "SELECT Id, Name FROM Line_Item ORDER BY Id ASC LIMIT 2 OFFSET 5"),
+        queries);
+  }
+
+  /** Tests that rows are written as TSV, and that reading stops at an empty page. */
+  @Test
+  public void testWriteTsv() throws IOException {
+    StringWriter writer = new StringWriter();
+
+    int rowCount =
+        new PqlReader(2)
+            .writeTsv(
+                createStatementBuilder().offset(10),
+                fetcherOf(createResultSet(1, 2), new ResultSet()),
+                writer);
+
+    assertEquals(2, rowCount);
+    assertEquals(
+        "\"id\"\t\"name\"\n\"1\"\t\"name,1\"\n\"2\"\t\"name,2\"\n", writer.toString());
+    assertEquals(2, queries.size());
+    assertEquals(
+        "SELECT Id, Name FROM Line_Item ORDER BY Id ASC LIMIT 2 OFFSET 12", queries.get(1));
+  }
+
+  /** Tests that string rows match {@link Pql#resultSetToStringArrayList(ResultSet)}. */
+  @Test
+  public void testForEachStringRow() throws IOException {
+    ResultSet first = createResultSet(1, 2);
+    ResultSet second = createResultSet(3);
+    List<String[]> lines = new ArrayList<String[]>();
+
+    new PqlReader(2)
+        .forEachStringRow(
+            createStatementBuilder(),
+            fetcherOf(first, second, new ResultSet()),
+            new PqlReader.RowConsumer<String>() {
+              @Override
+              public void acceptColumnLabels(List<String> columnLabels) {
+                lines.add(columnLabels.toArray(new String[0]));
+              }
+
+              @Override
+              public void acceptRow(List<String> values) {
+                lines.add(values.toArray(new String[0]));
+              }
+            });
+
+    List<String[]> expected = Pql.resultSetToStringArrayList(Pql.combineResultSets(first, second));
+    assertEquals(expected.size(), lines.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(Arrays.asList(expected.get(i)), Arrays.asList(lines.get(i)));
+    }
+  }
+
+  /** Tests that rows are passed with native values. */
+  @Test
+  public void testForEachRow() throws IOException {
+    List<List<Object>> rows = new ArrayList<List<Object>>();
+
+    new PqlReader(2)
+        .forEachRow(
+            createStatementBuilder(),
+            fetcherOf(createResultSet(7), new ResultSet()),
+            new PqlReader.RowConsumer<Object>() {
+              @Override
+              public void acceptColumnLabels(List<String> columnLabels) {
+                assertEquals(ImmutableList.of("id", "name"), columnLabels);
+              }
+
+              @Override
+              public void acceptRow(List<Object> values) {
+                rows.add(Lists.newArrayList(values));
+              }
+            });
+
+    assertEquals(ImmutableList.of(ImmutableList.of(7L, "name,7")), rows);
+  }
+
+  /** Tests that no rows are lost when the server returns fewer rows than requested. */
+  @Test
+  public void testForEachRow_pageSizeCapped() throws IOException {
+    List<Object> ids = new ArrayList<Object>();
+
+    int rowCount =
+        new PqlReader(5)
+            .forEachRow(
+                createStatementBuilder(),
+                fetcherOf(
+                    createResultSet(1, 2),
+                    createResultSet(3, 4),
+                    createResultSet(5),
+                    new ResultSet()),
+                new PqlReader.RowConsumer<Object>() {
+                  @Override
+                  public void acceptColumnLabels(List<String> columnLabels) {}
+
+                  @Override
+                  public void acceptRow(List<Object> values) {
+                    ids.add(values.get(0));
+                  }
+                });
+
+    assertEquals(5, rowCount);
+    assertEquals(ImmutableList.of(1L, 2L, 3L, 4L, 5L), ids);
+    assertEquals(
+        ImmutableList.of(
+            "SELECT Id, Name FROM Line_Item ORDER BY Id ASC LIMIT 5 OFFSET 0",
+            "SELECT Id, Name FROM Line_Item ORDER BY Id ASC LIMIT 5 OFFSET 2",
+            "SELECT Id, Name FROM Line_Item ORDER BY Id ASC LIMIT 5 OFFSET 4",
+            "SELECT Id, Name FROM Line_Item ORDER BY Id ASC LIMIT 5 OFFSET 5"),
+        queries);
+  }
+
+  /** Tests that pages with different columns are rejected. */
+  @Test
+  public void testForEachRow_columnsChanged() throws IOException {
+    ResultSet changed = createResultSet(3);
+    changed.setColumnTypes(new ColumnType[] {createColumn("id"), createColumn("status")});
+
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Columns [id,status] at offset 2 do not match first columns [id,name]");
+    new PqlReader(2).writeCsv(
+        createStatementBuilder(), fetcherOf(createResultSet(1, 2), changed), new StringWriter());
+  }
+}